@@ -0,0 +1,80 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures one CommandScheduler loop with many scheduled commands and registered subsystems. The
+ * commands run while disabled so the benchmark doesn't need a driver station.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandSchedulerBenchmark {
+  /** The number of scheduled commands. */
+  @SuppressWarnings("MemberName")
+  @Param({"100", "500"})
+  int commands;
+
+  /** The number of registered subsystems. */
+  @SuppressWarnings("MemberName")
+  @Param({"10"})
+  int subsystems;
+
+  private final CommandScheduler m_scheduler = CommandScheduler.getInstance();
+  private long m_counter;
+
+  /** Registers the subsystems and schedules the commands. */
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+    m_scheduler.cancelAll();
+    m_scheduler.unregisterAllSubsystems();
+    for (int i = 0; i < subsystems; i++) {
+      m_scheduler.registerSubsystem(
+          new Subsystem() {
+            @Override
+            public void periodic() {
+              m_counter++;
+            }
+          });
+    }
+    for (int i = 0; i < commands; i++) {
+      m_scheduler.schedule(Commands.run(() -> m_counter++).ignoringDisable(true));
+    }
+  }
+
+  /** Cancels the commands and unregisters the subsystems. */
+  @TearDown
+  public void teardown() {
+    m_scheduler.cancelAll();
+    m_scheduler.unregisterAllSubsystems();
+  }
+
+  /**
+   * Runs one scheduler loop.
+   *
+   * @return The number of command and subsystem executions so far.
+   */
+  @Benchmark
+  public long run() {
+    m_scheduler.run();
+    return m_counter;
+  }
+}
@@ -0,0 +1,115 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.util.datalog.DataLogBatch;
+import edu.wpi.first.util.datalog.DataLogWriter;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures DataLog append throughput, appending records one at a time and through a DataLogBatch.
+ * Each invocation appends a batch of records spread over the entries, then flushes the log into a
+ * discarding stream so memory use stays bounded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataLogBenchmark {
+  private static final int kRecordsPerInvocation = 1024;
+
+  /** The number of entries the records are spread over. */
+  @SuppressWarnings("MemberName")
+  @Param({"1", "64"})
+  int entries;
+
+  /** The length of each double array record. */
+  @SuppressWarnings("MemberName")
+  @Param({"3", "36"})
+  int arrayLength;
+
+  private DataLogWriter m_log;
+  private DataLogBatch m_batch;
+  private int[] m_doubleEntries;
+  private int[] m_arrayEntries;
+  private double[] m_array;
+  private long m_timestamp;
+
+  /** Creates the log and starts the entries. */
+  @Setup
+  public void setup() {
+    m_log = new DataLogWriter(OutputStream.nullOutputStream());
+    m_doubleEntries = new int[entries];
+    m_arrayEntries = new int[entries];
+    for (int i = 0; i < entries; i++) {
+      m_doubleEntries[i] = m_log.start("/double/" + i, "double");
+      m_arrayEntries[i] = m_log.start("/array/" + i, "double[]");
+    }
+    m_batch = new DataLogBatch(m_log);
+    m_array = new double[arrayLength];
+    for (int i = 0; i < arrayLength; i++) {
+      m_array[i] = i * 0.5;
+    }
+    m_log.flush();
+  }
+
+  /** Closes the log. */
+  @TearDown
+  public void teardown() {
+    m_log.close();
+  }
+
+  /** Appends a batch of double records. */
+  @Benchmark
+  @OperationsPerInvocation(kRecordsPerInvocation)
+  public void appendDouble() {
+    for (int i = 0; i < kRecordsPerInvocation; i++) {
+      m_log.appendDouble(m_doubleEntries[i % entries], i, ++m_timestamp);
+    }
+    m_log.flush();
+  }
+
+  /** Adds a batch of double records to a DataLogBatch and commits it with one native call. */
+  @Benchmark
+  @OperationsPerInvocation(kRecordsPerInvocation)
+  public void appendDoubleBatched() {
+    for (int i = 0; i < kRecordsPerInvocation; i++) {
+      m_batch.appendDouble(m_doubleEntries[i % entries], i);
+    }
+    m_batch.commit(++m_timestamp);
+    m_log.flush();
+  }
+
+  /** Appends a batch of double array records. */
+  @Benchmark
+  @OperationsPerInvocation(kRecordsPerInvocation)
+  public void appendDoubleArray() {
+    for (int i = 0; i < kRecordsPerInvocation; i++) {
+      m_log.appendDoubleArray(m_arrayEntries[i % entries], m_array, ++m_timestamp);
+    }
+    m_log.flush();
+  }
+
+  /** Adds a batch of double array records to a DataLogBatch and commits it with one native call. */
+  @Benchmark
+  @OperationsPerInvocation(kRecordsPerInvocation)
+  public void appendDoubleArrayBatched() {
+    for (int i = 0; i < kRecordsPerInvocation; i++) {
+      m_batch.appendDoubleArray(m_arrayEntries[i % entries], m_array);
+    }
+    m_batch.commit(++m_timestamp);
+    m_log.flush();
+  }
+}
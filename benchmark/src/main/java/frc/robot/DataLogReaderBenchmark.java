@@ -0,0 +1,214 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.util.datalog.DataLogColumn;
+import edu.wpi.first.util.datalog.DataLogColumnExporter;
+import edu.wpi.first.util.datalog.DataLogCursor;
+import edu.wpi.first.util.datalog.DataLogIndex;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import edu.wpi.first.util.datalog.DataLogWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures reading a data log file: decoding every double array record sequentially, with a cursor,
+ * and with a parallel stream, building a DataLogIndex, querying a time window of one entry, and
+ * scanning the same entry after exporting it to columns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataLogReaderBenchmark {
+  private static final int kEntries = 16;
+  private static final int kArrayLength = 36;
+
+  /** The number of records in the log. */
+  @SuppressWarnings("MemberName")
+  @Param({"10000", "1000000"})
+  int records;
+
+  private DataLogReader m_reader;
+  private DataLogIndex m_index;
+  private DataLogIndex.Entry m_entry;
+  private DataLogColumn m_column;
+  private DataLogColumn m_compressedColumn;
+
+  /**
+   * Writes the log to a temporary file, builds its index, and exports it to columns.
+   *
+   * @throws IOException if the log can't be written or read
+   */
+  @Setup
+  public void setup() throws IOException {
+    Path file = Files.createTempFile("DataLogReaderBenchmark", ".wpilog");
+    file.toFile().deleteOnExit();
+    try (var log = new DataLogWriter(file.toString())) {
+      int[] entries = new int[kEntries];
+      for (int i = 0; i < kEntries; i++) {
+        entries[i] = log.start("/array/" + i, "double[]");
+      }
+      double[] array = new double[kArrayLength];
+      for (int i = 0; i < records; i++) {
+        array[0] = i;
+        log.appendDoubleArray(entries[i % kEntries], array, 1000L * i);
+        if (i % 1024 == 0) {
+          // Write out buffered records so the log's buffers never fill up
+          log.flush();
+        }
+      }
+    }
+    m_reader = new DataLogReader(file.toString());
+    m_index = new DataLogIndex(m_reader);
+    m_entry = m_index.getEntry("/array/0");
+
+    Path columns = Files.createTempDirectory("DataLogReaderBenchmark");
+    Path dir = DataLogColumnExporter.export(m_reader, columns).get("/array/0");
+    m_column = new DataLogColumn(dir.resolve("value.col"));
+    Path compressed = Files.createTempDirectory("DataLogReaderBenchmark");
+    dir =
+        DataLogColumnExporter.export(
+                m_reader, compressed, true, DataLogColumnExporter.kDefaultChunkSize)
+            .get("/array/0");
+    m_compressedColumn = new DataLogColumn(dir.resolve("value.col"));
+  }
+
+  /** Closes the columns. */
+  @TearDown
+  public void teardown() {
+    m_column.close();
+    m_compressedColumn.close();
+  }
+
+  private static double sum(DataLogRecord record) {
+    if (record.isControl()) {
+      return 0;
+    }
+    double sum = 0;
+    for (double value : record.getDoubleArray()) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /**
+   * Decodes and sums every record with the reader's iterator.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double decodeSequential() {
+    double sum = 0;
+    for (DataLogRecord record : m_reader) {
+      sum += sum(record);
+    }
+    return sum;
+  }
+
+  /**
+   * Decodes and sums every record with a cursor, without allocating.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double decodeCursor() {
+    double sum = 0;
+    DataLogCursor cursor = m_reader.cursor();
+    while (cursor.next()) {
+      if (!cursor.isControl()) {
+        int count = cursor.getSize() / 8;
+        for (int i = 0; i < count; i++) {
+          sum += cursor.getDouble(i);
+        }
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Decodes and sums every record with a parallel stream.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double decodeParallel() {
+    return m_reader.parallelStream().mapToDouble(DataLogReaderBenchmark::sum).sum();
+  }
+
+  /**
+   * Builds an index of the log.
+   *
+   * @return The index.
+   */
+  @Benchmark
+  public DataLogIndex buildIndex() {
+    return new DataLogIndex(m_reader);
+  }
+
+  /**
+   * Sums the records of one entry in a time window covering a tenth of the log.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double queryTimeWindow() {
+    long start = 1000L * records / 2;
+    double[] sum = new double[1];
+    m_index.forEach(m_entry, start, start + 100L * records, record -> sum[0] += sum(record));
+    return sum[0];
+  }
+
+  /**
+   * Sums all values of one entry from its exported column.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double scanColumn() {
+    double sum = 0;
+    for (double value : m_column.toDoubleArray()) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /**
+   * Sums all values of one entry from its exported column, with compression.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double scanCompressedColumn() {
+    double sum = 0;
+    for (double value : m_compressedColumn.toDoubleArray()) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /**
+   * Sums all values of one entry using the index.
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public double scanIndex() {
+    double[] sum = new double[1];
+    m_index.forEach(m_entry, Long.MIN_VALUE, Long.MAX_VALUE, record -> sum[0] += sum(record));
+    return sum[0];
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.MutPose2d;
+import edu.wpi.first.math.geometry.MutTransform2d;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveDriveOdometry;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the immutable geometry classes against their mutable counterparts. Run with the GC
+ * profiler to see the allocation rate of each variant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeometryBenchmark {
+  private final Pose2d m_pose = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(30.0));
+  private final Pose2d m_endPose = new Pose2d(3.0, -1.0, Rotation2d.fromDegrees(-45.0));
+  private final Transform2d m_transform = new Transform2d(0.5, 0.25, Rotation2d.fromDegrees(5.0));
+  private final Twist2d m_twist = new Twist2d(0.02, 0.01, 0.005);
+
+  private final MutPose2d m_mutPose = new MutPose2d(m_pose);
+  private final MutPose2d m_mutEndPose = new MutPose2d(m_endPose);
+  private final MutTransform2d m_mutTransform = new MutTransform2d(m_transform);
+  private final MutPose2d m_mutOutput = new MutPose2d();
+  private final Twist2d m_twistOutput = new Twist2d();
+
+  private final SwerveModulePosition[] m_modulePositions = {
+    new SwerveModulePosition(), new SwerveModulePosition(),
+    new SwerveModulePosition(), new SwerveModulePosition()
+  };
+  private final SwerveDriveKinematics m_kinematics =
+      new SwerveDriveKinematics(
+          new Translation2d(0.3, 0.3),
+          new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3),
+          new Translation2d(-0.3, -0.3));
+  private final SwerveDriveOdometry m_odometry =
+      new SwerveDriveOdometry(m_kinematics, Rotation2d.kZero, m_modulePositions);
+  private final Rotation2d m_gyroAngle = Rotation2d.fromDegrees(10.0);
+
+  private void advanceModules() {
+    for (var position : m_modulePositions) {
+      position.distanceMeters += 0.01;
+    }
+  }
+
+  @Benchmark
+  public Pose2d poseTransformBy() {
+    return m_pose.transformBy(m_transform);
+  }
+
+  @Benchmark
+  public MutPose2d mutPoseTransformByInto() {
+    return m_mutPose.transformByInto(m_mutTransform, m_mutOutput);
+  }
+
+  @Benchmark
+  public Pose2d poseExp() {
+    return m_pose.exp(m_twist);
+  }
+
+  @Benchmark
+  public MutPose2d mutPoseExpInto() {
+    return m_mutPose.expInto(m_twist, m_mutOutput);
+  }
+
+  @Benchmark
+  public Twist2d poseLog() {
+    return m_pose.log(m_endPose);
+  }
+
+  @Benchmark
+  public Twist2d mutPoseLogInto() {
+    return m_mutPose.logInto(m_mutEndPose, m_twistOutput);
+  }
+
+  @Benchmark
+  public Pose2d odometryUpdate() {
+    advanceModules();
+    return m_odometry.update(m_gyroAngle, m_modulePositions);
+  }
+
+  @Benchmark
+  public MutPose2d odometryUpdateInto() {
+    advanceModules();
+    return m_odometry.updateInto(m_gyroAngle, m_modulePositions, m_mutOutput);
+  }
+}
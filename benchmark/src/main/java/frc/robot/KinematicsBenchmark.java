@@ -0,0 +1,130 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.MecanumDriveKinematics;
+import edu.wpi.first.math.kinematics.MecanumDriveWheelPositions;
+import edu.wpi.first.math.kinematics.MecanumDriveWheelSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the allocating kinematics methods against their output-parameter overloads. Run with the
+ * GC profiler to see the allocation rate of each variant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KinematicsBenchmark {
+  private final Translation2d m_fl = new Translation2d(0.3, 0.3);
+  private final Translation2d m_fr = new Translation2d(0.3, -0.3);
+  private final Translation2d m_bl = new Translation2d(-0.3, 0.3);
+  private final Translation2d m_br = new Translation2d(-0.3, -0.3);
+
+  private final ChassisSpeeds m_chassisSpeeds = new ChassisSpeeds(2.0, 1.0, 0.5);
+  private final ChassisSpeeds m_chassisSpeedsOutput = new ChassisSpeeds();
+  private final Twist2d m_twistOutput = new Twist2d();
+
+  private final SwerveDriveKinematics m_swerve = new SwerveDriveKinematics(m_fl, m_fr, m_bl, m_br);
+  private final SwerveModuleState[] m_moduleStates = m_swerve.toSwerveModuleStates(m_chassisSpeeds);
+  private final SwerveModuleState[] m_moduleStatesOutput = {
+    new SwerveModuleState(), new SwerveModuleState(),
+    new SwerveModuleState(), new SwerveModuleState()
+  };
+  private final SwerveModulePosition[] m_moduleStart = {
+    new SwerveModulePosition(1.0, Rotation2d.kZero),
+    new SwerveModulePosition(1.0, Rotation2d.kZero),
+    new SwerveModulePosition(1.0, Rotation2d.kZero),
+    new SwerveModulePosition(1.0, Rotation2d.kZero)
+  };
+  private final SwerveModulePosition[] m_moduleEnd = {
+    new SwerveModulePosition(1.02, Rotation2d.fromDegrees(10.0)),
+    new SwerveModulePosition(1.03, Rotation2d.fromDegrees(10.0)),
+    new SwerveModulePosition(1.02, Rotation2d.fromDegrees(10.0)),
+    new SwerveModulePosition(1.03, Rotation2d.fromDegrees(10.0))
+  };
+
+  private final MecanumDriveKinematics m_mecanum =
+      new MecanumDriveKinematics(m_fl, m_fr, m_bl, m_br);
+  private final MecanumDriveWheelSpeeds m_wheelSpeeds = m_mecanum.toWheelSpeeds(m_chassisSpeeds);
+  private final MecanumDriveWheelSpeeds m_wheelSpeedsOutput = new MecanumDriveWheelSpeeds();
+  private final MecanumDriveWheelPositions m_wheelStart =
+      new MecanumDriveWheelPositions(1.0, 1.0, 1.0, 1.0);
+  private final MecanumDriveWheelPositions m_wheelEnd =
+      new MecanumDriveWheelPositions(1.02, 1.03, 1.02, 1.03);
+
+  @Benchmark
+  public SwerveModuleState[] swerveToModuleStates() {
+    return m_swerve.toSwerveModuleStates(m_chassisSpeeds);
+  }
+
+  @Benchmark
+  public SwerveModuleState[] swerveToModuleStatesInto() {
+    m_swerve.toSwerveModuleStates(m_chassisSpeeds, m_moduleStatesOutput);
+    return m_moduleStatesOutput;
+  }
+
+  @Benchmark
+  public ChassisSpeeds swerveToChassisSpeeds() {
+    return m_swerve.toChassisSpeeds(m_moduleStates);
+  }
+
+  @Benchmark
+  public ChassisSpeeds swerveToChassisSpeedsInto() {
+    m_swerve.toChassisSpeeds(m_moduleStates, m_chassisSpeedsOutput);
+    return m_chassisSpeedsOutput;
+  }
+
+  @Benchmark
+  public Twist2d swerveToTwist2d() {
+    return m_swerve.toTwist2d(m_moduleStart, m_moduleEnd);
+  }
+
+  @Benchmark
+  public Twist2d swerveToTwist2dInto() {
+    m_swerve.toTwist2d(m_moduleStart, m_moduleEnd, m_twistOutput);
+    return m_twistOutput;
+  }
+
+  @Benchmark
+  public MecanumDriveWheelSpeeds mecanumToWheelSpeeds() {
+    return m_mecanum.toWheelSpeeds(m_chassisSpeeds);
+  }
+
+  @Benchmark
+  public MecanumDriveWheelSpeeds mecanumToWheelSpeedsInto() {
+    m_mecanum.toWheelSpeeds(m_chassisSpeeds, m_wheelSpeedsOutput);
+    return m_wheelSpeedsOutput;
+  }
+
+  @Benchmark
+  public ChassisSpeeds mecanumToChassisSpeeds() {
+    return m_mecanum.toChassisSpeeds(m_wheelSpeeds);
+  }
+
+  @Benchmark
+  public ChassisSpeeds mecanumToChassisSpeedsInto() {
+    m_mecanum.toChassisSpeeds(m_wheelSpeeds, m_chassisSpeedsOutput);
+    return m_chassisSpeedsOutput;
+  }
+
+  @Benchmark
+  public Twist2d mecanumToTwist2dInto() {
+    m_mecanum.toTwist2d(m_wheelStart, m_wheelEnd, m_twistOutput);
+    return m_twistOutput;
+  }
+}
@@ -13,9 +13,11 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
-import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
@@ -46,21 +48,60 @@ public class Main {
   /**
    * Main function.
    *
-   * @param args The (unused) arguments to the program.
+   * <p>Accepts the standard JMH command line options (run with -h to list them), which override the
+   * defaults below. For example, "-p poses=16 StructBufferBenchmark" runs one benchmark with one
+   * parameter value. Results are written to jmh-result.json by default so runs can be compared
+   * between releases; "-rf csv" or "-rff results.json" change the format or file.
+   *
+   * @param args JMH command line options and benchmark name regexes.
    */
-  public static void main(String... args) throws RunnerException {
-    Options opt =
-        new OptionsBuilder()
-            .include(Main.class.getSimpleName())
-            .addProfiler(GCProfiler.class)
-            .forks(1)
-            .warmupIterations(2)
-            .warmupTime(TimeValue.seconds(3))
-            .measurementIterations(3)
-            .measurementTime(TimeValue.seconds(3))
-            .build();
+  public static void main(String... args) throws RunnerException, CommandLineOptionException {
+    var commandLine = new CommandLineOptions(args);
+    var builder = new OptionsBuilder().parent(commandLine);
+
+    if (commandLine.getIncludes().isEmpty()) {
+      builder
+          .include(Main.class.getSimpleName())
+          .include(CommandSchedulerBenchmark.class.getSimpleName())
+          .include(DataLogBenchmark.class.getSimpleName())
+          .include(DataLogReaderBenchmark.class.getSimpleName())
+          .include(GeometryBenchmark.class.getSimpleName())
+          .include(KinematicsBenchmark.class.getSimpleName())
+          .include(MatrixBenchmark.class.getSimpleName())
+          .include(MedianFilterBenchmark.class.getSimpleName())
+          .include(PoseBufferBenchmark.class.getSimpleName())
+          .include(PoseEstimatorBenchmark.class.getSimpleName())
+          .include(SendableRegistryBenchmark.class.getSimpleName())
+          .include(StructBufferBenchmark.class.getSimpleName())
+          .include(StructGeneratorBenchmark.class.getSimpleName())
+          .include(TrajectoryGeneratorBenchmark.class.getSimpleName())
+          .include(TrajectoryStartupBenchmark.class.getSimpleName())
+          .include(UnscentedKalmanFilterBenchmark.class.getSimpleName())
+          .include(VisionBatchBenchmark.class.getSimpleName());
+    }
+    if (commandLine.getProfilers().isEmpty()) {
+      builder.addProfiler(GCProfiler.class);
+    }
+    if (!commandLine.getForkCount().hasValue()) {
+      builder.forks(1);
+    }
+    if (!commandLine.getWarmupIterations().hasValue()) {
+      builder.warmupIterations(2);
+    }
+    if (!commandLine.getWarmupTime().hasValue()) {
+      builder.warmupTime(TimeValue.seconds(3));
+    }
+    if (!commandLine.getMeasurementIterations().hasValue()) {
+      builder.measurementIterations(3);
+    }
+    if (!commandLine.getMeasurementTime().hasValue()) {
+      builder.measurementTime(TimeValue.seconds(3));
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
 
-    new Runner(opt).run();
+    new Runner(builder.build()).run();
   }
 
   @Benchmark
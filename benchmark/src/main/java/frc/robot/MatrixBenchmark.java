@@ -0,0 +1,117 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.MatBuilder;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N2;
+import edu.wpi.first.math.numbers.N3;
+import java.util.concurrent.TimeUnit;
+import org.ejml.simple.SimpleMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares small matrix products through EJML's SimpleMatrix, through Matrix, and through the
+ * Matrix output-parameter methods, including an LQR-style u = K(r - x) update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatrixBenchmark {
+  private final Matrix<N3, N3> m_a =
+      MatBuilder.fill(Nat.N3(), Nat.N3(), 1.0, 0.02, 0.0002, 0.0, 1.0, 0.02, 0.0, 0.0, 0.98);
+  private final Matrix<N3, N3> m_b =
+      MatBuilder.fill(Nat.N3(), Nat.N3(), 0.5, 0.1, 0.0, 0.1, 0.5, 0.1, 0.0, 0.1, 0.5);
+  private final Matrix<N3, N1> m_x = VecBuilder.fill(1.0, 2.0, 3.0);
+  private final Matrix<N3, N3> m_out3x3 = new Matrix<>(Nat.N3(), Nat.N3());
+  private final Matrix<N3, N1> m_out3x1 = new Matrix<>(Nat.N3(), Nat.N1());
+
+  private final SimpleMatrix m_simpleA = m_a.getStorage();
+  private final SimpleMatrix m_simpleB = m_b.getStorage();
+
+  private final Matrix<N1, N2> m_K = MatBuilder.fill(Nat.N1(), Nat.N2(), 12.0, 3.0);
+  private final Matrix<N2, N1> m_r = VecBuilder.fill(1.0, 0.0);
+  private final Matrix<N2, N1> m_state = VecBuilder.fill(0.4, 0.2);
+  private final Matrix<N2, N1> m_error = new Matrix<>(Nat.N2(), Nat.N1());
+  private final Matrix<N1, N1> m_u = new Matrix<>(Nat.N1(), Nat.N1());
+
+  /**
+   * Multiplies two 3x3 matrices with SimpleMatrix.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public SimpleMatrix simpleMatrixTimes3x3() {
+    return m_simpleA.mult(m_simpleB);
+  }
+
+  /**
+   * Multiplies two 3x3 matrices with Matrix.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public Matrix<N3, N3> times3x3() {
+    return m_a.times(m_b);
+  }
+
+  /**
+   * Multiplies two 3x3 matrices into an existing matrix.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public Matrix<N3, N3> timesInto3x3() {
+    return m_a.timesInto(m_b, m_out3x3);
+  }
+
+  /**
+   * Multiplies a 3x3 matrix by a 3x1 vector with Matrix.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public Matrix<N3, N1> times3x1() {
+    return m_a.times(m_x);
+  }
+
+  /**
+   * Multiplies a 3x3 matrix by a 3x1 vector into an existing vector.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public Matrix<N3, N1> timesInto3x1() {
+    return m_a.timesInto(m_x, m_out3x1);
+  }
+
+  /**
+   * Computes u = K(r - x) the way LinearQuadraticRegulator does.
+   *
+   * @return The control input.
+   */
+  @Benchmark
+  public Matrix<N1, N1> lqrUpdate() {
+    return m_K.times(m_r.minus(m_state));
+  }
+
+  /**
+   * Computes u = K(r - x) into existing matrices.
+   *
+   * @return The control input.
+   */
+  @Benchmark
+  public Matrix<N1, N1> lqrUpdateInto() {
+    return m_K.timesInto(m_r.minusInto(m_state, m_error), m_u);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.filter.MedianFilter;
+import edu.wpi.first.util.DoubleCircularBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares MedianFilter against the sorted ArrayList implementation it replaced, on a noisy
+ * distance signal with occasional outliers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MedianFilterBenchmark {
+  /** The number of samples in the moving window. */
+  @SuppressWarnings("MemberName")
+  @Param({"5", "25", "50", "100"})
+  int windowSize;
+
+  private final double[] m_samples = new double[4096];
+  private int m_index;
+  private MedianFilter m_filter;
+  private SortedListMedianFilter m_sortedListFilter;
+
+  /** The previous MedianFilter implementation, kept as a baseline. */
+  private static final class SortedListMedianFilter {
+    private final DoubleCircularBuffer m_valueBuffer;
+    private final List<Double> m_orderedValues;
+    private final int m_size;
+
+    SortedListMedianFilter(int size) {
+      m_valueBuffer = new DoubleCircularBuffer(size);
+      m_orderedValues = new ArrayList<>(size);
+      m_size = size;
+    }
+
+    double calculate(double next) {
+      int index = Collections.binarySearch(m_orderedValues, next);
+      if (index < 0) {
+        index = Math.abs(index + 1);
+      }
+      m_orderedValues.add(index, next);
+
+      int curSize = m_orderedValues.size();
+      if (curSize > m_size) {
+        m_orderedValues.remove(m_valueBuffer.removeLast());
+        --curSize;
+      }
+      m_valueBuffer.addFirst(next);
+
+      if (curSize % 2 != 0) {
+        return m_orderedValues.get(curSize / 2);
+      } else {
+        return (m_orderedValues.get(curSize / 2 - 1) + m_orderedValues.get(curSize / 2)) / 2.0;
+      }
+    }
+  }
+
+  /** Creates the filters and fills their windows. */
+  @Setup
+  public void setup() {
+    var rand = new Random(9);
+    for (int i = 0; i < m_samples.length; i++) {
+      m_samples[i] = 1.5 + 0.02 * rand.nextGaussian() + (rand.nextInt(20) == 0 ? 3.0 : 0.0);
+    }
+    m_filter = new MedianFilter(windowSize);
+    m_sortedListFilter = new SortedListMedianFilter(windowSize);
+    for (int i = 0; i < windowSize; i++) {
+      m_filter.calculate(m_samples[i]);
+      m_sortedListFilter.calculate(m_samples[i]);
+    }
+  }
+
+  /**
+   * Filters one sample with MedianFilter.
+   *
+   * @return The median.
+   */
+  @Benchmark
+  public double medianFilter() {
+    m_index = (m_index + 1) & (m_samples.length - 1);
+    return m_filter.calculate(m_samples[m_index]);
+  }
+
+  /**
+   * Filters one sample with the sorted ArrayList implementation.
+   *
+   * @return The median.
+   */
+  @Benchmark
+  public double sortedListMedianFilter() {
+    m_index = (m_index + 1) & (m_samples.length - 1);
+    return m_sortedListFilter.calculate(m_samples[m_index]);
+  }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.interpolation.TimeInterpolatableBuffer;
+import edu.wpi.first.math.interpolation.TimeInterpolatablePose2dBuffer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the TreeMap-backed TimeInterpolatableBuffer against TimeInterpolatablePose2dBuffer the
+ * way a pose estimator uses them: each invocation is one 250 Hz odometry sample, and every fifth
+ * one also samples the history for a 50 Hz vision measurement with 50 ms of latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoseBufferBenchmark {
+  private static final double kHistorySize = 1.5;
+  private static final double kOdometryPeriod = 0.004;
+  private static final int kOdometrySamplesPerVision = 5;
+  private static final double kVisionLatency = 0.05;
+
+  private final TimeInterpolatableBuffer<Pose2d> m_treeMapBuffer =
+      TimeInterpolatableBuffer.createBuffer(kHistorySize);
+  private final TimeInterpolatablePose2dBuffer m_circularBuffer =
+      new TimeInterpolatablePose2dBuffer(kHistorySize);
+
+  private final Pose2d[] m_poses = new Pose2d[1024];
+  private int m_tick;
+
+  /** Fills both buffers with a full history of samples. */
+  @Setup
+  public void setup() {
+    for (int i = 0; i < m_poses.length; i++) {
+      m_poses[i] = new Pose2d(i * 0.01, Math.sin(i * 0.01), new Rotation2d(i * 0.001));
+    }
+    for (m_tick = 0; m_tick * kOdometryPeriod < kHistorySize; m_tick++) {
+      var pose = m_poses[m_tick % m_poses.length];
+      m_treeMapBuffer.addSample(m_tick * kOdometryPeriod, pose);
+      m_circularBuffer.addSample(m_tick * kOdometryPeriod, pose);
+    }
+  }
+
+  /**
+   * Runs one odometry tick against the TreeMap-backed buffer.
+   *
+   * @return The vision sample, if this tick has one.
+   */
+  @Benchmark
+  public Optional<Pose2d> treeMapBuffer() {
+    double time = ++m_tick * kOdometryPeriod;
+    m_treeMapBuffer.addSample(time, m_poses[m_tick % m_poses.length]);
+    if (m_tick % kOdometrySamplesPerVision == 0) {
+      return m_treeMapBuffer.getSample(time - kVisionLatency);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Runs one odometry tick against the circular buffer.
+   *
+   * @return The vision sample, if this tick has one.
+   */
+  @Benchmark
+  public Optional<Pose2d> circularBuffer() {
+    double time = ++m_tick * kOdometryPeriod;
+    m_circularBuffer.addSample(time, m_poses[m_tick % m_poses.length]);
+    if (m_tick % kOdometrySamplesPerVision == 0) {
+      return m_circularBuffer.getSample(time - kVisionLatency);
+    }
+    return Optional.empty();
+  }
+}
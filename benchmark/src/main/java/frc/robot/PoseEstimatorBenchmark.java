@@ -0,0 +1,102 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures SwerveDrivePoseEstimator odometry updates and vision measurements against a full pose
+ * history. The odometry rate sets how many samples the history holds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoseEstimatorBenchmark {
+  private static final double kVisionLatency = 0.05;
+
+  /** The odometry update rate in Hz. */
+  @SuppressWarnings("MemberName")
+  @Param({"50", "250"})
+  int odometryHz;
+
+  private final SwerveDriveKinematics m_kinematics =
+      new SwerveDriveKinematics(
+          new Translation2d(0.3, 0.3),
+          new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3),
+          new Translation2d(-0.3, -0.3));
+  private final SwerveModulePosition[] m_modulePositions = {
+    new SwerveModulePosition(), new SwerveModulePosition(),
+    new SwerveModulePosition(), new SwerveModulePosition()
+  };
+  private final Pose2d m_visionPose = new Pose2d(1.0, 0.1, Rotation2d.kZero);
+
+  private SwerveDrivePoseEstimator m_estimator;
+  private double m_period;
+  private double m_time;
+
+  /** Creates the estimator and fills its pose history. */
+  @Setup
+  public void setup() {
+    m_estimator =
+        new SwerveDrivePoseEstimator(
+            m_kinematics,
+            Rotation2d.kZero,
+            m_modulePositions,
+            Pose2d.kZero,
+            VecBuilder.fill(0.1, 0.1, 0.1),
+            VecBuilder.fill(0.5, 0.5, 0.5));
+    m_period = 1.0 / odometryHz;
+    m_time = 0.0;
+    while (m_time < 2.0) {
+      step();
+    }
+  }
+
+  /**
+   * Runs one odometry update.
+   *
+   * @return The estimated pose.
+   */
+  @Benchmark
+  public Pose2d update() {
+    return step();
+  }
+
+  /**
+   * Runs one odometry update followed by a vision measurement from 50 ms ago.
+   *
+   * @return The estimated pose.
+   */
+  @Benchmark
+  public Pose2d updateWithVision() {
+    step();
+    m_estimator.addVisionMeasurement(m_visionPose, m_time - kVisionLatency);
+    return m_estimator.getEstimatedPosition();
+  }
+
+  private Pose2d step() {
+    m_time += m_period;
+    for (var position : m_modulePositions) {
+      position.distanceMeters += 0.01;
+    }
+    return m_estimator.updateWithTime(m_time, Rotation2d.kZero, m_modulePositions);
+  }
+}
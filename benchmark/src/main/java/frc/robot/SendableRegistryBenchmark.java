@@ -0,0 +1,93 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.util.sendable.Sendable;
+import edu.wpi.first.util.sendable.SendableBuilder;
+import edu.wpi.first.util.sendable.SendableRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures SendableRegistry under contention: while two threads register and remove short-lived
+ * sendables (like commands and dashboard widgets being created), two threads rename and read the
+ * names of long-lived ones (like a vision or logging thread labeling its sensors). For the
+ * throughput of each method without contention, run with {@code -tg 1,0} and {@code -tg 0,1}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SendableRegistryBenchmark {
+  private static final class TestSendable implements Sendable {
+    @Override
+    public void initSendable(SendableBuilder builder) {}
+  }
+
+  /** The number of long-lived registered sendables. */
+  @SuppressWarnings("MemberName")
+  @Param({"100"})
+  int sendables;
+
+  private TestSendable[] m_sendables;
+
+  /** Registers the long-lived sendables. */
+  @Setup
+  public void setup() {
+    m_sendables = new TestSendable[sendables];
+    for (int i = 0; i < sendables; i++) {
+      m_sendables[i] = new TestSendable();
+      SendableRegistry.add(m_sendables[i], "Sensor", i);
+    }
+  }
+
+  /** Removes the long-lived sendables. */
+  @TearDown
+  public void teardown() {
+    for (TestSendable sendable : m_sendables) {
+      SendableRegistry.remove(sendable);
+    }
+  }
+
+  /**
+   * Registers, names, and removes a short-lived sendable.
+   *
+   * @return Whether the sendable was removed.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(2)
+  public boolean register() {
+    var sendable = new TestSendable();
+    SendableRegistry.add(sendable, "Subsystem", "Command");
+    SendableRegistry.setName(sendable, "Command", 1);
+    return SendableRegistry.remove(sendable);
+  }
+
+  /**
+   * Renames a long-lived sendable and reads back its name and subsystem.
+   *
+   * @return The sendable's name.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(2)
+  public String rename() {
+    var sendable = m_sendables[ThreadLocalRandom.current().nextInt(m_sendables.length)];
+    SendableRegistry.setSubsystem(sendable, "Vision");
+    SendableRegistry.getSubsystem(sendable);
+    return SendableRegistry.getName(sendable);
+  }
+}
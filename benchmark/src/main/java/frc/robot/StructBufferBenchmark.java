@@ -0,0 +1,134 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.util.struct.StructBuffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures packing and unpacking arrays of Pose3d (immutable) and SwerveModuleState (mutable) with
+ * a StructBuffer, both into new arrays and into reused ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StructBufferBenchmark {
+  /** The number of poses in the array. */
+  @SuppressWarnings("MemberName")
+  @Param({"1", "16", "128"})
+  int poses;
+
+  private final StructBuffer<Pose3d> m_buffer = StructBuffer.create(Pose3d.struct);
+  private Pose3d[] m_poses;
+  private Pose3d[] m_posesOutput;
+  private byte[] m_packed;
+
+  private final StructBuffer<SwerveModuleState> m_stateBuffer =
+      StructBuffer.create(SwerveModuleState.struct);
+  private SwerveModuleState[] m_states;
+  private SwerveModuleState[] m_statesOutput;
+  private byte[] m_packedStates;
+
+  /** Creates the poses and their packed representation. */
+  @Setup
+  public void setup() {
+    m_poses = new Pose3d[poses];
+    for (int i = 0; i < poses; i++) {
+      m_poses[i] = new Pose3d(i, 2.0 * i, 0.5, new Rotation3d(0.1 * i, 0.2, 0.3 * i));
+    }
+    m_posesOutput = new Pose3d[poses];
+    m_packed = toBytes(m_buffer.writeArray(m_poses));
+
+    m_states = new SwerveModuleState[poses];
+    m_statesOutput = new SwerveModuleState[poses];
+    for (int i = 0; i < poses; i++) {
+      m_states[i] = new SwerveModuleState(i, new Rotation2d(0.1 * i));
+      m_statesOutput[i] = new SwerveModuleState();
+    }
+    m_packedStates = toBytes(m_stateBuffer.writeArray(m_states));
+  }
+
+  private static byte[] toBytes(ByteBuffer buf) {
+    byte[] bytes = new byte[buf.position()];
+    buf.flip();
+    buf.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Packs the pose array.
+   *
+   * @return The packed buffer.
+   */
+  @Benchmark
+  public ByteBuffer pack() {
+    return m_buffer.writeArray(m_poses);
+  }
+
+  /**
+   * Unpacks the pose array.
+   *
+   * @return The unpacked poses.
+   */
+  @Benchmark
+  public Pose3d[] unpack() {
+    return m_buffer.readArray(m_packed);
+  }
+
+  /**
+   * Unpacks the pose array into a reused array.
+   *
+   * @return The unpacked poses.
+   */
+  @Benchmark
+  public Pose3d[] unpackInto() {
+    m_buffer.readArrayInto(m_posesOutput, m_packed);
+    return m_posesOutput;
+  }
+
+  /**
+   * Packs the module state array.
+   *
+   * @return The packed buffer.
+   */
+  @Benchmark
+  public ByteBuffer packStates() {
+    return m_stateBuffer.writeArray(m_states);
+  }
+
+  /**
+   * Unpacks the module state array.
+   *
+   * @return The unpacked module states.
+   */
+  @Benchmark
+  public SwerveModuleState[] unpackStates() {
+    return m_stateBuffer.readArray(m_packedStates);
+  }
+
+  /**
+   * Unpacks the module state array into reused module states.
+   *
+   * @return The unpacked module states.
+   */
+  @Benchmark
+  public SwerveModuleState[] unpackStatesInto() {
+    m_stateBuffer.readArrayInto(m_statesOutput, m_packedStates);
+    return m_statesOutput;
+  }
+}
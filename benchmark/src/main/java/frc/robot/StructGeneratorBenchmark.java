@@ -0,0 +1,131 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.util.struct.Struct;
+import edu.wpi.first.util.struct.StructGenerator;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares packing and unpacking a record with the struct the Epilogue annotation processor
+ * generates for it at compile time, the struct StructGenerator builds at runtime by binding the
+ * record's accessors, and the reflective accessor and constructor calls StructGenerator used to
+ * make.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StructGeneratorBenchmark {
+  /** The record packed with runtime-bound accessors and reflection. */
+  public record Sample(double position, double velocity, int id, boolean valid) {}
+
+  /** The same record, with a struct generated at compile time. */
+  @Logged
+  public record CompiledSample(double position, double velocity, int id, boolean valid) {}
+
+  private final Sample m_sample = new Sample(1.5, -0.25, 7, true);
+  private final CompiledSample m_compiledSample = new CompiledSample(1.5, -0.25, 7, true);
+  private final Struct<Sample> m_bound = StructGenerator.genRecord(Sample.class);
+  private final Struct<CompiledSample> m_compiled = StructGenerator.genRecord(CompiledSample.class);
+  private final RecordComponent[] m_components = Sample.class.getRecordComponents();
+  private ByteBuffer m_buffer;
+
+  /** Allocates the buffer and packs the record into it. */
+  @Setup
+  public void setup() {
+    m_buffer = ByteBuffer.allocate(m_compiled.getSize()).order(ByteOrder.LITTLE_ENDIAN);
+    m_compiled.pack(m_buffer, m_compiledSample);
+  }
+
+  /**
+   * Packs the record with the compile-time generated struct.
+   *
+   * @return The buffer.
+   */
+  @Benchmark
+  public ByteBuffer packCompiled() {
+    m_buffer.clear();
+    m_compiled.pack(m_buffer, m_compiledSample);
+    return m_buffer;
+  }
+
+  /**
+   * Packs the record with the struct StructGenerator builds from bound accessors.
+   *
+   * @return The buffer.
+   */
+  @Benchmark
+  public ByteBuffer packBound() {
+    m_buffer.clear();
+    m_bound.pack(m_buffer, m_sample);
+    return m_buffer;
+  }
+
+  /**
+   * Packs the record by reading each component with Method.invoke.
+   *
+   * @return The buffer.
+   * @throws ReflectiveOperationException if an accessor can't be invoked.
+   */
+  @Benchmark
+  public ByteBuffer packReflective() throws ReflectiveOperationException {
+    m_buffer.clear();
+    m_buffer.putDouble((Double) m_components[0].getAccessor().invoke(m_sample));
+    m_buffer.putDouble((Double) m_components[1].getAccessor().invoke(m_sample));
+    m_buffer.putInt((Integer) m_components[2].getAccessor().invoke(m_sample));
+    m_buffer.put((byte) ((Boolean) m_components[3].getAccessor().invoke(m_sample) ? 1 : 0));
+    return m_buffer;
+  }
+
+  /**
+   * Unpacks the record with the compile-time generated struct.
+   *
+   * @return The record.
+   */
+  @Benchmark
+  public CompiledSample unpackCompiled() {
+    m_buffer.rewind();
+    return m_compiled.unpack(m_buffer);
+  }
+
+  /**
+   * Unpacks the record with the struct StructGenerator builds from a constructor handle.
+   *
+   * @return The record.
+   */
+  @Benchmark
+  public Sample unpackBound() {
+    m_buffer.rewind();
+    return m_bound.unpack(m_buffer);
+  }
+
+  /**
+   * Unpacks the record by looking up its constructor and calling Constructor.newInstance.
+   *
+   * @return The record.
+   * @throws ReflectiveOperationException if the constructor can't be invoked.
+   */
+  @Benchmark
+  public Sample unpackReflective() throws ReflectiveOperationException {
+    m_buffer.rewind();
+    Object[] args = {
+      m_buffer.getDouble(), m_buffer.getDouble(), m_buffer.getInt(), m_buffer.get() != 0
+    };
+    return Sample.class
+        .getConstructor(double.class, double.class, int.class, boolean.class)
+        .newInstance(args);
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures trajectory generation for a weaving path through a varying number of waypoints, with
+ * both quintic and clamped cubic splines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrajectoryGeneratorBenchmark {
+  /** The number of waypoints, including the start and end. */
+  @SuppressWarnings("MemberName")
+  @Param({"2", "5", "10"})
+  int waypoints;
+
+  private final TrajectoryConfig m_config =
+      new TrajectoryConfig(4.0, 3.0)
+          .setKinematics(
+              new SwerveDriveKinematics(
+                  new Translation2d(0.3, 0.3),
+                  new Translation2d(0.3, -0.3),
+                  new Translation2d(-0.3, 0.3),
+                  new Translation2d(-0.3, -0.3)))
+          .addConstraint(new CentripetalAccelerationConstraint(2.0));
+
+  private final List<Pose2d> m_poses = new ArrayList<>();
+  private final List<Translation2d> m_interiorWaypoints = new ArrayList<>();
+  private Pose2d m_start;
+  private Pose2d m_end;
+
+  /** Creates the waypoints. */
+  @Setup
+  public void setup() {
+    m_poses.clear();
+    for (int i = 0; i < waypoints; i++) {
+      double y = (i % 2 == 0) ? 0.0 : 1.0;
+      m_poses.add(new Pose2d(2.0 * i, y, Rotation2d.kZero));
+    }
+    m_start = m_poses.get(0);
+    m_end = m_poses.get(waypoints - 1);
+    m_interiorWaypoints.clear();
+    for (int i = 1; i < waypoints - 1; i++) {
+      m_interiorWaypoints.add(m_poses.get(i).getTranslation());
+    }
+  }
+
+  /**
+   * Generates a trajectory through the waypoints with quintic splines.
+   *
+   * @return The trajectory.
+   */
+  @Benchmark
+  public Trajectory quintic() {
+    return TrajectoryGenerator.generateTrajectory(m_poses, m_config);
+  }
+
+  /**
+   * Generates a trajectory through the waypoints with clamped cubic splines.
+   *
+   * @return The trajectory.
+   */
+  @Benchmark
+  public Trajectory cubic() {
+    return TrajectoryGenerator.generateTrajectory(m_start, m_interiorWaypoints, m_end, m_config);
+  }
+}
@@ -0,0 +1,149 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryBatch;
+import edu.wpi.first.math.trajectory.TrajectoryCache;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectorySampler;
+import edu.wpi.first.math.trajectory.TrajectoryUtil;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the time a robot program with several autonomous paths spends creating its trajectories
+ * at startup: generating them one at a time, generating them concurrently in a TrajectoryBatch,
+ * loading them from a TrajectoryCache, and loading samplers for them from binary trajectory files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TrajectoryStartupBenchmark {
+  /** The number of paths. */
+  @SuppressWarnings("MemberName")
+  @Param({"5", "20"})
+  int paths;
+
+  private final TrajectoryConfig m_config =
+      new TrajectoryConfig(4.0, 3.0)
+          .setKinematics(
+              new SwerveDriveKinematics(
+                  new Translation2d(0.3, 0.3),
+                  new Translation2d(0.3, -0.3),
+                  new Translation2d(-0.3, 0.3),
+                  new Translation2d(-0.3, -0.3)))
+          .addConstraint(new CentripetalAccelerationConstraint(2.0));
+
+  private final List<List<Pose2d>> m_waypoints = new ArrayList<>();
+  private TrajectoryBatch m_batch;
+  private TrajectoryBatch m_cachedBatch;
+  private final List<Path> m_binaryFiles = new ArrayList<>();
+
+  /**
+   * Creates the paths, fills a cache in a temporary directory with their trajectories, and writes
+   * them to binary trajectory files.
+   *
+   * @throws IOException if the temporary directory can't be created
+   */
+  @Setup
+  public void setup() throws IOException {
+    m_waypoints.clear();
+    m_batch = new TrajectoryBatch();
+    for (int i = 0; i < paths; i++) {
+      var waypoints = new ArrayList<Pose2d>();
+      for (int j = 0; j < 6; j++) {
+        double y = (j % 2 == 0) ? 0.0 : 1.0 + 0.05 * i;
+        waypoints.add(new Pose2d(2.0 * j, y, Rotation2d.kZero));
+      }
+      m_waypoints.add(waypoints);
+      m_batch.add(waypoints, m_config);
+    }
+
+    var directory = Files.createTempDirectory("TrajectoryStartupBenchmark");
+    directory.toFile().deleteOnExit();
+    m_cachedBatch = new TrajectoryBatch().setCache(new TrajectoryCache(directory));
+    for (var waypoints : m_waypoints) {
+      m_cachedBatch.add(waypoints, m_config);
+    }
+    m_binaryFiles.clear();
+    var trajectories = m_cachedBatch.generate();
+    for (int i = 0; i < trajectories.size(); i++) {
+      var file = directory.resolve("path" + i + ".bin");
+      TrajectoryUtil.toBinary(trajectories.get(i), file);
+      m_binaryFiles.add(file);
+    }
+    try (var files = Files.list(directory)) {
+      files.forEach(file -> file.toFile().deleteOnExit());
+    }
+  }
+
+  /**
+   * Generates the trajectories one at a time.
+   *
+   * @return The trajectories.
+   */
+  @Benchmark
+  public List<Trajectory> sequential() {
+    var trajectories = new ArrayList<Trajectory>(m_waypoints.size());
+    for (var waypoints : m_waypoints) {
+      trajectories.add(TrajectoryGenerator.generateTrajectory(waypoints, m_config));
+    }
+    return trajectories;
+  }
+
+  /**
+   * Generates the trajectories concurrently.
+   *
+   * @return The trajectories.
+   */
+  @Benchmark
+  public List<Trajectory> batch() {
+    return m_batch.generate();
+  }
+
+  /**
+   * Loads the trajectories from the cache.
+   *
+   * @return The trajectories.
+   */
+  @Benchmark
+  public List<Trajectory> cached() {
+    return m_cachedBatch.generate();
+  }
+
+  /**
+   * Loads samplers for the trajectories from binary trajectory files.
+   *
+   * @return The samplers.
+   * @throws IOException if a file can't be read
+   */
+  @Benchmark
+  public List<TrajectorySampler> binary() throws IOException {
+    var samplers = new ArrayList<TrajectorySampler>(m_binaryFiles.size());
+    for (var file : m_binaryFiles) {
+      samplers.add(TrajectoryUtil.samplerFromBinary(file));
+    }
+    return samplers;
+  }
+}
@@ -0,0 +1,89 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.AngleStatistics;
+import edu.wpi.first.math.estimator.UnscentedKalmanFilter;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N2;
+import edu.wpi.first.math.numbers.N3;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures UnscentedKalmanFilter predict and correct steps for a unicycle model with states [x, y,
+ * heading], inputs [velocity, angular velocity], and a position measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UnscentedKalmanFilterBenchmark {
+  private static final double kDt = 0.02;
+
+  private final Matrix<N2, N1> m_u = VecBuilder.fill(1.0, 0.5);
+  private final Matrix<N2, N1> m_y = VecBuilder.fill(0.5, 0.1);
+  private UnscentedKalmanFilter<N3, N2, N2> m_filter;
+
+  private static Matrix<N3, N1> dynamics(Matrix<N3, N1> x, Matrix<N2, N1> u) {
+    double v = u.get(0, 0);
+    double heading = x.get(2, 0);
+    return VecBuilder.fill(v * Math.cos(heading), v * Math.sin(heading), u.get(1, 0));
+  }
+
+  @SuppressWarnings("PMD.UnusedFormalParameter")
+  private static Matrix<N2, N1> measurement(Matrix<N3, N1> x, Matrix<N2, N1> u) {
+    return VecBuilder.fill(x.get(0, 0), x.get(1, 0));
+  }
+
+  /** Creates the filter. */
+  @Setup
+  public void setup() {
+    m_filter =
+        new UnscentedKalmanFilter<>(
+            Nat.N3(),
+            Nat.N2(),
+            UnscentedKalmanFilterBenchmark::dynamics,
+            UnscentedKalmanFilterBenchmark::measurement,
+            VecBuilder.fill(0.05, 0.05, 0.01),
+            VecBuilder.fill(0.1, 0.1),
+            AngleStatistics.angleMean(2),
+            (sigmas, weights) -> sigmas.times(Matrix.changeBoundsUnchecked(weights)),
+            AngleStatistics.angleResidual(2),
+            Matrix::minus,
+            AngleStatistics.angleAdd(2),
+            kDt);
+  }
+
+  /**
+   * Runs one predict step.
+   *
+   * @return The state estimate.
+   */
+  @Benchmark
+  public Matrix<N3, N1> predict() {
+    m_filter.predict(m_u, kDt);
+    return m_filter.getXhat();
+  }
+
+  /**
+   * Runs one correct step.
+   *
+   * @return The state estimate.
+   */
+  @Benchmark
+  public Matrix<N3, N1> correct() {
+    m_filter.correct(m_u, m_y);
+    return m_filter.getXhat();
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares adding one robot loop's worth of vision measurements (four cameras reporting three tags
+ * each) to a pose estimator one at a time against adding them as a batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisionBatchBenchmark {
+  private static final int kCameras = 4;
+  private static final int kTagsPerCamera = 3;
+
+  private final SwerveDriveKinematics m_kinematics =
+      new SwerveDriveKinematics(
+          new Translation2d(0.3, 0.3),
+          new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3),
+          new Translation2d(-0.3, -0.3));
+  private final SwerveModulePosition[] m_modulePositions = {
+    new SwerveModulePosition(), new SwerveModulePosition(),
+    new SwerveModulePosition(), new SwerveModulePosition()
+  };
+  private final SwerveDrivePoseEstimator m_estimator =
+      new SwerveDrivePoseEstimator(
+          m_kinematics,
+          Rotation2d.kZero,
+          m_modulePositions,
+          Pose2d.kZero,
+          VecBuilder.fill(0.1, 0.1, 0.1),
+          VecBuilder.fill(0.5, 0.5, 0.5));
+
+  private final Pose2d[] m_visionPoses = new Pose2d[kCameras * kTagsPerCamera];
+  private final double[] m_visionTimestamps = new double[kCameras * kTagsPerCamera];
+
+  /** Fills the odometry history and creates the vision measurements. */
+  @Setup
+  public void setup() {
+    // 1.5 s of 250 Hz odometry, driving forward
+    double time = 0.0;
+    for (int i = 0; i < 375; i++) {
+      time = i * 0.004;
+      for (var position : m_modulePositions) {
+        position.distanceMeters = time;
+      }
+      m_estimator.updateWithTime(time, Rotation2d.kZero, m_modulePositions);
+    }
+
+    // Each camera has its own latency, and the cameras are reported in an arbitrary order
+    for (int camera = 0; camera < kCameras; camera++) {
+      double timestamp = time - 0.02 - 0.015 * ((camera * 3) % kCameras);
+      for (int tag = 0; tag < kTagsPerCamera; tag++) {
+        m_visionPoses[camera * kTagsPerCamera + tag] =
+            new Pose2d(timestamp + 0.01 * tag, 0.05 * tag, new Rotation2d(0.01 * camera));
+        m_visionTimestamps[camera * kTagsPerCamera + tag] = timestamp;
+      }
+    }
+  }
+
+  /**
+   * Adds each vision measurement with its own call.
+   *
+   * @return The estimated pose.
+   */
+  @Benchmark
+  public Pose2d perMeasurement() {
+    for (int i = 0; i < m_visionPoses.length; i++) {
+      m_estimator.addVisionMeasurement(m_visionPoses[i], m_visionTimestamps[i]);
+    }
+    return m_estimator.getEstimatedPosition();
+  }
+
+  /**
+   * Adds all vision measurements with one call.
+   *
+   * @return The estimated pose.
+   */
+  @Benchmark
+  public Pose2d batch() {
+    m_estimator.addVisionMeasurements(m_visionPoses, m_visionTimestamps);
+    return m_estimator.getEstimatedPosition();
+  }
+}
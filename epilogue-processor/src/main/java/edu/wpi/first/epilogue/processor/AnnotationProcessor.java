@@ -49,6 +49,7 @@ public class AnnotationProcessor extends AbstractProcessor {
 
   private EpilogueGenerator m_epiloguerGenerator;
   private LoggerGenerator m_loggerGenerator;
+  private RecordStructGenerator m_recordStructGenerator;
   private List<ElementHandler> m_handlers;
 
   @Override
@@ -118,6 +119,7 @@ public class AnnotationProcessor extends AbstractProcessor {
 
     m_epiloguerGenerator = new EpilogueGenerator(processingEnv, customLoggers);
     m_loggerGenerator = new LoggerGenerator(processingEnv, m_handlers);
+    m_recordStructGenerator = new RecordStructGenerator(processingEnv);
 
     annotations.stream()
         .filter(ann -> kLoggedFqn.contentEquals(ann.getQualifiedName()))
@@ -417,6 +419,20 @@ public class AnnotationProcessor extends AbstractProcessor {
                 clazz);
         e.printStackTrace(System.err);
       }
+
+      if (m_recordStructGenerator.canGenerateStruct(clazz)) {
+        try {
+          m_recordStructGenerator.writeStructFile(clazz);
+        } catch (IOException e) {
+          processingEnv
+              .getMessager()
+              .printMessage(
+                  Diagnostic.Kind.ERROR,
+                  "[EPILOGUE] Could not write struct file for " + clazz.getQualifiedName(),
+                  clazz);
+          e.printStackTrace(System.err);
+        }
+      }
     }
 
     // Sort alphabetically
@@ -173,6 +173,7 @@ public class EpilogueGenerator {
                     + ".tryUpdate(config.backend.getNested(config.root), robot, config.errorHandler);");
             out.println(
                 "    config.backend.log(\"Epilogue/Stats/Last Run\", (System.nanoTime() - start) / 1e6);");
+            out.println("    config.backend.flush();");
             out.println("  }");
 
             out.println();
@@ -0,0 +1,296 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.epilogue.processor;
+
+import edu.wpi.first.epilogue.Logged;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+
+/**
+ * Generates struct classes for {@link Logged @Logged} records, so {@code StructGenerator.genRecord}
+ * can use a struct compiled from the record's components instead of binding its accessors at
+ * runtime.
+ *
+ * <p>A struct is generated for a record if it's not generic, can be accessed from its package, and
+ * has only primitive components and components of struct-serializable types. The generated struct
+ * produces the same schema and binary layout as {@code StructGenerator.genRecord}, and handles null
+ * components and constructor failures the same way. It's named after the record's binary name with
+ * a {@code GeneratedStruct} suffix, which is where {@code StructGenerator} looks for it.
+ */
+public class RecordStructGenerator {
+  /** The suffix appended to a record's binary name to name its generated struct. */
+  public static final String kStructClassSuffix = "GeneratedStruct";
+
+  private record PrimitiveType(String schemaType, int size, String packFormat, String unpack) {}
+
+  // Pack formats take the component access expression as their argument
+  private static final Map<TypeKind, PrimitiveType> kPrimitiveTypes =
+      Map.of(
+          TypeKind.BOOLEAN,
+          new PrimitiveType("bool", 1, "bb.put((byte) (%s ? 1 : 0))", "bb.get() != 0"),
+          TypeKind.CHAR,
+          new PrimitiveType("char", 2, "bb.putChar(%s)", "bb.getChar()"),
+          TypeKind.BYTE,
+          new PrimitiveType("uint8", 1, "bb.put(%s)", "bb.get()"),
+          TypeKind.SHORT,
+          new PrimitiveType("int16", 2, "bb.putShort(%s)", "bb.getShort()"),
+          TypeKind.INT,
+          new PrimitiveType("int32", 4, "bb.putInt(%s)", "bb.getInt()"),
+          TypeKind.LONG,
+          new PrimitiveType("int64", 8, "bb.putLong(%s)", "bb.getLong()"),
+          TypeKind.FLOAT,
+          new PrimitiveType("float32", 4, "bb.putFloat(%s)", "bb.getFloat()"),
+          TypeKind.DOUBLE,
+          new PrimitiveType("float64", 8, "bb.putDouble(%s)", "bb.getDouble()"));
+
+  private final ProcessingEnvironment m_processingEnv;
+  private final StructHandler m_structHandler;
+  private final Elements m_elementUtils;
+
+  /**
+   * Creates a new record struct generator.
+   *
+   * @param processingEnv the processing environment
+   */
+  public RecordStructGenerator(ProcessingEnvironment processingEnv) {
+    m_processingEnv = processingEnv;
+    m_structHandler = new StructHandler(processingEnv);
+    m_elementUtils = processingEnv.getElementUtils();
+  }
+
+  /**
+   * Gets the fully qualified binary name of the struct class generated for a record.
+   *
+   * @param clazz the record
+   * @return the struct class name
+   */
+  public String structClassName(TypeElement clazz) {
+    return m_elementUtils.getBinaryName(clazz) + kStructClassSuffix;
+  }
+
+  /**
+   * Checks if a struct class can be generated for a type.
+   *
+   * @param clazz the type to check
+   * @return true if the type is a record a struct can be generated for
+   */
+  public boolean canGenerateStruct(TypeElement clazz) {
+    if (clazz.getKind() != ElementKind.RECORD
+        || !clazz.getTypeParameters().isEmpty()
+        || !isAccessibleFrom(clazz, m_elementUtils.getPackageOf(clazz))) {
+      return false;
+    }
+    for (RecordComponentElement component : clazz.getRecordComponents()) {
+      TypeMirror type = component.asType();
+      if (kPrimitiveTypes.containsKey(type.getKind())) {
+        continue;
+      }
+      if (type.getKind() != TypeKind.DECLARED
+          || !m_structHandler.isLoggableType(type)
+          || !isAccessibleFrom(
+              (TypeElement) ((DeclaredType) type).asElement(),
+              m_elementUtils.getPackageOf(clazz))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if a type can be named from a package: it and all the types it's nested in must be
+   * public, or not private and in that package. Local classes can't be named at all.
+   */
+  private boolean isAccessibleFrom(TypeElement type, PackageElement pkg) {
+    boolean samePackage = m_elementUtils.getPackageOf(type).equals(pkg);
+    Element element = type;
+    while (!(element instanceof PackageElement)) {
+      if (!(element instanceof TypeElement)) {
+        return false;
+      }
+      var modifiers = element.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)
+          || !(samePackage || modifiers.contains(Modifier.PUBLIC))) {
+        return false;
+      }
+      element = element.getEnclosingElement();
+    }
+    return true;
+  }
+
+  /**
+   * Writes the struct class for a record. The record must be one {@link
+   * #canGenerateStruct(TypeElement)} accepts.
+   *
+   * @param clazz the record
+   * @throws IOException if the file could not be written
+   */
+  public void writeStructFile(TypeElement clazz) throws IOException {
+    String packageName = m_elementUtils.getPackageOf(clazz).getQualifiedName().toString();
+    String structClassName = structClassName(clazz);
+    String structSimpleClassName = StringUtils.simpleName(structClassName);
+    String recordName = clazz.getQualifiedName().toString();
+
+    List<String> schema = new ArrayList<>();
+    List<String> sizes = new ArrayList<>();
+    List<String> packs = new ArrayList<>();
+    List<String> unpacks = new ArrayList<>();
+    List<String> nestedStructs = new ArrayList<>();
+    List<String> nullableComponents = new ArrayList<>();
+
+    // Adjacent primitive fields are merged into one schema string literal
+    StringBuilder schemaLiteral = new StringBuilder();
+    int primitiveSize = 0;
+    for (RecordComponentElement component : clazz.getRecordComponents()) {
+      String name = component.getSimpleName().toString();
+      String access = "value." + name + "()";
+      TypeMirror type = component.asType();
+      var primitive = kPrimitiveTypes.get(type.getKind());
+      if (primitive != null) {
+        schemaLiteral.append(primitive.schemaType()).append(' ').append(name).append(';');
+        primitiveSize += primitive.size();
+        packs.add(String.format(primitive.packFormat(), access));
+        unpacks.add(primitive.unpack());
+      } else {
+        String struct = m_structHandler.structAccess(type);
+        schema.add('"' + schemaLiteral.toString() + '"');
+        schema.add(struct + ".getTypeName()");
+        schemaLiteral.setLength(0);
+        schemaLiteral.append(' ').append(name).append(';');
+        sizes.add(struct + ".getSize()");
+        packs.add(struct + ".pack(bb, " + access + ")");
+        unpacks.add(struct + ".unpack(bb)");
+        nestedStructs.add(struct);
+        nullableComponents.add(name);
+      }
+    }
+    schema.add('"' + schemaLiteral.toString() + '"');
+    schema.removeIf("\"\""::equals);
+    if (schema.isEmpty()) {
+      schema.add("\"\"");
+    }
+    if (primitiveSize > 0 || sizes.isEmpty()) {
+      sizes.add(0, Integer.toString(primitiveSize));
+    }
+
+    var structFile = m_processingEnv.getFiler().createSourceFile(structClassName, clazz);
+
+    try (var out = new PrintWriter(structFile.openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+
+      out.println("import edu.wpi.first.util.struct.Struct;");
+      out.println("import java.nio.ByteBuffer;");
+      out.println();
+
+      out.println(
+          "public final class "
+              + structSimpleClassName
+              + " implements Struct<"
+              + recordName
+              + "> {");
+
+      out.println("  @Override");
+      out.println("  public Class<" + recordName + "> getTypeClass() {");
+      out.println("    return " + recordName + ".class;");
+      out.println("  }");
+      out.println();
+
+      out.println("  @Override");
+      out.println("  public String getTypeName() {");
+      out.println("    return \"" + clazz.getSimpleName() + "\";");
+      out.println("  }");
+      out.println();
+
+      out.println("  @Override");
+      out.println("  public String getSchema() {");
+      out.println("    return " + String.join(" + ", schema) + ";");
+      out.println("  }");
+      out.println();
+
+      out.println("  @Override");
+      out.println("  public int getSize() {");
+      out.println("    return " + String.join(" + ", sizes) + ";");
+      out.println("  }");
+      out.println();
+
+      if (!nestedStructs.isEmpty()) {
+        out.println("  @Override");
+        out.println("  public Struct<?>[] getNested() {");
+        out.println("    var nested = new java.util.ArrayList<Struct<?>>();");
+        for (String struct : nestedStructs) {
+          out.println("    nested.add(" + struct + ");");
+          out.println("    nested.addAll(java.util.List.of(" + struct + ".getNested()));");
+        }
+        out.println("    return nested.toArray(new Struct<?>[0]);");
+        out.println("  }");
+        out.println();
+      }
+
+      // Failures are reported and handled the same way StructGenerator.genRecord handles them: a
+      // record that can't be constructed unpacks as null, and a null component packs as zeros
+      out.println("  @Override");
+      out.println("  public " + recordName + " unpack(ByteBuffer bb) {");
+      List<String> args = new ArrayList<>();
+      for (int i = 0; i < unpacks.size(); i++) {
+        args.add("arg" + i);
+        out.println("    var arg" + i + " = " + unpacks.get(i) + ";");
+      }
+      out.println("    try {");
+      out.println("      return new " + recordName + "(" + String.join(", ", args) + ");");
+      out.println("    } catch (RuntimeException e) {");
+      out.println(
+          "      System.err.println(\"Could not unpack record: "
+              + clazz.getSimpleName()
+              + "\\n    \" + e.getMessage());");
+      out.println("      return null;");
+      out.println("    }");
+      out.println("  }");
+      out.println();
+
+      out.println("  @Override");
+      out.println("  public void pack(ByteBuffer bb, " + recordName + " value) {");
+      for (String component : nullableComponents) {
+        out.println("    if (value." + component + "() == null) {");
+        out.println(
+            "      System.err.println(\"Could not pack record component: "
+                + clazz.getSimpleName()
+                + "#"
+                + component
+                + "\\n    Component is null\");");
+        out.println("      bb.put(new byte[getSize()]);");
+        out.println("      return;");
+        out.println("    }");
+      }
+      for (String pack : packs) {
+        out.println("    " + pack + ";");
+      }
+      out.println("  }");
+      out.println();
+
+      out.println("  @Override");
+      out.println("  public boolean isImmutable() {");
+      out.println("    return true;");
+      out.println("  }");
+
+      out.println("}");
+    }
+  }
+}
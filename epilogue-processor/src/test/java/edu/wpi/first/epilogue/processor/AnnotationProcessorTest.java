@@ -2129,6 +2129,132 @@ class AnnotationProcessorTest {
     assertLoggerGenerates(source, expectedRootLogger);
   }
 
+  @Test
+  void generatesRecordStructs() {
+    String source =
+        """
+        package edu.wpi.first.epilogue;
+
+        import edu.wpi.first.math.geometry.Rotation2d;
+
+        class Example {
+          @Logged
+          record Point(double x, Rotation2d heading, boolean valid) { }
+        }
+        """;
+
+    String expectedStruct =
+        """
+        package edu.wpi.first.epilogue;
+
+        import edu.wpi.first.util.struct.Struct;
+        import java.nio.ByteBuffer;
+
+        public final class Example$PointGeneratedStruct implements Struct<edu.wpi.first.epilogue.Example.Point> {
+          @Override
+          public Class<edu.wpi.first.epilogue.Example.Point> getTypeClass() {
+            return edu.wpi.first.epilogue.Example.Point.class;
+          }
+
+          @Override
+          public String getTypeName() {
+            return "Point";
+          }
+
+          @Override
+          public String getSchema() {
+            return "float64 x;" + edu.wpi.first.math.geometry.Rotation2d.struct.getTypeName() + " heading;bool valid;";
+          }
+
+          @Override
+          public int getSize() {
+            return 9 + edu.wpi.first.math.geometry.Rotation2d.struct.getSize();
+          }
+
+          @Override
+          public Struct<?>[] getNested() {
+            var nested = new java.util.ArrayList<Struct<?>>();
+            nested.add(edu.wpi.first.math.geometry.Rotation2d.struct);
+            nested.addAll(java.util.List.of(edu.wpi.first.math.geometry.Rotation2d.struct.getNested()));
+            return nested.toArray(new Struct<?>[0]);
+          }
+
+          @Override
+          public edu.wpi.first.epilogue.Example.Point unpack(ByteBuffer bb) {
+            var arg0 = bb.getDouble();
+            var arg1 = edu.wpi.first.math.geometry.Rotation2d.struct.unpack(bb);
+            var arg2 = bb.get() != 0;
+            try {
+              return new edu.wpi.first.epilogue.Example.Point(arg0, arg1, arg2);
+            } catch (RuntimeException e) {
+              System.err.println("Could not unpack record: Point\\n    " + e.getMessage());
+              return null;
+            }
+          }
+
+          @Override
+          public void pack(ByteBuffer bb, edu.wpi.first.epilogue.Example.Point value) {
+            if (value.heading() == null) {
+              System.err.println("Could not pack record component: Point#heading\\n    Component is null");
+              bb.put(new byte[getSize()]);
+              return;
+            }
+            bb.putDouble(value.x());
+            edu.wpi.first.math.geometry.Rotation2d.struct.pack(bb, value.heading());
+            bb.put((byte) (value.valid() ? 1 : 0));
+          }
+
+          @Override
+          public boolean isImmutable() {
+            return true;
+          }
+        }
+        """;
+
+    Compilation compilation =
+        javac()
+            .withOptions(kJavaVersionOptions)
+            .withProcessors(new AnnotationProcessor())
+            .compile(JavaFileObjects.forSourceString("edu.wpi.first.epilogue.Example", source));
+
+    assertThat(compilation).succeeded();
+    var generatedFile =
+        compilation.generatedSourceFiles().stream()
+            .filter(jfo -> jfo.getName().contains("Example$PointGeneratedStruct"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Struct file was not generated!"));
+    try {
+      var content = generatedFile.getCharContent(false);
+      assertEquals(
+          expectedStruct.replace("\r\n", "\n"), content.toString().replace("\r\n", "\n"));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  void noStructForUnsupportedRecordComponents() {
+    String source =
+        """
+        package edu.wpi.first.epilogue;
+
+        @Logged
+        record Example(Integer boxed, String name) { }
+        """;
+
+    Compilation compilation =
+        javac()
+            .withOptions(kJavaVersionOptions)
+            .withProcessors(new AnnotationProcessor())
+            .compile(JavaFileObjects.forSourceString("edu.wpi.first.epilogue.Example", source));
+
+    assertThat(compilation).succeeded();
+    assertTrue(
+        compilation.generatedSourceFiles().stream()
+            .noneMatch(
+                jfo -> jfo.getName().contains(RecordStructGenerator.kStructClassSuffix)));
+  }
+
   @Test
   void errorsOnFieldNameConflicts() {
     String source =
@@ -2330,6 +2456,7 @@ class AnnotationProcessorTest {
     var generatedFile =
         generatedFiles.stream()
             .filter(jfo -> jfo.getName().contains("Example"))
+            .filter(jfo -> !jfo.getName().contains(RecordStructGenerator.kStructClassSuffix))
             .findFirst()
             .orElseThrow(() -> new IllegalStateException("Logger file was not generated!"));
     try {
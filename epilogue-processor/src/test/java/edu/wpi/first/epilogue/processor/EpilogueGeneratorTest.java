@@ -187,6 +187,7 @@ class EpilogueGeneratorTest {
             long start = System.nanoTime();
             exampleLogger.tryUpdate(config.backend.getNested(config.root), robot, config.errorHandler);
             config.backend.log(\"Epilogue/Stats/Last Run\", (System.nanoTime() - start) / 1e6);
+            config.backend.flush();
           }
 
           /**
@@ -277,6 +278,7 @@ class EpilogueGeneratorTest {
             long start = System.nanoTime();
             alphaBotLogger.tryUpdate(config.backend.getNested(config.root), robot, config.errorHandler);
             config.backend.log(\"Epilogue/Stats/Last Run\", (System.nanoTime() - start) / 1e6);
+            config.backend.flush();
           }
 
           /**
@@ -309,6 +311,7 @@ class EpilogueGeneratorTest {
             long start = System.nanoTime();
             betaBotLogger.tryUpdate(config.backend.getNested(config.root), robot, config.errorHandler);
             config.backend.log(\"Epilogue/Stats/Last Run\", (System.nanoTime() - start) / 1e6);
+            config.backend.flush();
           }
 
           /**
@@ -46,6 +46,13 @@ public interface EpilogueBackend {
    */
   EpilogueBackend getNested(String path);
 
+  /**
+   * Writes out any data the backend has buffered. Epilogue calls this at the end of every update,
+   * after all data for that update has been logged. Backends that write data immediately don't need
+   * to implement this.
+   */
+  default void flush() {}
+
   /**
    * Logs a 32-bit integer data point.
    *
@@ -9,6 +9,7 @@ import static edu.wpi.first.util.ErrorMessages.requireNonNullParam;
 import edu.wpi.first.util.datalog.BooleanArrayLogEntry;
 import edu.wpi.first.util.datalog.BooleanLogEntry;
 import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DataLogBatch;
 import edu.wpi.first.util.datalog.DataLogEntry;
 import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
 import edu.wpi.first.util.datalog.DoubleLogEntry;
@@ -31,9 +32,20 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import us.hebi.quickbuf.ProtoMessage;
 
-/** A backend implementation that saves information to a WPILib {@link DataLog} file on disk. */
+/**
+ * A backend implementation that saves information to a WPILib {@link DataLog} file on disk.
+ *
+ * <p>A batching file backend collects primitive, string, and array values in a {@link DataLogBatch}
+ * and appends them to the log together when {@link #flush()} is called, which Epilogue does at the
+ * end of every update. This replaces one native call per logged value with one per update, and all
+ * values logged in an update share its timestamp. Struct and protobuf values are always appended
+ * immediately.
+ */
 public class FileBackend implements EpilogueBackend {
   private final DataLog m_dataLog;
+  // Values are always added to the batch, which is committed after each value unless batching
+  private final DataLogBatch m_batch;
+  private final boolean m_batching;
   private final Map<String, DataLogEntry> m_entries = new HashMap<>();
   private final Map<String, NestedBackend> m_subLoggers = new HashMap<>();
   private final Set<Struct<?>> m_seenSchemas = new HashSet<>();
@@ -45,7 +57,20 @@ public class FileBackend implements EpilogueBackend {
    * @param dataLog the data log to save data to
    */
   public FileBackend(DataLog dataLog) {
+    this(dataLog, false);
+  }
+
+  /**
+   * Creates a new file-based backend.
+   *
+   * @param dataLog the data log to save data to
+   * @param batch true to batch values until {@link #flush()} is called, false to append them
+   *     immediately
+   */
+  public FileBackend(DataLog dataLog, boolean batch) {
     this.m_dataLog = requireNonNullParam(dataLog, "dataLog", "FileBackend");
+    this.m_batch = new DataLogBatch(dataLog);
+    this.m_batching = batch;
   }
 
   @Override
@@ -59,6 +84,18 @@ public class FileBackend implements EpilogueBackend {
     return m_subLoggers.get(path);
   }
 
+  @Override
+  public void flush() {
+    m_batch.commit();
+  }
+
+  // Called after each value is added to the batch
+  private void appended() {
+    if (!m_batching) {
+      m_batch.commit();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private <E extends DataLogEntry> E getEntry(
       String identifier, BiFunction<DataLog, String, ? extends E> ctor) {
@@ -73,32 +110,44 @@ public class FileBackend implements EpilogueBackend {
 
   @Override
   public void log(String identifier, int value) {
-    getEntry(identifier, IntegerLogEntry::new).append(value);
+    var entry = getEntry(identifier, IntegerLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, long value) {
-    getEntry(identifier, IntegerLogEntry::new).append(value);
+    var entry = getEntry(identifier, IntegerLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, float value) {
-    getEntry(identifier, FloatLogEntry::new).append(value);
+    var entry = getEntry(identifier, FloatLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, double value) {
-    getEntry(identifier, DoubleLogEntry::new).append(value);
+    var entry = getEntry(identifier, DoubleLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, boolean value) {
-    getEntry(identifier, BooleanLogEntry::new).append(value);
+    var entry = getEntry(identifier, BooleanLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, byte[] value) {
-    getEntry(identifier, RawLogEntry::new).append(value);
+    var entry = getEntry(identifier, RawLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
@@ -108,37 +157,51 @@ public class FileBackend implements EpilogueBackend {
     for (int i = 0; i < value.length; i++) {
       widened[i] = (long) value[i];
     }
-    getEntry(identifier, IntegerArrayLogEntry::new).append(widened);
+    var entry = getEntry(identifier, IntegerArrayLogEntry::new);
+    entry.append(m_batch, widened);
+    appended();
   }
 
   @Override
   public void log(String identifier, long[] value) {
-    getEntry(identifier, IntegerArrayLogEntry::new).append(value);
+    var entry = getEntry(identifier, IntegerArrayLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, float[] value) {
-    getEntry(identifier, FloatArrayLogEntry::new).append(value);
+    var entry = getEntry(identifier, FloatArrayLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, double[] value) {
-    getEntry(identifier, DoubleArrayLogEntry::new).append(value);
+    var entry = getEntry(identifier, DoubleArrayLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, boolean[] value) {
-    getEntry(identifier, BooleanArrayLogEntry::new).append(value);
+    var entry = getEntry(identifier, BooleanArrayLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, String value) {
-    getEntry(identifier, StringLogEntry::new).append(value);
+    var entry = getEntry(identifier, StringLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
   public void log(String identifier, String[] value) {
-    getEntry(identifier, StringArrayLogEntry::new).append(value);
+    var entry = getEntry(identifier, StringArrayLogEntry::new);
+    entry.append(m_batch, value);
+    appended();
   }
 
   @Override
@@ -51,6 +51,11 @@ public class LazyBackend implements EpilogueBackend {
     return m_subLoggers.get(path);
   }
 
+  @Override
+  public void flush() {
+    m_backend.flush();
+  }
+
   @Override
   public void log(String identifier, int value) {
     var previous = m_previousValues.get(identifier);
@@ -35,6 +35,13 @@ public class MultiBackend implements EpilogueBackend {
     return m_nestedBackends.get(path);
   }
 
+  @Override
+  public void flush() {
+    for (EpilogueBackend backend : m_backends) {
+      backend.flush();
+    }
+  }
+
   @Override
   public void log(String identifier, int value) {
     for (EpilogueBackend backend : m_backends) {
@@ -75,6 +75,11 @@ public class NestedBackend implements EpilogueBackend {
     return m_nestedBackends.get(path);
   }
 
+  @Override
+  public void flush() {
+    m_impl.flush();
+  }
+
   @Override
   public void log(String identifier, int value) {
     m_impl.log(withPrefix(identifier), value);
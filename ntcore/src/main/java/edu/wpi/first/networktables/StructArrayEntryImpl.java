@@ -50,6 +50,16 @@ final class StructArrayEntryImpl<T> extends EntryBase implements StructArrayEntr
     return fromRaw(NetworkTablesJNI.getRaw(m_handle, m_emptyRaw), defaultValue);
   }
 
+  @Override
+  public int getInto(T[] out) {
+    byte[] raw = NetworkTablesJNI.getRaw(m_handle, m_emptyRaw);
+    int structSize = m_buf.getStruct().getSize();
+    if (raw.length == 0 || raw.length % structSize != 0 || raw.length / structSize > out.length) {
+      return -1;
+    }
+    return m_buf.readArrayInto(out, raw);
+  }
+
   @Override
   public TimestampedObject<T[]> getAtomic() {
     return fromRaw(NetworkTablesJNI.getAtomicRaw(m_handle, m_emptyRaw), m_defaultValue);
@@ -121,16 +131,21 @@ final class StructArrayEntryImpl<T> extends EntryBase implements StructArrayEntr
     return arr;
   }
 
-  @SuppressWarnings("PMD.AvoidCatchingGenericException")
   @Override
   public void set(T[] value, long time) {
+    set(value, value.length, time);
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  @Override
+  public void set(T[] value, int count, long time) {
     try {
       synchronized (m_buf) {
         if (!m_schemaPublished) {
           m_schemaPublished = true;
           m_topic.getInstance().addSchema(m_buf.getStruct());
         }
-        ByteBuffer bb = m_buf.writeArray(value);
+        ByteBuffer bb = m_buf.writeArray(value, count);
         NetworkTablesJNI.setRaw(m_handle, time, bb, 0, bb.position());
       }
     } catch (RuntimeException e) {
@@ -166,9 +181,7 @@ final class StructArrayEntryImpl<T> extends EntryBase implements StructArrayEntr
       return defaultValue;
     }
     try {
-      synchronized (m_buf) {
-        return m_buf.readArray(raw);
-      }
+      return m_buf.readArray(raw);
     } catch (RuntimeException e) {
       return defaultValue;
     }
@@ -180,9 +193,7 @@ final class StructArrayEntryImpl<T> extends EntryBase implements StructArrayEntr
       return new TimestampedObject<>(0, 0, defaultValue);
     }
     try {
-      synchronized (m_buf) {
-        return new TimestampedObject<>(raw.timestamp, raw.serverTime, m_buf.readArray(raw.value));
-      }
+      return new TimestampedObject<>(raw.timestamp, raw.serverTime, m_buf.readArray(raw.value));
     } catch (RuntimeException e) {
       return new TimestampedObject<>(0, 0, defaultValue);
     }
@@ -4,6 +4,7 @@
 
 package edu.wpi.first.networktables;
 
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
@@ -37,6 +38,21 @@ public interface StructArrayPublisher<T> extends Publisher, Consumer<T[]> {
    */
   void set(T[] value, long time);
 
+  /**
+   * Publish the first count elements of an array. This allows an array of preallocated objects to
+   * be reused when the number of values changes from call to call.
+   *
+   * <p>The default implementation copies the first count elements into a new array and calls
+   * {@link #set(Object[], long)}.
+   *
+   * @param value array containing the values to publish
+   * @param count number of elements to publish
+   * @param time timestamp; 0 indicates current NT time should be used
+   */
+  default void set(T[] value, int count, long time) {
+    set(Arrays.copyOf(value, count), time);
+  }
+
   /**
    * Publish a default value. On reconnect, a default value will never be used in preference to a
    * published value.
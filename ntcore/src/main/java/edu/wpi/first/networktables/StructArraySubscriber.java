@@ -38,6 +38,30 @@ public interface StructArraySubscriber<T> extends Subscriber, Supplier<T[]> {
    */
   T[] get(T[] defaultValue);
 
+  /**
+   * Get the last published value, unpacking it into an existing array instead of allocating a new
+   * one. Non-null elements are updated in place if T is mutable (and the implementation of Struct
+   * implements unpackInto); other elements are replaced with new objects. Elements past the end of
+   * the published value are left unchanged. If no value has been published, the value cannot be
+   * unpacked, or out is too short to hold it, does not replace the contents and returns -1.
+   *
+   * <p>The default implementation copies the elements of {@link #get()} into out, replacing the
+   * existing elements, and returns the default value's length if no value has been published.
+   *
+   * @param out array to fill; must be at least as long as the published value
+   * @return number of elements unpacked, or -1 if unsuccessful
+   * @throws UnsupportedOperationException if T is mutable but its Struct doesn't implement
+   *     unpackInto
+   */
+  default int getInto(T[] out) {
+    T[] value = get();
+    if (value.length > out.length) {
+      return -1;
+    }
+    System.arraycopy(value, 0, out, 0, value.length);
+    return value.length;
+  }
+
   /**
    * Get the last published value along with its timestamp. If no value has been published or the
    * value cannot be unpacked, returns the stored default value and a timestamp of 0.
@@ -55,10 +55,8 @@ final class StructEntryImpl<T> extends EntryBase implements StructEntry<T> {
     if (raw.length == 0) {
       return false;
     }
-    synchronized (m_buf) {
-      m_buf.readInto(out, raw);
-      return true;
-    }
+    m_buf.readInto(out, raw);
+    return true;
   }
 
   @Override
@@ -177,9 +175,7 @@ final class StructEntryImpl<T> extends EntryBase implements StructEntry<T> {
       return defaultValue;
     }
     try {
-      synchronized (m_buf) {
-        return m_buf.read(raw);
-      }
+      return m_buf.read(raw);
     } catch (RuntimeException e) {
       return defaultValue;
     }
@@ -191,9 +187,7 @@ final class StructEntryImpl<T> extends EntryBase implements StructEntry<T> {
       return new TimestampedObject<>(0, 0, defaultValue);
     }
     try {
-      synchronized (m_buf) {
-        return new TimestampedObject<>(raw.timestamp, raw.serverTime, m_buf.read(raw.value));
-      }
+      return new TimestampedObject<>(raw.timestamp, raw.serverTime, m_buf.read(raw.value));
     } catch (RuntimeException e) {
       return new TimestampedObject<>(0, 0, defaultValue);
     }
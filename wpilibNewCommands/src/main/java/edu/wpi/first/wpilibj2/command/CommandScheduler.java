@@ -9,11 +9,19 @@ import static edu.wpi.first.util.ErrorMessages.requireNonNullParam;
 import edu.wpi.first.hal.FRCNetComm.tInstances;
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoubleArrayTopic;
+import edu.wpi.first.networktables.NTSendableBuilder;
+import edu.wpi.first.networktables.StringArrayPublisher;
+import edu.wpi.first.networktables.StringArrayTopic;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
 import edu.wpi.first.util.sendable.Sendable;
 import edu.wpi.first.util.sendable.SendableBuilder;
 import edu.wpi.first.util.sendable.SendableRegistry;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.RobotState;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.Watchdog;
@@ -26,6 +34,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -44,6 +54,10 @@ import java.util.function.Consumer;
  * CommandScheduler#registerSubsystem(Subsystem...)} in order for their {@link Subsystem#periodic()}
  * methods to be called and for their default commands to be scheduled.
  *
+ * <p>The scheduler can time each command and subsystem (see {@link #enableTiming(int)}) to find
+ * which ones make the loop overrun, and can defer low-priority commands when the loop runs over a
+ * time budget (see {@link #setTimeBudget(double)}).
+ *
  * <p>This class is provided by the NewCommands VendorDep
  */
 public final class CommandScheduler implements Sendable, AutoCloseable {
@@ -99,6 +113,34 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
 
   private final Watchdog m_watchdog = new Watchdog(TimedRobot.kDefaultPeriod, () -> {});
 
+  // Execution time statistics for a command or subsystem, and its log entry if timings are logged
+  private static final class Timing {
+    final String m_name;
+    final ExecutionTimeStats m_stats;
+    DoubleLogEntry m_logEntry;
+
+    Timing(String name, int windowSize) {
+      m_name = name;
+      m_stats = new ExecutionTimeStats(windowSize);
+    }
+  }
+
+  // Timing window size in loops; 0 if timing is disabled
+  private int m_timingWindow;
+  private final Map<Command, Timing> m_commandTimings = new WeakHashMap<>();
+  private final Map<Subsystem, Timing> m_subsystemTimings = new WeakHashMap<>();
+  private DataLog m_timingLog;
+  private String m_timingLogPrefix;
+  // Log entries by name, shared by every command instance with the same name
+  private final Map<String, DoubleLogEntry> m_timingLogEntries = new HashMap<>();
+
+  // Loop time budget in microseconds; 0 if there is no budget
+  private long m_timeBudget;
+  private final Set<Command> m_lowPriorityCommands = Collections.newSetFromMap(new WeakHashMap<>());
+  // Low-priority commands whose execution was deferred on the previous loop
+  private final Set<Command> m_deferredCommands = new HashSet<>();
+  private long m_deferredCount;
+
   CommandScheduler() {
     HAL.report(tResourceType.kResourceType_Command, tInstances.kCommand2_Scheduler);
     SendableRegistry.addLW(this, "Scheduler");
@@ -123,6 +165,7 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
   @Override
   public void close() {
     SendableRegistry.remove(this);
+    finishTimingLogEntries();
     LiveWindow.setEnabledListener(null);
     LiveWindow.setDisabledListener(null);
   }
@@ -263,13 +306,18 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
       return;
     }
     m_watchdog.reset();
+    final long loopStart = m_timeBudget > 0 ? RobotController.getFPGATime() : 0;
 
     // Run the periodic method of all registered subsystems.
     for (Subsystem subsystem : m_subsystems.keySet()) {
+      final long start = getTimingStart();
       subsystem.periodic();
       if (RobotBase.isSimulation()) {
         subsystem.simulationPeriodic();
       }
+      if (m_timingWindow > 0) {
+        addTiming(m_subsystemTimings, subsystem, subsystem.getName(), ".periodic()", start);
+      }
       m_watchdog.addEpoch(subsystem.getName() + ".periodic()");
     }
 
@@ -291,12 +339,24 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
         continue;
       }
 
+      if (m_timeBudget > 0
+          && m_lowPriorityCommands.contains(command)
+          && defer(command, loopStart)) {
+        continue;
+      }
+
+      final long start = getTimingStart();
       command.execute();
       for (Consumer<Command> action : m_executeActions) {
         action.accept(command);
       }
       m_watchdog.addEpoch(command.getName() + ".execute()");
-      if (command.isFinished()) {
+      boolean finished = command.isFinished();
+      if (m_timingWindow > 0) {
+        addTiming(m_commandTimings, command, command.getName(), ".execute()", start);
+      }
+      if (finished) {
+        m_deferredCommands.remove(command);
         m_endingCommands.add(command);
         command.end(false);
         for (Consumer<Command> action : m_finishActions) {
@@ -492,10 +552,65 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
     }
     m_endingCommands.remove(command);
     m_scheduledCommands.remove(command);
+    m_deferredCommands.remove(command);
     m_requirements.keySet().removeAll(command.getRequirements());
     m_watchdog.addEpoch(command.getName() + ".end(true)");
   }
 
+  private long getTimingStart() {
+    return m_timingWindow > 0 ? RobotController.getFPGATime() : 0;
+  }
+
+  /**
+   * Adds an execution time sample for a command or subsystem.
+   *
+   * @param timings The timings of commands or subsystems
+   * @param key The command or subsystem
+   * @param name The name of the command or subsystem
+   * @param method The timed method (e.g. ".periodic()")
+   * @param start The FPGA time at which execution started, in microseconds
+   */
+  private <K> void addTiming(
+      Map<K, Timing> timings, K key, String name, String method, long start) {
+    long end = RobotController.getFPGATime();
+    Timing timing = timings.get(key);
+    if (timing == null) {
+      timing = new Timing(name + method, m_timingWindow);
+      timings.put(key, timing);
+    }
+    double seconds = (end - start) / 1e6;
+    timing.m_stats.add(seconds);
+    if (m_timingLog != null) {
+      if (timing.m_logEntry == null) {
+        timing.m_logEntry =
+            m_timingLogEntries.computeIfAbsent(
+                timing.m_name,
+                name -> new DoubleLogEntry(m_timingLog, m_timingLogPrefix + name));
+      }
+      timing.m_logEntry.append(seconds, end);
+    }
+  }
+
+  /**
+   * Decides whether to defer a low-priority command's execution because the loop is over budget. A
+   * command is never deferred on two loops in a row, so it runs at least every other loop.
+   *
+   * @param command The low-priority command
+   * @param loopStart The FPGA time at which the loop started, in microseconds
+   * @return Whether to skip the command on this loop.
+   */
+  private boolean defer(Command command, long loopStart) {
+    if (m_deferredCommands.remove(command)) {
+      return false;
+    }
+    if (RobotController.getFPGATime() - loopStart <= m_timeBudget) {
+      return false;
+    }
+    m_deferredCommands.add(command);
+    m_deferredCount++;
+    return true;
+  }
+
   /** Cancels all commands that are currently scheduled. */
   public void cancelAll() {
     // Copy to array to avoid concurrent modification.
@@ -558,6 +673,144 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
     m_watchdog.printEpochs();
   }
 
+  /**
+   * Enables timing of each command's execute() and isFinished() and each subsystem's periodic().
+   * The statistics cover the given number of most recent runs, and are available from {@link
+   * #getTiming(Command)} and {@link #getTiming(Subsystem)}, on the scheduler's dashboard widget,
+   * and in the data log if {@link #setTimingLog(DataLog, String)} is used. Any previous statistics
+   * are cleared.
+   *
+   * @param windowSize The number of runs of each command and subsystem to compute statistics over
+   *     (e.g. 50 for the last second at the default loop period).
+   * @throws IllegalArgumentException if windowSize is less than 1.
+   */
+  public void enableTiming(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive, got " + windowSize);
+    }
+    m_timingWindow = windowSize;
+    m_commandTimings.clear();
+    m_subsystemTimings.clear();
+  }
+
+  /**
+   * Disables timing of commands and subsystems, clears the statistics, and finishes any timing log
+   * entries.
+   */
+  public void disableTiming() {
+    m_timingWindow = 0;
+    m_commandTimings.clear();
+    m_subsystemTimings.clear();
+    finishTimingLogEntries();
+  }
+
+  /**
+   * Returns the execution time statistics of a command's execute() and isFinished(). Timing must be
+   * enabled with {@link #enableTiming(int)}.
+   *
+   * @param command The command
+   * @return The statistics, or null if the command hasn't run since timing was enabled.
+   */
+  public ExecutionTimeStats getTiming(Command command) {
+    Timing timing = m_commandTimings.get(command);
+    return timing != null ? timing.m_stats : null;
+  }
+
+  /**
+   * Returns the execution time statistics of a subsystem's periodic(). Timing must be enabled with
+   * {@link #enableTiming(int)}.
+   *
+   * @param subsystem The subsystem
+   * @return The statistics, or null if the subsystem hasn't run since timing was enabled.
+   */
+  public ExecutionTimeStats getTiming(Subsystem subsystem) {
+    Timing timing = m_subsystemTimings.get(subsystem);
+    return timing != null ? timing.m_stats : null;
+  }
+
+  /**
+   * Logs each execution time measured while timing is enabled, in seconds, to a data log. Each
+   * command and subsystem name gets its own entry, named with the prefix followed by the watchdog
+   * epoch name (e.g. "Drive.periodic()"). Entries started for a previous log are finished, as are
+   * all entries when timing is disabled.
+   *
+   * @param log The data log, or null to stop logging.
+   * @param prefix The entry name prefix (e.g. "CommandScheduler/").
+   */
+  public void setTimingLog(DataLog log, String prefix) {
+    finishTimingLogEntries();
+    m_timingLog = log;
+    m_timingLogPrefix = prefix;
+  }
+
+  // Finishes the timing log entries; new entries are started the next time each name is timed
+  private void finishTimingLogEntries() {
+    for (DoubleLogEntry entry : m_timingLogEntries.values()) {
+      entry.finish();
+    }
+    m_timingLogEntries.clear();
+    for (Timing timing : m_commandTimings.values()) {
+      timing.m_logEntry = null;
+    }
+    for (Timing timing : m_subsystemTimings.values()) {
+      timing.m_logEntry = null;
+    }
+  }
+
+  /**
+   * Sets a time budget for each scheduler loop. Once the time since the start of {@link #run()}
+   * exceeds the budget, low-priority commands (see {@link #setLowPriority(Command, boolean)}) don't
+   * have their execute() and isFinished() called until the next loop. A command is never deferred
+   * on two loops in a row, so low-priority commands still run at least every other loop.
+   *
+   * @param budget The time budget in seconds, or 0 for no budget.
+   * @throws IllegalArgumentException if budget is negative.
+   */
+  public void setTimeBudget(double budget) {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Time budget must not be negative, got " + budget);
+    }
+    m_timeBudget = (long) (budget * 1e6);
+    m_deferredCommands.clear();
+  }
+
+  /**
+   * Sets whether a command is low-priority. Low-priority commands may have their execution deferred
+   * when the loop is over the time budget set with {@link #setTimeBudget(double)}.
+   *
+   * @param command The command
+   * @param lowPriority Whether the command is low-priority
+   */
+  public void setLowPriority(Command command, boolean lowPriority) {
+    requireNonNullParam(command, "command", "setLowPriority");
+    if (lowPriority) {
+      m_lowPriorityCommands.add(command);
+    } else {
+      m_lowPriorityCommands.remove(command);
+      m_deferredCommands.remove(command);
+    }
+  }
+
+  /**
+   * Returns whether a command is low-priority.
+   *
+   * @param command The command
+   * @return Whether the command is low-priority.
+   */
+  public boolean isLowPriority(Command command) {
+    return m_lowPriorityCommands.contains(command);
+  }
+
+  /**
+   * Returns the number of times a low-priority command's execution has been deferred because the
+   * loop was over its time budget.
+   *
+   * @return The number of deferred executions.
+   */
+  public long getDeferredCount() {
+    return m_deferredCount;
+  }
+
   /**
    * Adds an action to perform on the initialization of any command by the scheduler.
    *
@@ -789,5 +1042,90 @@ public final class CommandScheduler implements Sendable, AutoCloseable {
             cancel(ids.get(hash));
           }
         });
+    if (builder.getBackendKind() == SendableBuilder.BackendKind.kNetworkTables) {
+      initTimingSendable((NTSendableBuilder) builder);
+    }
+  }
+
+  /**
+   * Publishes the timing statistics of the subsystems and scheduled commands. Each update takes one
+   * snapshot of the statistics, and nothing is published while timing is disabled.
+   *
+   * @param builder The sendable builder
+   */
+  private void initTimingSendable(NTSendableBuilder builder) {
+    StringArrayPublisher namesPub =
+        new StringArrayTopic(builder.getTopic("Timing/Names")).publish();
+    DoubleArrayPublisher minPub = new DoubleArrayTopic(builder.getTopic("Timing/Min")).publish();
+    DoubleArrayPublisher meanPub = new DoubleArrayTopic(builder.getTopic("Timing/Mean")).publish();
+    DoubleArrayPublisher p99Pub = new DoubleArrayTopic(builder.getTopic("Timing/P99")).publish();
+    DoubleArrayPublisher maxPub = new DoubleArrayTopic(builder.getTopic("Timing/Max")).publish();
+    builder.addCloseable(namesPub);
+    builder.addCloseable(minPub);
+    builder.addCloseable(meanPub);
+    builder.addCloseable(p99Pub);
+    builder.addCloseable(maxPub);
+    boolean[] published = {false};
+    builder.setUpdateTable(
+        () -> {
+          if (m_timingWindow == 0) {
+            if (published[0]) {
+              // Clear the statistics from when timing was enabled
+              namesPub.set(new String[] {});
+              minPub.set(new double[] {});
+              meanPub.set(new double[] {});
+              p99Pub.set(new double[] {});
+              maxPub.set(new double[] {});
+              published[0] = false;
+            }
+            return;
+          }
+          List<Timing> timings = getTimings();
+          String[] names = new String[timings.size()];
+          double[] min = new double[timings.size()];
+          double[] mean = new double[timings.size()];
+          double[] p99 = new double[timings.size()];
+          double[] max = new double[timings.size()];
+          for (int i = 0; i < names.length; i++) {
+            Timing timing = timings.get(i);
+            names[i] = timing.m_name;
+            min[i] = timing.m_stats.getMin();
+            mean[i] = timing.m_stats.getMean();
+            p99[i] = timing.m_stats.getPercentile(0.99);
+            max[i] = timing.m_stats.getMax();
+          }
+          namesPub.set(names);
+          minPub.set(min);
+          meanPub.set(mean);
+          p99Pub.set(p99);
+          maxPub.set(max);
+          published[0] = true;
+        });
+  }
+
+  /**
+   * Gets the timings of the registered subsystems and the scheduled commands, in the order they
+   * run.
+   *
+   * @return The timings
+   */
+  private List<Timing> getTimings() {
+    List<Timing> timings = new ArrayList<>();
+    if (m_timingWindow == 0) {
+      return timings;
+    }
+    for (Subsystem subsystem : m_subsystems.keySet()) {
+      Timing timing = m_subsystemTimings.get(subsystem);
+      if (timing != null) {
+        timings.add(timing);
+      }
+    }
+    for (Command command : m_scheduledCommands) {
+      Timing timing = m_commandTimings.get(command);
+      if (timing != null) {
+        timings.add(timing);
+      }
+    }
+    return timings;
   }
 }
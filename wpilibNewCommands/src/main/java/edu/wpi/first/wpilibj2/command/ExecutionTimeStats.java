@@ -0,0 +1,149 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.Arrays;
+
+/**
+ * Execution time statistics over a rolling window of the most recent samples. Used by the {@link
+ * CommandScheduler} to track how long each command and subsystem takes to run each loop.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class ExecutionTimeStats {
+  private final double[] m_samples;
+  private final double[] m_sorted;
+  private int m_next;
+  private int m_count;
+  private long m_totalCount;
+  private double m_sum;
+  private boolean m_sortedValid;
+
+  /**
+   * Creates statistics over a rolling window.
+   *
+   * @param windowSize The number of most recent samples to keep.
+   * @throws IllegalArgumentException if windowSize is less than 1.
+   */
+  public ExecutionTimeStats(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive, got " + windowSize);
+    }
+    m_samples = new double[windowSize];
+    m_sorted = new double[windowSize];
+  }
+
+  /**
+   * Adds a sample, replacing the oldest one if the window is full.
+   *
+   * @param seconds The execution time in seconds.
+   */
+  public void add(double seconds) {
+    if (m_count == m_samples.length) {
+      m_sum -= m_samples[m_next];
+    } else {
+      m_count++;
+    }
+    m_samples[m_next] = seconds;
+    m_next = (m_next + 1) % m_samples.length;
+    m_sum += seconds;
+    m_totalCount++;
+    m_sortedValid = false;
+  }
+
+  /** Removes all samples. */
+  public void reset() {
+    m_next = 0;
+    m_count = 0;
+    m_totalCount = 0;
+    m_sum = 0;
+    m_sortedValid = false;
+  }
+
+  /**
+   * Returns the number of samples in the window.
+   *
+   * @return The number of samples in the window.
+   */
+  public int getCount() {
+    return m_count;
+  }
+
+  /**
+   * Returns the number of samples added since the statistics were created or reset, including ones
+   * that have left the window.
+   *
+   * @return The total number of samples.
+   */
+  public long getTotalCount() {
+    return m_totalCount;
+  }
+
+  /**
+   * Returns the most recent sample.
+   *
+   * @return The most recent execution time in seconds, or 0 if there are no samples.
+   */
+  public double getLast() {
+    if (m_count == 0) {
+      return 0.0;
+    }
+    return m_samples[(m_next + m_samples.length - 1) % m_samples.length];
+  }
+
+  /**
+   * Returns the smallest sample in the window.
+   *
+   * @return The minimum execution time in seconds, or 0 if there are no samples.
+   */
+  public double getMin() {
+    return getPercentile(0.0);
+  }
+
+  /**
+   * Returns the mean of the samples in the window.
+   *
+   * @return The mean execution time in seconds, or 0 if there are no samples.
+   */
+  public double getMean() {
+    if (m_count == 0) {
+      return 0.0;
+    }
+    return m_sum / m_count;
+  }
+
+  /**
+   * Returns the largest sample in the window.
+   *
+   * @return The maximum execution time in seconds, or 0 if there are no samples.
+   */
+  public double getMax() {
+    return getPercentile(1.0);
+  }
+
+  /**
+   * Returns a percentile of the samples in the window, using the nearest-rank method.
+   *
+   * @param percentile The percentile as a fraction between 0 and 1 (e.g. 0.99 for p99).
+   * @return The execution time in seconds that the given fraction of samples are at or below, or 0
+   *     if there are no samples.
+   * @throws IllegalArgumentException if percentile is outside [0, 1].
+   */
+  public double getPercentile(double percentile) {
+    if (!(percentile >= 0.0 && percentile <= 1.0)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1, got " + percentile);
+    }
+    if (m_count == 0) {
+      return 0.0;
+    }
+    if (!m_sortedValid) {
+      System.arraycopy(m_samples, 0, m_sorted, 0, m_count);
+      Arrays.sort(m_sorted, 0, m_count);
+      m_sortedValid = true;
+    }
+    int rank = (int) Math.ceil(percentile * m_count);
+    return m_sorted[Math.max(rank - 1, 0)];
+  }
+}
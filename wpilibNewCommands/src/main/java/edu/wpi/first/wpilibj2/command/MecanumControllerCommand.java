@@ -17,6 +17,7 @@ import edu.wpi.first.math.kinematics.MecanumDriveKinematics;
 import edu.wpi.first.math.kinematics.MecanumDriveMotorVoltages;
 import edu.wpi.first.math.kinematics.MecanumDriveWheelSpeeds;
 import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectorySampler;
 import edu.wpi.first.wpilibj.Timer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -43,6 +44,8 @@ public class MecanumControllerCommand extends Command {
   private final Timer m_timer = new Timer();
   private final boolean m_usePID;
   private final Trajectory m_trajectory;
+  private TrajectorySampler m_sampler;
+  private final Trajectory.State m_desiredState = new Trajectory.State();
   private final Supplier<Pose2d> m_pose;
   private final SimpleMotorFeedforward m_feedforward;
   private final MecanumDriveKinematics m_kinematics;
@@ -464,7 +467,8 @@ public class MecanumControllerCommand extends Command {
 
   @Override
   public void initialize() {
-    var initialState = m_trajectory.sample(0);
+    m_sampler = new TrajectorySampler(m_trajectory);
+    var initialState = m_sampler.sample(0);
 
     var initialXVelocity =
         initialState.velocityMetersPerSecond * initialState.poseMeters.getRotation().getCos();
@@ -486,10 +490,10 @@ public class MecanumControllerCommand extends Command {
   public void execute() {
     double curTime = m_timer.get();
 
-    var desiredState = m_trajectory.sample(curTime);
+    m_sampler.sampleInto(curTime, m_desiredState);
 
     var targetChassisSpeeds =
-        m_controller.calculate(m_pose.get(), desiredState, m_desiredRotation.get());
+        m_controller.calculate(m_pose.get(), m_desiredState, m_desiredRotation.get());
     var targetWheelSpeeds = m_kinematics.toWheelSpeeds(targetChassisSpeeds);
 
     targetWheelSpeeds.desaturate(m_maxWheelVelocityMetersPerSecond);
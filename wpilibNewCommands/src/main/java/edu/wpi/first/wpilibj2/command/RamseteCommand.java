@@ -14,6 +14,7 @@ import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
 import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectorySampler;
 import edu.wpi.first.util.sendable.SendableBuilder;
 import edu.wpi.first.wpilibj.Timer;
 import java.util.function.BiConsumer;
@@ -37,6 +38,8 @@ public class RamseteCommand extends Command {
   private final Timer m_timer = new Timer();
   private final boolean m_usePID;
   private final Trajectory m_trajectory;
+  private TrajectorySampler m_sampler;
+  private final Trajectory.State m_desiredState = new Trajectory.State();
   private final Supplier<Pose2d> m_pose;
   private final RamseteController m_follower;
   private final SimpleMotorFeedforward m_feedforward;
@@ -144,7 +147,8 @@ public class RamseteCommand extends Command {
   @Override
   public void initialize() {
     m_prevTime = -1;
-    var initialState = m_trajectory.sample(0);
+    m_sampler = new TrajectorySampler(m_trajectory);
+    var initialState = m_sampler.sample(0);
     m_prevSpeeds =
         m_kinematics.toWheelSpeeds(
             new ChassisSpeeds(
@@ -170,9 +174,9 @@ public class RamseteCommand extends Command {
       return;
     }
 
+    m_sampler.sampleInto(curTime, m_desiredState);
     var targetWheelSpeeds =
-        m_kinematics.toWheelSpeeds(
-            m_follower.calculate(m_pose.get(), m_trajectory.sample(curTime)));
+        m_kinematics.toWheelSpeeds(m_follower.calculate(m_pose.get(), m_desiredState));
 
     double leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
     double rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
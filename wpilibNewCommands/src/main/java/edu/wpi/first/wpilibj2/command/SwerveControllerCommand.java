@@ -11,9 +11,12 @@ import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryPlan;
+import edu.wpi.first.math.trajectory.TrajectoryPlanner;
 import edu.wpi.first.wpilibj.Timer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -29,11 +32,17 @@ import java.util.function.Supplier;
  * <p>The robot angle controller does not follow the angle given by the trajectory but rather goes
  * to the angle given in the final state of the trajectory.
  *
+ * <p>The command can also follow a {@link TrajectoryPlan} from a {@link TrajectoryPlanner}, which
+ * is generated in the background when the command starts. The drivetrain is held still until the
+ * plan's first trajectory is ready, and switches to the refined trajectory when that's ready.
+ *
  * <p>This class is provided by the NewCommands VendorDep
  */
 public class SwerveControllerCommand extends Command {
   private final Timer m_timer = new Timer();
-  private final Trajectory m_trajectory;
+  private final Supplier<TrajectoryPlan> m_plan;
+  private TrajectoryPlan m_currentPlan;
+  private final Trajectory.State m_desiredState = new Trajectory.State();
   private final Supplier<Pose2d> m_pose;
   private final SwerveDriveKinematics m_kinematics;
   private final HolonomicDriveController m_controller;
@@ -186,7 +195,6 @@ public class SwerveControllerCommand extends Command {
    * @param outputModuleStates The raw output module states from the position controllers.
    * @param requirements The subsystems to require.
    */
-  @SuppressWarnings("this-escape")
   public SwerveControllerCommand(
       Trajectory trajectory,
       Supplier<Pose2d> pose,
@@ -195,7 +203,55 @@ public class SwerveControllerCommand extends Command {
       Supplier<Rotation2d> desiredRotation,
       Consumer<SwerveModuleState[]> outputModuleStates,
       Subsystem... requirements) {
-    m_trajectory = requireNonNullParam(trajectory, "trajectory", "SwerveControllerCommand");
+    this(
+        planTrajectory(trajectory),
+        pose,
+        kinematics,
+        controller,
+        desiredRotation,
+        outputModuleStates,
+        requirements);
+  }
+
+  /**
+   * Constructs a new SwerveControllerCommand that when executed will plan a trajectory and follow
+   * it. The plan is requested when the command is initialized, so it can start from the robot's
+   * pose at that time, for example:
+   *
+   * <pre><code>
+   * new SwerveControllerCommand(
+   *     () -&gt; planner.plan(drive.getPose(), List.of(), scoringPose, config),
+   *     ...);
+   * </code></pre>
+   *
+   * <p>Until the plan's first trajectory is ready, the command outputs stopped module states. The
+   * command ends early if the plan fails. This command will not return output voltages but rather
+   * raw module states from the position controllers which need to be put into a velocity PID.
+   *
+   * <p>Note: The controllers will *not* set the outputVolts to zero upon completion of the path-
+   * this is left to the user, since it is not appropriate for paths with nonstationary endstates.
+   *
+   * @param plan A function that plans the trajectory to follow. It's called each time the command
+   *     is initialized.
+   * @param pose A function that supplies the robot pose - use one of the odometry classes to
+   *     provide this.
+   * @param kinematics The kinematics for the robot drivetrain.
+   * @param controller The HolonomicDriveController for the drivetrain.
+   * @param desiredRotation The angle that the drivetrain should be facing. This is sampled at each
+   *     time step.
+   * @param outputModuleStates The raw output module states from the position controllers.
+   * @param requirements The subsystems to require.
+   */
+  @SuppressWarnings("this-escape")
+  public SwerveControllerCommand(
+      Supplier<TrajectoryPlan> plan,
+      Supplier<Pose2d> pose,
+      SwerveDriveKinematics kinematics,
+      HolonomicDriveController controller,
+      Supplier<Rotation2d> desiredRotation,
+      Consumer<SwerveModuleState[]> outputModuleStates,
+      Subsystem... requirements) {
+    m_plan = requireNonNullParam(plan, "plan", "SwerveControllerCommand");
     m_pose = requireNonNullParam(pose, "pose", "SwerveControllerCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "SwerveControllerCommand");
     m_controller = requireNonNullParam(controller, "controller", "SwerveControllerCommand");
@@ -209,18 +265,37 @@ public class SwerveControllerCommand extends Command {
     addRequirements(requirements);
   }
 
+  private static Supplier<TrajectoryPlan> planTrajectory(Trajectory trajectory) {
+    requireNonNullParam(trajectory, "trajectory", "SwerveControllerCommand");
+    return () -> new TrajectoryPlan(trajectory);
+  }
+
   @Override
   public void initialize() {
-    m_timer.restart();
+    m_currentPlan = m_plan.get();
+    m_currentPlan.reset();
+    m_timer.stop();
+    m_timer.reset();
+    if (m_currentPlan.isReady()) {
+      m_timer.start();
+    }
   }
 
   @Override
   public void execute() {
+    if (!m_currentPlan.isReady()) {
+      m_outputModuleStates.accept(m_kinematics.toSwerveModuleStates(new ChassisSpeeds()));
+      return;
+    }
+    if (!m_timer.isRunning()) {
+      m_timer.start();
+    }
+
     double curTime = m_timer.get();
-    var desiredState = m_trajectory.sample(curTime);
+    m_currentPlan.sampleInto(curTime, m_desiredState);
 
     var targetChassisSpeeds =
-        m_controller.calculate(m_pose.get(), desiredState, m_desiredRotation.get());
+        m_controller.calculate(m_pose.get(), m_desiredState, m_desiredRotation.get());
     var targetModuleStates = m_kinematics.toSwerveModuleStates(targetChassisSpeeds);
 
     m_outputModuleStates.accept(targetModuleStates);
@@ -229,10 +304,12 @@ public class SwerveControllerCommand extends Command {
   @Override
   public void end(boolean interrupted) {
     m_timer.stop();
+    m_currentPlan.cancel();
   }
 
   @Override
   public boolean isFinished() {
-    return m_timer.hasElapsed(m_trajectory.getTotalTimeSeconds());
+    return m_currentPlan.isFailed()
+        || m_timer.isRunning() && m_timer.hasElapsed(m_currentPlan.getTotalTimeSeconds());
   }
 }
@@ -0,0 +1,69 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutionTimeStatsTest {
+  @Test
+  void emptyTest() {
+    var stats = new ExecutionTimeStats(10);
+    assertEquals(0, stats.getCount());
+    assertEquals(0.0, stats.getMin());
+    assertEquals(0.0, stats.getMean());
+    assertEquals(0.0, stats.getPercentile(0.99));
+    assertEquals(0.0, stats.getMax());
+    assertEquals(0.0, stats.getLast());
+  }
+
+  @Test
+  void statisticsTest() {
+    var stats = new ExecutionTimeStats(100);
+    for (int i = 100; i >= 1; i--) {
+      stats.add(i * 0.001);
+    }
+    assertEquals(100, stats.getCount());
+    assertEquals(0.001, stats.getMin(), 1e-12);
+    assertEquals(0.0505, stats.getMean(), 1e-12);
+    assertEquals(0.050, stats.getPercentile(0.5), 1e-12);
+    assertEquals(0.099, stats.getPercentile(0.99), 1e-12);
+    assertEquals(0.100, stats.getMax(), 1e-12);
+    assertEquals(0.001, stats.getLast(), 1e-12);
+  }
+
+  @Test
+  void rollingWindowTest() {
+    var stats = new ExecutionTimeStats(3);
+    stats.add(10.0);
+    stats.add(1.0);
+    stats.add(2.0);
+    assertEquals(10.0, stats.getMax());
+    stats.add(3.0);
+    assertEquals(3, stats.getCount());
+    assertEquals(4, stats.getTotalCount());
+    assertEquals(1.0, stats.getMin());
+    assertEquals(2.0, stats.getMean(), 1e-12);
+    assertEquals(3.0, stats.getMax());
+    assertEquals(3.0, stats.getLast());
+
+    stats.reset();
+    assertEquals(0, stats.getCount());
+    assertEquals(0, stats.getTotalCount());
+    stats.add(5.0);
+    assertEquals(5.0, stats.getMin());
+    assertEquals(5.0, stats.getMax());
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> new ExecutionTimeStats(0));
+    var stats = new ExecutionTimeStats(1);
+    assertThrows(IllegalArgumentException.class, () -> stats.getPercentile(1.5));
+    assertThrows(IllegalArgumentException.class, () -> stats.getPercentile(Double.NaN));
+  }
+}
@@ -7,11 +7,15 @@ package edu.wpi.first.wpilibj2.command;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 class SchedulerTest extends CommandTestBase {
   @Test
@@ -186,4 +190,77 @@ class SchedulerTest extends CommandTestBase {
       assertEquals(counter.get(), 1);
     }
   }
+
+  @Test
+  @ResourceLock("timing")
+  void timingTest() {
+    HAL.initialize(500, 0);
+    SimHooks.pauseTiming();
+    try (CommandScheduler scheduler = new CommandScheduler()) {
+      Subsystem subsystem =
+          new Subsystem() {
+            @Override
+            public void periodic() {
+              SimHooks.stepTiming(0.002);
+            }
+          };
+      scheduler.registerSubsystem(subsystem);
+      Command command = Commands.run(() -> SimHooks.stepTiming(0.005));
+      scheduler.schedule(command);
+
+      scheduler.run();
+      assertNull(scheduler.getTiming(command));
+
+      scheduler.enableTiming(10);
+      for (int i = 0; i < 20; i++) {
+        scheduler.run();
+      }
+      assertEquals(10, scheduler.getTiming(command).getCount());
+      assertEquals(20, scheduler.getTiming(command).getTotalCount());
+      assertEquals(0.005, scheduler.getTiming(command).getMean(), 1e-6);
+      assertEquals(0.005, scheduler.getTiming(command).getPercentile(0.99), 1e-6);
+      assertEquals(0.002, scheduler.getTiming(subsystem).getMax(), 1e-6);
+
+      scheduler.disableTiming();
+      assertNull(scheduler.getTiming(subsystem));
+    } finally {
+      SimHooks.resumeTiming();
+    }
+  }
+
+  @Test
+  @ResourceLock("timing")
+  void timeBudgetTest() {
+    HAL.initialize(500, 0);
+    SimHooks.pauseTiming();
+    try (CommandScheduler scheduler = new CommandScheduler()) {
+      AtomicInteger lowPriorityCounter = new AtomicInteger();
+      Command slow = Commands.run(() -> SimHooks.stepTiming(0.03));
+      Command lowPriority = Commands.run(lowPriorityCounter::incrementAndGet);
+      scheduler.setLowPriority(lowPriority, true);
+      assertTrue(scheduler.isLowPriority(lowPriority));
+      scheduler.schedule(slow, lowPriority);
+
+      // No budget: everything runs
+      scheduler.run();
+      assertEquals(1, lowPriorityCounter.get());
+
+      // Over budget: the low-priority command runs every other loop
+      scheduler.setTimeBudget(0.02);
+      for (int i = 0; i < 4; i++) {
+        scheduler.run();
+      }
+      assertEquals(3, lowPriorityCounter.get());
+      assertEquals(2, scheduler.getDeferredCount());
+
+      // Commands that aren't low-priority are never deferred
+      scheduler.setLowPriority(lowPriority, false);
+      for (int i = 0; i < 4; i++) {
+        scheduler.run();
+      }
+      assertEquals(7, lowPriorityCounter.get());
+    } finally {
+      SimHooks.resumeTiming();
+    }
+  }
 }
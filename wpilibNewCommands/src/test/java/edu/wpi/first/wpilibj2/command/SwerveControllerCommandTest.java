@@ -6,8 +6,10 @@ package edu.wpi.first.wpilibj2.command;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.controller.HolonomicDriveController;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.geometry.Pose2d;
@@ -19,10 +21,15 @@ import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.trajectory.TrajectoryConfig;
 import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectoryPlan;
+import edu.wpi.first.math.trajectory.TrajectoryPlanner;
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.simulation.SimHooks;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -139,4 +146,70 @@ class SwerveControllerCommandTest {
                 getRobotPose().getRotation().getRadians(),
                 kAngularTolerance));
   }
+
+  @Test
+  @ResourceLock("timing")
+  void testReachesReferenceWithPlan() {
+    final var subsystem = new Subsystem() {};
+
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    final var planner = new TrajectoryPlanner(tasks::add);
+    final var end = new Pose2d(1, 5, new Rotation2d(3));
+    final var config = new TrajectoryConfig(8.8, 0.1);
+    final var plans = new ArrayList<TrajectoryPlan>();
+
+    final var command =
+        new SwerveControllerCommand(
+            () -> {
+              var plan = planner.plan(List.of(getRobotPose(), end), config);
+              plans.add(plan);
+              return plan;
+            },
+            this::getRobotPose,
+            m_kinematics,
+            new HolonomicDriveController(
+                new PIDController(0.6, 0, 0), new PIDController(0.6, 0, 0), m_rotController),
+            end::getRotation,
+            this::setModuleStates,
+            subsystem);
+
+    command.initialize();
+    assertEquals(1, plans.size());
+
+    // The robot waits while the trajectory is planned
+    for (int i = 0; i < 5; i++) {
+      command.execute();
+      assertFalse(command.isFinished());
+      for (var state : m_moduleStates) {
+        assertEquals(0.0, state.speedMetersPerSecond);
+      }
+      SimHooks.stepTiming(0.005);
+    }
+    tasks.remove().run();
+
+    final var trajectory = plans.get(0).getTrajectory().join();
+    m_timer.restart();
+    while (!command.isFinished()) {
+      command.execute();
+      m_angle = trajectory.sample(m_timer.get()).poseMeters.getRotation();
+
+      for (int i = 0; i < m_modulePositions.length; i++) {
+        m_modulePositions[i].distanceMeters += m_moduleStates[i].speedMetersPerSecond * 0.005;
+        m_modulePositions[i].angle = m_moduleStates[i].angle;
+      }
+
+      SimHooks.stepTiming(0.005);
+    }
+    m_timer.stop();
+    command.end(false);
+
+    assertAll(
+        () -> assertEquals(end.getX(), getRobotPose().getX(), kxTolerance),
+        () -> assertEquals(end.getY(), getRobotPose().getY(), kyTolerance),
+        () ->
+            assertEquals(
+                end.getRotation().getRadians(),
+                getRobotPose().getRotation().getRadians(),
+                kAngularTolerance));
+  }
 }
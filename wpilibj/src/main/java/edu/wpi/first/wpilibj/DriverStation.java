@@ -19,6 +19,7 @@ import edu.wpi.first.util.WPIUtilJNI;
 import edu.wpi.first.util.datalog.BooleanArrayLogEntry;
 import edu.wpi.first.util.datalog.BooleanLogEntry;
 import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DataLogBatch;
 import edu.wpi.first.util.datalog.FloatArrayLogEntry;
 import edu.wpi.first.util.datalog.IntegerArrayLogEntry;
 import java.nio.ByteBuffer;
@@ -206,23 +207,23 @@ public final class DriverStation {
   }
 
   private static class JoystickLogSender {
-    JoystickLogSender(DataLog log, int stick, long timestamp) {
+    JoystickLogSender(DataLog log, int stick, long timestamp, DataLogBatch batch) {
       m_stick = stick;
 
       m_logButtons = new BooleanArrayLogEntry(log, "DS:joystick" + stick + "/buttons", timestamp);
       m_logAxes = new FloatArrayLogEntry(log, "DS:joystick" + stick + "/axes", timestamp);
       m_logPOVs = new IntegerArrayLogEntry(log, "DS:joystick" + stick + "/povs", timestamp);
 
-      appendButtons(m_joystickButtons[m_stick], timestamp);
-      appendAxes(m_joystickAxes[m_stick], timestamp);
-      appendPOVs(m_joystickPOVs[m_stick], timestamp);
+      appendButtons(m_joystickButtons[m_stick], batch);
+      appendAxes(m_joystickAxes[m_stick], batch);
+      appendPOVs(m_joystickPOVs[m_stick], batch);
     }
 
-    public void send(long timestamp) {
+    public void send(DataLogBatch batch) {
       HALJoystickButtons buttons = m_joystickButtons[m_stick];
       if (buttons.m_count != m_prevButtons.m_count
           || buttons.m_buttons != m_prevButtons.m_buttons) {
-        appendButtons(buttons, timestamp);
+        appendButtons(buttons, batch);
       }
 
       HALJoystickAxes axes = m_joystickAxes[m_stick];
@@ -239,7 +240,7 @@ public final class DriverStation {
         }
       }
       if (needToLog) {
-        appendAxes(axes, timestamp);
+        appendAxes(axes, batch);
       }
 
       HALJoystickPOVs povs = m_joystickPOVs[m_stick];
@@ -256,11 +257,11 @@ public final class DriverStation {
         }
       }
       if (needToLog) {
-        appendPOVs(povs, timestamp);
+        appendPOVs(povs, batch);
       }
     }
 
-    void appendButtons(HALJoystickButtons buttons, long timestamp) {
+    void appendButtons(HALJoystickButtons buttons, DataLogBatch batch) {
       byte count = buttons.m_count;
       if (m_sizedButtons == null || m_sizedButtons.length != count) {
         m_sizedButtons = new boolean[count];
@@ -269,23 +270,23 @@ public final class DriverStation {
       for (int i = 0; i < count; i++) {
         m_sizedButtons[i] = (buttonsValue & (1 << i)) != 0;
       }
-      m_logButtons.append(m_sizedButtons, timestamp);
+      m_logButtons.append(batch, m_sizedButtons);
       m_prevButtons.m_count = count;
       m_prevButtons.m_buttons = buttons.m_buttons;
     }
 
-    void appendAxes(HALJoystickAxes axes, long timestamp) {
+    void appendAxes(HALJoystickAxes axes, DataLogBatch batch) {
       int count = axes.m_count;
       if (m_sizedAxes == null || m_sizedAxes.length != count) {
         m_sizedAxes = new float[count];
       }
       System.arraycopy(axes.m_axes, 0, m_sizedAxes, 0, count);
-      m_logAxes.append(m_sizedAxes, timestamp);
+      m_logAxes.append(batch, m_sizedAxes);
       m_prevAxes.m_count = count;
       System.arraycopy(axes.m_axes, 0, m_prevAxes.m_axes, 0, count);
     }
 
-    void appendPOVs(HALJoystickPOVs povs, long timestamp) {
+    void appendPOVs(HALJoystickPOVs povs, DataLogBatch batch) {
       int count = povs.m_count;
       if (m_sizedPOVs == null || m_sizedPOVs.length != count) {
         m_sizedPOVs = new long[count];
@@ -293,7 +294,7 @@ public final class DriverStation {
       for (int i = 0; i < count; i++) {
         m_sizedPOVs[i] = povs.m_povs[i];
       }
-      m_logPOVs.append(m_sizedPOVs, timestamp);
+      m_logPOVs.append(batch, m_sizedPOVs);
       m_prevPOVs.m_count = count;
       System.arraycopy(povs.m_povs, 0, m_prevPOVs.m_povs, 0, count);
     }
@@ -312,6 +313,8 @@ public final class DriverStation {
 
   private static class DataLogSender {
     DataLogSender(DataLog log, boolean logJoysticks, long timestamp) {
+      // All values logged by an update are committed together, with one native call
+      m_batch = new DataLogBatch(log);
       m_logEnabled = new BooleanLogEntry(log, "DS:enabled", timestamp);
       m_logAutonomous = new BooleanLogEntry(log, "DS:autonomous", timestamp);
       m_logTest = new BooleanLogEntry(log, "DS:test", timestamp);
@@ -323,51 +326,55 @@ public final class DriverStation {
       m_wasTest = m_controlWordCache.getTest();
       m_wasEstop = m_controlWordCache.getEStop();
 
-      m_logEnabled.append(m_wasEnabled, timestamp);
-      m_logAutonomous.append(m_wasAutonomous, timestamp);
-      m_logTest.append(m_wasTest, timestamp);
-      m_logEstop.append(m_wasEstop, timestamp);
+      m_logEnabled.append(m_batch, m_wasEnabled);
+      m_logAutonomous.append(m_batch, m_wasAutonomous);
+      m_logTest.append(m_batch, m_wasTest);
+      m_logEstop.append(m_batch, m_wasEstop);
 
       if (logJoysticks) {
         m_joysticks = new JoystickLogSender[kJoystickPorts];
         for (int i = 0; i < kJoystickPorts; i++) {
-          m_joysticks[i] = new JoystickLogSender(log, i, timestamp);
+          m_joysticks[i] = new JoystickLogSender(log, i, timestamp, m_batch);
         }
       } else {
         m_joysticks = new JoystickLogSender[0];
       }
+
+      m_batch.commit(timestamp);
     }
 
     public void send(long timestamp) {
       // append control word value changes
       boolean enabled = m_controlWordCache.getEnabled();
       if (enabled != m_wasEnabled) {
-        m_logEnabled.append(enabled, timestamp);
+        m_logEnabled.append(m_batch, enabled);
       }
       m_wasEnabled = enabled;
 
       boolean autonomous = m_controlWordCache.getAutonomous();
       if (autonomous != m_wasAutonomous) {
-        m_logAutonomous.append(autonomous, timestamp);
+        m_logAutonomous.append(m_batch, autonomous);
       }
       m_wasAutonomous = autonomous;
 
       boolean test = m_controlWordCache.getTest();
       if (test != m_wasTest) {
-        m_logTest.append(test, timestamp);
+        m_logTest.append(m_batch, test);
       }
       m_wasTest = test;
 
       boolean estop = m_controlWordCache.getEStop();
       if (estop != m_wasEstop) {
-        m_logEstop.append(estop, timestamp);
+        m_logEstop.append(m_batch, estop);
       }
       m_wasEstop = estop;
 
       // append joystick value changes
       for (JoystickLogSender joystick : m_joysticks) {
-        joystick.send(timestamp);
+        joystick.send(m_batch);
       }
+
+      m_batch.commit(timestamp);
     }
 
     boolean m_wasEnabled;
@@ -380,6 +387,7 @@ public final class DriverStation {
     final BooleanLogEntry m_logEstop;
 
     final JoystickLogSender[] m_joysticks;
+    final DataLogBatch m_batch;
   }
 
   // Joystick User Data
@@ -48,6 +48,7 @@ import edu.wpi.first.util.function.FloatConsumer;
 import edu.wpi.first.util.function.FloatSupplier;
 import edu.wpi.first.wpilibj.RobotController;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -96,7 +97,197 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     Consumer<S> m_updateLocal;
   }
 
-  private final List<Property<?, ?>> m_properties = new ArrayList<>();
+  // Change detection state of a typed property
+  private static final byte kAlwaysPublish = 0;
+  private static final byte kUnpublished = 1;
+  private static final byte kPublished = 2;
+
+  /**
+   * Getter-backed properties of one scalar type, stored as parallel arrays so update() can publish
+   * them in a tight loop. With change detection, a value is only published if it differs from the
+   * value last published by the same property. Subclasses implement update() for their type, and
+   * store the last published value as its bits.
+   *
+   * @param <G> getter type
+   * @param <P> publisher type
+   */
+  private abstract static class ScalarProperties<G, P extends Publisher> {
+    G[] m_getters;
+    P[] m_pubs;
+    private long[] m_last = new long[4];
+    private byte[] m_state = new byte[4];
+    int m_count;
+
+    ScalarProperties(G[] getters, P[] pubs) {
+      m_getters = getters;
+      m_pubs = pubs;
+    }
+
+    void add(G getter, P pub, boolean detectChanges) {
+      if (m_count == m_getters.length) {
+        int capacity = m_count * 2;
+        m_getters = Arrays.copyOf(m_getters, capacity);
+        m_pubs = Arrays.copyOf(m_pubs, capacity);
+        m_last = Arrays.copyOf(m_last, capacity);
+        m_state = Arrays.copyOf(m_state, capacity);
+      }
+      m_getters[m_count] = getter;
+      m_pubs[m_count] = pub;
+      m_state[m_count] = detectChanges ? kUnpublished : kAlwaysPublish;
+      m_count++;
+    }
+
+    abstract void update(boolean changeDetection, long time);
+
+    /**
+     * Returns true if a property's value doesn't need to be published.
+     *
+     * @param index property index
+     * @param bits bits of the current value
+     * @param changeDetection whether change detection is enabled
+     * @return True if the value is the same as the value last published
+     */
+    final boolean isUnchanged(int index, long bits, boolean changeDetection) {
+      return changeDetection && m_state[index] == kPublished && m_last[index] == bits;
+    }
+
+    /**
+     * Records that a property's value was published.
+     *
+     * @param index property index
+     * @param bits bits of the published value
+     */
+    final void published(int index, long bits) {
+      if (m_state[index] != kAlwaysPublish) {
+        m_state[index] = kPublished;
+        m_last[index] = bits;
+      }
+    }
+
+    void close() {
+      for (int i = 0; i < m_count; i++) {
+        m_pubs[i].close();
+      }
+    }
+  }
+
+  private static final class DoubleProperties
+      extends ScalarProperties<DoubleSupplier, DoublePublisher> {
+    DoubleProperties() {
+      super(new DoubleSupplier[4], new DoublePublisher[4]);
+    }
+
+    @Override
+    void update(boolean changeDetection, long time) {
+      for (int i = 0; i < m_count; i++) {
+        double value = m_getters[i].getAsDouble();
+        long bits = Double.doubleToRawLongBits(value);
+        if (isUnchanged(i, bits, changeDetection)) {
+          continue;
+        }
+        m_pubs[i].set(value, time);
+        published(i, bits);
+      }
+    }
+  }
+
+  private static final class BooleanProperties
+      extends ScalarProperties<BooleanSupplier, BooleanPublisher> {
+    BooleanProperties() {
+      super(new BooleanSupplier[4], new BooleanPublisher[4]);
+    }
+
+    @Override
+    void update(boolean changeDetection, long time) {
+      for (int i = 0; i < m_count; i++) {
+        boolean value = m_getters[i].getAsBoolean();
+        long bits = value ? 1 : 0;
+        if (isUnchanged(i, bits, changeDetection)) {
+          continue;
+        }
+        m_pubs[i].set(value, time);
+        published(i, bits);
+      }
+    }
+  }
+
+  private static final class IntegerProperties
+      extends ScalarProperties<LongSupplier, IntegerPublisher> {
+    IntegerProperties() {
+      super(new LongSupplier[4], new IntegerPublisher[4]);
+    }
+
+    @Override
+    void update(boolean changeDetection, long time) {
+      for (int i = 0; i < m_count; i++) {
+        long value = m_getters[i].getAsLong();
+        if (isUnchanged(i, value, changeDetection)) {
+          continue;
+        }
+        m_pubs[i].set(value, time);
+        published(i, value);
+      }
+    }
+  }
+
+  private static final class FloatProperties
+      extends ScalarProperties<FloatSupplier, FloatPublisher> {
+    FloatProperties() {
+      super(new FloatSupplier[4], new FloatPublisher[4]);
+    }
+
+    @Override
+    void update(boolean changeDetection, long time) {
+      for (int i = 0; i < m_count; i++) {
+        float value = m_getters[i].getAsFloat();
+        long bits = Float.floatToRawIntBits(value);
+        if (isUnchanged(i, bits, changeDetection)) {
+          continue;
+        }
+        m_pubs[i].set(value, time);
+        published(i, bits);
+      }
+    }
+  }
+
+  /**
+   * All properties of a builder. Clearing or closing the builder replaces its set with a new one
+   * instead of modifying it, so update() can run on a snapshot without holding a lock, the same way
+   * SmartDashboard.updateValues() does. An update() that runs concurrently with the replacement
+   * finishes on the old set, whose publishers are closed; NetworkTables ignores values set on them.
+   */
+  private static final class PropertySet {
+    final List<Property<?, ?>> m_properties = new ArrayList<>();
+    final BooleanProperties m_booleans = new BooleanProperties();
+    final IntegerProperties m_integers = new IntegerProperties();
+    final FloatProperties m_floats = new FloatProperties();
+    final DoubleProperties m_doubles = new DoubleProperties();
+
+    void update(boolean controllable, boolean changeDetection, long time) {
+      // Apply remote values first, so the getters publish them instead of overwriting them
+      for (Property<?, ?> property : m_properties) {
+        property.update(controllable, time);
+      }
+      m_booleans.update(changeDetection, time);
+      m_integers.update(changeDetection, time);
+      m_floats.update(changeDetection, time);
+      m_doubles.update(changeDetection, time);
+    }
+
+    void close() {
+      for (Property<?, ?> property : m_properties) {
+        property.close();
+      }
+      m_booleans.close();
+      m_integers.close();
+      m_floats.close();
+      m_doubles.close();
+    }
+  }
+
+  private volatile PropertySet m_propertySet = new PropertySet();
+  private volatile boolean m_changeDetection;
+  private volatile boolean m_closed;
   private Runnable m_safeState;
   private final List<Runnable> m_updateTables = new ArrayList<>();
   private NetworkTable m_table;
@@ -115,6 +306,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
   @Override
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   public void close() {
+    m_closed = true;
     if (m_controllablePub != null) {
       m_controllablePub.close();
     }
@@ -124,9 +316,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     if (m_actuatorPub != null) {
       m_actuatorPub.close();
     }
-    for (Property<?, ?> property : m_properties) {
-      property.close();
-    }
+    clearPropertySet();
     for (AutoCloseable closeable : m_closeables) {
       try {
         closeable.close();
@@ -176,13 +366,46 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     return m_actuator;
   }
 
+  /**
+   * Sets whether update() skips publishing values that haven't changed. When enabled, boolean,
+   * integer, float, and double properties that have a getter but no setter are only published when
+   * their getter returns a different value than it last published.
+   *
+   * <p>NetworkTables already ignores a value that is the same as the topic's current value, so this
+   * only removes the cost of passing the value to NetworkTables. The result differs only if another
+   * publisher changes the topic: the property's value isn't published again until it changes.
+   * Disabled by default.
+   *
+   * @param enabled true to skip unchanged values
+   */
+  public void setChangeDetection(boolean enabled) {
+    m_changeDetection = enabled;
+  }
+
+  /**
+   * Returns whether update() skips publishing values that haven't changed.
+   *
+   * @return True if change detection is enabled
+   */
+  public boolean getChangeDetection() {
+    return m_changeDetection;
+  }
+
+  /**
+   * Returns whether the builder has been closed, e.g. because the sendable was published to another
+   * builder.
+   *
+   * @return True if closed
+   */
+  boolean isClosed() {
+    return m_closed;
+  }
+
   /** Update the network table values by calling the getters for all properties. */
   @Override
   public void update() {
     long time = RobotController.getTime();
-    for (Property<?, ?> property : m_properties) {
-      property.update(m_controllable, time);
-    }
+    m_propertySet.update(m_controllable, m_changeDetection, time);
     for (Runnable updateTable : m_updateTables) {
       updateTable.run();
     }
@@ -230,10 +453,13 @@ public class SendableBuilderImpl implements NTSendableBuilder {
   @Override
   public void clearProperties() {
     stopListeners();
-    for (Property<?, ?> property : m_properties) {
-      property.close();
-    }
-    m_properties.clear();
+    clearPropertySet();
+  }
+
+  private void clearPropertySet() {
+    PropertySet propertySet = m_propertySet;
+    m_propertySet = new PropertySet();
+    propertySet.close();
   }
 
   @Override
@@ -317,22 +543,23 @@ public class SendableBuilderImpl implements NTSendableBuilder {
    */
   @Override
   public void addBooleanProperty(String key, BooleanSupplier getter, BooleanConsumer setter) {
-    Property<BooleanPublisher, BooleanSubscriber> property = new Property<>();
     BooleanTopic topic = m_table.getBooleanTopic(key);
+    BooleanPublisher pub = null;
     if (getter != null) {
-      property.m_pub = topic.publish();
-      property.m_updateNetwork = (pub, time) -> pub.set(getter.getAsBoolean(), time);
+      pub = topic.publish();
+      m_propertySet.m_booleans.add(getter, pub, setter == null);
     }
     if (setter != null) {
-      property.m_sub = topic.subscribe(false, PubSubOption.excludePublisher(property.m_pub));
+      Property<BooleanPublisher, BooleanSubscriber> property = new Property<>();
+      property.m_sub = topic.subscribe(false, PubSubOption.excludePublisher(pub));
       property.m_updateLocal =
           sub -> {
             for (boolean val : sub.readQueueValues()) {
               setter.accept(val);
             }
           };
+      m_propertySet.m_properties.add(property);
     }
-    m_properties.add(property);
   }
 
   @Override
@@ -341,7 +568,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     BooleanTopic topic = m_table.getBooleanTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -353,22 +580,23 @@ public class SendableBuilderImpl implements NTSendableBuilder {
    */
   @Override
   public void addIntegerProperty(String key, LongSupplier getter, LongConsumer setter) {
-    Property<IntegerPublisher, IntegerSubscriber> property = new Property<>();
     IntegerTopic topic = m_table.getIntegerTopic(key);
+    IntegerPublisher pub = null;
     if (getter != null) {
-      property.m_pub = topic.publish();
-      property.m_updateNetwork = (pub, time) -> pub.set(getter.getAsLong(), time);
+      pub = topic.publish();
+      m_propertySet.m_integers.add(getter, pub, setter == null);
     }
     if (setter != null) {
-      property.m_sub = topic.subscribe(0, PubSubOption.excludePublisher(property.m_pub));
+      Property<IntegerPublisher, IntegerSubscriber> property = new Property<>();
+      property.m_sub = topic.subscribe(0, PubSubOption.excludePublisher(pub));
       property.m_updateLocal =
           sub -> {
             for (long val : sub.readQueueValues()) {
               setter.accept(val);
             }
           };
+      m_propertySet.m_properties.add(property);
     }
-    m_properties.add(property);
   }
 
   @Override
@@ -377,7 +605,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     IntegerTopic topic = m_table.getIntegerTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -389,22 +617,23 @@ public class SendableBuilderImpl implements NTSendableBuilder {
    */
   @Override
   public void addFloatProperty(String key, FloatSupplier getter, FloatConsumer setter) {
-    Property<FloatPublisher, FloatSubscriber> property = new Property<>();
     FloatTopic topic = m_table.getFloatTopic(key);
+    FloatPublisher pub = null;
     if (getter != null) {
-      property.m_pub = topic.publish();
-      property.m_updateNetwork = (pub, time) -> pub.set(getter.getAsFloat(), time);
+      pub = topic.publish();
+      m_propertySet.m_floats.add(getter, pub, setter == null);
     }
     if (setter != null) {
-      property.m_sub = topic.subscribe(0.0f, PubSubOption.excludePublisher(property.m_pub));
+      Property<FloatPublisher, FloatSubscriber> property = new Property<>();
+      property.m_sub = topic.subscribe(0.0f, PubSubOption.excludePublisher(pub));
       property.m_updateLocal =
           sub -> {
             for (float val : sub.readQueueValues()) {
               setter.accept(val);
             }
           };
+      m_propertySet.m_properties.add(property);
     }
-    m_properties.add(property);
   }
 
   @Override
@@ -413,7 +642,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     FloatTopic topic = m_table.getFloatTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -425,22 +654,23 @@ public class SendableBuilderImpl implements NTSendableBuilder {
    */
   @Override
   public void addDoubleProperty(String key, DoubleSupplier getter, DoubleConsumer setter) {
-    Property<DoublePublisher, DoubleSubscriber> property = new Property<>();
     DoubleTopic topic = m_table.getDoubleTopic(key);
+    DoublePublisher pub = null;
     if (getter != null) {
-      property.m_pub = topic.publish();
-      property.m_updateNetwork = (pub, time) -> pub.set(getter.getAsDouble(), time);
+      pub = topic.publish();
+      m_propertySet.m_doubles.add(getter, pub, setter == null);
     }
     if (setter != null) {
-      property.m_sub = topic.subscribe(0.0, PubSubOption.excludePublisher(property.m_pub));
+      Property<DoublePublisher, DoubleSubscriber> property = new Property<>();
+      property.m_sub = topic.subscribe(0.0, PubSubOption.excludePublisher(pub));
       property.m_updateLocal =
           sub -> {
             for (double val : sub.readQueueValues()) {
               setter.accept(val);
             }
           };
+      m_propertySet.m_properties.add(property);
     }
-    m_properties.add(property);
   }
 
   @Override
@@ -449,7 +679,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     DoubleTopic topic = m_table.getDoubleTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -476,7 +706,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -485,7 +715,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     StringTopic topic = m_table.getStringTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -514,7 +744,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -523,7 +753,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     BooleanArrayTopic topic = m_table.getBooleanArrayTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -552,7 +782,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -561,7 +791,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     IntegerArrayTopic topic = m_table.getIntegerArrayTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -590,7 +820,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -599,7 +829,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     FloatArrayTopic topic = m_table.getFloatArrayTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -628,7 +858,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -637,7 +867,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     DoubleArrayTopic topic = m_table.getDoubleArrayTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -666,7 +896,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -675,7 +905,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     StringArrayTopic topic = m_table.getStringArrayTopic(key);
     property.m_pub = topic.publish();
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   /**
@@ -705,7 +935,7 @@ public class SendableBuilderImpl implements NTSendableBuilder {
             }
           };
     }
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 
   @Override
@@ -714,6 +944,6 @@ public class SendableBuilderImpl implements NTSendableBuilder {
     RawTopic topic = m_table.getRawTopic(key);
     property.m_pub = topic.publish(typestring);
     property.m_pub.set(value);
-    m_properties.add(property);
+    m_propertySet.m_properties.add(property);
   }
 }
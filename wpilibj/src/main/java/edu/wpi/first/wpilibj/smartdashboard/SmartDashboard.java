@@ -27,10 +27,26 @@ public final class SmartDashboard {
   /** The {@link NetworkTable} used by {@link SmartDashboard}. */
   private static NetworkTable table;
 
+  /** A {@link Sendable} put with putData() and the builder it was published to. */
+  private static final class Data {
+    Data(Sendable sendable, SendableBuilderImpl builder) {
+      m_sendable = sendable;
+      m_builder = builder;
+    }
+
+    final Sendable m_sendable;
+    final SendableBuilderImpl m_builder;
+  }
+
   /**
    * A table linking tables in the SmartDashboard to the {@link Sendable} objects they came from.
    */
-  private static final Map<String, Sendable> tablesToData = new HashMap<>();
+  private static final Map<String, Data> tablesToData = new HashMap<>();
+
+  /** Copy of the values of tablesToData, updated when it changes, for use by updateValues(). */
+  private static volatile Data[] dataSnapshot = new Data[0];
+
+  private static boolean changeDetection;
 
   /** The executor for listener tasks; calls listener tasks synchronously from main thread. */
   private static final ListenerExecutor listenerExecutor = new ListenerExecutor();
@@ -53,6 +69,7 @@ public final class SmartDashboard {
   public static synchronized void setNetworkTableInstance(NetworkTableInstance inst) {
     SmartDashboard.table = inst.getTable("SmartDashboard");
     tablesToData.clear();
+    dataSnapshot = new Data[0];
   }
 
   /**
@@ -69,15 +86,17 @@ public final class SmartDashboard {
       HAL.report(tResourceType.kResourceType_SmartDashboard, tInstances.kSmartDashboard_Instance);
       m_reported = true;
     }
-    Sendable sddata = tablesToData.get(key);
-    if (sddata == null || sddata != data) {
-      tablesToData.put(key, data);
+    Data sddata = tablesToData.get(key);
+    if (sddata == null || sddata.m_sendable != data) {
       NetworkTable dataTable = table.getSubTable(key);
       SendableBuilderImpl builder = new SendableBuilderImpl();
       builder.setTable(dataTable);
+      builder.setChangeDetection(changeDetection);
+      tablesToData.put(key, new Data(data, builder));
       SendableRegistry.publish(data, builder);
       builder.startListeners();
       dataTable.getEntry(".name").setString(key);
+      dataSnapshot = tablesToData.values().toArray(new Data[0]);
     }
   }
 
@@ -104,11 +123,11 @@ public final class SmartDashboard {
    * @throws IllegalArgumentException if the key is null
    */
   public static synchronized Sendable getData(String key) {
-    Sendable data = tablesToData.get(key);
+    Data data = tablesToData.get(key);
     if (data == null) {
       throw new IllegalArgumentException("SmartDashboard data does not exist: " + key);
     } else {
-      return data;
+      return data.m_sendable;
     }
   }
 
@@ -508,12 +527,37 @@ public final class SmartDashboard {
     listenerExecutor.execute(task);
   }
 
-  /** Puts all sendable data to the dashboard. */
-  public static synchronized void updateValues() {
+  /**
+   * Sets whether sendable data skips publishing values that haven't changed since they were last
+   * published. See {@link SendableBuilderImpl#setChangeDetection(boolean)}. Applies to data that
+   * has already been put as well as future data. Disabled by default.
+   *
+   * @param enabled true to skip unchanged values
+   */
+  public static synchronized void setChangeDetection(boolean enabled) {
+    changeDetection = enabled;
+    for (Data data : tablesToData.values()) {
+      data.m_builder.setChangeDetection(enabled);
+    }
+  }
+
+  /**
+   * Puts all sendable data to the dashboard.
+   *
+   * <p>Iterates over a snapshot of the data put with putData(), updating each object's builder
+   * directly, so neither the SmartDashboard nor the {@link SendableRegistry} lock is held while the
+   * data is updated. If an object has since been published to a different builder (e.g. by
+   * LiveWindow), it's updated through the registry instead.
+   */
+  public static void updateValues() {
     // Execute posted listener tasks
     listenerExecutor.runListenerTasks();
-    for (Sendable data : tablesToData.values()) {
-      SendableRegistry.update(data);
+    for (Data data : dataSnapshot) {
+      if (data.m_builder.isClosed()) {
+        SendableRegistry.update(data.m_sendable);
+      } else {
+        data.m_builder.update();
+      }
     }
   }
 }
@@ -0,0 +1,170 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj.smartdashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SendableBuilderImplTest {
+  private NetworkTableInstance m_inst;
+  private NetworkTable m_table;
+  private SendableBuilderImpl m_builder;
+
+  @BeforeEach
+  void setUp() {
+    m_inst = NetworkTableInstance.create();
+    m_table = m_inst.getTable("test");
+    m_builder = new SendableBuilderImpl();
+    m_builder.setTable(m_table);
+  }
+
+  @AfterEach
+  void tearDown() {
+    m_builder.close();
+    m_inst.close();
+  }
+
+  @Test
+  void testScalarProperties() {
+    boolean[] bool = {true};
+    long[] integer = {3};
+    float[] flt = {1.5f};
+    double[] dbl = {2.5};
+    m_builder.addBooleanProperty("bool", () -> bool[0], null);
+    m_builder.addIntegerProperty("int", () -> integer[0], null);
+    m_builder.addFloatProperty("float", () -> flt[0], null);
+    m_builder.addDoubleProperty("double", () -> dbl[0], null);
+    m_builder.addStringProperty("string", () -> "str", null);
+
+    m_builder.update();
+    assertTrue(m_table.getEntry("bool").getBoolean(false));
+    assertEquals(3, m_table.getEntry("int").getInteger(0));
+    assertEquals(1.5f, m_table.getEntry("float").getFloat(0));
+    assertEquals(2.5, m_table.getEntry("double").getDouble(0));
+    assertEquals("str", m_table.getEntry("string").getString(""));
+
+    bool[0] = false;
+    integer[0] = 4;
+    flt[0] = 2.5f;
+    dbl[0] = 3.5;
+    m_builder.update();
+    assertFalse(m_table.getEntry("bool").getBoolean(true));
+    assertEquals(4, m_table.getEntry("int").getInteger(0));
+    assertEquals(2.5f, m_table.getEntry("float").getFloat(0));
+    assertEquals(3.5, m_table.getEntry("double").getDouble(0));
+  }
+
+  @Test
+  void testSetter() {
+    double[] value = {1.0};
+    m_builder.addDoubleProperty("double", () -> value[0], val -> value[0] = val);
+    m_builder.startListeners();
+    m_builder.update();
+    assertEquals(1.0, m_table.getEntry("double").getDouble(0));
+
+    try (var pub = m_table.getDoubleTopic("double").publish()) {
+      pub.set(5.0);
+      m_builder.update();
+      assertEquals(5.0, value[0]);
+    }
+  }
+
+  @Test
+  void testSetterValuePublished() {
+    double[] dbl = {1.0};
+    boolean[] bool = {false};
+    m_builder.addDoubleProperty("double", () -> dbl[0], val -> dbl[0] = val);
+    m_builder.addBooleanProperty("bool", () -> bool[0], val -> bool[0] = val);
+    m_builder.startListeners();
+    m_builder.update();
+
+    try (var doublePub = m_table.getDoubleTopic("double").publish();
+        var boolPub = m_table.getBooleanTopic("bool").publish()) {
+      doublePub.set(5.0);
+      boolPub.set(true);
+
+      // The remote values are applied before the getters are published, so they aren't overwritten
+      // by the values from before the update
+      m_builder.update();
+      assertEquals(5.0, dbl[0]);
+      assertTrue(bool[0]);
+      assertEquals(5.0, m_table.getEntry("double").getDouble(0));
+      assertTrue(m_table.getEntry("bool").getBoolean(false));
+    }
+  }
+
+  @Test
+  void testChangeDetection() {
+    double[] value = {1.0};
+    int[] calls = {0};
+    m_builder.addDoubleProperty(
+        "double",
+        () -> {
+          calls[0]++;
+          return value[0];
+        },
+        null);
+    assertFalse(m_builder.getChangeDetection());
+    m_builder.setChangeDetection(true);
+    assertTrue(m_builder.getChangeDetection());
+
+    m_builder.update();
+    assertEquals(1.0, m_table.getEntry("double").getDouble(0));
+
+    // Another publisher changes the topic; unchanged values aren't published again
+    try (var pub = m_table.getDoubleTopic("double").publish()) {
+      pub.set(5.0);
+      m_builder.update();
+      assertEquals(5.0, m_table.getEntry("double").getDouble(0));
+
+      value[0] = 2.0;
+      m_builder.update();
+      assertEquals(2.0, m_table.getEntry("double").getDouble(0));
+
+      // Without change detection, every update publishes
+      m_builder.setChangeDetection(false);
+      pub.set(5.0);
+      m_builder.update();
+      assertEquals(2.0, m_table.getEntry("double").getDouble(0));
+    }
+    assertEquals(4, calls[0]);
+  }
+
+  @Test
+  void testChangeDetectionNaN() {
+    double[] value = {Double.NaN};
+    m_builder.addDoubleProperty("double", () -> value[0], null);
+    m_builder.setChangeDetection(true);
+    m_builder.update();
+    assertTrue(Double.isNaN(m_table.getEntry("double").getDouble(0)));
+    value[0] = 1.0;
+    m_builder.update();
+    assertEquals(1.0, m_table.getEntry("double").getDouble(0));
+  }
+
+  @Test
+  void testClearProperties() {
+    int[] calls = {0};
+    m_builder.addDoubleProperty("double", () -> calls[0]++, null);
+    m_builder.update();
+    m_builder.clearProperties();
+    m_builder.update();
+    assertEquals(1, calls[0]);
+  }
+
+  @Test
+  void testClose() {
+    assertFalse(m_builder.isClosed());
+    m_builder.close();
+    assertTrue(m_builder.isClosed());
+  }
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.sendable.Sendable;
 import edu.wpi.first.wpilibj.UtilityClassTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -122,4 +123,21 @@ class SmartDashboardTest extends UtilityClassTest<SmartDashboard> {
         NullPointerException.class,
         () -> SmartDashboard.putString("KEY_SHOULD_NOT_BE_STORED", null));
   }
+
+  @Test
+  void updateValuesTest() {
+    double[] value = {1.0};
+    Sendable data = builder -> builder.addDoubleProperty("value", () -> value[0], null);
+    SmartDashboard.putData("data", data);
+    assertEquals(data, SmartDashboard.getData("data"));
+
+    SmartDashboard.updateValues();
+    assertEquals(1.0, m_table.getEntry("data/value").getDouble(0));
+
+    SmartDashboard.setChangeDetection(true);
+    value[0] = 2.0;
+    SmartDashboard.updateValues();
+    assertEquals(2.0, m_table.getEntry("data/value").getDouble(0));
+    SmartDashboard.setChangeDetection(false);
+  }
 }
@@ -224,7 +224,14 @@ public class Matrix<R extends Num, C extends Num>
    * @return The result of the matrix multiplication between "this" and the given matrix.
    */
   public final <C2 extends Num> Matrix<R, C2> times(Matrix<C, C2> other) {
-    return new Matrix<>(this.m_storage.mult(Objects.requireNonNull(other).m_storage));
+    Objects.requireNonNull(other);
+    if (SmallMatrixOps.isSmall(this.m_storage.getDDRM())
+        && SmallMatrixOps.isSmall(other.m_storage.getDDRM())) {
+      var result = new SimpleMatrix(this.getNumRows(), other.getNumCols());
+      SmallMatrixOps.mult(this.m_storage.getDDRM(), other.m_storage.getDDRM(), result.getDDRM());
+      return new Matrix<>(result);
+    }
+    return new Matrix<>(this.m_storage.mult(other.m_storage));
   }
 
   /**
@@ -237,6 +244,37 @@ public class Matrix<R extends Num, C extends Num>
     return new Matrix<>(this.m_storage.scale(value));
   }
 
+  /**
+   * Multiplies this matrix with another that has C rows, storing the result in the given matrix
+   * instead of allocating a new one.
+   *
+   * @param other The other matrix to multiply by.
+   * @param out The matrix to store the result in. Must not be "this" or other.
+   * @param <C2> The number of columns in the second matrix.
+   * @return The output matrix.
+   * @throws IllegalArgumentException if out is "this" or other.
+   * @throws MatrixDimensionException if out doesn't have the same number of rows as "this" and
+   *     columns as other. It is never resized.
+   */
+  public final <C2 extends Num> Matrix<R, C2> timesInto(Matrix<C, C2> other, Matrix<R, C2> out) {
+    Objects.requireNonNull(other);
+    Objects.requireNonNull(out);
+    var a = this.m_storage.getDDRM();
+    var b = other.m_storage.getDDRM();
+    var c = out.m_storage.getDDRM();
+    if (c == a || c == b) {
+      throw new IllegalArgumentException("The output matrix can't be one of the operands");
+    }
+    // CommonOps_DDRM.mult() would silently reshape out, so check it for both paths
+    SmallMatrixOps.checkMultDimensions(a, b, c);
+    if (SmallMatrixOps.isSmall(a) && SmallMatrixOps.isSmall(b)) {
+      SmallMatrixOps.mult(a, b, c);
+    } else {
+      CommonOps_DDRM.mult(a, b, c);
+    }
+    return out;
+  }
+
   /**
    * Returns a matrix which is the result of an element by element multiplication of "this" and
    * other.
@@ -267,7 +305,34 @@ public class Matrix<R extends Num, C extends Num>
    * @return The resultant matrix.
    */
   public final Matrix<R, C> minus(Matrix<R, C> value) {
-    return new Matrix<>(this.m_storage.minus(Objects.requireNonNull(value).m_storage));
+    Objects.requireNonNull(value);
+    if (SmallMatrixOps.isSmall(this.m_storage.getDDRM())) {
+      var result = new SimpleMatrix(this.getNumRows(), this.getNumCols());
+      SmallMatrixOps.subtract(
+          this.m_storage.getDDRM(), value.m_storage.getDDRM(), result.getDDRM());
+      return new Matrix<>(result);
+    }
+    return new Matrix<>(this.m_storage.minus(value.m_storage));
+  }
+
+  /**
+   * Subtracts the given matrix from this matrix, storing the result in the given matrix instead of
+   * allocating a new one.
+   *
+   * @param value The matrix to subtract.
+   * @param out The matrix to store the result in. May be "this" or value.
+   * @return The output matrix.
+   */
+  public final Matrix<R, C> minusInto(Matrix<R, C> value, Matrix<R, C> out) {
+    var a = this.m_storage.getDDRM();
+    var b = Objects.requireNonNull(value).m_storage.getDDRM();
+    var c = Objects.requireNonNull(out).m_storage.getDDRM();
+    if (SmallMatrixOps.isSmall(a)) {
+      SmallMatrixOps.subtract(a, b, c);
+    } else {
+      CommonOps_DDRM.subtract(a, b, c);
+    }
+    return out;
   }
 
   /**
@@ -287,7 +352,33 @@ public class Matrix<R extends Num, C extends Num>
    * @return The resultant matrix.
    */
   public final Matrix<R, C> plus(Matrix<R, C> value) {
-    return new Matrix<>(this.m_storage.plus(Objects.requireNonNull(value).m_storage));
+    Objects.requireNonNull(value);
+    if (SmallMatrixOps.isSmall(this.m_storage.getDDRM())) {
+      var result = new SimpleMatrix(this.getNumRows(), this.getNumCols());
+      SmallMatrixOps.add(this.m_storage.getDDRM(), value.m_storage.getDDRM(), result.getDDRM());
+      return new Matrix<>(result);
+    }
+    return new Matrix<>(this.m_storage.plus(value.m_storage));
+  }
+
+  /**
+   * Adds the given matrix to this matrix, storing the result in the given matrix instead of
+   * allocating a new one.
+   *
+   * @param value The matrix to add.
+   * @param out The matrix to store the result in. May be "this" or value.
+   * @return The output matrix.
+   */
+  public final Matrix<R, C> plusInto(Matrix<R, C> value, Matrix<R, C> out) {
+    var a = this.m_storage.getDDRM();
+    var b = Objects.requireNonNull(value).m_storage.getDDRM();
+    var c = Objects.requireNonNull(out).m_storage.getDDRM();
+    if (SmallMatrixOps.isSmall(a)) {
+      SmallMatrixOps.add(a, b, c);
+    } else {
+      CommonOps_DDRM.add(a, b, c);
+    }
+    return out;
   }
 
   /**
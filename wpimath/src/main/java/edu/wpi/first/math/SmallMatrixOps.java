@@ -0,0 +1,175 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math;
+
+import org.ejml.MatrixDimensionException;
+import org.ejml.data.DMatrixRMaj;
+
+/**
+ * Matrix operations for the small matrices typical of state-space controllers and estimators.
+ *
+ * <p>These work directly on the row-major backing arrays and skip the SimpleMatrix wrapper and
+ * EJML's general-purpose kernels, which are tuned for much larger matrices. The most common
+ * products of square matrices with each other and with vectors are fully unrolled.
+ */
+final class SmallMatrixOps {
+  /** The largest row or column count handled by these operations. */
+  static final int kMaxDimension = 6;
+
+  private SmallMatrixOps() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Returns whether the matrix is small enough for these operations.
+   *
+   * @param m The matrix.
+   * @return Whether the matrix is small enough for these operations.
+   */
+  static boolean isSmall(DMatrixRMaj m) {
+    return m.numRows <= kMaxDimension && m.numCols <= kMaxDimension;
+  }
+
+  /**
+   * Checks that c = a * b has consistent dimensions, without resizing c.
+   *
+   * @param a The left matrix.
+   * @param b The right matrix.
+   * @param c The matrix to store the result in.
+   * @throws MatrixDimensionException if the dimensions are inconsistent.
+   */
+  static void checkMultDimensions(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    if (b.numRows != a.numCols || c.numRows != a.numRows || c.numCols != b.numCols) {
+      throw new MatrixDimensionException(
+          "Cannot multiply a "
+              + a.numRows
+              + "x"
+              + a.numCols
+              + " matrix by a "
+              + b.numRows
+              + "x"
+              + b.numCols
+              + " matrix into a "
+              + c.numRows
+              + "x"
+              + c.numCols
+              + " matrix");
+    }
+  }
+
+  /**
+   * Computes c = a * b. c must already have the right dimensions and must not be a or b.
+   *
+   * @param a The left matrix.
+   * @param b The right matrix.
+   * @param c The matrix to store the result in.
+   * @throws MatrixDimensionException if the dimensions are inconsistent.
+   */
+  static void mult(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    checkMultDimensions(a, b, c);
+    final int rows = a.numRows;
+    final int inner = a.numCols;
+    final int cols = b.numCols;
+
+    final double[] x = a.data;
+    final double[] y = b.data;
+    final double[] z = c.data;
+
+    if (rows == 2 && inner == 2) {
+      if (cols == 1) {
+        z[0] = x[0] * y[0] + x[1] * y[1];
+        z[1] = x[2] * y[0] + x[3] * y[1];
+        return;
+      } else if (cols == 2) {
+        z[0] = x[0] * y[0] + x[1] * y[2];
+        z[1] = x[0] * y[1] + x[1] * y[3];
+        z[2] = x[2] * y[0] + x[3] * y[2];
+        z[3] = x[2] * y[1] + x[3] * y[3];
+        return;
+      }
+    } else if (rows == 3 && inner == 3) {
+      if (cols == 1) {
+        z[0] = x[0] * y[0] + x[1] * y[1] + x[2] * y[2];
+        z[1] = x[3] * y[0] + x[4] * y[1] + x[5] * y[2];
+        z[2] = x[6] * y[0] + x[7] * y[1] + x[8] * y[2];
+        return;
+      } else if (cols == 3) {
+        z[0] = x[0] * y[0] + x[1] * y[3] + x[2] * y[6];
+        z[1] = x[0] * y[1] + x[1] * y[4] + x[2] * y[7];
+        z[2] = x[0] * y[2] + x[1] * y[5] + x[2] * y[8];
+        z[3] = x[3] * y[0] + x[4] * y[3] + x[5] * y[6];
+        z[4] = x[3] * y[1] + x[4] * y[4] + x[5] * y[7];
+        z[5] = x[3] * y[2] + x[4] * y[5] + x[5] * y[8];
+        z[6] = x[6] * y[0] + x[7] * y[3] + x[8] * y[6];
+        z[7] = x[6] * y[1] + x[7] * y[4] + x[8] * y[7];
+        z[8] = x[6] * y[2] + x[7] * y[5] + x[8] * y[8];
+        return;
+      }
+    }
+
+    for (int row = 0; row < rows; ++row) {
+      for (int col = 0; col < cols; ++col) {
+        double sum = 0.0;
+        for (int k = 0; k < inner; ++k) {
+          sum += x[row * inner + k] * y[k * cols + col];
+        }
+        z[row * cols + col] = sum;
+      }
+    }
+  }
+
+  /**
+   * Computes c = a + b. c may be a or b.
+   *
+   * @param a The left matrix.
+   * @param b The right matrix.
+   * @param c The matrix to store the result in.
+   * @throws MatrixDimensionException if the dimensions are inconsistent.
+   */
+  static void add(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    checkSameShape(a, b, c);
+    final int length = a.numRows * a.numCols;
+    for (int i = 0; i < length; ++i) {
+      c.data[i] = a.data[i] + b.data[i];
+    }
+  }
+
+  /**
+   * Computes c = a - b. c may be a or b.
+   *
+   * @param a The left matrix.
+   * @param b The right matrix.
+   * @param c The matrix to store the result in.
+   * @throws MatrixDimensionException if the dimensions are inconsistent.
+   */
+  static void subtract(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    checkSameShape(a, b, c);
+    final int length = a.numRows * a.numCols;
+    for (int i = 0; i < length; ++i) {
+      c.data[i] = a.data[i] - b.data[i];
+    }
+  }
+
+  private static void checkSameShape(DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c) {
+    if (a.numRows != b.numRows
+        || a.numCols != b.numCols
+        || a.numRows != c.numRows
+        || a.numCols != c.numCols) {
+      throw new MatrixDimensionException(
+          "Matrices must have the same shape, got "
+              + a.numRows
+              + "x"
+              + a.numCols
+              + ", "
+              + b.numRows
+              + "x"
+              + b.numCols
+              + " and "
+              + c.numRows
+              + "x"
+              + c.numCols);
+    }
+  }
+}
@@ -10,11 +10,13 @@ import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.Nat;
 import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.MutPose2d;
+import edu.wpi.first.math.geometry.MutTransform2d;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
-import edu.wpi.first.math.interpolation.TimeInterpolatableBuffer;
+import edu.wpi.first.math.interpolation.TimeInterpolatablePose2dBuffer;
 import edu.wpi.first.math.kinematics.Kinematics;
 import edu.wpi.first.math.kinematics.Odometry;
 import edu.wpi.first.math.numbers.N1;
@@ -45,8 +47,8 @@ public class PoseEstimator<T> {
 
   private static final double kBufferDuration = 1.5;
   // Maps timestamps to odometry-only pose estimates
-  private final TimeInterpolatableBuffer<Pose2d> m_odometryPoseBuffer =
-      TimeInterpolatableBuffer.createBuffer(kBufferDuration);
+  private final TimeInterpolatablePose2dBuffer m_odometryPoseBuffer =
+      new TimeInterpolatablePose2dBuffer(kBufferDuration);
   // Maps timestamps to vision updates
   // Always contains one entry before the oldest entry in m_odometryPoseBuffer, unless there have
   // been no vision measurements after the last reset. May contain one entry while
@@ -56,6 +58,12 @@ public class PoseEstimator<T> {
 
   private Pose2d m_poseEstimate;
 
+  // Scratch storage for compensate(), so it only allocates its result
+  private final MutPose2d m_compensateVisionPose = new MutPose2d();
+  private final MutPose2d m_compensateOdometryPose = new MutPose2d();
+  private final MutPose2d m_compensatePose = new MutPose2d();
+  private final MutTransform2d m_compensateDelta = new MutTransform2d();
+
   /**
    * Constructs a PoseEstimator.
    *
@@ -161,7 +169,7 @@ public class PoseEstimator<T> {
               new Pose2d(translation, latestVisionUpdate.getValue().visionPose.getRotation()),
               new Pose2d(translation, latestVisionUpdate.getValue().odometryPose.getRotation()));
       m_visionUpdates.put(latestVisionUpdate.getKey(), visionUpdate);
-      m_poseEstimate = visionUpdate.compensate(m_odometry.getPoseMeters());
+      m_poseEstimate = compensate(visionUpdate, m_odometry.getPoseMeters());
     } else {
       m_poseEstimate = m_odometry.getPoseMeters();
     }
@@ -186,7 +194,7 @@ public class PoseEstimator<T> {
               new Pose2d(latestVisionUpdate.getValue().visionPose.getTranslation(), rotation),
               new Pose2d(latestVisionUpdate.getValue().odometryPose.getTranslation(), rotation));
       m_visionUpdates.put(latestVisionUpdate.getKey(), visionUpdate);
-      m_poseEstimate = visionUpdate.compensate(m_odometry.getPoseMeters());
+      m_poseEstimate = compensate(visionUpdate, m_odometry.getPoseMeters());
     } else {
       m_poseEstimate = m_odometry.getPoseMeters();
     }
@@ -209,14 +217,14 @@ public class PoseEstimator<T> {
    */
   public Optional<Pose2d> sampleAt(double timestampSeconds) {
     // Step 0: If there are no odometry updates to sample, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()) {
+    if (m_odometryPoseBuffer.isEmpty()) {
       return Optional.empty();
     }
 
     // Step 1: Make sure timestamp matches the sample from the odometry pose buffer. (When sampling,
     // the buffer will always use a timestamp between the first and last timestamps)
-    double oldestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().firstKey();
-    double newestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().lastKey();
+    double oldestOdometryTimestamp = m_odometryPoseBuffer.getOldestTimestamp();
+    double newestOdometryTimestamp = m_odometryPoseBuffer.getNewestTimestamp();
     timestampSeconds =
         MathUtil.clamp(timestampSeconds, oldestOdometryTimestamp, newestOdometryTimestamp);
 
@@ -233,18 +241,18 @@ public class PoseEstimator<T> {
     var odometryEstimate = m_odometryPoseBuffer.getSample(timestampSeconds);
 
     // Step 5: Apply the vision compensation to the odometry pose.
-    return odometryEstimate.map(odometryPose -> visionUpdate.compensate(odometryPose));
+    return odometryEstimate.map(odometryPose -> compensate(visionUpdate, odometryPose));
   }
 
   /** Removes stale vision updates that won't affect sampling. */
   private void cleanUpVisionUpdates() {
     // Step 0: If there are no odometry samples, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()) {
+    if (m_odometryPoseBuffer.isEmpty()) {
       return;
     }
 
     // Step 1: Find the oldest timestamp that needs a vision update.
-    double oldestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().firstKey();
+    double oldestOdometryTimestamp = m_odometryPoseBuffer.getOldestTimestamp();
 
     // Step 2: If there are no vision updates before that timestamp, skip.
     if (m_visionUpdates.isEmpty() || oldestOdometryTimestamp < m_visionUpdates.firstKey()) {
@@ -279,59 +287,30 @@ public class PoseEstimator<T> {
    */
   public void addVisionMeasurement(Pose2d visionRobotPoseMeters, double timestampSeconds) {
     // Step 0: If this measurement is old enough to be outside the pose buffer's timespan, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()
-        || m_odometryPoseBuffer.getInternalBuffer().lastKey() - kBufferDuration
-            > timestampSeconds) {
+    if (m_odometryPoseBuffer.isEmpty()
+        || m_odometryPoseBuffer.getNewestTimestamp() - kBufferDuration > timestampSeconds) {
       return;
     }
 
     // Step 1: Clean up any old entries
     cleanUpVisionUpdates();
 
-    // Step 2: Get the pose measured by odometry at the moment the vision measurement was made.
-    var odometrySample = m_odometryPoseBuffer.getSample(timestampSeconds);
-
-    if (odometrySample.isEmpty()) {
-      return;
-    }
-
-    // Step 3: Get the vision-compensated pose estimate at the moment the vision measurement was
-    // made.
-    var visionSample = sampleAt(timestampSeconds);
+    // Step 2: Calculate the vision update.
+    var visionUpdate = createVisionUpdate(visionRobotPoseMeters, timestampSeconds);
 
-    if (visionSample.isEmpty()) {
+    if (visionUpdate == null) {
       return;
     }
 
-    // Step 4: Measure the transform between the old pose estimate and the vision pose.
-    var transform = visionRobotPoseMeters.minus(visionSample.get());
-
-    // Step 5: We should not trust the transform entirely, so instead we scale this transform by a
-    // Kalman
-    // gain matrix representing how much we trust vision measurements compared to our current pose.
-    var k_times_transform =
-        m_visionK.times(
-            VecBuilder.fill(
-                transform.getX(), transform.getY(), transform.getRotation().getRadians()));
-
-    // Step 6: Convert back to Transform2d.
-    var scaledTransform =
-        new Transform2d(
-            k_times_transform.get(0, 0),
-            k_times_transform.get(1, 0),
-            Rotation2d.fromRadians(k_times_transform.get(2, 0)));
-
-    // Step 7: Calculate and record the vision update.
-    var visionUpdate =
-        new VisionUpdate(visionSample.get().plus(scaledTransform), odometrySample.get());
+    // Step 3: Record the vision update.
     m_visionUpdates.put(timestampSeconds, visionUpdate);
 
-    // Step 8: Remove later vision measurements. (Matches previous behavior)
+    // Step 4: Remove later vision measurements. (Matches previous behavior)
     m_visionUpdates.tailMap(timestampSeconds, false).entrySet().clear();
 
-    // Step 9: Update latest pose estimate. Since we cleared all updates after this vision update,
+    // Step 5: Update latest pose estimate. Since we cleared all updates after this vision update,
     // it's guaranteed to be the latest vision update.
-    m_poseEstimate = visionUpdate.compensate(m_odometry.getPoseMeters());
+    m_poseEstimate = compensate(visionUpdate, m_odometry.getPoseMeters());
   }
 
   /**
@@ -368,6 +347,130 @@ public class PoseEstimator<T> {
     addVisionMeasurement(visionRobotPoseMeters, timestampSeconds);
   }
 
+  /**
+   * Adds a batch of vision measurements to the Kalman Filter, such as every tag seen by every
+   * camera in one robot loop. This will correct the odometry pose estimate while still accounting
+   * for measurement noise.
+   *
+   * <p>The measurements don't need to be in time order. They're applied from oldest to newest, so
+   * unlike calling {@link #addVisionMeasurement(Pose2d, double)} for each of them in arbitrary
+   * order, no measurement in the batch discards a newer one, and the pose estimate is only
+   * recomputed once at the end.
+   *
+   * <p>The current vision measurement standard deviations apply to every measurement in the batch.
+   *
+   * @param visionRobotPosesMeters The poses of the robot as measured by the vision cameras.
+   * @param timestampsSeconds The timestamps of the vision measurements in seconds, in the same
+   *     order as the poses. See {@link #addVisionMeasurement(Pose2d, double)} for the required
+   *     epoch.
+   * @throws IllegalArgumentException if the number of poses and timestamps differ.
+   */
+  public void addVisionMeasurements(Pose2d[] visionRobotPosesMeters, double[] timestampsSeconds) {
+    if (visionRobotPosesMeters.length != timestampsSeconds.length) {
+      throw new IllegalArgumentException(
+          "Number of vision poses and timestamps must match, got "
+              + visionRobotPosesMeters.length
+              + " and "
+              + timestampsSeconds.length);
+    }
+
+    // Step 0: If there are no odometry samples, skip.
+    if (m_odometryPoseBuffer.isEmpty()) {
+      return;
+    }
+
+    // Step 1: Clean up any old entries
+    cleanUpVisionUpdates();
+
+    // Step 2: Sort the batch by timestamp. Batches are small, so an insertion sort of the
+    // indices is cheaper than sorting boxed values.
+    int[] order = new int[timestampsSeconds.length];
+    for (int i = 0; i < order.length; ++i) {
+      int index = i;
+      while (index > 0 && timestampsSeconds[order[index - 1]] > timestampsSeconds[i]) {
+        order[index] = order[index - 1];
+        --index;
+      }
+      order[index] = i;
+    }
+
+    // Step 3: Record the vision updates from oldest to newest, skipping measurements that are old
+    // enough to be outside the pose buffer's timespan.
+    double oldestTimestamp = m_odometryPoseBuffer.getNewestTimestamp() - kBufferDuration;
+    VisionUpdate latestVisionUpdate = null;
+    for (int index : order) {
+      double timestampSeconds = timestampsSeconds[index];
+      if (oldestTimestamp > timestampSeconds) {
+        continue;
+      }
+
+      var visionUpdate = createVisionUpdate(visionRobotPosesMeters[index], timestampSeconds);
+      if (visionUpdate == null) {
+        continue;
+      }
+      m_visionUpdates.put(timestampSeconds, visionUpdate);
+
+      // Remove vision updates that are later than the whole batch. (Matches previous behavior) The
+      // rest of the batch is newer than this measurement, so this only needs to happen once.
+      if (latestVisionUpdate == null) {
+        m_visionUpdates.tailMap(timestampSeconds, false).entrySet().clear();
+      }
+      latestVisionUpdate = visionUpdate;
+    }
+
+    // Step 4: Update latest pose estimate. Since the batch was applied in time order, the last
+    // recorded update is guaranteed to be the latest vision update.
+    if (latestVisionUpdate != null) {
+      m_poseEstimate = compensate(latestVisionUpdate, m_odometry.getPoseMeters());
+    }
+  }
+
+  /**
+   * Calculates the vision update for a vision measurement. The odometry pose buffer must not be
+   * empty.
+   *
+   * @param visionRobotPoseMeters The pose of the robot as measured by the vision camera.
+   * @param timestampSeconds The timestamp of the vision measurement in seconds.
+   * @return The vision update, or null if the pose buffers couldn't be sampled.
+   */
+  private VisionUpdate createVisionUpdate(Pose2d visionRobotPoseMeters, double timestampSeconds) {
+    // Step 1: Get the pose measured by odometry at the moment the vision measurement was made.
+    var odometrySample = m_odometryPoseBuffer.getSample(timestampSeconds);
+
+    if (odometrySample.isEmpty()) {
+      return null;
+    }
+
+    // Step 2: Get the vision-compensated pose estimate at the moment the vision measurement was
+    // made.
+    var visionSample = sampleAt(timestampSeconds);
+
+    if (visionSample.isEmpty()) {
+      return null;
+    }
+
+    // Step 3: Measure the transform between the old pose estimate and the vision pose.
+    var transform = visionRobotPoseMeters.minus(visionSample.get());
+
+    // Step 4: We should not trust the transform entirely, so instead we scale this transform by a
+    // Kalman
+    // gain matrix representing how much we trust vision measurements compared to our current pose.
+    var k_times_transform =
+        m_visionK.times(
+            VecBuilder.fill(
+                transform.getX(), transform.getY(), transform.getRotation().getRadians()));
+
+    // Step 5: Convert back to Transform2d.
+    var scaledTransform =
+        new Transform2d(
+            k_times_transform.get(0, 0),
+            k_times_transform.get(1, 0),
+            Rotation2d.fromRadians(k_times_transform.get(2, 0)));
+
+    // Step 6: Calculate the vision update.
+    return new VisionUpdate(visionSample.get().plus(scaledTransform), odometrySample.get());
+  }
+
   /**
    * Updates the pose estimator with wheel encoder and gyro information. This should be called every
    * loop.
@@ -398,12 +501,29 @@ public class PoseEstimator<T> {
       m_poseEstimate = odometryEstimate;
     } else {
       var visionUpdate = m_visionUpdates.get(m_visionUpdates.lastKey());
-      m_poseEstimate = visionUpdate.compensate(odometryEstimate);
+      m_poseEstimate = compensate(visionUpdate, odometryEstimate);
     }
 
     return getEstimatedPosition();
   }
 
+  /**
+   * Returns the vision-compensated version of a pose. Specifically, changes the pose from being
+   * relative to a vision update's odometry pose to being relative to its vision pose.
+   *
+   * @param visionUpdate The vision update.
+   * @param pose The pose to compensate.
+   * @return The compensated pose.
+   */
+  private Pose2d compensate(VisionUpdate visionUpdate, Pose2d pose) {
+    m_compensateOdometryPose.set(visionUpdate.odometryPose);
+    m_compensatePose.set(pose).minusInto(m_compensateOdometryPose, m_compensateDelta);
+    return m_compensateVisionPose
+        .set(visionUpdate.visionPose)
+        .plusInto(m_compensateDelta, m_compensatePose)
+        .toPose2d();
+  }
+
   /**
    * Represents a vision update record. The record contains the vision-compensated pose estimate as
    * well as the corresponding odometry pose estimate.
@@ -425,17 +545,5 @@ public class PoseEstimator<T> {
       this.visionPose = visionPose;
       this.odometryPose = odometryPose;
     }
-
-    /**
-     * Returns the vision-compensated version of the pose. Specifically, changes the pose from being
-     * relative to this record's odometry pose to being relative to this record's vision pose.
-     *
-     * @param pose The pose to compensate.
-     * @return The compensated pose.
-     */
-    public Pose2d compensate(Pose2d pose) {
-      var delta = pose.minus(this.odometryPose);
-      return this.visionPose.plus(delta);
-    }
   }
 }
@@ -17,7 +17,7 @@ import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Transform3d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.geometry.Translation3d;
-import edu.wpi.first.math.interpolation.TimeInterpolatableBuffer;
+import edu.wpi.first.math.interpolation.TimeInterpolatablePose3dBuffer;
 import edu.wpi.first.math.kinematics.Kinematics;
 import edu.wpi.first.math.kinematics.Odometry3d;
 import edu.wpi.first.math.numbers.N1;
@@ -53,8 +53,8 @@ public class PoseEstimator3d<T> {
 
   private static final double kBufferDuration = 1.5;
   // Maps timestamps to odometry-only pose estimates
-  private final TimeInterpolatableBuffer<Pose3d> m_odometryPoseBuffer =
-      TimeInterpolatableBuffer.createBuffer(kBufferDuration);
+  private final TimeInterpolatablePose3dBuffer m_odometryPoseBuffer =
+      new TimeInterpolatablePose3dBuffer(kBufferDuration);
   // Maps timestamps to vision updates
   // Always contains one entry before the oldest entry in m_odometryPoseBuffer, unless there have
   // been no vision measurements after the last reset. May contain one entry while
@@ -221,14 +221,14 @@ public class PoseEstimator3d<T> {
    */
   public Optional<Pose3d> sampleAt(double timestampSeconds) {
     // Step 0: If there are no odometry updates to sample, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()) {
+    if (m_odometryPoseBuffer.isEmpty()) {
       return Optional.empty();
     }
 
     // Step 1: Make sure timestamp matches the sample from the odometry pose buffer. (When sampling,
     // the buffer will always use a timestamp between the first and last timestamps)
-    double oldestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().firstKey();
-    double newestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().lastKey();
+    double oldestOdometryTimestamp = m_odometryPoseBuffer.getOldestTimestamp();
+    double newestOdometryTimestamp = m_odometryPoseBuffer.getNewestTimestamp();
     timestampSeconds =
         MathUtil.clamp(timestampSeconds, oldestOdometryTimestamp, newestOdometryTimestamp);
 
@@ -251,12 +251,12 @@ public class PoseEstimator3d<T> {
   /** Removes stale vision updates that won't affect sampling. */
   private void cleanUpVisionUpdates() {
     // Step 0: If there are no odometry samples, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()) {
+    if (m_odometryPoseBuffer.isEmpty()) {
       return;
     }
 
     // Step 1: Find the oldest timestamp that needs a vision update.
-    double oldestOdometryTimestamp = m_odometryPoseBuffer.getInternalBuffer().firstKey();
+    double oldestOdometryTimestamp = m_odometryPoseBuffer.getOldestTimestamp();
 
     // Step 2: If there are no vision updates before that timestamp, skip.
     if (m_visionUpdates.isEmpty() || oldestOdometryTimestamp < m_visionUpdates.firstKey()) {
@@ -292,66 +292,28 @@ public class PoseEstimator3d<T> {
    */
   public void addVisionMeasurement(Pose3d visionRobotPoseMeters, double timestampSeconds) {
     // Step 0: If this measurement is old enough to be outside the pose buffer's timespan, skip.
-    if (m_odometryPoseBuffer.getInternalBuffer().isEmpty()
-        || m_odometryPoseBuffer.getInternalBuffer().lastKey() - kBufferDuration
-            > timestampSeconds) {
+    if (m_odometryPoseBuffer.isEmpty()
+        || m_odometryPoseBuffer.getNewestTimestamp() - kBufferDuration > timestampSeconds) {
       return;
     }
 
     // Step 1: Clean up any old entries
     cleanUpVisionUpdates();
 
-    // Step 2: Get the pose measured by odometry at the moment the vision measurement was made.
-    var odometrySample = m_odometryPoseBuffer.getSample(timestampSeconds);
+    // Step 2: Calculate the vision update.
+    var visionUpdate = createVisionUpdate(visionRobotPoseMeters, timestampSeconds);
 
-    if (odometrySample.isEmpty()) {
+    if (visionUpdate == null) {
       return;
     }
 
-    // Step 3: Get the vision-compensated pose estimate at the moment the vision measurement was
-    // made.
-    var visionSample = sampleAt(timestampSeconds);
-
-    if (visionSample.isEmpty()) {
-      return;
-    }
-
-    // Step 4: Measure the transform between the old pose estimate and the vision pose.
-    var transform = visionRobotPoseMeters.minus(visionSample.get());
-
-    // Step 5: We should not trust the transform entirely, so instead we scale this transform by a
-    // Kalman
-    // gain matrix representing how much we trust vision measurements compared to our current pose.
-    var k_times_transform =
-        m_visionK.times(
-            VecBuilder.fill(
-                transform.getX(),
-                transform.getY(),
-                transform.getZ(),
-                transform.getRotation().getX(),
-                transform.getRotation().getY(),
-                transform.getRotation().getZ()));
-
-    // Step 6: Convert back to Transform3d.
-    var scaledTransform =
-        new Transform3d(
-            k_times_transform.get(0, 0),
-            k_times_transform.get(1, 0),
-            k_times_transform.get(2, 0),
-            new Rotation3d(
-                k_times_transform.get(3, 0),
-                k_times_transform.get(4, 0),
-                k_times_transform.get(5, 0)));
-
-    // Step 7: Calculate and record the vision update.
-    var visionUpdate =
-        new VisionUpdate(visionSample.get().plus(scaledTransform), odometrySample.get());
+    // Step 3: Record the vision update.
     m_visionUpdates.put(timestampSeconds, visionUpdate);
 
-    // Step 8: Remove later vision measurements. (Matches previous behavior)
+    // Step 4: Remove later vision measurements. (Matches previous behavior)
     m_visionUpdates.tailMap(timestampSeconds, false).entrySet().clear();
 
-    // Step 9: Update latest pose estimate. Since we cleared all updates after this vision update,
+    // Step 5: Update latest pose estimate. Since we cleared all updates after this vision update,
     // it's guaranteed to be the latest vision update.
     m_poseEstimate = visionUpdate.compensate(m_odometry.getPoseMeters());
   }
@@ -390,6 +352,139 @@ public class PoseEstimator3d<T> {
     addVisionMeasurement(visionRobotPoseMeters, timestampSeconds);
   }
 
+  /**
+   * Adds a batch of vision measurements to the Kalman Filter, such as every tag seen by every
+   * camera in one robot loop. This will correct the odometry pose estimate while still accounting
+   * for measurement noise.
+   *
+   * <p>The measurements don't need to be in time order. They're applied from oldest to newest, so
+   * unlike calling {@link #addVisionMeasurement(Pose3d, double)} for each of them in arbitrary
+   * order, no measurement in the batch discards a newer one, and the pose estimate is only
+   * recomputed once at the end.
+   *
+   * <p>The current vision measurement standard deviations apply to every measurement in the batch.
+   *
+   * @param visionRobotPosesMeters The poses of the robot as measured by the vision cameras.
+   * @param timestampsSeconds The timestamps of the vision measurements in seconds, in the same
+   *     order as the poses. See {@link #addVisionMeasurement(Pose3d, double)} for the required
+   *     epoch.
+   * @throws IllegalArgumentException if the number of poses and timestamps differ.
+   */
+  public void addVisionMeasurements(Pose3d[] visionRobotPosesMeters, double[] timestampsSeconds) {
+    if (visionRobotPosesMeters.length != timestampsSeconds.length) {
+      throw new IllegalArgumentException(
+          "Number of vision poses and timestamps must match, got "
+              + visionRobotPosesMeters.length
+              + " and "
+              + timestampsSeconds.length);
+    }
+
+    // Step 0: If there are no odometry samples, skip.
+    if (m_odometryPoseBuffer.isEmpty()) {
+      return;
+    }
+
+    // Step 1: Clean up any old entries
+    cleanUpVisionUpdates();
+
+    // Step 2: Sort the batch by timestamp. Batches are small, so an insertion sort of the
+    // indices is cheaper than sorting boxed values.
+    int[] order = new int[timestampsSeconds.length];
+    for (int i = 0; i < order.length; ++i) {
+      int index = i;
+      while (index > 0 && timestampsSeconds[order[index - 1]] > timestampsSeconds[i]) {
+        order[index] = order[index - 1];
+        --index;
+      }
+      order[index] = i;
+    }
+
+    // Step 3: Record the vision updates from oldest to newest, skipping measurements that are old
+    // enough to be outside the pose buffer's timespan.
+    double oldestTimestamp = m_odometryPoseBuffer.getNewestTimestamp() - kBufferDuration;
+    VisionUpdate latestVisionUpdate = null;
+    for (int index : order) {
+      double timestampSeconds = timestampsSeconds[index];
+      if (oldestTimestamp > timestampSeconds) {
+        continue;
+      }
+
+      var visionUpdate = createVisionUpdate(visionRobotPosesMeters[index], timestampSeconds);
+      if (visionUpdate == null) {
+        continue;
+      }
+      m_visionUpdates.put(timestampSeconds, visionUpdate);
+
+      // Remove vision updates that are later than the whole batch. (Matches previous behavior) The
+      // rest of the batch is newer than this measurement, so this only needs to happen once.
+      if (latestVisionUpdate == null) {
+        m_visionUpdates.tailMap(timestampSeconds, false).entrySet().clear();
+      }
+      latestVisionUpdate = visionUpdate;
+    }
+
+    // Step 4: Update latest pose estimate. Since the batch was applied in time order, the last
+    // recorded update is guaranteed to be the latest vision update.
+    if (latestVisionUpdate != null) {
+      m_poseEstimate = latestVisionUpdate.compensate(m_odometry.getPoseMeters());
+    }
+  }
+
+  /**
+   * Calculates the vision update for a vision measurement. The odometry pose buffer must not be
+   * empty.
+   *
+   * @param visionRobotPoseMeters The pose of the robot as measured by the vision camera.
+   * @param timestampSeconds The timestamp of the vision measurement in seconds.
+   * @return The vision update, or null if the pose buffers couldn't be sampled.
+   */
+  private VisionUpdate createVisionUpdate(Pose3d visionRobotPoseMeters, double timestampSeconds) {
+    // Step 1: Get the pose measured by odometry at the moment the vision measurement was made.
+    var odometrySample = m_odometryPoseBuffer.getSample(timestampSeconds);
+
+    if (odometrySample.isEmpty()) {
+      return null;
+    }
+
+    // Step 2: Get the vision-compensated pose estimate at the moment the vision measurement was
+    // made.
+    var visionSample = sampleAt(timestampSeconds);
+
+    if (visionSample.isEmpty()) {
+      return null;
+    }
+
+    // Step 3: Measure the transform between the old pose estimate and the vision pose.
+    var transform = visionRobotPoseMeters.minus(visionSample.get());
+
+    // Step 4: We should not trust the transform entirely, so instead we scale this transform by a
+    // Kalman
+    // gain matrix representing how much we trust vision measurements compared to our current pose.
+    var k_times_transform =
+        m_visionK.times(
+            VecBuilder.fill(
+                transform.getX(),
+                transform.getY(),
+                transform.getZ(),
+                transform.getRotation().getX(),
+                transform.getRotation().getY(),
+                transform.getRotation().getZ()));
+
+    // Step 5: Convert back to Transform3d.
+    var scaledTransform =
+        new Transform3d(
+            k_times_transform.get(0, 0),
+            k_times_transform.get(1, 0),
+            k_times_transform.get(2, 0),
+            new Rotation3d(
+                k_times_transform.get(3, 0),
+                k_times_transform.get(4, 0),
+                k_times_transform.get(5, 0)));
+
+    // Step 6: Calculate the vision update.
+    return new VisionUpdate(visionSample.get().plus(scaledTransform), odometrySample.get());
+  }
+
   /**
    * Updates the pose estimator with wheel encoder and gyro information. This should be called every
    * loop.
@@ -4,31 +4,54 @@
 
 package edu.wpi.first.math.filter;
 
-import edu.wpi.first.util.DoubleCircularBuffer;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * A class that implements a moving-window median filter. Useful for reducing measurement noise,
  * especially with processes that generate occasional, extreme outliers (such as values from vision
  * processing, LIDAR, or ultrasonic sensors).
+ *
+ * <p>The window is kept in two indexed heaps: a max-heap holding the lower half of the values and a
+ * min-heap holding the upper half, so the median is always at the top of the heaps. Each new value
+ * overwrites the oldest one in place, which makes calculate() O(log n) in the window size without
+ * allocating.
  */
 public class MedianFilter {
-  private final DoubleCircularBuffer m_valueBuffer;
-  private final List<Double> m_orderedValues;
+  // Window values, indexed by slot. Slots are filled in time order and reused circularly.
+  private final double[] m_values;
+
+  // For each slot, its index in the lower heap if nonnegative, or the bitwise complement of its
+  // index in the upper heap if negative
+  private final int[] m_heapIndex;
+
+  // Max-heap of the slots holding the lower half of the window; holds the median if the window
+  // size is odd
+  private final int[] m_lower;
+  private int m_lowerSize;
+
+  // Min-heap of the slots holding the upper half of the window
+  private final int[] m_upper;
+  private int m_upperSize;
+
   private final int m_size;
+  private int m_count;
+  private int m_nextSlot;
+  private double m_lastValue;
 
   /**
    * Creates a new MedianFilter.
    *
    * @param size The number of samples in the moving window.
+   * @throws IllegalArgumentException if size is less than 1.
    */
   public MedianFilter(int size) {
-    // Circular buffer of values currently in the window, ordered by time
-    m_valueBuffer = new DoubleCircularBuffer(size);
-    // List of values currently in the window, ordered by value
-    m_orderedValues = new ArrayList<>(size);
+    if (size < 1) {
+      throw new IllegalArgumentException("Window size must be at least 1, got " + size);
+    }
+    m_values = new double[size];
+    m_heapIndex = new int[size];
+    // Inserting into a partially full window can put one extra value in either heap until it's
+    // rebalanced
+    m_lower = new int[size / 2 + 1];
+    m_upper = new int[size / 2 + 1];
     // Size of rolling window
     m_size = size;
   }
@@ -40,35 +63,54 @@ public class MedianFilter {
    * @return The median of the moving window, updated to include the next value.
    */
   public double calculate(double next) {
-    // Find insertion point for next value
-    int index = Collections.binarySearch(m_orderedValues, next);
-
-    // Deal with binarySearch behavior for element not found
-    if (index < 0) {
-      index = Math.abs(index + 1);
-    }
+    int slot = m_nextSlot;
+    m_nextSlot = (m_nextSlot + 1) % m_size;
+    m_lastValue = next;
 
-    // Place value at proper insertion point
-    m_orderedValues.add(index, next);
-
-    int curSize = m_orderedValues.size();
+    if (m_count == m_size) {
+      // Overwrite the oldest value in place, then restore the heap orderings
+      double old = m_values[slot];
+      m_values[slot] = next;
+      int index = m_heapIndex[slot];
+      if (index >= 0) {
+        if (Double.compare(next, old) > 0) {
+          siftUpLower(index);
+        } else {
+          siftDownLower(index);
+        }
+      } else {
+        if (Double.compare(next, old) < 0) {
+          siftUpUpper(~index);
+        } else {
+          siftDownUpper(~index);
+        }
+      }
+      if (m_upperSize > 0 && Double.compare(lowerTop(), upperTop()) > 0) {
+        swapTops();
+      }
+    } else {
+      m_values[slot] = next;
+      m_count++;
+      if (m_lowerSize == 0 || Double.compare(next, lowerTop()) <= 0) {
+        pushLower(slot);
+      } else {
+        pushUpper(slot);
+      }
 
-    // If buffer is at max size, pop element off of end of circular buffer
-    // and remove from ordered list
-    if (curSize > m_size) {
-      m_orderedValues.remove(m_valueBuffer.removeLast());
-      --curSize;
+      // Rebalance so the lower heap has the same number of values as the upper heap, or one more
+      if (m_lowerSize > m_upperSize + 1) {
+        pushUpper(popLower());
+      } else if (m_upperSize > m_lowerSize) {
+        pushLower(popUpper());
+      }
     }
 
-    // Add next value to circular buffer
-    m_valueBuffer.addFirst(next);
-
-    if (curSize % 2 != 0) {
-      // If size is odd, return middle element of sorted list
-      return m_orderedValues.get(curSize / 2);
+    if (m_count % 2 != 0) {
+      // If size is odd, return middle element
+      return lowerTop();
     } else {
       // If size is even, return average of middle elements
-      return (m_orderedValues.get(curSize / 2 - 1) + m_orderedValues.get(curSize / 2)) / 2.0;
+      return (lowerTop() + upperTop()) / 2.0;
     }
   }
 
@@ -78,12 +120,147 @@ public class MedianFilter {
    * @return The last value.
    */
   public double lastValue() {
-    return m_valueBuffer.getFirst();
+    return m_lastValue;
   }
 
   /** Resets the filter, clearing the window of all elements. */
   public void reset() {
-    m_orderedValues.clear();
-    m_valueBuffer.clear();
+    m_lowerSize = 0;
+    m_upperSize = 0;
+    m_count = 0;
+    m_nextSlot = 0;
+    m_lastValue = 0.0;
+  }
+
+  private double lowerTop() {
+    return m_values[m_lower[0]];
+  }
+
+  private double upperTop() {
+    return m_values[m_upper[0]];
+  }
+
+  /** Exchanges the tops of the two heaps, then restores both heap orderings. */
+  private void swapTops() {
+    int lowerSlot = m_lower[0];
+    int upperSlot = m_upper[0];
+    m_lower[0] = upperSlot;
+    m_heapIndex[upperSlot] = 0;
+    m_upper[0] = lowerSlot;
+    m_heapIndex[lowerSlot] = ~0;
+    siftDownLower(0);
+    siftDownUpper(0);
+  }
+
+  private void pushLower(int slot) {
+    m_lower[m_lowerSize] = slot;
+    m_heapIndex[slot] = m_lowerSize;
+    siftUpLower(m_lowerSize++);
+  }
+
+  private int popLower() {
+    final int top = m_lower[0];
+    int last = m_lower[--m_lowerSize];
+    m_lower[0] = last;
+    m_heapIndex[last] = 0;
+    siftDownLower(0);
+    return top;
+  }
+
+  private void pushUpper(int slot) {
+    m_upper[m_upperSize] = slot;
+    m_heapIndex[slot] = ~m_upperSize;
+    siftUpUpper(m_upperSize++);
+  }
+
+  private int popUpper() {
+    final int top = m_upper[0];
+    int last = m_upper[--m_upperSize];
+    m_upper[0] = last;
+    m_heapIndex[last] = ~0;
+    siftDownUpper(0);
+    return top;
+  }
+
+  private void siftUpLower(int index) {
+    int slot = m_lower[index];
+    double value = m_values[slot];
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      int parentSlot = m_lower[parent];
+      if (Double.compare(value, m_values[parentSlot]) <= 0) {
+        break;
+      }
+      m_lower[index] = parentSlot;
+      m_heapIndex[parentSlot] = index;
+      index = parent;
+    }
+    m_lower[index] = slot;
+    m_heapIndex[slot] = index;
+  }
+
+  private void siftDownLower(int index) {
+    int slot = m_lower[index];
+    double value = m_values[slot];
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= m_lowerSize) {
+        break;
+      }
+      if (child + 1 < m_lowerSize
+          && Double.compare(m_values[m_lower[child + 1]], m_values[m_lower[child]]) > 0) {
+        child++;
+      }
+      int childSlot = m_lower[child];
+      if (Double.compare(value, m_values[childSlot]) >= 0) {
+        break;
+      }
+      m_lower[index] = childSlot;
+      m_heapIndex[childSlot] = index;
+      index = child;
+    }
+    m_lower[index] = slot;
+    m_heapIndex[slot] = index;
+  }
+
+  private void siftUpUpper(int index) {
+    int slot = m_upper[index];
+    double value = m_values[slot];
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      int parentSlot = m_upper[parent];
+      if (Double.compare(value, m_values[parentSlot]) >= 0) {
+        break;
+      }
+      m_upper[index] = parentSlot;
+      m_heapIndex[parentSlot] = ~index;
+      index = parent;
+    }
+    m_upper[index] = slot;
+    m_heapIndex[slot] = ~index;
+  }
+
+  private void siftDownUpper(int index) {
+    int slot = m_upper[index];
+    double value = m_values[slot];
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= m_upperSize) {
+        break;
+      }
+      if (child + 1 < m_upperSize
+          && Double.compare(m_values[m_upper[child + 1]], m_values[m_upper[child]]) < 0) {
+        child++;
+      }
+      int childSlot = m_upper[child];
+      if (Double.compare(value, m_values[childSlot]) <= 0) {
+        break;
+      }
+      m_upper[index] = childSlot;
+      m_heapIndex[childSlot] = ~index;
+      index = child;
+    }
+    m_upper[index] = slot;
+    m_heapIndex[slot] = ~index;
   }
 }
@@ -0,0 +1,289 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+/**
+ * A mutable 2D pose containing translational and rotational elements.
+ *
+ * <p>This is the mutable counterpart of {@link Pose2d}. Operations write their result into a
+ * caller-provided output object instead of allocating a new one, which makes this class suitable
+ * for code that runs every robot loop, such as odometry. The output object may be the same object
+ * as either operand.
+ *
+ * <p>Prefer {@link Pose2d} everywhere else; mutable objects must not be shared between users that
+ * don't expect them to change.
+ */
+public class MutPose2d {
+  private final MutTranslation2d m_translation = new MutTranslation2d();
+  private final MutRotation2d m_rotation = new MutRotation2d();
+
+  /** Constructs a pose at the origin facing toward the positive X axis. */
+  public MutPose2d() {}
+
+  /**
+   * Constructs a pose with x and y translations and a rotation.
+   *
+   * @param x The x component of the translational component of the pose.
+   * @param y The y component of the translational component of the pose.
+   * @param rotation The rotational component of the pose in radians.
+   */
+  public MutPose2d(double x, double y, double rotation) {
+    set(x, y, rotation);
+  }
+
+  /**
+   * Constructs a MutPose2d with the same value as the given pose.
+   *
+   * @param pose The pose to copy.
+   */
+  public MutPose2d(Pose2d pose) {
+    set(pose);
+  }
+
+  /**
+   * Sets the components of this pose.
+   *
+   * @param x The x component of the translational component of the pose.
+   * @param y The y component of the translational component of the pose.
+   * @param rotation The rotational component of the pose in radians.
+   * @return This pose.
+   */
+  public MutPose2d set(double x, double y, double rotation) {
+    m_translation.set(x, y);
+    m_rotation.set(rotation);
+    return this;
+  }
+
+  /**
+   * Sets this pose to the value of the given pose.
+   *
+   * @param pose The pose to copy.
+   * @return This pose.
+   */
+  public MutPose2d set(Pose2d pose) {
+    m_translation.set(pose.getTranslation());
+    m_rotation.set(pose.getRotation());
+    return this;
+  }
+
+  /**
+   * Sets this pose to the value of the given pose.
+   *
+   * @param pose The pose to copy.
+   * @return This pose.
+   */
+  public MutPose2d set(MutPose2d pose) {
+    m_translation.set(pose.m_translation);
+    m_rotation.set(pose.m_rotation);
+    return this;
+  }
+
+  /**
+   * Returns the translational component of the pose. Modifying the returned object modifies this
+   * pose.
+   *
+   * @return The translational component of the pose.
+   */
+  public MutTranslation2d getTranslation() {
+    return m_translation;
+  }
+
+  /**
+   * Returns the rotational component of the pose. Modifying the returned object modifies this pose.
+   *
+   * @return The rotational component of the pose.
+   */
+  public MutRotation2d getRotation() {
+    return m_rotation;
+  }
+
+  /**
+   * Returns the X component of the pose's translation.
+   *
+   * @return The x component of the pose's translation.
+   */
+  public double getX() {
+    return m_translation.getX();
+  }
+
+  /**
+   * Returns the Y component of the pose's translation.
+   *
+   * @return The y component of the pose's translation.
+   */
+  public double getY() {
+    return m_translation.getY();
+  }
+
+  /**
+   * Transforms this pose by the given transformation and stores the result in the output. See
+   * {@link Pose2d#transformBy(Transform2d)}.
+   *
+   * @param other The transform to transform the pose by.
+   * @param out The pose to store the result in. May be this.
+   * @return The output pose.
+   */
+  public MutPose2d transformByInto(MutTransform2d other, MutPose2d out) {
+    double cos = m_rotation.getCos();
+    double sin = m_rotation.getSin();
+    double otherX = other.getX();
+    double otherY = other.getY();
+    double otherCos = other.getRotation().getCos();
+    double otherSin = other.getRotation().getSin();
+
+    out.m_translation.set(
+        m_translation.getX() + otherX * cos - otherY * sin,
+        m_translation.getY() + otherX * sin + otherY * cos);
+    out.m_rotation.set(otherCos * cos - otherSin * sin, otherCos * sin + otherSin * cos);
+    return out;
+  }
+
+  /**
+   * Transforms this pose by the given transformation and stores the result in the output. See
+   * {@link Pose2d#plus(Transform2d)}.
+   *
+   * @param other The transform to transform the pose by.
+   * @param out The pose to store the result in. May be this.
+   * @return The output pose.
+   */
+  public MutPose2d plusInto(MutTransform2d other, MutPose2d out) {
+    return transformByInto(other, out);
+  }
+
+  /**
+   * Stores the transform that maps the other pose to this pose in the output. See {@link
+   * Pose2d#minus(Pose2d)}.
+   *
+   * @param other The initial pose of the transformation.
+   * @param out The transform to store the result in.
+   * @return The output transform.
+   */
+  public MutTransform2d minusInto(MutPose2d other, MutTransform2d out) {
+    double cos = other.m_rotation.getCos();
+    double sin = other.m_rotation.getSin();
+    double dx = m_translation.getX() - other.m_translation.getX();
+    double dy = m_translation.getY() - other.m_translation.getY();
+
+    // Rotate the global delta by the inverse of the other pose's orientation
+    out.getTranslation().set(dx * cos + dy * sin, -dx * sin + dy * cos);
+    m_rotation.minusInto(other.m_rotation, out.getRotation());
+    return out;
+  }
+
+  /**
+   * Stores this pose relative to the given pose in the output. See {@link
+   * Pose2d#relativeTo(Pose2d)}.
+   *
+   * @param other The pose that is the origin of the new coordinate frame that the current pose will
+   *     be converted into.
+   * @param out The pose to store the result in. May be this or other.
+   * @return The output pose.
+   */
+  public MutPose2d relativeToInto(MutPose2d other, MutPose2d out) {
+    double cos = other.m_rotation.getCos();
+    double sin = other.m_rotation.getSin();
+    double dx = m_translation.getX() - other.m_translation.getX();
+    double dy = m_translation.getY() - other.m_translation.getY();
+
+    m_rotation.minusInto(other.m_rotation, out.m_rotation);
+    out.m_translation.set(dx * cos + dy * sin, -dx * sin + dy * cos);
+    return out;
+  }
+
+  /**
+   * Applies a (constant curvature) twist to this pose and stores the result in the output. See
+   * {@link Pose2d#exp(Twist2d)}.
+   *
+   * @param twist The change in pose in the robot's coordinate frame since the previous pose update.
+   * @param out The pose to store the result in. May be this.
+   * @return The output pose.
+   */
+  public MutPose2d expInto(Twist2d twist, MutPose2d out) {
+    double dx = twist.dx;
+    double dy = twist.dy;
+    double dtheta = twist.dtheta;
+
+    double sinTheta = Math.sin(dtheta);
+    double cosTheta = Math.cos(dtheta);
+
+    double s;
+    double c;
+    if (Math.abs(dtheta) < 1E-9) {
+      s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+      c = 0.5 * dtheta;
+    } else {
+      s = sinTheta / dtheta;
+      c = (1 - cosTheta) / dtheta;
+    }
+
+    double transformX = dx * s - dy * c;
+    double transformY = dx * c + dy * s;
+    double cos = m_rotation.getCos();
+    double sin = m_rotation.getSin();
+
+    out.m_translation.set(
+        m_translation.getX() + transformX * cos - transformY * sin,
+        m_translation.getY() + transformX * sin + transformY * cos);
+    out.m_rotation.set(cosTheta * cos - sinTheta * sin, cosTheta * sin + sinTheta * cos);
+    return out;
+  }
+
+  /**
+   * Stores the twist that maps this pose to the end pose in the output. See {@link
+   * Pose2d#log(Pose2d)}.
+   *
+   * @param end The end pose for the transformation.
+   * @param out The twist to store the result in.
+   * @return The output twist.
+   */
+  public Twist2d logInto(MutPose2d end, Twist2d out) {
+    double cos = m_rotation.getCos();
+    double sin = m_rotation.getSin();
+    double dx = end.m_translation.getX() - m_translation.getX();
+    double dy = end.m_translation.getY() - m_translation.getY();
+    final double transformX = dx * cos + dy * sin;
+    final double transformY = -dx * sin + dy * cos;
+
+    // Rotation of end relative to this, normalized like Rotation2d(x, y)
+    double rotX = end.m_rotation.getCos() * cos + end.m_rotation.getSin() * sin;
+    double rotY = -end.m_rotation.getCos() * sin + end.m_rotation.getSin() * cos;
+    double magnitude = Math.hypot(rotX, rotY);
+    rotX /= magnitude;
+    rotY /= magnitude;
+
+    final double dtheta = Math.atan2(rotY, rotX);
+    final double halfDtheta = dtheta / 2.0;
+
+    final double cosMinusOne = rotX - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * rotY) / cosMinusOne;
+    }
+
+    // Rotating by the unnormalized (halfThetaByTanOfHalfDtheta, -halfDtheta) vector is the same as
+    // rotating by its direction and then scaling by its norm
+    out.dx = transformX * halfThetaByTanOfHalfDtheta + transformY * halfDtheta;
+    out.dy = -transformX * halfDtheta + transformY * halfThetaByTanOfHalfDtheta;
+    out.dtheta = dtheta;
+    return out;
+  }
+
+  /**
+   * Returns an immutable copy of this pose.
+   *
+   * @return An immutable copy of this pose.
+   */
+  public Pose2d toPose2d() {
+    return new Pose2d(m_translation.toTranslation2d(), m_rotation.toRotation2d());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutPose2d(%s, %s)", m_translation, m_rotation);
+  }
+}
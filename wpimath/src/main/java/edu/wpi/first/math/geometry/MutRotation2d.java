@@ -0,0 +1,209 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+import edu.wpi.first.math.MathSharedStore;
+
+/**
+ * A mutable rotation in a 2D coordinate frame represented by a point on the unit circle (cosine and
+ * sine).
+ *
+ * <p>This is the mutable counterpart of {@link Rotation2d}. Operations write their result into a
+ * caller-provided output object instead of allocating a new one, which makes this class suitable
+ * for code that runs every robot loop. The output object may be the same object as either operand.
+ *
+ * <p>Prefer {@link Rotation2d} everywhere else; mutable objects must not be shared between users
+ * that don't expect them to change.
+ */
+public class MutRotation2d {
+  private double m_value;
+  private double m_cos = 1.0;
+  private double m_sin;
+
+  /** Constructs a MutRotation2d with a default angle of 0 degrees. */
+  public MutRotation2d() {}
+
+  /**
+   * Constructs a MutRotation2d with the given radian value.
+   *
+   * @param value The value of the angle in radians.
+   */
+  public MutRotation2d(double value) {
+    set(value);
+  }
+
+  /**
+   * Constructs a MutRotation2d with the same value as the given rotation.
+   *
+   * @param rotation The rotation to copy.
+   */
+  public MutRotation2d(Rotation2d rotation) {
+    set(rotation);
+  }
+
+  /**
+   * Sets this rotation to the given radian value.
+   *
+   * @param value The value of the angle in radians.
+   * @return This rotation.
+   */
+  public MutRotation2d set(double value) {
+    m_value = value;
+    m_cos = Math.cos(value);
+    m_sin = Math.sin(value);
+    return this;
+  }
+
+  /**
+   * Sets this rotation from the given x and y (cosine and sine) components. The components don't
+   * need to be normalized.
+   *
+   * @param x The x component or cosine of the rotation.
+   * @param y The y component or sine of the rotation.
+   * @return This rotation.
+   */
+  public MutRotation2d set(double x, double y) {
+    double magnitude = Math.hypot(x, y);
+    if (magnitude > 1e-6) {
+      m_cos = x / magnitude;
+      m_sin = y / magnitude;
+    } else {
+      m_cos = 1.0;
+      m_sin = 0.0;
+      MathSharedStore.reportError(
+          "x and y components of MutRotation2d are zero\n", Thread.currentThread().getStackTrace());
+    }
+    m_value = Math.atan2(m_sin, m_cos);
+    return this;
+  }
+
+  /**
+   * Sets this rotation to the value of the given rotation.
+   *
+   * @param rotation The rotation to copy.
+   * @return This rotation.
+   */
+  public MutRotation2d set(Rotation2d rotation) {
+    m_value = rotation.getRadians();
+    m_cos = rotation.getCos();
+    m_sin = rotation.getSin();
+    return this;
+  }
+
+  /**
+   * Sets this rotation to the value of the given rotation.
+   *
+   * @param rotation The rotation to copy.
+   * @return This rotation.
+   */
+  public MutRotation2d set(MutRotation2d rotation) {
+    m_value = rotation.m_value;
+    m_cos = rotation.m_cos;
+    m_sin = rotation.m_sin;
+    return this;
+  }
+
+  /**
+   * Returns the radian value of the rotation.
+   *
+   * @return The radian value of the rotation.
+   */
+  public double getRadians() {
+    return m_value;
+  }
+
+  /**
+   * Returns the degree value of the rotation.
+   *
+   * @return The degree value of the rotation.
+   */
+  public double getDegrees() {
+    return Math.toDegrees(m_value);
+  }
+
+  /**
+   * Returns the cosine of the rotation.
+   *
+   * @return The cosine of the rotation.
+   */
+  public double getCos() {
+    return m_cos;
+  }
+
+  /**
+   * Returns the sine of the rotation.
+   *
+   * @return The sine of the rotation.
+   */
+  public double getSin() {
+    return m_sin;
+  }
+
+  /**
+   * Adds the given rotation to this rotation and stores the result in the output. See {@link
+   * Rotation2d#rotateBy(Rotation2d)}.
+   *
+   * @param other The rotation to rotate by.
+   * @param out The rotation to store the result in. May be this or other.
+   * @return The output rotation.
+   */
+  public MutRotation2d rotateByInto(MutRotation2d other, MutRotation2d out) {
+    return out.set(
+        m_cos * other.m_cos - m_sin * other.m_sin, m_cos * other.m_sin + m_sin * other.m_cos);
+  }
+
+  /**
+   * Adds two rotations together and stores the result in the output. See {@link
+   * Rotation2d#plus(Rotation2d)}.
+   *
+   * @param other The rotation to add.
+   * @param out The rotation to store the result in. May be this or other.
+   * @return The output rotation.
+   */
+  public MutRotation2d plusInto(MutRotation2d other, MutRotation2d out) {
+    return rotateByInto(other, out);
+  }
+
+  /**
+   * Subtracts the given rotation from this rotation and stores the result in the output. See {@link
+   * Rotation2d#minus(Rotation2d)}.
+   *
+   * @param other The rotation to subtract.
+   * @param out The rotation to store the result in. May be this or other.
+   * @return The output rotation.
+   */
+  public MutRotation2d minusInto(MutRotation2d other, MutRotation2d out) {
+    // Rotate by the inverse of other, i.e. (cos, -sin)
+    return out.set(
+        m_cos * other.m_cos + m_sin * other.m_sin, -m_cos * other.m_sin + m_sin * other.m_cos);
+  }
+
+  /**
+   * Stores the inverse of this rotation in the output. See {@link Rotation2d#unaryMinus()}.
+   *
+   * @param out The rotation to store the result in. May be this.
+   * @return The output rotation.
+   */
+  public MutRotation2d unaryMinusInto(MutRotation2d out) {
+    out.m_value = -m_value;
+    out.m_cos = m_cos;
+    out.m_sin = -m_sin;
+    return out;
+  }
+
+  /**
+   * Returns an immutable copy of this rotation.
+   *
+   * @return An immutable copy of this rotation.
+   */
+  public Rotation2d toRotation2d() {
+    return new Rotation2d(m_value);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutRotation2d(Rads: %.2f, Deg: %.2f)", m_value, Math.toDegrees(m_value));
+  }
+}
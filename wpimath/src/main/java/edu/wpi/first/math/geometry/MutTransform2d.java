@@ -0,0 +1,143 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+/**
+ * A mutable transformation for a pose in the pose's frame.
+ *
+ * <p>This is the mutable counterpart of {@link Transform2d}. Operations write their result into a
+ * caller-provided output object instead of allocating a new one, which makes this class suitable
+ * for code that runs every robot loop. The output object may be the same object as the operand.
+ */
+public class MutTransform2d {
+  private final MutTranslation2d m_translation = new MutTranslation2d();
+  private final MutRotation2d m_rotation = new MutRotation2d();
+
+  /** Constructs the identity transform -- maps an initial pose to itself. */
+  public MutTransform2d() {}
+
+  /**
+   * Constructs a MutTransform2d with x and y translations and a rotation.
+   *
+   * @param x The x component of the translational component of the transform.
+   * @param y The y component of the translational component of the transform.
+   * @param rotation The rotational component of the transform in radians.
+   */
+  public MutTransform2d(double x, double y, double rotation) {
+    set(x, y, rotation);
+  }
+
+  /**
+   * Constructs a MutTransform2d with the same value as the given transform.
+   *
+   * @param transform The transform to copy.
+   */
+  public MutTransform2d(Transform2d transform) {
+    set(transform);
+  }
+
+  /**
+   * Sets the components of this transform.
+   *
+   * @param x The x component of the translational component of the transform.
+   * @param y The y component of the translational component of the transform.
+   * @param rotation The rotational component of the transform in radians.
+   * @return This transform.
+   */
+  public MutTransform2d set(double x, double y, double rotation) {
+    m_translation.set(x, y);
+    m_rotation.set(rotation);
+    return this;
+  }
+
+  /**
+   * Sets this transform to the value of the given transform.
+   *
+   * @param transform The transform to copy.
+   * @return This transform.
+   */
+  public MutTransform2d set(Transform2d transform) {
+    m_translation.set(transform.getTranslation());
+    m_rotation.set(transform.getRotation());
+    return this;
+  }
+
+  /**
+   * Sets this transform to the value of the given transform.
+   *
+   * @param transform The transform to copy.
+   * @return This transform.
+   */
+  public MutTransform2d set(MutTransform2d transform) {
+    m_translation.set(transform.m_translation);
+    m_rotation.set(transform.m_rotation);
+    return this;
+  }
+
+  /**
+   * Returns the translational component of the transform. Modifying the returned object modifies
+   * this transform.
+   *
+   * @return The translational component of the transform.
+   */
+  public MutTranslation2d getTranslation() {
+    return m_translation;
+  }
+
+  /**
+   * Returns the rotational component of the transform. Modifying the returned object modifies this
+   * transform.
+   *
+   * @return The rotational component of the transform.
+   */
+  public MutRotation2d getRotation() {
+    return m_rotation;
+  }
+
+  /**
+   * Returns the X component of the transformation's translation.
+   *
+   * @return The x component of the transformation's translation.
+   */
+  public double getX() {
+    return m_translation.getX();
+  }
+
+  /**
+   * Returns the Y component of the transformation's translation.
+   *
+   * @return The y component of the transformation's translation.
+   */
+  public double getY() {
+    return m_translation.getY();
+  }
+
+  /**
+   * Inverts this transformation and stores the result in the output. See {@link
+   * Transform2d#inverse()}.
+   *
+   * @param out The transform to store the result in. May be this.
+   * @return The output transform.
+   */
+  public MutTransform2d inverseInto(MutTransform2d out) {
+    m_rotation.unaryMinusInto(out.m_rotation);
+    m_translation.unaryMinusInto(out.m_translation).rotateByInto(out.m_rotation, out.m_translation);
+    return out;
+  }
+
+  /**
+   * Returns an immutable copy of this transform.
+   *
+   * @return An immutable copy of this transform.
+   */
+  public Transform2d toTransform2d() {
+    return new Transform2d(m_translation.toTranslation2d(), m_rotation.toRotation2d());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutTransform2d(%s, %s)", m_translation, m_rotation);
+  }
+}
@@ -0,0 +1,185 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+/**
+ * A mutable translation in 2D space.
+ *
+ * <p>This is the mutable counterpart of {@link Translation2d}. Operations write their result into a
+ * caller-provided output object instead of allocating a new one, which makes this class suitable
+ * for code that runs every robot loop. The output object may be the same object as either operand.
+ *
+ * <p>Prefer {@link Translation2d} everywhere else; mutable objects must not be shared between users
+ * that don't expect them to change.
+ */
+public class MutTranslation2d {
+  private double m_x;
+  private double m_y;
+
+  /** Constructs a MutTranslation2d with X and Y components equal to zero. */
+  public MutTranslation2d() {}
+
+  /**
+   * Constructs a MutTranslation2d with the X and Y components equal to the provided values.
+   *
+   * @param x The x component of the translation.
+   * @param y The y component of the translation.
+   */
+  public MutTranslation2d(double x, double y) {
+    set(x, y);
+  }
+
+  /**
+   * Constructs a MutTranslation2d with the same value as the given translation.
+   *
+   * @param translation The translation to copy.
+   */
+  public MutTranslation2d(Translation2d translation) {
+    set(translation);
+  }
+
+  /**
+   * Sets the X and Y components of this translation.
+   *
+   * @param x The x component of the translation.
+   * @param y The y component of the translation.
+   * @return This translation.
+   */
+  public MutTranslation2d set(double x, double y) {
+    m_x = x;
+    m_y = y;
+    return this;
+  }
+
+  /**
+   * Sets this translation to the value of the given translation.
+   *
+   * @param translation The translation to copy.
+   * @return This translation.
+   */
+  public MutTranslation2d set(Translation2d translation) {
+    return set(translation.getX(), translation.getY());
+  }
+
+  /**
+   * Sets this translation to the value of the given translation.
+   *
+   * @param translation The translation to copy.
+   * @return This translation.
+   */
+  public MutTranslation2d set(MutTranslation2d translation) {
+    return set(translation.m_x, translation.m_y);
+  }
+
+  /**
+   * Returns the X component of the translation.
+   *
+   * @return The X component of the translation.
+   */
+  public double getX() {
+    return m_x;
+  }
+
+  /**
+   * Returns the Y component of the translation.
+   *
+   * @return The Y component of the translation.
+   */
+  public double getY() {
+    return m_y;
+  }
+
+  /**
+   * Returns the norm, or distance from the origin to the translation.
+   *
+   * @return The norm of the translation.
+   */
+  public double getNorm() {
+    return Math.hypot(m_x, m_y);
+  }
+
+  /**
+   * Calculates the distance between two translations in 2D space.
+   *
+   * @param other The translation to compute the distance to.
+   * @return The distance between the two translations.
+   */
+  public double getDistance(MutTranslation2d other) {
+    return Math.hypot(other.m_x - m_x, other.m_y - m_y);
+  }
+
+  /**
+   * Adds two translations and stores the result in the output. See {@link
+   * Translation2d#plus(Translation2d)}.
+   *
+   * @param other The translation to add.
+   * @param out The translation to store the result in. May be this or other.
+   * @return The output translation.
+   */
+  public MutTranslation2d plusInto(MutTranslation2d other, MutTranslation2d out) {
+    return out.set(m_x + other.m_x, m_y + other.m_y);
+  }
+
+  /**
+   * Subtracts the other translation from this translation and stores the result in the output. See
+   * {@link Translation2d#minus(Translation2d)}.
+   *
+   * @param other The translation to subtract.
+   * @param out The translation to store the result in. May be this or other.
+   * @return The output translation.
+   */
+  public MutTranslation2d minusInto(MutTranslation2d other, MutTranslation2d out) {
+    return out.set(m_x - other.m_x, m_y - other.m_y);
+  }
+
+  /**
+   * Stores the inverse of this translation in the output. See {@link Translation2d#unaryMinus()}.
+   *
+   * @param out The translation to store the result in. May be this.
+   * @return The output translation.
+   */
+  public MutTranslation2d unaryMinusInto(MutTranslation2d out) {
+    return out.set(-m_x, -m_y);
+  }
+
+  /**
+   * Multiplies this translation by a scalar and stores the result in the output. See {@link
+   * Translation2d#times(double)}.
+   *
+   * @param scalar The scalar to multiply by.
+   * @param out The translation to store the result in. May be this.
+   * @return The output translation.
+   */
+  public MutTranslation2d timesInto(double scalar, MutTranslation2d out) {
+    return out.set(m_x * scalar, m_y * scalar);
+  }
+
+  /**
+   * Applies a rotation to this translation and stores the result in the output. See {@link
+   * Translation2d#rotateBy(Rotation2d)}.
+   *
+   * @param other The rotation to rotate the translation by.
+   * @param out The translation to store the result in. May be this.
+   * @return The output translation.
+   */
+  public MutTranslation2d rotateByInto(MutRotation2d other, MutTranslation2d out) {
+    return out.set(
+        m_x * other.getCos() - m_y * other.getSin(), m_x * other.getSin() + m_y * other.getCos());
+  }
+
+  /**
+   * Returns an immutable copy of this translation.
+   *
+   * @return An immutable copy of this translation.
+   */
+  public Translation2d toTranslation2d() {
+    return new Translation2d(m_x, m_y);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MutTranslation2d(X: %.2f, Y: %.2f)", m_x, m_y);
+  }
+}
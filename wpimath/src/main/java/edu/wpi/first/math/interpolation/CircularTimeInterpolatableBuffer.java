@@ -0,0 +1,255 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.interpolation;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * A {@link TimeInterpolatableBuffer} alternative that stores samples as primitive components
+ * instead of objects.
+ *
+ * <p>Timestamps are kept sorted in a circular double array, and each sample is split into its
+ * double components, with one array per component. Adding a sample in time order and evicting old
+ * samples are O(1) and don't allocate once the buffer has grown to hold its history; sampling uses
+ * a binary search.
+ *
+ * @param <T> The type stored in this buffer.
+ */
+abstract class CircularTimeInterpolatableBuffer<T> {
+  private static final int kInitialCapacity = 16;
+
+  private final double m_historySize;
+  private final Interpolator<T> m_interpolatingFunc;
+
+  // Capacity is always a power of two so indices can wrap with a mask
+  private double[] m_timestamps = new double[kInitialCapacity];
+  private final double[][] m_components;
+  private int m_head;
+  private int m_size;
+
+  /**
+   * Constructs a CircularTimeInterpolatableBuffer.
+   *
+   * @param interpolateFunction The function used to interpolate between values.
+   * @param historySizeSeconds The history size of the buffer.
+   * @param numComponents The number of double components each sample is stored as.
+   */
+  CircularTimeInterpolatableBuffer(
+      Interpolator<T> interpolateFunction, double historySizeSeconds, int numComponents) {
+    m_historySize = historySizeSeconds;
+    m_interpolatingFunc = interpolateFunction;
+    m_components = new double[numComponents][kInitialCapacity];
+  }
+
+  /**
+   * Stores the components of the sample in the given slot of the component arrays.
+   *
+   * @param sample The sample to store.
+   * @param components The component arrays, indexed by component and then slot.
+   * @param slot The slot to store the sample in.
+   */
+  abstract void store(T sample, double[][] components, int slot);
+
+  /**
+   * Creates a sample from the components in the given slot of the component arrays.
+   *
+   * @param components The component arrays, indexed by component and then slot.
+   * @param slot The slot to load the sample from.
+   * @return The sample.
+   */
+  abstract T load(double[][] components, int slot);
+
+  /**
+   * Add a sample to the buffer.
+   *
+   * @param timeSeconds The timestamp of the sample.
+   * @param sample The sample object.
+   */
+  public void addSample(double timeSeconds, T sample) {
+    cleanUp(timeSeconds);
+
+    // Fast path for samples arriving in time order
+    if (m_size == 0 || timeSeconds > m_timestamps[slot(m_size - 1)]) {
+      if (m_size == m_timestamps.length) {
+        grow();
+      }
+      int slot = slot(m_size);
+      m_timestamps[slot] = timeSeconds;
+      store(sample, m_components, slot);
+      m_size++;
+      return;
+    }
+
+    int index = lowerBound(timeSeconds);
+    if (m_timestamps[slot(index)] == timeSeconds) {
+      store(sample, m_components, slot(index));
+      return;
+    }
+
+    if (m_size == m_timestamps.length) {
+      grow();
+    }
+    // Shift newer samples back by one to make room
+    for (int i = m_size; i > index; i--) {
+      int to = slot(i);
+      int from = slot(i - 1);
+      m_timestamps[to] = m_timestamps[from];
+      for (var component : m_components) {
+        component[to] = component[from];
+      }
+    }
+    int slot = slot(index);
+    m_timestamps[slot] = timeSeconds;
+    store(sample, m_components, slot);
+    m_size++;
+  }
+
+  /**
+   * Removes samples older than our current history size.
+   *
+   * @param time The current timestamp.
+   */
+  private void cleanUp(double time) {
+    while (m_size > 0 && time - m_timestamps[m_head] >= m_historySize) {
+      m_head = slot(1);
+      m_size--;
+    }
+  }
+
+  /** Clear all old samples. */
+  public void clear() {
+    m_head = 0;
+    m_size = 0;
+  }
+
+  /**
+   * Returns whether the buffer has no samples.
+   *
+   * @return Whether the buffer has no samples.
+   */
+  public boolean isEmpty() {
+    return m_size == 0;
+  }
+
+  /**
+   * Returns the number of samples in the buffer.
+   *
+   * @return The number of samples in the buffer.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns the timestamp of the oldest sample in the buffer.
+   *
+   * @return The timestamp of the oldest sample in the buffer.
+   * @throws NoSuchElementException if the buffer is empty.
+   */
+  public double getOldestTimestamp() {
+    if (m_size == 0) {
+      throw new NoSuchElementException("Buffer is empty");
+    }
+    return m_timestamps[m_head];
+  }
+
+  /**
+   * Returns the timestamp of the newest sample in the buffer.
+   *
+   * @return The timestamp of the newest sample in the buffer.
+   * @throws NoSuchElementException if the buffer is empty.
+   */
+  public double getNewestTimestamp() {
+    if (m_size == 0) {
+      throw new NoSuchElementException("Buffer is empty");
+    }
+    return m_timestamps[slot(m_size - 1)];
+  }
+
+  /**
+   * Sample the buffer at the given time. If the buffer is empty, an empty Optional is returned.
+   *
+   * @param timeSeconds The time at which to sample.
+   * @return The interpolated value at that timestamp or an empty Optional.
+   */
+  public Optional<T> getSample(double timeSeconds) {
+    if (m_size == 0) {
+      return Optional.empty();
+    }
+
+    // Index of the first sample at or after the requested time
+    int index = lowerBound(timeSeconds);
+    if (index == m_size) {
+      return Optional.of(load(m_components, slot(m_size - 1)));
+    }
+
+    int topSlot = slot(index);
+    double topTime = m_timestamps[topSlot];
+    if (topTime == timeSeconds || index == 0) {
+      return Optional.of(load(m_components, topSlot));
+    }
+
+    // Otherwise, interpolate. Because T is between [0, 1], we want the ratio of (the difference
+    // between the current time and bottom bound) and (the difference between top and bottom
+    // bounds).
+    int bottomSlot = slot(index - 1);
+    double bottomTime = m_timestamps[bottomSlot];
+    return Optional.of(
+        m_interpolatingFunc.interpolate(
+            load(m_components, bottomSlot),
+            load(m_components, topSlot),
+            (timeSeconds - bottomTime) / (topTime - bottomTime)));
+  }
+
+  /**
+   * Returns the index (relative to the oldest sample) of the first sample with a timestamp at or
+   * after the given time, or the number of samples if there is none.
+   *
+   * @param timeSeconds The time to search for.
+   * @return The index of the first sample at or after the given time.
+   */
+  private int lowerBound(double timeSeconds) {
+    int low = 0;
+    int high = m_size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (m_timestamps[slot(mid)] < timeSeconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Converts an index relative to the oldest sample into a slot in the backing arrays.
+   *
+   * @param index The index relative to the oldest sample.
+   * @return The slot in the backing arrays.
+   */
+  private int slot(int index) {
+    return (m_head + index) & (m_timestamps.length - 1);
+  }
+
+  /** Doubles the capacity of the buffer, moving the oldest sample to slot 0. */
+  private void grow() {
+    int capacity = m_timestamps.length;
+    var timestamps = new double[capacity * 2];
+    for (int i = 0; i < m_size; i++) {
+      timestamps[i] = m_timestamps[slot(i)];
+    }
+    for (int c = 0; c < m_components.length; c++) {
+      var component = new double[capacity * 2];
+      for (int i = 0; i < m_size; i++) {
+        component[i] = m_components[c][slot(i)];
+      }
+      m_components[c] = component;
+    }
+    m_timestamps = timestamps;
+    m_head = 0;
+  }
+}
@@ -0,0 +1,41 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.interpolation;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * A {@link TimeInterpolatableBuffer} specialized for {@link Pose2d}. Poses are stored as x, y, and
+ * heading components in a circular buffer instead of as objects in a tree, so adding samples in
+ * time order and evicting old ones don't allocate.
+ */
+public final class TimeInterpolatablePose2dBuffer extends CircularTimeInterpolatableBuffer<Pose2d> {
+  private static final int kX = 0;
+  private static final int kY = 1;
+  private static final int kTheta = 2;
+
+  /**
+   * Constructs a TimeInterpolatablePose2dBuffer.
+   *
+   * @param historySizeSeconds The history size of the buffer.
+   */
+  public TimeInterpolatablePose2dBuffer(double historySizeSeconds) {
+    super(Pose2d::interpolate, historySizeSeconds, 3);
+  }
+
+  @Override
+  void store(Pose2d sample, double[][] components, int slot) {
+    components[kX][slot] = sample.getX();
+    components[kY][slot] = sample.getY();
+    components[kTheta][slot] = sample.getRotation().getRadians();
+  }
+
+  @Override
+  Pose2d load(double[][] components, int slot) {
+    return new Pose2d(
+        components[kX][slot], components[kY][slot], new Rotation2d(components[kTheta][slot]));
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.interpolation;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Translation3d;
+
+/**
+ * A {@link TimeInterpolatableBuffer} specialized for {@link Pose3d}. Poses are stored as x, y, and
+ * z translation components and w, x, y, and z quaternion components in a circular buffer instead of
+ * as objects in a tree, so adding samples in time order and evicting old ones don't allocate.
+ */
+public final class TimeInterpolatablePose3dBuffer extends CircularTimeInterpolatableBuffer<Pose3d> {
+  private static final int kX = 0;
+  private static final int kY = 1;
+  private static final int kZ = 2;
+  private static final int kQw = 3;
+  private static final int kQx = 4;
+  private static final int kQy = 5;
+  private static final int kQz = 6;
+
+  /**
+   * Constructs a TimeInterpolatablePose3dBuffer.
+   *
+   * @param historySizeSeconds The history size of the buffer.
+   */
+  public TimeInterpolatablePose3dBuffer(double historySizeSeconds) {
+    super(Pose3d::interpolate, historySizeSeconds, 7);
+  }
+
+  @Override
+  void store(Pose3d sample, double[][] components, int slot) {
+    final var quaternion = sample.getRotation().getQuaternion();
+    components[kX][slot] = sample.getX();
+    components[kY][slot] = sample.getY();
+    components[kZ][slot] = sample.getZ();
+    components[kQw][slot] = quaternion.getW();
+    components[kQx][slot] = quaternion.getX();
+    components[kQy][slot] = quaternion.getY();
+    components[kQz][slot] = quaternion.getZ();
+  }
+
+  @Override
+  Pose3d load(double[][] components, int slot) {
+    return new Pose3d(
+        new Translation3d(components[kX][slot], components[kY][slot], components[kZ][slot]),
+        new Rotation3d(
+            new Quaternion(
+                components[kQw][slot],
+                components[kQx][slot],
+                components[kQy][slot],
+                components[kQz][slot])));
+  }
+}
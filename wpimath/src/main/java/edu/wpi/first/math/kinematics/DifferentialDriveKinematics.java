@@ -75,6 +75,16 @@ public class DifferentialDriveKinematics
         (wheelSpeeds.rightMetersPerSecond - wheelSpeeds.leftMetersPerSecond) / trackWidthMeters);
   }
 
+  @Override
+  public void toChassisSpeeds(
+      DifferentialDriveWheelSpeeds wheelSpeeds, ChassisSpeeds chassisSpeeds) {
+    chassisSpeeds.vxMetersPerSecond =
+        (wheelSpeeds.leftMetersPerSecond + wheelSpeeds.rightMetersPerSecond) / 2;
+    chassisSpeeds.vyMetersPerSecond = 0;
+    chassisSpeeds.omegaRadiansPerSecond =
+        (wheelSpeeds.rightMetersPerSecond - wheelSpeeds.leftMetersPerSecond) / trackWidthMeters;
+  }
+
   /**
    * Returns left and right component velocities from a chassis speed using inverse kinematics.
    *
@@ -91,12 +101,39 @@ public class DifferentialDriveKinematics
             + trackWidthMeters / 2 * chassisSpeeds.omegaRadiansPerSecond);
   }
 
+  /**
+   * Stores the left and right component velocities from a chassis speed in the given wheel speeds
+   * using inverse kinematics.
+   *
+   * @param chassisSpeeds The linear and angular (dx and dtheta) components that represent the
+   *     chassis' speed.
+   * @param wheelSpeeds The wheel speeds to store the left and right velocities in.
+   */
+  public void toWheelSpeeds(ChassisSpeeds chassisSpeeds, DifferentialDriveWheelSpeeds wheelSpeeds) {
+    wheelSpeeds.leftMetersPerSecond =
+        chassisSpeeds.vxMetersPerSecond
+            - trackWidthMeters / 2 * chassisSpeeds.omegaRadiansPerSecond;
+    wheelSpeeds.rightMetersPerSecond =
+        chassisSpeeds.vxMetersPerSecond
+            + trackWidthMeters / 2 * chassisSpeeds.omegaRadiansPerSecond;
+  }
+
   @Override
   public Twist2d toTwist2d(
       DifferentialDriveWheelPositions start, DifferentialDriveWheelPositions end) {
     return toTwist2d(end.leftMeters - start.leftMeters, end.rightMeters - start.rightMeters);
   }
 
+  @Override
+  public void toTwist2d(
+      DifferentialDriveWheelPositions start, DifferentialDriveWheelPositions end, Twist2d output) {
+    double leftDistanceMeters = end.leftMeters - start.leftMeters;
+    double rightDistanceMeters = end.rightMeters - start.rightMeters;
+    output.dx = (leftDistanceMeters + rightDistanceMeters) / 2;
+    output.dy = 0;
+    output.dtheta = (rightDistanceMeters - leftDistanceMeters) / trackWidthMeters;
+  }
+
   /**
    * Performs forward kinematics to return the resulting Twist2d from the given left and right side
    * distance deltas. This method is often used for odometry -- determining the robot's position on
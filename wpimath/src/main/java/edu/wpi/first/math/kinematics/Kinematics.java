@@ -26,6 +26,22 @@ public interface Kinematics<S, P> extends Interpolator<P> {
    */
   ChassisSpeeds toChassisSpeeds(S wheelSpeeds);
 
+  /**
+   * Performs forward kinematics like {@link #toChassisSpeeds(Object)}, but stores the result in the
+   * given output instead of returning a new object. The default implementation calls {@link
+   * #toChassisSpeeds(Object)} and copies the result; implementations should override it to avoid
+   * allocating.
+   *
+   * @param wheelSpeeds The speeds of the wheels.
+   * @param output The ChassisSpeeds to store the chassis speed in.
+   */
+  default void toChassisSpeeds(S wheelSpeeds, ChassisSpeeds output) {
+    var speeds = toChassisSpeeds(wheelSpeeds);
+    output.vxMetersPerSecond = speeds.vxMetersPerSecond;
+    output.vyMetersPerSecond = speeds.vyMetersPerSecond;
+    output.omegaRadiansPerSecond = speeds.omegaRadiansPerSecond;
+  }
+
   /**
    * Performs inverse kinematics to return the wheel speeds from a desired chassis velocity. This
    * method is often used to convert joystick values into wheel speeds.
@@ -46,6 +62,23 @@ public interface Kinematics<S, P> extends Interpolator<P> {
    */
   Twist2d toTwist2d(P start, P end);
 
+  /**
+   * Performs forward kinematics like {@link #toTwist2d(Object, Object)}, but stores the result in
+   * the given output instead of returning a new Twist2d. The default implementation calls {@link
+   * #toTwist2d(Object, Object)} and copies the result; implementations should override it to avoid
+   * allocating.
+   *
+   * @param start The starting distances driven by the wheels.
+   * @param end The ending distances driven by the wheels.
+   * @param output The Twist2d to store the robot's movement in.
+   */
+  default void toTwist2d(P start, P end, Twist2d output) {
+    var twist = toTwist2d(start, end);
+    output.dx = twist.dx;
+    output.dy = twist.dy;
+    output.dtheta = twist.dtheta;
+  }
+
   /**
    * Returns a copy of the wheel positions object.
    *
@@ -38,8 +38,9 @@ public class MecanumDriveKinematics
     implements Kinematics<MecanumDriveWheelSpeeds, MecanumDriveWheelPositions>,
         ProtobufSerializable,
         StructSerializable {
-  private final SimpleMatrix m_inverseKinematics;
-  private final SimpleMatrix m_forwardKinematics;
+  // Row-major 4 x 3 inverse kinematics matrix and 3 x 4 pseudoinverse of it
+  private final double[] m_inverseKinematics = new double[12];
+  private final double[] m_forwardKinematics = new double[12];
 
   private final Translation2d m_frontLeftWheelMeters;
   private final Translation2d m_frontRightWheelMeters;
@@ -76,11 +77,14 @@ public class MecanumDriveKinematics
     m_rearLeftWheelMeters = rearLeftWheelMeters;
     m_rearRightWheelMeters = rearRightWheelMeters;
 
-    m_inverseKinematics = new SimpleMatrix(4, 3);
-
     setInverseKinematics(
         frontLeftWheelMeters, frontRightWheelMeters, rearLeftWheelMeters, rearRightWheelMeters);
-    m_forwardKinematics = m_inverseKinematics.pseudoInverse();
+    var forwardKinematics = new SimpleMatrix(4, 3, true, m_inverseKinematics).pseudoInverse();
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 4; col++) {
+        m_forwardKinematics[row * 4 + col] = forwardKinematics.get(row, col);
+      }
+    }
 
     MathSharedStore.reportUsage(MathUsageId.kKinematics_MecanumDrive, 1);
   }
@@ -104,6 +108,23 @@ public class MecanumDriveKinematics
    */
   public MecanumDriveWheelSpeeds toWheelSpeeds(
       ChassisSpeeds chassisSpeeds, Translation2d centerOfRotationMeters) {
+    var wheelSpeeds = new MecanumDriveWheelSpeeds();
+    toWheelSpeeds(chassisSpeeds, centerOfRotationMeters, wheelSpeeds);
+    return wheelSpeeds;
+  }
+
+  /**
+   * Performs inverse kinematics like {@link #toWheelSpeeds(ChassisSpeeds, Translation2d)}, but
+   * stores the result in the given output instead of allocating new wheel speeds.
+   *
+   * @param chassisSpeeds The desired chassis speed.
+   * @param centerOfRotationMeters The center of rotation.
+   * @param wheelSpeeds The wheel speeds to store the result in.
+   */
+  public void toWheelSpeeds(
+      ChassisSpeeds chassisSpeeds,
+      Translation2d centerOfRotationMeters,
+      MecanumDriveWheelSpeeds wheelSpeeds) {
     // We have a new center of rotation. We need to compute the matrix again.
     if (!centerOfRotationMeters.equals(m_prevCoR)) {
       var fl = m_frontLeftWheelMeters.minus(centerOfRotationMeters);
@@ -115,20 +136,15 @@ public class MecanumDriveKinematics
       m_prevCoR = centerOfRotationMeters;
     }
 
-    var chassisSpeedsVector = new SimpleMatrix(3, 1);
-    chassisSpeedsVector.setColumn(
-        0,
-        0,
-        chassisSpeeds.vxMetersPerSecond,
-        chassisSpeeds.vyMetersPerSecond,
-        chassisSpeeds.omegaRadiansPerSecond);
-
-    var wheelsVector = m_inverseKinematics.mult(chassisSpeedsVector);
-    return new MecanumDriveWheelSpeeds(
-        wheelsVector.get(0, 0),
-        wheelsVector.get(1, 0),
-        wheelsVector.get(2, 0),
-        wheelsVector.get(3, 0));
+    // [wheelSpeeds] = [inverseKinematics] * [chassisSpeeds]
+    final double[] k = m_inverseKinematics;
+    double vx = chassisSpeeds.vxMetersPerSecond;
+    double vy = chassisSpeeds.vyMetersPerSecond;
+    double omega = chassisSpeeds.omegaRadiansPerSecond;
+    wheelSpeeds.frontLeftMetersPerSecond = k[0] * vx + k[1] * vy + k[2] * omega;
+    wheelSpeeds.frontRightMetersPerSecond = k[3] * vx + k[4] * vy + k[5] * omega;
+    wheelSpeeds.rearLeftMetersPerSecond = k[6] * vx + k[7] * vy + k[8] * omega;
+    wheelSpeeds.rearRightMetersPerSecond = k[9] * vx + k[10] * vy + k[11] * omega;
   }
 
   /**
@@ -143,6 +159,17 @@ public class MecanumDriveKinematics
     return toWheelSpeeds(chassisSpeeds, Translation2d.kZero);
   }
 
+  /**
+   * Performs inverse kinematics into the given wheel speeds. See {@link
+   * #toWheelSpeeds(ChassisSpeeds, Translation2d)} for more information.
+   *
+   * @param chassisSpeeds The desired chassis speed.
+   * @param wheelSpeeds The wheel speeds to store the result in.
+   */
+  public void toWheelSpeeds(ChassisSpeeds chassisSpeeds, MecanumDriveWheelSpeeds wheelSpeeds) {
+    toWheelSpeeds(chassisSpeeds, Translation2d.kZero, wheelSpeeds);
+  }
+
   /**
    * Performs forward kinematics to return the resulting chassis state from the given wheel speeds.
    * This method is often used for odometry -- determining the robot's position on the field using
@@ -153,34 +180,40 @@ public class MecanumDriveKinematics
    */
   @Override
   public ChassisSpeeds toChassisSpeeds(MecanumDriveWheelSpeeds wheelSpeeds) {
-    var wheelSpeedsVector = new SimpleMatrix(4, 1);
-    wheelSpeedsVector.setColumn(
-        0,
-        0,
-        wheelSpeeds.frontLeftMetersPerSecond,
-        wheelSpeeds.frontRightMetersPerSecond,
-        wheelSpeeds.rearLeftMetersPerSecond,
-        wheelSpeeds.rearRightMetersPerSecond);
-    var chassisSpeedsVector = m_forwardKinematics.mult(wheelSpeedsVector);
+    var chassisSpeeds = new ChassisSpeeds();
+    toChassisSpeeds(wheelSpeeds, chassisSpeeds);
+    return chassisSpeeds;
+  }
 
-    return new ChassisSpeeds(
-        chassisSpeedsVector.get(0, 0),
-        chassisSpeedsVector.get(1, 0),
-        chassisSpeedsVector.get(2, 0));
+  @Override
+  public void toChassisSpeeds(MecanumDriveWheelSpeeds wheelSpeeds, ChassisSpeeds chassisSpeeds) {
+    // [chassisSpeeds] = [forwardKinematics] * [wheelSpeeds]
+    final double[] k = m_forwardKinematics;
+    double fl = wheelSpeeds.frontLeftMetersPerSecond;
+    double fr = wheelSpeeds.frontRightMetersPerSecond;
+    double rl = wheelSpeeds.rearLeftMetersPerSecond;
+    double rr = wheelSpeeds.rearRightMetersPerSecond;
+    chassisSpeeds.vxMetersPerSecond = k[0] * fl + k[1] * fr + k[2] * rl + k[3] * rr;
+    chassisSpeeds.vyMetersPerSecond = k[4] * fl + k[5] * fr + k[6] * rl + k[7] * rr;
+    chassisSpeeds.omegaRadiansPerSecond = k[8] * fl + k[9] * fr + k[10] * rl + k[11] * rr;
   }
 
   @Override
   public Twist2d toTwist2d(MecanumDriveWheelPositions start, MecanumDriveWheelPositions end) {
-    var wheelDeltasVector = new SimpleMatrix(4, 1);
-    wheelDeltasVector.setColumn(
-        0,
-        0,
+    var twist = new Twist2d();
+    toTwist2d(start, end, twist);
+    return twist;
+  }
+
+  @Override
+  public void toTwist2d(
+      MecanumDriveWheelPositions start, MecanumDriveWheelPositions end, Twist2d output) {
+    forwardKinematics(
         end.frontLeftMeters - start.frontLeftMeters,
         end.frontRightMeters - start.frontRightMeters,
         end.rearLeftMeters - start.rearLeftMeters,
-        end.rearRightMeters - start.rearRightMeters);
-    var twist = m_forwardKinematics.mult(wheelDeltasVector);
-    return new Twist2d(twist.get(0, 0), twist.get(1, 0), twist.get(2, 0));
+        end.rearRightMeters - start.rearRightMeters,
+        output);
   }
 
   /**
@@ -192,16 +225,30 @@ public class MecanumDriveKinematics
    * @return The resulting Twist2d.
    */
   public Twist2d toTwist2d(MecanumDriveWheelPositions wheelDeltas) {
-    var wheelDeltasVector = new SimpleMatrix(4, 1);
-    wheelDeltasVector.setColumn(
-        0,
-        0,
+    var twist = new Twist2d();
+    forwardKinematics(
         wheelDeltas.frontLeftMeters,
         wheelDeltas.frontRightMeters,
         wheelDeltas.rearLeftMeters,
-        wheelDeltas.rearRightMeters);
-    var twist = m_forwardKinematics.mult(wheelDeltasVector);
-    return new Twist2d(twist.get(0, 0), twist.get(1, 0), twist.get(2, 0));
+        wheelDeltas.rearRightMeters,
+        twist);
+    return twist;
+  }
+
+  /**
+   * Multiplies the forward kinematics matrix by the given wheel deltas.
+   *
+   * @param fl The distance driven by the front-left wheel.
+   * @param fr The distance driven by the front-right wheel.
+   * @param rl The distance driven by the rear-left wheel.
+   * @param rr The distance driven by the rear-right wheel.
+   * @param output The Twist2d to store the result in.
+   */
+  private void forwardKinematics(double fl, double fr, double rl, double rr, Twist2d output) {
+    final double[] k = m_forwardKinematics;
+    output.dx = k[0] * fl + k[1] * fr + k[2] * rl + k[3] * rr;
+    output.dy = k[4] * fl + k[5] * fr + k[6] * rl + k[7] * rr;
+    output.dtheta = k[8] * fl + k[9] * fr + k[10] * rl + k[11] * rr;
   }
 
   /**
@@ -214,10 +261,16 @@ public class MecanumDriveKinematics
    */
   private void setInverseKinematics(
       Translation2d fl, Translation2d fr, Translation2d rl, Translation2d rr) {
-    m_inverseKinematics.setRow(0, 0, 1, -1, -(fl.getX() + fl.getY()));
-    m_inverseKinematics.setRow(1, 0, 1, 1, fr.getX() - fr.getY());
-    m_inverseKinematics.setRow(2, 0, 1, 1, rl.getX() - rl.getY());
-    m_inverseKinematics.setRow(3, 0, 1, -1, -(rr.getX() + rr.getY()));
+    setInverseKinematicsRow(0, 1, -1, -(fl.getX() + fl.getY()));
+    setInverseKinematicsRow(1, 1, 1, fr.getX() - fr.getY());
+    setInverseKinematicsRow(2, 1, 1, rl.getX() - rl.getY());
+    setInverseKinematicsRow(3, 1, -1, -(rr.getX() + rr.getY()));
+  }
+
+  private void setInverseKinematicsRow(int row, double vx, double vy, double omega) {
+    m_inverseKinematics[row * 3] = vx;
+    m_inverseKinematics[row * 3 + 1] = vy;
+    m_inverseKinematics[row * 3 + 2] = omega;
   }
 
   /**
@@ -4,9 +4,12 @@
 
 package edu.wpi.first.math.kinematics;
 
+import edu.wpi.first.math.geometry.MutPose2d;
+import edu.wpi.first.math.geometry.MutRotation2d;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
 
 /**
  * Class for odometry. Robot code should not use this directly- Instead, use the particular type for
@@ -21,15 +24,21 @@ import edu.wpi.first.math.geometry.Translation2d;
  */
 public class Odometry<T> {
   private final Kinematics<?, T> m_kinematics;
-  private Pose2d m_poseMeters;
 
-  private Rotation2d m_gyroOffset;
+  // The pose is integrated in place; m_poseMeters is an immutable snapshot of it that is only
+  // created when requested, and is null when stale.
+  private final MutPose2d m_pose = new MutPose2d();
+  private Pose2d m_poseMeters;
 
-  // Always equal to m_poseMeters.getRotation()
-  private Rotation2d m_previousAngle;
+  private final MutRotation2d m_gyroOffset = new MutRotation2d();
 
   private final T m_previousWheelPositions;
 
+  // Scratch storage for update()
+  private final MutRotation2d m_angle = new MutRotation2d();
+  private final MutRotation2d m_deltaAngle = new MutRotation2d();
+  private final Twist2d m_twist = new Twist2d();
+
   /**
    * Constructs an Odometry object.
    *
@@ -45,8 +54,10 @@ public class Odometry<T> {
       Pose2d initialPoseMeters) {
     m_kinematics = kinematics;
     m_poseMeters = initialPoseMeters;
-    m_gyroOffset = gyroAngle.unaryMinus().rotateBy(m_poseMeters.getRotation());
-    m_previousAngle = m_poseMeters.getRotation();
+    m_pose.set(initialPoseMeters);
+    m_gyroOffset
+        .set(initialPoseMeters.getRotation())
+        .minusInto(m_angle.set(gyroAngle), m_gyroOffset);
     m_previousWheelPositions = m_kinematics.copy(wheelPositions);
   }
 
@@ -62,8 +73,8 @@ public class Odometry<T> {
    */
   public void resetPosition(Rotation2d gyroAngle, T wheelPositions, Pose2d poseMeters) {
     m_poseMeters = poseMeters;
-    m_previousAngle = m_poseMeters.getRotation();
-    m_gyroOffset = gyroAngle.unaryMinus().rotateBy(m_poseMeters.getRotation());
+    m_pose.set(poseMeters);
+    m_gyroOffset.set(poseMeters.getRotation()).minusInto(m_angle.set(gyroAngle), m_gyroOffset);
     m_kinematics.copyInto(wheelPositions, m_previousWheelPositions);
   }
 
@@ -73,12 +84,11 @@ public class Odometry<T> {
    * @param poseMeters The pose to reset to.
    */
   public void resetPose(Pose2d poseMeters) {
-    m_gyroOffset =
-        m_gyroOffset
-            .rotateBy(m_poseMeters.getRotation().unaryMinus())
-            .rotateBy(poseMeters.getRotation());
+    m_gyroOffset
+        .minusInto(m_pose.getRotation(), m_gyroOffset)
+        .rotateByInto(m_angle.set(poseMeters.getRotation()), m_gyroOffset);
     m_poseMeters = poseMeters;
-    m_previousAngle = m_poseMeters.getRotation();
+    m_pose.set(poseMeters);
   }
 
   /**
@@ -87,7 +97,8 @@ public class Odometry<T> {
    * @param translation The translation to reset to.
    */
   public void resetTranslation(Translation2d translation) {
-    m_poseMeters = new Pose2d(translation, m_poseMeters.getRotation());
+    m_poseMeters = new Pose2d(translation, getPoseMeters().getRotation());
+    m_pose.getTranslation().set(translation);
   }
 
   /**
@@ -96,10 +107,11 @@ public class Odometry<T> {
    * @param rotation The rotation to reset to.
    */
   public void resetRotation(Rotation2d rotation) {
-    m_gyroOffset =
-        m_gyroOffset.rotateBy(m_poseMeters.getRotation().unaryMinus()).rotateBy(rotation);
-    m_poseMeters = new Pose2d(m_poseMeters.getTranslation(), rotation);
-    m_previousAngle = m_poseMeters.getRotation();
+    m_gyroOffset
+        .minusInto(m_pose.getRotation(), m_gyroOffset)
+        .rotateByInto(m_angle.set(rotation), m_gyroOffset);
+    m_poseMeters = new Pose2d(getPoseMeters().getTranslation(), rotation);
+    m_pose.getRotation().set(rotation);
   }
 
   /**
@@ -108,6 +120,9 @@ public class Odometry<T> {
    * @return The pose of the robot (x and y are in meters).
    */
   public Pose2d getPoseMeters() {
+    if (m_poseMeters == null) {
+      m_poseMeters = m_pose.toPose2d();
+    }
     return m_poseMeters;
   }
 
@@ -122,17 +137,34 @@ public class Odometry<T> {
    * @return The new pose of the robot.
    */
   public Pose2d update(Rotation2d gyroAngle, T wheelPositions) {
-    var angle = gyroAngle.rotateBy(m_gyroOffset);
+    integrate(gyroAngle, wheelPositions);
+    return getPoseMeters();
+  }
+
+  /**
+   * Updates the robot's position on the field like {@link #update(Rotation2d, Object)}, but stores
+   * the new pose in the given output instead of returning it. This doesn't allocate.
+   *
+   * @param gyroAngle The angle reported by the gyroscope.
+   * @param wheelPositions The current encoder readings.
+   * @param out The pose to store the new pose of the robot in.
+   * @return The output pose.
+   */
+  public MutPose2d updateInto(Rotation2d gyroAngle, T wheelPositions, MutPose2d out) {
+    integrate(gyroAngle, wheelPositions);
+    return out.set(m_pose);
+  }
 
-    var twist = m_kinematics.toTwist2d(m_previousWheelPositions, wheelPositions);
-    twist.dtheta = angle.minus(m_previousAngle).getRadians();
+  private void integrate(Rotation2d gyroAngle, T wheelPositions) {
+    m_angle.set(gyroAngle).rotateByInto(m_gyroOffset, m_angle);
 
-    var newPose = m_poseMeters.exp(twist);
+    m_kinematics.toTwist2d(m_previousWheelPositions, wheelPositions, m_twist);
+    m_twist.dtheta = m_angle.minusInto(m_pose.getRotation(), m_deltaAngle).getRadians();
 
-    m_kinematics.copyInto(wheelPositions, m_previousWheelPositions);
-    m_previousAngle = angle;
-    m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
+    m_pose.expInto(m_twist, m_pose);
+    m_pose.getRotation().set(m_angle);
 
-    return m_poseMeters;
+    m_kinematics.copyInto(wheelPositions, m_previousWheelPositions);
+    m_poseMeters = null;
   }
 }
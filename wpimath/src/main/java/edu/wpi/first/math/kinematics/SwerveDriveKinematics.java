@@ -47,13 +47,12 @@ public class SwerveDriveKinematics
     implements Kinematics<SwerveModuleState[], SwerveModulePosition[]>,
         ProtobufSerializable,
         StructSerializable {
-  private final SimpleMatrix m_inverseKinematics;
-  private final SimpleMatrix m_forwardKinematics;
+  // Row-major 3 x 2N pseudoinverse of the inverse kinematics matrix
+  private final double[] m_forwardKinematics;
 
   private final int m_numModules;
   private final Translation2d[] m_modules;
   private Rotation2d[] m_moduleHeadings;
-  private Translation2d m_prevCoR = Translation2d.kZero;
 
   /**
    * Constructs a swerve drive kinematics object. This takes in a variable number of module
@@ -73,13 +72,19 @@ public class SwerveDriveKinematics
     m_modules = Arrays.copyOf(moduleTranslationsMeters, m_numModules);
     m_moduleHeadings = new Rotation2d[m_numModules];
     Arrays.fill(m_moduleHeadings, Rotation2d.kZero);
-    m_inverseKinematics = new SimpleMatrix(m_numModules * 2, 3);
+    var inverseKinematics = new SimpleMatrix(m_numModules * 2, 3);
 
     for (int i = 0; i < m_numModules; i++) {
-      m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_modules[i].getY());
-      m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_modules[i].getX());
+      inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_modules[i].getY());
+      inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_modules[i].getX());
+    }
+    var forwardKinematics = inverseKinematics.pseudoInverse();
+    m_forwardKinematics = new double[3 * m_numModules * 2];
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < m_numModules * 2; col++) {
+        m_forwardKinematics[row * m_numModules * 2 + col] = forwardKinematics.get(row, col);
+      }
     }
-    m_forwardKinematics = m_inverseKinematics.pseudoInverse();
 
     MathSharedStore.reportUsage(MathUsageId.kKinematics_SwerveDrive, 1);
   }
@@ -123,57 +128,64 @@ public class SwerveDriveKinematics
   public SwerveModuleState[] toSwerveModuleStates(
       ChassisSpeeds chassisSpeeds, Translation2d centerOfRotationMeters) {
     var moduleStates = new SwerveModuleState[m_numModules];
+    for (int i = 0; i < m_numModules; i++) {
+      moduleStates[i] = new SwerveModuleState();
+    }
+    toSwerveModuleStates(chassisSpeeds, centerOfRotationMeters, moduleStates);
+    return moduleStates;
+  }
+
+  /**
+   * Performs inverse kinematics like {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)},
+   * but stores the module states in the given array instead of allocating new ones.
+   *
+   * <p>A module's angle object is only replaced when the module's heading changes, so this method
+   * doesn't allocate while the modules hold their headings.
+   *
+   * @param chassisSpeeds The desired chassis speed.
+   * @param centerOfRotationMeters The center of rotation.
+   * @param moduleStates The module states to store the result in. The order of the swerve module
+   *     states is the same as passed into the constructor of this class.
+   */
+  public void toSwerveModuleStates(
+      ChassisSpeeds chassisSpeeds,
+      Translation2d centerOfRotationMeters,
+      SwerveModuleState[] moduleStates) {
+    checkModuleCount(moduleStates.length);
 
     if (chassisSpeeds.vxMetersPerSecond == 0.0
         && chassisSpeeds.vyMetersPerSecond == 0.0
         && chassisSpeeds.omegaRadiansPerSecond == 0.0) {
       for (int i = 0; i < m_numModules; i++) {
-        moduleStates[i] = new SwerveModuleState(0.0, m_moduleHeadings[i]);
+        moduleStates[i].speedMetersPerSecond = 0.0;
+        moduleStates[i].angle = m_moduleHeadings[i];
       }
-
-      return moduleStates;
-    }
-
-    if (!centerOfRotationMeters.equals(m_prevCoR)) {
-      for (int i = 0; i < m_numModules; i++) {
-        m_inverseKinematics.setRow(
-            i * 2 + 0,
-            0, /* Start Data */
-            1,
-            0,
-            -m_modules[i].getY() + centerOfRotationMeters.getY());
-        m_inverseKinematics.setRow(
-            i * 2 + 1,
-            0, /* Start Data */
-            0,
-            1,
-            +m_modules[i].getX() - centerOfRotationMeters.getX());
-      }
-      m_prevCoR = centerOfRotationMeters;
+      return;
     }
 
-    var chassisSpeedsVector = new SimpleMatrix(3, 1);
-    chassisSpeedsVector.setColumn(
-        0,
-        0,
-        chassisSpeeds.vxMetersPerSecond,
-        chassisSpeeds.vyMetersPerSecond,
-        chassisSpeeds.omegaRadiansPerSecond);
-
-    var moduleStatesMatrix = m_inverseKinematics.mult(chassisSpeedsVector);
+    // [moduleStates] = [inverseKinematics] * [chassisSpeeds], where module i contributes the rows
+    //   [1, 0, -(y_i - y_cor)]
+    //   [0, 1, +(x_i - x_cor)]
+    double vx = chassisSpeeds.vxMetersPerSecond;
+    double vy = chassisSpeeds.vyMetersPerSecond;
+    double omega = chassisSpeeds.omegaRadiansPerSecond;
+    double corX = centerOfRotationMeters.getX();
+    double corY = centerOfRotationMeters.getY();
 
     for (int i = 0; i < m_numModules; i++) {
-      double x = moduleStatesMatrix.get(i * 2, 0);
-      double y = moduleStatesMatrix.get(i * 2 + 1, 0);
+      double x = vx - omega * (m_modules[i].getY() - corY);
+      double y = vy + omega * (m_modules[i].getX() - corX);
 
       double speed = Math.hypot(x, y);
-      Rotation2d angle = speed > 1e-6 ? new Rotation2d(x, y) : m_moduleHeadings[i];
+      Rotation2d angle = m_moduleHeadings[i];
+      if (speed > 1e-6 && (angle.getCos() != x / speed || angle.getSin() != y / speed)) {
+        angle = new Rotation2d(x, y);
+      }
 
-      moduleStates[i] = new SwerveModuleState(speed, angle);
+      moduleStates[i].speedMetersPerSecond = speed;
+      moduleStates[i].angle = angle;
       m_moduleHeadings[i] = angle;
     }
-
-    return moduleStates;
   }
 
   /**
@@ -187,11 +199,34 @@ public class SwerveDriveKinematics
     return toSwerveModuleStates(chassisSpeeds, Translation2d.kZero);
   }
 
+  /**
+   * Performs inverse kinematics into the given module states. See {@link
+   * #toSwerveModuleStates(ChassisSpeeds, Translation2d, SwerveModuleState[])} for more information.
+   *
+   * @param chassisSpeeds The desired chassis speed.
+   * @param moduleStates The module states to store the result in.
+   */
+  public void toSwerveModuleStates(ChassisSpeeds chassisSpeeds, SwerveModuleState[] moduleStates) {
+    toSwerveModuleStates(chassisSpeeds, Translation2d.kZero, moduleStates);
+  }
+
   @Override
   public SwerveModuleState[] toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
     return toSwerveModuleStates(chassisSpeeds);
   }
 
+  /**
+   * Performs inverse kinematics into the given module states. The module states are updated in
+   * place. See {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d, SwerveModuleState[])} for
+   * more information.
+   *
+   * @param chassisSpeeds The desired chassis speed.
+   * @param moduleStates The module states to store the result in.
+   */
+  public void toWheelSpeeds(ChassisSpeeds chassisSpeeds, SwerveModuleState[] moduleStates) {
+    toSwerveModuleStates(chassisSpeeds, moduleStates);
+  }
+
   /**
    * Performs forward kinematics to return the resulting chassis state from the given module states.
    * This method is often used for odometry -- determining the robot's position on the field using
@@ -204,24 +239,42 @@ public class SwerveDriveKinematics
    */
   @Override
   public ChassisSpeeds toChassisSpeeds(SwerveModuleState... moduleStates) {
-    if (moduleStates.length != m_numModules) {
-      throw new IllegalArgumentException(
-          "Number of modules is not consistent with number of module locations provided in "
-              + "constructor");
-    }
-    var moduleStatesMatrix = new SimpleMatrix(m_numModules * 2, 1);
+    var chassisSpeeds = new ChassisSpeeds();
+    toChassisSpeeds(moduleStates, chassisSpeeds);
+    return chassisSpeeds;
+  }
 
+  /**
+   * Performs forward kinematics like {@link #toChassisSpeeds(SwerveModuleState...)}, but stores the
+   * result in the given output instead of allocating a new ChassisSpeeds.
+   *
+   * @param moduleStates The state of the modules as measured from respective encoders and gyros.
+   *     The order of the swerve module states should be same as passed into the constructor of this
+   *     class.
+   * @param chassisSpeeds The ChassisSpeeds to store the resulting chassis speed in.
+   */
+  @Override
+  public void toChassisSpeeds(SwerveModuleState[] moduleStates, ChassisSpeeds chassisSpeeds) {
+    checkModuleCount(moduleStates.length);
+
+    // [chassisSpeeds] = [forwardKinematics] * [moduleStates]
+    final int cols = m_numModules * 2;
+    double vx = 0.0;
+    double vy = 0.0;
+    double omega = 0.0;
     for (int i = 0; i < m_numModules; i++) {
       var module = moduleStates[i];
-      moduleStatesMatrix.set(i * 2, 0, module.speedMetersPerSecond * module.angle.getCos());
-      moduleStatesMatrix.set(i * 2 + 1, module.speedMetersPerSecond * module.angle.getSin());
-    }
+      double x = module.speedMetersPerSecond * module.angle.getCos();
+      double y = module.speedMetersPerSecond * module.angle.getSin();
 
-    var chassisSpeedsVector = m_forwardKinematics.mult(moduleStatesMatrix);
-    return new ChassisSpeeds(
-        chassisSpeedsVector.get(0, 0),
-        chassisSpeedsVector.get(1, 0),
-        chassisSpeedsVector.get(2, 0));
+      vx += m_forwardKinematics[i * 2] * x + m_forwardKinematics[i * 2 + 1] * y;
+      vy += m_forwardKinematics[cols + i * 2] * x + m_forwardKinematics[cols + i * 2 + 1] * y;
+      omega +=
+          m_forwardKinematics[2 * cols + i * 2] * x + m_forwardKinematics[2 * cols + i * 2 + 1] * y;
+    }
+    chassisSpeeds.vxMetersPerSecond = vx;
+    chassisSpeeds.vyMetersPerSecond = vy;
+    chassisSpeeds.omegaRadiansPerSecond = omega;
   }
 
   /**
@@ -235,35 +288,66 @@ public class SwerveDriveKinematics
    * @return The resulting Twist2d.
    */
   public Twist2d toTwist2d(SwerveModulePosition... moduleDeltas) {
-    if (moduleDeltas.length != m_numModules) {
-      throw new IllegalArgumentException(
-          "Number of modules is not consistent with number of module locations provided in "
-              + "constructor");
-    }
-    var moduleDeltaMatrix = new SimpleMatrix(m_numModules * 2, 1);
+    checkModuleCount(moduleDeltas.length);
 
+    // [twist] = [forwardKinematics] * [moduleDeltas]
+    final int cols = m_numModules * 2;
+    double dx = 0.0;
+    double dy = 0.0;
+    double dtheta = 0.0;
     for (int i = 0; i < m_numModules; i++) {
       var module = moduleDeltas[i];
-      moduleDeltaMatrix.set(i * 2, 0, module.distanceMeters * module.angle.getCos());
-      moduleDeltaMatrix.set(i * 2 + 1, module.distanceMeters * module.angle.getSin());
-    }
+      double x = module.distanceMeters * module.angle.getCos();
+      double y = module.distanceMeters * module.angle.getSin();
 
-    var chassisDeltaVector = m_forwardKinematics.mult(moduleDeltaMatrix);
-    return new Twist2d(
-        chassisDeltaVector.get(0, 0), chassisDeltaVector.get(1, 0), chassisDeltaVector.get(2, 0));
+      dx += m_forwardKinematics[i * 2] * x + m_forwardKinematics[i * 2 + 1] * y;
+      dy += m_forwardKinematics[cols + i * 2] * x + m_forwardKinematics[cols + i * 2 + 1] * y;
+      dtheta +=
+          m_forwardKinematics[2 * cols + i * 2] * x + m_forwardKinematics[2 * cols + i * 2 + 1] * y;
+    }
+    return new Twist2d(dx, dy, dtheta);
   }
 
   @Override
   public Twist2d toTwist2d(SwerveModulePosition[] start, SwerveModulePosition[] end) {
+    var twist = new Twist2d();
+    toTwist2d(start, end, twist);
+    return twist;
+  }
+
+  @Override
+  public void toTwist2d(SwerveModulePosition[] start, SwerveModulePosition[] end, Twist2d output) {
     if (start.length != end.length) {
       throw new IllegalArgumentException("Inconsistent number of modules!");
     }
-    var newPositions = new SwerveModulePosition[start.length];
-    for (int i = 0; i < start.length; i++) {
-      newPositions[i] =
-          new SwerveModulePosition(end[i].distanceMeters - start[i].distanceMeters, end[i].angle);
+    checkModuleCount(end.length);
+
+    // [twist] = [forwardKinematics] * [end - start], with each module's delta along its end angle
+    final int cols = m_numModules * 2;
+    double dx = 0.0;
+    double dy = 0.0;
+    double dtheta = 0.0;
+    for (int i = 0; i < m_numModules; i++) {
+      double distance = end[i].distanceMeters - start[i].distanceMeters;
+      double x = distance * end[i].angle.getCos();
+      double y = distance * end[i].angle.getSin();
+
+      dx += m_forwardKinematics[i * 2] * x + m_forwardKinematics[i * 2 + 1] * y;
+      dy += m_forwardKinematics[cols + i * 2] * x + m_forwardKinematics[cols + i * 2 + 1] * y;
+      dtheta +=
+          m_forwardKinematics[2 * cols + i * 2] * x + m_forwardKinematics[2 * cols + i * 2 + 1] * y;
+    }
+    output.dx = dx;
+    output.dy = dy;
+    output.dtheta = dtheta;
+  }
+
+  private void checkModuleCount(int numModules) {
+    if (numModules != m_numModules) {
+      throw new IllegalArgumentException(
+          "Number of modules is not consistent with number of module locations provided in "
+              + "constructor");
     }
-    return toTwist2d(newPositions);
   }
 
   /**
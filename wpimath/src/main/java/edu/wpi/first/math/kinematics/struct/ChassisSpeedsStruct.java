@@ -37,6 +37,13 @@ public class ChassisSpeedsStruct implements Struct<ChassisSpeeds> {
     return new ChassisSpeeds(vx, vy, omega);
   }
 
+  @Override
+  public void unpackInto(ChassisSpeeds out, ByteBuffer bb) {
+    out.vxMetersPerSecond = bb.getDouble();
+    out.vyMetersPerSecond = bb.getDouble();
+    out.omegaRadiansPerSecond = bb.getDouble();
+  }
+
   @Override
   public void pack(ByteBuffer bb, ChassisSpeeds value) {
     bb.putDouble(value.vxMetersPerSecond);
@@ -42,6 +42,12 @@ public class SwerveModulePositionStruct implements Struct<SwerveModulePosition>
     return new SwerveModulePosition(distance, angle);
   }
 
+  @Override
+  public void unpackInto(SwerveModulePosition out, ByteBuffer bb) {
+    out.distanceMeters = bb.getDouble();
+    out.angle = Rotation2d.struct.unpack(bb);
+  }
+
   @Override
   public void pack(ByteBuffer bb, SwerveModulePosition value) {
     bb.putDouble(value.distanceMeters);
@@ -42,6 +42,12 @@ public class SwerveModuleStateStruct implements Struct<SwerveModuleState> {
     return new SwerveModuleState(speed, angle);
   }
 
+  @Override
+  public void unpackInto(SwerveModuleState out, ByteBuffer bb) {
+    out.speedMetersPerSecond = bb.getDouble();
+    out.angle = Rotation2d.struct.unpack(bb);
+  }
+
   @Override
   public void pack(ByteBuffer bb, SwerveModuleState value) {
     bb.putDouble(value.speedMetersPerSecond);
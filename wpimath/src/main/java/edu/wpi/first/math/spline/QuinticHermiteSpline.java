@@ -13,7 +13,8 @@ import org.ejml.simple.SimpleMatrix;
 /** Represents a hermite spline of degree 5. */
 public class QuinticHermiteSpline extends Spline
     implements ProtobufSerializable, StructSerializable {
-  private static SimpleMatrix hermiteBasis;
+  // Created lazily; volatile since splines may be created on several threads at once
+  private static volatile SimpleMatrix hermiteBasis;
   private final SimpleMatrix m_coefficients;
 
   /** The control vector for the initial point in the x dimension. DO NOT MODIFY THIS ARRAY! */
@@ -28,8 +28,7 @@
 
 package edu.wpi.first.math.spline;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** Class used to parameterize a spline by its arc length. */
@@ -51,16 +50,6 @@ public final class SplineParameterizer {
    */
   private static final int kMaxIterations = 5000;
 
-  private static class StackContents {
-    final double t1;
-    final double t0;
-
-    StackContents(double t0, double t1) {
-      this.t0 = t0;
-      this.t1 = t1;
-    }
-  }
-
   /** Exception for malformed splines. */
   public static final class MalformedSplineException extends RuntimeException {
     /**
@@ -101,39 +90,127 @@ public final class SplineParameterizer {
    *     with approximately opposing headings)
    */
   public static List<PoseWithCurvature> parameterize(Spline spline, double t0, double t1) {
-    var splinePoints = new ArrayList<PoseWithCurvature>();
+    var points = new SplinePoints();
+    parameterize(spline, t0, t1, points, true, 1.0);
+    return points.toList();
+  }
+
+  /**
+   * Parametrizes the spline, adding the points to a list. This method breaks up the spline into
+   * various arcs until their dx, dy, and dtheta are within specific tolerances. It doesn't allocate
+   * any objects for the points.
+   *
+   * @param spline The spline to parameterize.
+   * @param t0 Starting internal spline parameter. It is recommended to use 0.0.
+   * @param t1 Ending internal spline parameter. It is recommended to use 1.0.
+   * @param points The list to add the points to.
+   * @throws MalformedSplineException When the spline is malformed (e.g. has close adjacent points
+   *     with approximately opposing headings)
+   */
+  public static void parameterize(Spline spline, double t0, double t1, SplinePoints points) {
+    parameterize(spline, t0, t1, points, true, 1.0);
+  }
+
+  /**
+   * Parametrizes a sequence of splines, each starting where the previous one ends, adding the
+   * points to a list. The point where two splines join is only added once.
+   *
+   * @param splines The splines to parameterize.
+   * @param points The list to add the points to.
+   * @throws MalformedSplineException When a spline is malformed (e.g. has close adjacent points
+   *     with approximately opposing headings)
+   */
+  public static void parameterize(Spline[] splines, SplinePoints points) {
+    parameterize(splines, points, 1.0);
+  }
+
+  /**
+   * Parametrizes a sequence of splines with scaled tolerances, adding the points to a list. A scale
+   * greater than 1 gives fewer, more widely spaced points, which is faster to parameterize and to
+   * time parameterize, at the cost of a less accurate trajectory.
+   *
+   * @param splines The splines to parameterize.
+   * @param points The list to add the points to.
+   * @param toleranceScale The factor to multiply the dx, dy, and dtheta tolerances by.
+   * @throws MalformedSplineException When a spline is malformed (e.g. has close adjacent points
+   *     with approximately opposing headings)
+   */
+  public static void parameterize(Spline[] splines, SplinePoints points, double toleranceScale) {
+    for (int i = 0; i < splines.length; i++) {
+      parameterize(splines[i], 0.0, 1.0, points, i == 0, toleranceScale);
+    }
+  }
+
+  /**
+   * Parametrizes the spline, adding the points to a list.
+   *
+   * @param spline The spline to parameterize.
+   * @param t0 Starting internal spline parameter.
+   * @param t1 Ending internal spline parameter.
+   * @param points The list to add the points to.
+   * @param includeStart Whether to add the point at t0.
+   * @param toleranceScale The factor to multiply the tolerances by.
+   * @throws MalformedSplineException When the spline is malformed.
+   */
+  private static void parameterize(
+      Spline spline,
+      double t0,
+      double t1,
+      SplinePoints points,
+      boolean includeStart,
+      double toleranceScale) {
+    // Copy the coefficients out of the matrix once, rather than multiplying matrices for every
+    // point.
+    final var matrix = spline.getCoefficients();
+    final int columns = matrix.getNumCols();
+    final double[] coefficients = new double[6 * columns];
+    for (int row = 0; row < 6; row++) {
+      for (int col = 0; col < columns; col++) {
+        coefficients[row * columns + col] = matrix.get(row, col);
+      }
+    }
+
+    // The start and end points of the current arc: x, y, cos, sin, curvature
+    final double[] start = new double[5];
+    final double[] end = new double[5];
 
+    if (!getPoint(coefficients, columns, t0, start)) {
+      throw new MalformedSplineException(kMalformedSplineExceptionMsg);
+    }
     // The parameterization does not add the initial point. Let's add that.
-    splinePoints.add(spline.getPoint(t0).get());
+    if (includeStart) {
+      points.add(start[0], start[1], start[2], start[3], start[4]);
+    }
 
     // We use an "explicit stack" to simulate recursion, instead of a recursive function call
     // This give us greater control, instead of a stack overflow
-    var stack = new ArrayDeque<StackContents>();
-    stack.push(new StackContents(t0, t1));
+    //
+    // Arcs are split in half and the first half is processed first, so every arc starts where the
+    // last accepted one ended. The stack only needs to hold the end of each pending arc.
+    double[] stack = new double[32];
+    int stackSize = 0;
+    stack[stackSize++] = t1;
+    double startT = t0;
 
     int iterations = 0;
 
-    while (!stack.isEmpty()) {
-      var current = stack.removeFirst();
-
-      var start = spline.getPoint(current.t0);
-      if (!start.isPresent()) {
-        throw new MalformedSplineException(kMalformedSplineExceptionMsg);
-      }
+    while (stackSize > 0) {
+      final double endT = stack[--stackSize];
 
-      var end = spline.getPoint(current.t1);
-      if (!end.isPresent()) {
+      if (!getPoint(coefficients, columns, endT, end)) {
         throw new MalformedSplineException(kMalformedSplineExceptionMsg);
       }
 
-      final var twist = start.get().poseMeters.log(end.get().poseMeters);
-      if (Math.abs(twist.dy) > kMaxDy
-          || Math.abs(twist.dx) > kMaxDx
-          || Math.abs(twist.dtheta) > kMaxDtheta) {
-        stack.addFirst(new StackContents((current.t0 + current.t1) / 2, current.t1));
-        stack.addFirst(new StackContents(current.t0, (current.t0 + current.t1) / 2));
+      if (exceedsTolerances(start, end, toleranceScale)) {
+        if (stackSize + 2 > stack.length) {
+          stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[stackSize++] = endT;
+        stack[stackSize++] = (startT + endT) / 2;
       } else {
-        splinePoints.add(end.get());
+        points.add(end[0], end[1], end[2], end[3], end[4]);
+        System.arraycopy(end, 0, start, 0, end.length);
+        startT = endT;
       }
 
       iterations++;
@@ -141,7 +218,96 @@ public final class SplineParameterizer {
         throw new MalformedSplineException(kMalformedSplineExceptionMsg);
       }
     }
+  }
+
+  /**
+   * Evaluates the pose and curvature at a point on a spline, like {@link Spline#getPoint(double)}.
+   *
+   * @param coefficients The spline's coefficient matrix in row-major order.
+   * @param columns The number of columns of the coefficient matrix (the degree plus one).
+   * @param t The point t.
+   * @param out The array to store x, y, cos, sin, and curvature in.
+   * @return False if the spline has no heading at the point.
+   */
+  private static boolean getPoint(double[] coefficients, int columns, double t, double[] out) {
+    // Each row holds the coefficients of a polynomial from the highest power down. The derivative
+    // rows end in zeros, since their powers are one or two lower, so leave those out.
+    final double x = evaluate(coefficients, 0, columns, t);
+    final double y = evaluate(coefficients, columns, columns, t);
+    final double dx = evaluate(coefficients, 2 * columns, columns - 1, t);
+    final double dy = evaluate(coefficients, 3 * columns, columns - 1, t);
+    final double ddx = evaluate(coefficients, 4 * columns, columns - 2, t);
+    final double ddy = evaluate(coefficients, 5 * columns, columns - 2, t);
+
+    final double magnitude = Math.hypot(dx, dy);
+    if (magnitude < 1e-6) {
+      return false;
+    }
+
+    out[0] = x;
+    out[1] = y;
+    out[2] = dx / magnitude;
+    out[3] = dy / magnitude;
+    out[4] = (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * magnitude);
+    return true;
+  }
+
+  /**
+   * Evaluates a polynomial with Horner's method.
+   *
+   * @param coefficients The array holding the coefficients, from the highest power down.
+   * @param offset The index of the first coefficient.
+   * @param count The number of coefficients.
+   * @param t The value to evaluate the polynomial at.
+   * @return The value of the polynomial.
+   */
+  private static double evaluate(double[] coefficients, int offset, int count, double t) {
+    double value = coefficients[offset];
+    for (int i = 1; i < count; i++) {
+      value = value * t + coefficients[offset + i];
+    }
+    return value;
+  }
+
+  /**
+   * Returns whether the twist between two points exceeds the tolerances, like {@link
+   * edu.wpi.first.math.geometry.Pose2d#log(edu.wpi.first.math.geometry.Pose2d)} but without
+   * allocating.
+   *
+   * @param start The start point: x, y, cos, sin.
+   * @param end The end point: x, y, cos, sin.
+   * @param toleranceScale The factor to multiply the tolerances by.
+   * @return Whether the arc between the points must be split.
+   */
+  private static boolean exceedsTolerances(double[] start, double[] end, double toleranceScale) {
+    // The end pose relative to the start pose
+    final double c0 = start[2];
+    final double s0 = start[3];
+    final double deltaX = end[0] - start[0];
+    final double deltaY = end[1] - start[1];
+    final double x = deltaX * c0 + deltaY * s0;
+    final double y = -deltaX * s0 + deltaY * c0;
+    final double cos = end[2] * c0 + end[3] * s0;
+    final double sin = end[3] * c0 - end[2] * s0;
+
+    final double dtheta = Math.atan2(sin, cos);
+    final double halfDtheta = dtheta / 2.0;
+    final double cosMinusOne = cos - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * sin) / cosMinusOne;
+    }
+
+    // Rotate the translation by (halfThetaByTanOfHalfDtheta, -halfDtheta), scaling it by that
+    // vector's length.
+    final double dx = x * halfThetaByTanOfHalfDtheta + y * halfDtheta;
+    final double dy = -x * halfDtheta + y * halfThetaByTanOfHalfDtheta;
 
-    return splinePoints;
+    return Math.abs(dy) > kMaxDy * toleranceScale
+        || Math.abs(dx) > kMaxDx * toleranceScale
+        || Math.abs(dtheta) > kMaxDtheta * toleranceScale;
   }
 }
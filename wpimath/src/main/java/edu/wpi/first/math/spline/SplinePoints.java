@@ -0,0 +1,200 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.spline;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of points on a spline, each a pose and a curvature, stored in primitive arrays.
+ * Used in place of a list of {@link PoseWithCurvature} to parameterize splines and trajectories
+ * without allocating objects for each point.
+ *
+ * <p>The heading of each point is stored as its cosine and sine. The arrays returned by the getters
+ * are the backing arrays, which may be longer than the number of points; only the first {@link
+ * #size()} elements are valid, and the arrays are replaced when the list grows.
+ */
+public final class SplinePoints {
+  private double[] m_x;
+  private double[] m_y;
+  private double[] m_cos;
+  private double[] m_sin;
+  private double[] m_curvature;
+  private int m_size;
+
+  /** Constructs an empty list. */
+  public SplinePoints() {
+    this(64);
+  }
+
+  /**
+   * Constructs an empty list with room for the given number of points.
+   *
+   * @param capacity The number of points to make room for.
+   */
+  public SplinePoints(int capacity) {
+    int length = Math.max(capacity, 1);
+    m_x = new double[length];
+    m_y = new double[length];
+    m_cos = new double[length];
+    m_sin = new double[length];
+    m_curvature = new double[length];
+  }
+
+  /**
+   * Constructs a list from a list of poses and curvatures.
+   *
+   * @param points The poses and curvatures.
+   */
+  public SplinePoints(List<PoseWithCurvature> points) {
+    this(points.size());
+    for (var point : points) {
+      var pose = point.poseMeters;
+      add(
+          pose.getX(),
+          pose.getY(),
+          pose.getRotation().getCos(),
+          pose.getRotation().getSin(),
+          point.curvatureRadPerMeter);
+    }
+  }
+
+  /**
+   * Adds a point to the end of the list.
+   *
+   * @param x The x coordinate in meters.
+   * @param y The y coordinate in meters.
+   * @param cos The cosine of the heading.
+   * @param sin The sine of the heading.
+   * @param curvatureRadPerMeter The curvature.
+   */
+  public void add(double x, double y, double cos, double sin, double curvatureRadPerMeter) {
+    if (m_size == m_x.length) {
+      int capacity = m_size * 2;
+      m_x = Arrays.copyOf(m_x, capacity);
+      m_y = Arrays.copyOf(m_y, capacity);
+      m_cos = Arrays.copyOf(m_cos, capacity);
+      m_sin = Arrays.copyOf(m_sin, capacity);
+      m_curvature = Arrays.copyOf(m_curvature, capacity);
+    }
+    m_x[m_size] = x;
+    m_y[m_size] = y;
+    m_cos[m_size] = cos;
+    m_sin[m_size] = sin;
+    m_curvature[m_size] = curvatureRadPerMeter;
+    m_size++;
+  }
+
+  /** Removes all points. */
+  public void clear() {
+    m_size = 0;
+  }
+
+  /**
+   * Returns the number of points.
+   *
+   * @return The number of points.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns the x coordinates of the points.
+   *
+   * @return The backing array of x coordinates in meters.
+   */
+  public double[] getX() {
+    return m_x;
+  }
+
+  /**
+   * Returns the y coordinates of the points.
+   *
+   * @return The backing array of y coordinates in meters.
+   */
+  public double[] getY() {
+    return m_y;
+  }
+
+  /**
+   * Returns the cosines of the headings of the points.
+   *
+   * @return The backing array of heading cosines.
+   */
+  public double[] getCos() {
+    return m_cos;
+  }
+
+  /**
+   * Returns the sines of the headings of the points.
+   *
+   * @return The backing array of heading sines.
+   */
+  public double[] getSin() {
+    return m_sin;
+  }
+
+  /**
+   * Returns the curvatures of the points.
+   *
+   * @return The backing array of curvatures in radians per meter.
+   */
+  public double[] getCurvature() {
+    return m_curvature;
+  }
+
+  /**
+   * Returns the pose of a point. This allocates a new Pose2d.
+   *
+   * @param index The index of the point.
+   * @return The pose of the point.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public Pose2d getPose(int index) {
+    checkIndex(index);
+    return new Pose2d(m_x[index], m_y[index], new Rotation2d(m_cos[index], m_sin[index]));
+  }
+
+  /**
+   * Turns every point around, as if it had been transformed by a rotation of π, and negates its
+   * curvature. Used for reversed trajectories, whose splines are built facing the opposite way.
+   */
+  public void flip() {
+    final double cosPi = Rotation2d.kPi.getCos();
+    final double sinPi = Rotation2d.kPi.getSin();
+    for (int i = 0; i < m_size; i++) {
+      // Rotation2d.rotateBy(), including its normalization
+      double cos = m_cos[i] * cosPi - m_sin[i] * sinPi;
+      double sin = m_cos[i] * sinPi + m_sin[i] * cosPi;
+      double magnitude = Math.hypot(cos, sin);
+      m_cos[i] = cos / magnitude;
+      m_sin[i] = sin / magnitude;
+      m_curvature[i] *= -1;
+    }
+  }
+
+  /**
+   * Returns the points as a list of poses and curvatures.
+   *
+   * @return The list of poses and curvatures.
+   */
+  public List<PoseWithCurvature> toList() {
+    var list = new ArrayList<PoseWithCurvature>(m_size);
+    for (int i = 0; i < m_size; i++) {
+      list.add(new PoseWithCurvature(getPose(i), m_curvature[i]));
+    }
+    return list;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= m_size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + m_size);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates several trajectories concurrently. A robot program with many autonomous paths can add
+ * them all to a batch and generate them at once, which takes about as long as generating the
+ * longest one when there are enough processor cores.
+ *
+ * <pre><code>
+ * List&lt;Trajectory&gt; trajectories =
+ *     new TrajectoryBatch()
+ *         .setCache(new TrajectoryCache(deployDirectory.resolve("trajectories")))
+ *         .add(leftWaypoints, config)
+ *         .add(rightWaypoints, reversedConfig)
+ *         .generate();
+ * </code></pre>
+ *
+ * <p>Trajectories are generated when {@link #generate()} is called, not when they're added, so
+ * waypoint lists and configs mustn't be modified until then. A config may be shared by several
+ * trajectories.
+ */
+public class TrajectoryBatch {
+  private final List<Function<TrajectoryCache, Trajectory>> m_trajectories = new ArrayList<>();
+  private TrajectoryCache m_cache;
+
+  /** Constructs an empty batch. */
+  public TrajectoryBatch() {}
+
+  /**
+   * Sets a cache to load trajectories from instead of generating them, and to store generated
+   * trajectories in.
+   *
+   * @param cache The cache, or null to always generate trajectories.
+   * @return Instance of the current batch.
+   */
+  public TrajectoryBatch setCache(TrajectoryCache cache) {
+    m_cache = cache;
+    return this;
+  }
+
+  /**
+   * Adds a trajectory to generate from the given control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Spline.ControlVector, List, Spline.ControlVector,
+   * TrajectoryConfig)} does.
+   *
+   * @param initial The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending control vector.
+   * @param config The configuration for the trajectory.
+   * @return Instance of the current batch.
+   */
+  public TrajectoryBatch add(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config) {
+    m_trajectories.add(
+        cache ->
+            cache != null
+                ? cache.generateTrajectory(initial, interiorWaypoints, end, config)
+                : TrajectoryGenerator.generateTrajectory(initial, interiorWaypoints, end, config));
+    return this;
+  }
+
+  /**
+   * Adds a trajectory to generate from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)} does.
+   *
+   * @param start The starting pose.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending pose.
+   * @param config The configuration for the trajectory.
+   * @return Instance of the current batch.
+   */
+  public TrajectoryBatch add(
+      Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end, TrajectoryConfig config) {
+    m_trajectories.add(
+        cache ->
+            cache != null
+                ? cache.generateTrajectory(start, interiorWaypoints, end, config)
+                : TrajectoryGenerator.generateTrajectory(start, interiorWaypoints, end, config));
+    return this;
+  }
+
+  /**
+   * Adds a trajectory to generate from the given quintic control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(TrajectoryGenerator.ControlVectorList,
+   * TrajectoryConfig)} does.
+   *
+   * @param controlVectors List of quintic control vectors.
+   * @param config The configuration for the trajectory.
+   * @return Instance of the current batch.
+   */
+  public TrajectoryBatch add(
+      TrajectoryGenerator.ControlVectorList controlVectors, TrajectoryConfig config) {
+    m_trajectories.add(
+        cache ->
+            cache != null
+                ? cache.generateTrajectory(controlVectors, config)
+                : TrajectoryGenerator.generateTrajectory(controlVectors, config));
+    return this;
+  }
+
+  /**
+   * Adds a trajectory to generate from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)} does.
+   *
+   * @param waypoints List of waypoints.
+   * @param config The configuration for the trajectory.
+   * @return Instance of the current batch.
+   */
+  public TrajectoryBatch add(List<Pose2d> waypoints, TrajectoryConfig config) {
+    m_trajectories.add(
+        cache ->
+            cache != null
+                ? cache.generateTrajectory(waypoints, config)
+                : TrajectoryGenerator.generateTrajectory(waypoints, config));
+    return this;
+  }
+
+  /**
+   * Returns the number of trajectories in the batch.
+   *
+   * @return The number of trajectories.
+   */
+  public int size() {
+    return m_trajectories.size();
+  }
+
+  /**
+   * Generates the trajectories on the common fork-join pool. The calling thread helps, so
+   * trajectories are generated concurrently even where the common pool has a single thread (e.g. on
+   * a dual-core roboRIO).
+   *
+   * @return The trajectories, in the order they were added.
+   */
+  public List<Trajectory> generate() {
+    return generateAll();
+  }
+
+  /**
+   * Generates the trajectories on the given fork-join pool. The calling thread waits for them.
+   *
+   * @param pool The pool to generate the trajectories on.
+   * @return The trajectories, in the order they were added.
+   */
+  public List<Trajectory> generate(ForkJoinPool pool) {
+    if (pool == ForkJoinPool.commonPool()) {
+      return generateAll();
+    }
+    return pool.submit(this::generateAll).join();
+  }
+
+  /**
+   * Generates the trajectories with a parallel stream, which runs on the fork-join pool of the
+   * calling thread if it's a pool thread, and otherwise on the common pool.
+   *
+   * @return The trajectories, in the order they were added.
+   */
+  private List<Trajectory> generateAll() {
+    var cache = m_cache;
+    return IntStream.range(0, m_trajectories.size())
+        .parallel()
+        .mapToObj(i -> m_trajectories.get(i).apply(cache))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,381 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import edu.wpi.first.math.MathSharedStore;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.spline.SplineHelper;
+import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A cache of generated trajectories, stored as files in a directory. Generating a trajectory
+ * through the cache first looks for a file generated from the same inputs, and loads it instead of
+ * running the generator; otherwise it generates the trajectory and writes the file. A robot program
+ * with many autonomous paths can use the cache to skip regenerating unchanged paths every time it
+ * starts.
+ *
+ * <p>Files are named by a SHA-256 hash of everything the generator reads: the waypoints or control
+ * vectors, the velocities, acceleration and direction in the {@link TrajectoryConfig}, and the
+ * {@link TrajectoryConstraint#getCacheKey() cache key} of each of its constraints. The hash also
+ * covers the version of the generator, and of the library when it's known, so files generated by
+ * another version aren't loaded. The built-in constraints all provide cache keys. A constraint that
+ * doesn't (the default for custom constraints) makes its trajectories bypass the cache; they're
+ * generated every time, just as without the cache.
+ *
+ * <p>The hash covers a constraint's key, but not its code. After changing how a custom constraint
+ * computes its limits, delete the cache directory so its trajectories are regenerated.
+ *
+ * <p>A good place for the cache is a directory in the deploy directory, e.g. {@code
+ * Filesystem.getDeployDirectory().toPath().resolve("trajectories")}. Files generated in simulation
+ * are then deployed with the robot program, so the robot loads them on its first start.
+ *
+ * <p>Each file is a binary trajectory file, as described in {@link
+ * TrajectoryUtil#toBinary(Trajectory, Path)}.
+ *
+ * <p>Files that are missing, unreadable, or malformed are treated as cache misses. A cache can be
+ * shared by several threads.
+ */
+public class TrajectoryCache {
+  private static final String kExtension = ".traj";
+
+  // Increment when a change to the generator changes the trajectories it generates from the same
+  // inputs, so files generated before the change aren't loaded
+  static final int kGeneratorVersion = 1;
+
+  private final Path m_directory;
+  private final AtomicInteger m_hits = new AtomicInteger();
+  private final AtomicInteger m_misses = new AtomicInteger();
+
+  /**
+   * Constructs a cache that stores trajectories in a directory. The directory is created when the
+   * first trajectory is written.
+   *
+   * @param directory The directory to store trajectories in.
+   */
+  public TrajectoryCache(Path directory) {
+    m_directory = directory;
+  }
+
+  /**
+   * Returns the directory the cache stores trajectories in.
+   *
+   * @return The cache directory.
+   */
+  public Path getDirectory() {
+    return m_directory;
+  }
+
+  /**
+   * Returns the number of trajectories that were loaded from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public int getHits() {
+    return m_hits.get();
+  }
+
+  /**
+   * Returns the number of trajectories that were generated because they weren't in the cache.
+   *
+   * @return The number of cache misses.
+   */
+  public int getMisses() {
+    return m_misses.get();
+  }
+
+  /**
+   * Loads or generates a trajectory from the given control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Spline.ControlVector, List, Spline.ControlVector,
+   * TrajectoryConfig)} does.
+   *
+   * @param initial The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending control vector.
+   * @param config The configuration for the trajectory.
+   * @return The trajectory.
+   */
+  public Trajectory generateTrajectory(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config) {
+    return getOrGenerate(
+        () -> TrajectoryGenerator.generateTrajectory(initial, interiorWaypoints, end, config),
+        "cubic",
+        initial,
+        interiorWaypoints,
+        end,
+        config);
+  }
+
+  /**
+   * Loads or generates a trajectory from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)} does.
+   *
+   * @param start The starting waypoint.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending waypoint.
+   * @param config The configuration for the trajectory.
+   * @return The trajectory.
+   */
+  public Trajectory generateTrajectory(
+      Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end, TrajectoryConfig config) {
+    // The generator turns the waypoints into control vectors the same way, so share their files.
+    var controlVectors =
+        SplineHelper.getCubicControlVectorsFromWaypoints(
+            start, interiorWaypoints.toArray(new Translation2d[0]), end);
+    return generateTrajectory(controlVectors[0], interiorWaypoints, controlVectors[1], config);
+  }
+
+  /**
+   * Loads or generates a trajectory from the given quintic control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(TrajectoryGenerator.ControlVectorList,
+   * TrajectoryConfig)} does.
+   *
+   * @param controlVectors List of quintic control vectors.
+   * @param config The configuration for the trajectory.
+   * @return The trajectory.
+   */
+  public Trajectory generateTrajectory(
+      TrajectoryGenerator.ControlVectorList controlVectors, TrajectoryConfig config) {
+    return getOrGenerate(
+        () -> TrajectoryGenerator.generateTrajectory(controlVectors, config),
+        "quintic",
+        controlVectors,
+        config);
+  }
+
+  /**
+   * Loads or generates a trajectory from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)} does.
+   *
+   * @param waypoints List of waypoints.
+   * @param config The configuration for the trajectory.
+   * @return The trajectory.
+   */
+  public Trajectory generateTrajectory(List<Pose2d> waypoints, TrajectoryConfig config) {
+    return getOrGenerate(
+        () -> TrajectoryGenerator.generateTrajectory(waypoints, config),
+        "poses",
+        waypoints,
+        config);
+  }
+
+  /**
+   * Loads the trajectory for the given generator inputs, or generates and stores it.
+   *
+   * @param generator Generates the trajectory.
+   * @param inputs Everything the generator reads.
+   * @return The trajectory.
+   */
+  private Trajectory getOrGenerate(Supplier<Trajectory> generator, Object... inputs) {
+    String key = hash(inputs);
+    if (key == null) {
+      m_misses.incrementAndGet();
+      return generator.get();
+    }
+
+    Path file = m_directory.resolve(key + kExtension);
+    Trajectory trajectory = read(file);
+    if (trajectory != null) {
+      m_hits.incrementAndGet();
+      return trajectory;
+    }
+
+    m_misses.incrementAndGet();
+    trajectory = generator.get();
+
+    // A trajectory with a single state is what the generator returns after reporting an error.
+    // Don't store it, so that the error is reported again the next time.
+    if (trajectory.getStates().size() > 1) {
+      write(file, trajectory);
+    }
+    return trajectory;
+  }
+
+  /**
+   * Reads a trajectory file.
+   *
+   * @param file The file.
+   * @return The trajectory, or null if the file is missing, unreadable, or malformed.
+   */
+  private static Trajectory read(Path file) {
+    // Read the file rather than mapping it, since on Windows a mapped file can't be replaced until
+    // the mapping is garbage collected.
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file);
+    } catch (IOException e) {
+      // Usually NoSuchFileException, for a trajectory that hasn't been stored yet
+      return null;
+    }
+
+    try {
+      return TrajectoryUtil.deserializeBinary(ByteBuffer.wrap(bytes));
+    } catch (TrajectoryUtil.TrajectorySerializationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes a trajectory file. The file is written under a temporary name and then renamed, so a
+   * partially written file is never read. Errors are reported but otherwise ignored.
+   *
+   * @param file The file.
+   * @param trajectory The trajectory.
+   */
+  private static void write(Path file, Trajectory trajectory) {
+    var buffer = TrajectoryUtil.serializeBinary(trajectory);
+
+    Path temp = null;
+    try {
+      Files.createDirectories(file.getParent());
+      temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      Files.write(temp, buffer.array());
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      MathSharedStore.reportError(
+          "Failed to write trajectory cache file " + file + ": " + e, e.getStackTrace());
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+          // Nothing more can be done
+        }
+      }
+    }
+  }
+
+  /**
+   * Hashes generator inputs.
+   *
+   * @param inputs The inputs.
+   * @return The hash as a hex string, or null if the inputs can't be hashed.
+   */
+  static String hash(Object... inputs) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      return null;
+    }
+
+    try (var out =
+        new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+      out.writeInt(TrajectoryUtil.kBinaryVersion);
+      out.writeInt(kGeneratorVersion);
+      String libraryVersion = TrajectoryCache.class.getPackage().getImplementationVersion();
+      writeString(out, libraryVersion != null ? libraryVersion : "");
+      for (var input : inputs) {
+        writeValue(out, input);
+      }
+    } catch (IOException | UnhashableException e) {
+      return null;
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Writes a canonical encoding of a generator input.
+   *
+   * @param out The stream to write to.
+   * @param value The input: a string, waypoint, control vector, list of those, or config.
+   * @throws IOException if writing fails.
+   * @throws UnhashableException if the value can't be encoded.
+   */
+  private static void writeValue(DataOutputStream out, Object value)
+      throws IOException, UnhashableException {
+    if (value instanceof String) {
+      out.writeByte(0);
+      writeString(out, (String) value);
+    } else if (value instanceof Pose2d) {
+      var pose = (Pose2d) value;
+      out.writeByte(1);
+      out.writeDouble(pose.getX());
+      out.writeDouble(pose.getY());
+      out.writeDouble(pose.getRotation().getCos());
+      out.writeDouble(pose.getRotation().getSin());
+    } else if (value instanceof Translation2d) {
+      var translation = (Translation2d) value;
+      out.writeByte(2);
+      out.writeDouble(translation.getX());
+      out.writeDouble(translation.getY());
+    } else if (value instanceof Spline.ControlVector) {
+      var vector = (Spline.ControlVector) value;
+      out.writeByte(3);
+      writeDoubles(out, vector.x);
+      writeDoubles(out, vector.y);
+    } else if (value instanceof List<?>) {
+      var list = (List<?>) value;
+      out.writeByte(4);
+      out.writeInt(list.size());
+      for (var element : list) {
+        writeValue(out, element);
+      }
+    } else if (value instanceof TrajectoryConfig) {
+      var config = (TrajectoryConfig) value;
+      out.writeByte(5);
+      out.writeDouble(config.getMaxVelocity());
+      out.writeDouble(config.getMaxAcceleration());
+      out.writeDouble(config.getStartVelocity());
+      out.writeDouble(config.getEndVelocity());
+      out.writeBoolean(config.isReversed());
+      var constraints = config.getConstraints();
+      out.writeInt(constraints.size());
+      for (var constraint : constraints) {
+        String key = constraint.getCacheKey();
+        if (key == null) {
+          throw new UnhashableException();
+        }
+        writeString(out, constraint.getClass().getName());
+        writeString(out, key);
+      }
+    } else {
+      throw new UnhashableException();
+    }
+  }
+
+  private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+    out.writeInt(values.length);
+    for (double value : values) {
+      out.writeDouble(value);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    out.writeInt(value.length());
+    out.writeChars(value);
+  }
+
+  /** Thrown when generator inputs can't be hashed. */
+  private static final class UnhashableException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    UnhashableException() {
+      super(null, null, false, false);
+    }
+  }
+}
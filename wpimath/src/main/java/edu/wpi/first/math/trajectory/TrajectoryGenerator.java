@@ -14,6 +14,7 @@ import edu.wpi.first.math.spline.Spline;
 import edu.wpi.first.math.spline.SplineHelper;
 import edu.wpi.first.math.spline.SplineParameterizer;
 import edu.wpi.first.math.spline.SplineParameterizer.MalformedSplineException;
+import edu.wpi.first.math.spline.SplinePoints;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -64,47 +65,8 @@ public final class TrajectoryGenerator {
       List<Translation2d> interiorWaypoints,
       Spline.ControlVector end,
       TrajectoryConfig config) {
-    // Clone the control vectors.
-    var newInitial = new Spline.ControlVector(initial.x, initial.y);
-    var newEnd = new Spline.ControlVector(end.x, end.y);
-
-    // Change the orientation if reversed.
-    if (config.isReversed()) {
-      newInitial.x[1] *= -1;
-      newInitial.y[1] *= -1;
-      newEnd.x[1] *= -1;
-      newEnd.y[1] *= -1;
-    }
-
-    // Get the spline points
-    List<PoseWithCurvature> points;
-    try {
-      points =
-          splinePointsFromSplines(
-              SplineHelper.getCubicSplinesFromControlVectors(
-                  newInitial, interiorWaypoints.toArray(new Translation2d[0]), newEnd));
-    } catch (MalformedSplineException ex) {
-      reportError(ex.getMessage(), ex.getStackTrace());
-      return kDoNothingTrajectory;
-    }
-
-    // Change the points back to their original orientation.
-    if (config.isReversed()) {
-      for (var point : points) {
-        point.poseMeters = point.poseMeters.plus(kFlip);
-        point.curvatureRadPerMeter *= -1;
-      }
-    }
-
-    // Generate and return trajectory.
-    return TrajectoryParameterizer.timeParameterizeTrajectory(
-        points,
-        config.getConstraints(),
-        config.getStartVelocity(),
-        config.getEndVelocity(),
-        config.getMaxVelocity(),
-        config.getMaxAcceleration(),
-        config.isReversed());
+    return generateTrajectory(
+        getCubicSplines(initial, interiorWaypoints, end, config), config, 1.0);
   }
 
   /**
@@ -140,36 +102,60 @@ public final class TrajectoryGenerator {
    */
   public static Trajectory generateTrajectory(
       ControlVectorList controlVectors, TrajectoryConfig config) {
-    final var newControlVectors = new ArrayList<Spline.ControlVector>(controlVectors.size());
+    return generateTrajectory(getQuinticSplines(controlVectors, config), config, 1.0);
+  }
 
-    // Create a new control vector list, flipping the orientation if reversed.
-    for (final var vector : controlVectors) {
-      var newVector = new Spline.ControlVector(vector.x, vector.y);
-      if (config.isReversed()) {
-        newVector.x[1] *= -1;
-        newVector.y[1] *= -1;
-      }
-      newControlVectors.add(newVector);
-    }
+  /**
+   * Generates a trajectory from the given waypoints and config. This method uses quintic hermite
+   * splines -- therefore, all points must be represented by Pose2d objects. Continuous curvature is
+   * guaranteed in this method.
+   *
+   * @param waypoints List of waypoints..
+   * @param config The configuration for the trajectory.
+   * @return The generated trajectory.
+   */
+  public static Trajectory generateTrajectory(List<Pose2d> waypoints, TrajectoryConfig config) {
+    return generateTrajectory(getQuinticSplines(waypoints, config), config, 1.0);
+  }
 
-    // Get the spline points
-    List<PoseWithCurvature> points;
+  /**
+   * Generates a trajectory along the given splines.
+   *
+   * @param splines The splines, facing backwards if the trajectory is reversed.
+   * @param config The configuration for the trajectory.
+   * @param toleranceScale The factor to multiply the spline parameterization tolerances by. Values
+   *     greater than 1 give a coarser trajectory with fewer states, faster.
+   * @return The generated trajectory.
+   */
+  static Trajectory generateTrajectory(
+      Spline[] splines, TrajectoryConfig config, double toleranceScale) {
     try {
-      points =
-          splinePointsFromSplines(
-              SplineHelper.getQuinticSplinesFromControlVectors(
-                  newControlVectors.toArray(new Spline.ControlVector[] {})));
+      return parameterizeTrajectory(splines, config, toleranceScale);
     } catch (MalformedSplineException ex) {
       reportError(ex.getMessage(), ex.getStackTrace());
       return kDoNothingTrajectory;
     }
+  }
+
+  /**
+   * Generates a trajectory along the given splines, throwing if they're malformed instead of
+   * returning a trajectory that stays still.
+   *
+   * @param splines The splines, facing backwards if the trajectory is reversed.
+   * @param config The configuration for the trajectory.
+   * @param toleranceScale The factor to multiply the spline parameterization tolerances by.
+   * @return The generated trajectory.
+   * @throws MalformedSplineException When the splines are malformed.
+   */
+  static Trajectory parameterizeTrajectory(
+      Spline[] splines, TrajectoryConfig config, double toleranceScale) {
+    // Get the spline points
+    var points = new SplinePoints();
+    SplineParameterizer.parameterize(splines, points, toleranceScale);
 
     // Change the points back to their original orientation.
     if (config.isReversed()) {
-      for (var point : points) {
-        point.poseMeters = point.poseMeters.plus(kFlip);
-        point.curvatureRadPerMeter *= -1;
-      }
+      points.flip();
     }
 
     // Generate and return trajectory.
@@ -184,53 +170,78 @@ public final class TrajectoryGenerator {
   }
 
   /**
-   * Generates a trajectory from the given waypoints and config. This method uses quintic hermite
-   * splines -- therefore, all points must be represented by Pose2d objects. Continuous curvature is
-   * guaranteed in this method.
+   * Returns the clamped cubic splines through the given control vectors and interior waypoints.
    *
-   * @param waypoints List of waypoints..
+   * @param initial The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending control vector.
    * @param config The configuration for the trajectory.
-   * @return The generated trajectory.
+   * @return The splines, facing backwards if the trajectory is reversed.
    */
-  public static Trajectory generateTrajectory(List<Pose2d> waypoints, TrajectoryConfig config) {
-    List<Pose2d> newWaypoints = new ArrayList<>();
+  static Spline[] getCubicSplines(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config) {
+    // Clone the control vectors.
+    var newInitial = new Spline.ControlVector(initial.x, initial.y);
+    var newEnd = new Spline.ControlVector(end.x, end.y);
+
+    // Change the orientation if reversed.
     if (config.isReversed()) {
-      for (Pose2d originalWaypoint : waypoints) {
-        newWaypoints.add(originalWaypoint.plus(kFlip));
-      }
-    } else {
-      newWaypoints.addAll(waypoints);
+      newInitial.x[1] *= -1;
+      newInitial.y[1] *= -1;
+      newEnd.x[1] *= -1;
+      newEnd.y[1] *= -1;
     }
 
-    // Get the spline points
-    List<PoseWithCurvature> points;
-    try {
-      points =
-          splinePointsFromSplines(
-              SplineHelper.optimizeCurvature(
-                  SplineHelper.getQuinticSplinesFromWaypoints(newWaypoints)));
-    } catch (MalformedSplineException ex) {
-      reportError(ex.getMessage(), ex.getStackTrace());
-      return kDoNothingTrajectory;
+    return SplineHelper.getCubicSplinesFromControlVectors(
+        newInitial, interiorWaypoints.toArray(new Translation2d[0]), newEnd);
+  }
+
+  /**
+   * Returns the quintic hermite splines through the given control vectors.
+   *
+   * @param controlVectors List of quintic control vectors.
+   * @param config The configuration for the trajectory.
+   * @return The splines, facing backwards if the trajectory is reversed.
+   */
+  static Spline[] getQuinticSplines(ControlVectorList controlVectors, TrajectoryConfig config) {
+    final var newControlVectors = new ArrayList<Spline.ControlVector>(controlVectors.size());
+
+    // Create a new control vector list, flipping the orientation if reversed.
+    for (final var vector : controlVectors) {
+      var newVector = new Spline.ControlVector(vector.x, vector.y);
+      if (config.isReversed()) {
+        newVector.x[1] *= -1;
+        newVector.y[1] *= -1;
+      }
+      newControlVectors.add(newVector);
     }
 
-    // Change the points back to their original orientation.
+    return SplineHelper.getQuinticSplinesFromControlVectors(
+        newControlVectors.toArray(new Spline.ControlVector[] {}));
+  }
+
+  /**
+   * Returns the curvature-optimized quintic hermite splines through the given waypoints.
+   *
+   * @param waypoints List of waypoints.
+   * @param config The configuration for the trajectory.
+   * @return The splines, facing backwards if the trajectory is reversed.
+   */
+  static Spline[] getQuinticSplines(List<Pose2d> waypoints, TrajectoryConfig config) {
+    List<Pose2d> newWaypoints = new ArrayList<>();
     if (config.isReversed()) {
-      for (var point : points) {
-        point.poseMeters = point.poseMeters.plus(kFlip);
-        point.curvatureRadPerMeter *= -1;
+      for (Pose2d originalWaypoint : waypoints) {
+        newWaypoints.add(originalWaypoint.plus(kFlip));
       }
+    } else {
+      newWaypoints.addAll(waypoints);
     }
 
-    // Generate and return trajectory.
-    return TrajectoryParameterizer.timeParameterizeTrajectory(
-        points,
-        config.getConstraints(),
-        config.getStartVelocity(),
-        config.getEndVelocity(),
-        config.getMaxVelocity(),
-        config.getMaxAcceleration(),
-        config.isReversed());
+    return SplineHelper.optimizeCurvature(
+        SplineHelper.getQuinticSplinesFromWaypoints(newWaypoints));
   }
 
   /**
@@ -242,23 +253,9 @@ public final class TrajectoryGenerator {
    *     with approximately opposing headings)
    */
   public static List<PoseWithCurvature> splinePointsFromSplines(Spline[] splines) {
-    // Create the vector of spline points.
-    var splinePoints = new ArrayList<PoseWithCurvature>();
-
-    // Add the first point to the vector.
-    splinePoints.add(splines[0].getPoint(0.0).get());
-
-    // Iterate through the vector and parameterize each spline, adding the
-    // parameterized points to the final vector.
-    for (final var spline : splines) {
-      var points = SplineParameterizer.parameterize(spline);
-
-      // Append the array of poses to the vector. We are removing the first
-      // point because it's a duplicate of the last point from the previous
-      // spline.
-      splinePoints.addAll(points.subList(1, points.size()));
-    }
-    return splinePoints;
+    var points = new SplinePoints();
+    SplineParameterizer.parameterize(splines, points);
+    return points.toList();
   }
 
   /** Control vector list type that works around type erasure signatures. */
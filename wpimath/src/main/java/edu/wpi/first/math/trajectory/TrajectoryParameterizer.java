@@ -28,9 +28,12 @@
 
 package edu.wpi.first.math.trajectory;
 
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.spline.PoseWithCurvature;
+import edu.wpi.first.math.spline.SplinePoints;
 import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** Class used to parameterize a trajectory by time. */
@@ -62,59 +65,131 @@ public final class TrajectoryParameterizer {
       double maxVelocityMetersPerSecond,
       double maxAccelerationMetersPerSecondSq,
       boolean reversed) {
-    var constrainedStates = new ArrayList<ConstrainedState>(points.size());
-    var predecessor =
-        new ConstrainedState(
-            points.get(0),
-            0,
-            startVelocityMetersPerSecond,
-            -maxAccelerationMetersPerSecondSq,
-            maxAccelerationMetersPerSecondSq);
+    var poses = new Pose2d[points.size()];
+    for (int i = 0; i < poses.length; i++) {
+      poses[i] = points.get(i).poseMeters;
+    }
+    return timeParameterizeTrajectory(
+        new SplinePoints(points),
+        poses,
+        constraints,
+        startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond,
+        maxVelocityMetersPerSecond,
+        maxAccelerationMetersPerSecondSq,
+        reversed);
+  }
 
-    // Forward pass
-    for (int i = 0; i < points.size(); i++) {
-      constrainedStates.add(new ConstrainedState());
-      var constrainedState = constrainedStates.get(i);
-      constrainedState.pose = points.get(i);
+  /**
+   * Parameterize the trajectory by time. This is where the velocity profile is generated.
+   *
+   * <p>The derivation of the algorithm used can be found <a
+   * href="http://www2.informatik.uni-freiburg.de/~lau/students/Sprunk2008.pdf">here</a>.
+   *
+   * <p>This works on primitive arrays; apart from the trajectory itself, the only objects allocated
+   * for each point are the acceleration bounds returned by the constraints.
+   *
+   * @param points The spline points.
+   * @param constraints A vector of various velocity and acceleration. constraints.
+   * @param startVelocityMetersPerSecond The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed Whether the robot should move backwards. Note that the robot will still move
+   *     from a -&gt; b -&gt; ... -&gt; z as defined in the waypoints.
+   * @return The trajectory.
+   */
+  public static Trajectory timeParameterizeTrajectory(
+      SplinePoints points,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed) {
+    var poses = new Pose2d[points.size()];
+    for (int i = 0; i < poses.length; i++) {
+      poses[i] = points.getPose(i);
+    }
+    return timeParameterizeTrajectory(
+        points,
+        poses,
+        constraints,
+        startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond,
+        maxVelocityMetersPerSecond,
+        maxAccelerationMetersPerSecondSq,
+        reversed);
+  }
+
+  private static Trajectory timeParameterizeTrajectory(
+      SplinePoints points,
+      Pose2d[] poses,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed) {
+    final int count = points.size();
+    final double[] x = points.getX();
+    final double[] y = points.getY();
+    final double[] curvatures = points.getCurvature();
+
+    // The constrained state of each point
+    final var states = new ConstrainedStates(count);
+
+    // The user-defined velocity constraints at each point when its velocity is otherwise only
+    // limited by the global max velocity, which is the case for most of a typical trajectory.
+    // Computing them for the whole path at once lets constraints avoid per-point overhead.
+    final double[] velocityLimits =
+        getVelocityLimits(points, poses, constraints, maxVelocityMetersPerSecond);
+
+    // The predecessor of the first state is the start of the trajectory
+    double predecessorDistance = 0.0;
+    double predecessorMaxVelocity = startVelocityMetersPerSecond;
+    double predecessorMinAcceleration = -maxAccelerationMetersPerSecondSq;
+    double predecessorMaxAcceleration = maxAccelerationMetersPerSecondSq;
+    double predecessorX = x[0];
+    double predecessorY = y[0];
 
+    // Forward pass
+    for (int i = 0; i < count; i++) {
       // Begin constraining based on predecessor.
-      double ds =
-          constrainedState
-              .pose
-              .poseMeters
-              .getTranslation()
-              .getDistance(predecessor.pose.poseMeters.getTranslation());
-      constrainedState.distanceMeters = predecessor.distanceMeters + ds;
+      double ds = Math.hypot(x[i] - predecessorX, y[i] - predecessorY);
+      states.distanceMeters[i] = predecessorDistance + ds;
 
       // We may need to iterate to find the maximum end velocity and common
       // acceleration, since acceleration limits may be a function of velocity.
       while (true) {
         // Enforce global max velocity and max reachable velocity by global
         // acceleration limit. v_f = √(v_i² + 2ad).
-        constrainedState.maxVelocityMetersPerSecond =
+        double maxVelocity =
             Math.min(
                 maxVelocityMetersPerSecond,
                 Math.sqrt(
-                    predecessor.maxVelocityMetersPerSecond * predecessor.maxVelocityMetersPerSecond
-                        + predecessor.maxAccelerationMetersPerSecondSq * ds * 2.0));
+                    predecessorMaxVelocity * predecessorMaxVelocity
+                        + predecessorMaxAcceleration * ds * 2.0));
 
-        constrainedState.minAccelerationMetersPerSecondSq = -maxAccelerationMetersPerSecondSq;
-        constrainedState.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+        states.minAccelerationMetersPerSecondSq[i] = -maxAccelerationMetersPerSecondSq;
+        states.maxAccelerationMetersPerSecondSq[i] = maxAccelerationMetersPerSecondSq;
 
         // At this point, the constrained state is fully constructed apart from
         // all the custom-defined user constraints.
-        for (final var constraint : constraints) {
-          constrainedState.maxVelocityMetersPerSecond =
-              Math.min(
-                  constrainedState.maxVelocityMetersPerSecond,
-                  constraint.getMaxVelocityMetersPerSecond(
-                      constrainedState.pose.poseMeters,
-                      constrainedState.pose.curvatureRadPerMeter,
-                      constrainedState.maxVelocityMetersPerSecond));
+        if (maxVelocity == maxVelocityMetersPerSecond) {
+          maxVelocity = velocityLimits[i];
+        } else {
+          for (final var constraint : constraints) {
+            maxVelocity =
+                Math.min(
+                    maxVelocity,
+                    constraint.getMaxVelocityMetersPerSecond(poses[i], curvatures[i], maxVelocity));
+          }
         }
+        states.maxVelocityMetersPerSecond[i] = maxVelocity;
 
         // Now enforce all acceleration limits.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+        enforceAccelerationLimits(reversed, constraints, states, i, poses[i], curvatures[i]);
 
         if (ds < 1E-6) {
           break;
@@ -124,61 +199,61 @@ public final class TrajectoryParameterizer {
         // acceleration that we applied, then we need to reduce the max
         // acceleration of the predecessor and try again.
         double actualAcceleration =
-            (constrainedState.maxVelocityMetersPerSecond
-                        * constrainedState.maxVelocityMetersPerSecond
-                    - predecessor.maxVelocityMetersPerSecond
-                        * predecessor.maxVelocityMetersPerSecond)
+            (maxVelocity * maxVelocity - predecessorMaxVelocity * predecessorMaxVelocity)
                 / (ds * 2.0);
 
         // If we violate the max acceleration constraint, let's modify the
         // predecessor.
-        if (constrainedState.maxAccelerationMetersPerSecondSq < actualAcceleration - 1E-6) {
-          predecessor.maxAccelerationMetersPerSecondSq =
-              constrainedState.maxAccelerationMetersPerSecondSq;
+        if (states.maxAccelerationMetersPerSecondSq[i] < actualAcceleration - 1E-6) {
+          predecessorMaxAcceleration = states.maxAccelerationMetersPerSecondSq[i];
         } else {
           // Constrain the predecessor's max acceleration to the current
           // acceleration.
-          if (actualAcceleration > predecessor.minAccelerationMetersPerSecondSq) {
-            predecessor.maxAccelerationMetersPerSecondSq = actualAcceleration;
+          if (actualAcceleration > predecessorMinAcceleration) {
+            predecessorMaxAcceleration = actualAcceleration;
           }
           // If the actual acceleration is less than the predecessor's min
           // acceleration, it will be repaired in the backward pass.
           break;
         }
       }
-      predecessor = constrainedState;
+      if (i > 0) {
+        states.maxAccelerationMetersPerSecondSq[i - 1] = predecessorMaxAcceleration;
+      }
+
+      predecessorDistance = states.distanceMeters[i];
+      predecessorMaxVelocity = states.maxVelocityMetersPerSecond[i];
+      predecessorMinAcceleration = states.minAccelerationMetersPerSecondSq[i];
+      predecessorMaxAcceleration = states.maxAccelerationMetersPerSecondSq[i];
+      predecessorX = x[i];
+      predecessorY = y[i];
     }
 
-    var successor =
-        new ConstrainedState(
-            points.get(points.size() - 1),
-            constrainedStates.get(constrainedStates.size() - 1).distanceMeters,
-            endVelocityMetersPerSecond,
-            -maxAccelerationMetersPerSecondSq,
-            maxAccelerationMetersPerSecondSq);
+    // The successor of the last state is the end of the trajectory
+    double successorDistance = states.distanceMeters[count - 1];
+    double successorMaxVelocity = endVelocityMetersPerSecond;
+    double successorMinAcceleration = -maxAccelerationMetersPerSecondSq;
 
     // Backward pass
-    for (int i = points.size() - 1; i >= 0; i--) {
-      var constrainedState = constrainedStates.get(i);
-      double ds = constrainedState.distanceMeters - successor.distanceMeters; // negative
+    for (int i = count - 1; i >= 0; i--) {
+      double ds = states.distanceMeters[i] - successorDistance; // negative
 
       while (true) {
         // Enforce max velocity limit (reverse)
         // v_f = √(v_i² + 2ad), where v_i = successor.
         double newMaxVelocity =
             Math.sqrt(
-                successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond
-                    + successor.minAccelerationMetersPerSecondSq * ds * 2.0);
+                successorMaxVelocity * successorMaxVelocity + successorMinAcceleration * ds * 2.0);
 
         // No more limits to impose! This state can be finalized.
-        if (newMaxVelocity >= constrainedState.maxVelocityMetersPerSecond) {
+        if (newMaxVelocity >= states.maxVelocityMetersPerSecond[i]) {
           break;
         }
 
-        constrainedState.maxVelocityMetersPerSecond = newMaxVelocity;
+        states.maxVelocityMetersPerSecond[i] = newMaxVelocity;
 
         // Check all acceleration constraints with the new max velocity.
-        enforceAccelerationLimits(reversed, constraints, constrainedState);
+        enforceAccelerationLimits(reversed, constraints, states, i, poses[i], curvatures[i]);
 
         if (ds > -1E-6) {
           break;
@@ -188,50 +263,53 @@ public final class TrajectoryParameterizer {
         // acceleration, then we need to lower the min acceleration of the
         // successor and try again.
         double actualAcceleration =
-            (constrainedState.maxVelocityMetersPerSecond
-                        * constrainedState.maxVelocityMetersPerSecond
-                    - successor.maxVelocityMetersPerSecond * successor.maxVelocityMetersPerSecond)
+            (newMaxVelocity * newMaxVelocity - successorMaxVelocity * successorMaxVelocity)
                 / (ds * 2.0);
 
-        if (constrainedState.minAccelerationMetersPerSecondSq > actualAcceleration + 1E-6) {
-          successor.minAccelerationMetersPerSecondSq =
-              constrainedState.minAccelerationMetersPerSecondSq;
+        if (states.minAccelerationMetersPerSecondSq[i] > actualAcceleration + 1E-6) {
+          successorMinAcceleration = states.minAccelerationMetersPerSecondSq[i];
         } else {
-          successor.minAccelerationMetersPerSecondSq = actualAcceleration;
+          successorMinAcceleration = actualAcceleration;
           break;
         }
       }
-      successor = constrainedState;
+      if (i < count - 1) {
+        states.minAccelerationMetersPerSecondSq[i + 1] = successorMinAcceleration;
+      }
+
+      successorDistance = states.distanceMeters[i];
+      successorMaxVelocity = states.maxVelocityMetersPerSecond[i];
+      successorMinAcceleration = states.minAccelerationMetersPerSecondSq[i];
     }
 
     // Now we can integrate the constrained states forward in time to obtain our
     // trajectory states.
-    var states = new ArrayList<Trajectory.State>(points.size());
+    var trajectoryStates = new ArrayList<Trajectory.State>(count);
     double timeSeconds = 0.0;
     double distanceMeters = 0.0;
     double velocityMetersPerSecond = 0.0;
 
-    for (int i = 0; i < constrainedStates.size(); i++) {
-      final var state = constrainedStates.get(i);
+    for (int i = 0; i < count; i++) {
+      final double stateDistance = states.distanceMeters[i];
+      final double stateVelocity = states.maxVelocityMetersPerSecond[i];
 
       // Calculate the change in position between the current state and the previous
       // state.
-      double ds = state.distanceMeters - distanceMeters;
+      double ds = stateDistance - distanceMeters;
 
       // Calculate the acceleration between the current state and the previous
       // state.
       double accel =
-          (state.maxVelocityMetersPerSecond * state.maxVelocityMetersPerSecond
-                  - velocityMetersPerSecond * velocityMetersPerSecond)
+          (stateVelocity * stateVelocity - velocityMetersPerSecond * velocityMetersPerSecond)
               / (ds * 2);
 
       // Calculate dt
       double dt = 0.0;
       if (i > 0) {
-        states.get(i - 1).accelerationMetersPerSecondSq = reversed ? -accel : accel;
+        trajectoryStates.get(i - 1).accelerationMetersPerSecondSq = reversed ? -accel : accel;
         if (Math.abs(accel) > 1E-6) {
           // v_f = v_0 + a * t
-          dt = (state.maxVelocityMetersPerSecond - velocityMetersPerSecond) / accel;
+          dt = (stateVelocity - velocityMetersPerSecond) / accel;
         } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
           // delta_x = v * t
           dt = ds / velocityMetersPerSecond;
@@ -241,32 +319,68 @@ public final class TrajectoryParameterizer {
         }
       }
 
-      velocityMetersPerSecond = state.maxVelocityMetersPerSecond;
-      distanceMeters = state.distanceMeters;
+      velocityMetersPerSecond = stateVelocity;
+      distanceMeters = stateDistance;
 
       timeSeconds += dt;
 
-      states.add(
+      trajectoryStates.add(
           new Trajectory.State(
               timeSeconds,
               reversed ? -velocityMetersPerSecond : velocityMetersPerSecond,
               reversed ? -accel : accel,
-              state.pose.poseMeters,
-              state.pose.curvatureRadPerMeter));
+              poses[i],
+              curvatures[i]));
     }
 
-    return new Trajectory(states);
+    return new Trajectory(trajectoryStates);
+  }
+
+  /**
+   * Applies the user-defined velocity constraints to the global max velocity at every point.
+   *
+   * @param points The spline points.
+   * @param poses The pose at each point.
+   * @param constraints The constraints.
+   * @param maxVelocityMetersPerSecond The max velocity for the trajectory.
+   * @return The constrained max velocity at each point.
+   */
+  private static double[] getVelocityLimits(
+      SplinePoints points,
+      Pose2d[] poses,
+      List<TrajectoryConstraint> constraints,
+      double maxVelocityMetersPerSecond) {
+    final int count = points.size();
+    final double[] limits = new double[count];
+    Arrays.fill(limits, maxVelocityMetersPerSecond);
+    if (constraints.isEmpty()) {
+      return limits;
+    }
+
+    // Each constraint sees the velocity as limited by the constraints before it.
+    final double[] constrained = new double[count];
+    for (final var constraint : constraints) {
+      System.arraycopy(limits, 0, constrained, 0, count);
+      constraint.getMaxVelocitiesMetersPerSecond(points, poses, constrained);
+      for (int i = 0; i < count; i++) {
+        limits[i] = Math.min(limits[i], constrained[i]);
+      }
+    }
+    return limits;
   }
 
   private static void enforceAccelerationLimits(
-      boolean reverse, List<TrajectoryConstraint> constraints, ConstrainedState state) {
+      boolean reverse,
+      List<TrajectoryConstraint> constraints,
+      ConstrainedStates states,
+      int index,
+      Pose2d pose,
+      double curvatureRadPerMeter) {
     for (final var constraint : constraints) {
       double factor = reverse ? -1.0 : 1.0;
       final var minMaxAccel =
           constraint.getMinMaxAccelerationMetersPerSecondSq(
-              state.pose.poseMeters,
-              state.pose.curvatureRadPerMeter,
-              state.maxVelocityMetersPerSecond * factor);
+              pose, curvatureRadPerMeter, states.maxVelocityMetersPerSecond[index] * factor);
 
       if (minMaxAccel.minAccelerationMetersPerSecondSq
           > minMaxAccel.maxAccelerationMetersPerSecondSq) {
@@ -274,44 +388,34 @@ public final class TrajectoryParameterizer {
             "Infeasible trajectory constraint: " + constraint.getClass().getName() + "\n");
       }
 
-      state.minAccelerationMetersPerSecondSq =
+      states.minAccelerationMetersPerSecondSq[index] =
           Math.max(
-              state.minAccelerationMetersPerSecondSq,
+              states.minAccelerationMetersPerSecondSq[index],
               reverse
                   ? -minMaxAccel.maxAccelerationMetersPerSecondSq
                   : minMaxAccel.minAccelerationMetersPerSecondSq);
 
-      state.maxAccelerationMetersPerSecondSq =
+      states.maxAccelerationMetersPerSecondSq[index] =
           Math.min(
-              state.maxAccelerationMetersPerSecondSq,
+              states.maxAccelerationMetersPerSecondSq[index],
               reverse
                   ? -minMaxAccel.minAccelerationMetersPerSecondSq
                   : minMaxAccel.maxAccelerationMetersPerSecondSq);
     }
   }
 
-  private static class ConstrainedState {
-    PoseWithCurvature pose;
-    double distanceMeters;
-    double maxVelocityMetersPerSecond;
-    double minAccelerationMetersPerSecondSq;
-    double maxAccelerationMetersPerSecondSq;
-
-    ConstrainedState(
-        PoseWithCurvature pose,
-        double distanceMeters,
-        double maxVelocityMetersPerSecond,
-        double minAccelerationMetersPerSecondSq,
-        double maxAccelerationMetersPerSecondSq) {
-      this.pose = pose;
-      this.distanceMeters = distanceMeters;
-      this.maxVelocityMetersPerSecond = maxVelocityMetersPerSecond;
-      this.minAccelerationMetersPerSecondSq = minAccelerationMetersPerSecondSq;
-      this.maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
-    }
-
-    ConstrainedState() {
-      pose = new PoseWithCurvature();
+  /** The constrained state of each point, as parallel arrays. */
+  private static class ConstrainedStates {
+    final double[] distanceMeters;
+    final double[] maxVelocityMetersPerSecond;
+    final double[] minAccelerationMetersPerSecondSq;
+    final double[] maxAccelerationMetersPerSecondSq;
+
+    ConstrainedStates(int count) {
+      distanceMeters = new double[count];
+      maxVelocityMetersPerSecond = new double[count];
+      minAccelerationMetersPerSecondSq = new double[count];
+      maxAccelerationMetersPerSecondSq = new double[count];
     }
   }
 
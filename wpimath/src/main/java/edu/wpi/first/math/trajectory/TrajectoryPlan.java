@@ -0,0 +1,209 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A trajectory being generated in the background by a {@link TrajectoryPlanner}.
+ *
+ * <p>A plan may produce two trajectories: a coarse one that's ready quickly, and then a refined one
+ * along the same path. {@link #getFirstTrajectory()} completes with whichever is ready first, and
+ * {@link #getTrajectory()} completes with the final one.
+ *
+ * <p>A plan can also be followed directly with {@link #sampleInto(double, Trajectory.State)}, which
+ * switches from the coarse trajectory to the refined one as soon as it's ready. The refined
+ * trajectory is picked up at the distance along the path that the coarse one had reached, so the
+ * desired pose carries on from where the coarse trajectory left it.
+ *
+ * <p>The futures may be used from any thread, but sampling isn't thread-safe; a plan should be
+ * followed by one thread at a time.
+ */
+public class TrajectoryPlan {
+  private final CompletableFuture<Trajectory> m_firstTrajectory = new CompletableFuture<>();
+  private final CompletableFuture<Trajectory> m_trajectory = new CompletableFuture<>();
+
+  // The sampler for the latest trajectory, set by the planning thread before completing a future
+  private volatile TrajectorySampler m_latestSampler;
+
+  // The sampler being followed, and the offset from follower time to its time
+  private TrajectorySampler m_sampler;
+  private double m_timeOffsetSeconds;
+
+  /** Constructs a plan whose trajectories haven't been generated yet. */
+  TrajectoryPlan() {}
+
+  /**
+   * Constructs a plan that's already complete, for following a trajectory that was generated
+   * beforehand in the same way as a planned one.
+   *
+   * @param trajectory The trajectory.
+   * @throws IllegalArgumentException if the trajectory has no states.
+   */
+  public TrajectoryPlan(Trajectory trajectory) {
+    m_latestSampler = new TrajectorySampler(trajectory);
+    m_firstTrajectory.complete(trajectory);
+    m_trajectory.complete(trajectory);
+  }
+
+  /**
+   * Returns a future that completes with the first usable trajectory: the coarse one when the
+   * planner generates one, otherwise the final one.
+   *
+   * @return The future.
+   */
+  public CompletableFuture<Trajectory> getFirstTrajectory() {
+    return m_firstTrajectory;
+  }
+
+  /**
+   * Returns a future that completes with the final trajectory. If the plan is cancelled after its
+   * coarse trajectory is ready, this future is cancelled while {@link #getFirstTrajectory()} still
+   * holds the coarse trajectory.
+   *
+   * @return The future.
+   */
+  public CompletableFuture<Trajectory> getTrajectory() {
+    return m_trajectory;
+  }
+
+  /**
+   * Returns whether a trajectory is ready to follow.
+   *
+   * @return Whether a trajectory is ready.
+   */
+  public boolean isReady() {
+    return m_latestSampler != null;
+  }
+
+  /**
+   * Returns whether the plan failed, or was cancelled, before any trajectory was ready. A failed
+   * plan will never be ready.
+   *
+   * @return Whether the plan failed.
+   */
+  public boolean isFailed() {
+    return m_firstTrajectory.isCompletedExceptionally();
+  }
+
+  /**
+   * Stops generating trajectories. A trajectory that's being generated is finished, but not
+   * refined.
+   */
+  public void cancel() {
+    m_firstTrajectory.cancel(false);
+    m_trajectory.cancel(false);
+  }
+
+  /**
+   * Returns whether the plan was cancelled.
+   *
+   * @return Whether the plan was cancelled.
+   */
+  public boolean isCancelled() {
+    return m_trajectory.isCancelled();
+  }
+
+  /**
+   * Sample the latest trajectory, storing the result in an existing state. Switches to a newer
+   * trajectory if one has become ready since the last sample.
+   *
+   * @param timeSeconds The time since following began.
+   * @param out The state to store the sample in.
+   * @return False if no trajectory is ready yet, in which case the state is left unchanged.
+   */
+  public boolean sampleInto(double timeSeconds, Trajectory.State out) {
+    if (!update(timeSeconds)) {
+      return false;
+    }
+    m_sampler.sampleInto(timeSeconds + m_timeOffsetSeconds, out);
+    return true;
+  }
+
+  /**
+   * Returns the time following the plan will take, including any time spent following a coarse
+   * trajectory before switching to the refined one.
+   *
+   * @return The duration, or infinity if no trajectory is ready yet.
+   */
+  public double getTotalTimeSeconds() {
+    if (m_sampler != null) {
+      return m_sampler.getTotalTimeSeconds() - m_timeOffsetSeconds;
+    }
+    var latest = m_latestSampler;
+    return latest != null ? latest.getTotalTimeSeconds() : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Forgets the trajectory being followed, so the next sample starts the latest trajectory from the
+   * beginning.
+   */
+  public void reset() {
+    m_sampler = null;
+    m_timeOffsetSeconds = 0.0;
+  }
+
+  /**
+   * Sets a generated trajectory.
+   *
+   * @param trajectory The trajectory.
+   * @param last Whether this is the final trajectory.
+   */
+  void complete(Trajectory trajectory, boolean last) {
+    if (isCancelled()) {
+      return;
+    }
+    // Build the sampler here, so the follower doesn't copy the states when it switches.
+    m_latestSampler = new TrajectorySampler(trajectory);
+    m_firstTrajectory.complete(trajectory);
+    if (last) {
+      m_trajectory.complete(trajectory);
+    }
+  }
+
+  /** Makes the first trajectory the final one, when it couldn't be refined. */
+  void keepFirst() {
+    m_trajectory.complete(m_firstTrajectory.getNow(null));
+  }
+
+  /**
+   * Fails the plan.
+   *
+   * @param error The reason.
+   */
+  void fail(Throwable error) {
+    m_firstTrajectory.completeExceptionally(error);
+    m_trajectory.completeExceptionally(error);
+  }
+
+  /**
+   * Switches to the latest trajectory if it isn't being followed yet.
+   *
+   * @param timeSeconds The time since following began.
+   * @return False if no trajectory is ready yet.
+   */
+  private boolean update(double timeSeconds) {
+    var latest = m_latestSampler;
+    if (latest == null) {
+      return false;
+    }
+    if (latest != m_sampler) {
+      if (m_sampler != null) {
+        // Both trajectories follow the same path, but their velocity profiles differ, so pick up
+        // the new one at the distance along the path reached on the old one rather than the time.
+        // The coarse trajectory's states are further apart, so the straight lines between them
+        // cut corners more; scale the distance by the ratio of the path lengths to make up for it.
+        double distance = m_sampler.getDistanceAt(timeSeconds + m_timeOffsetSeconds);
+        double oldLength = m_sampler.getTotalDistanceMeters();
+        if (oldLength > 0.0) {
+          distance *= latest.getTotalDistanceMeters() / oldLength;
+        }
+        m_timeOffsetSeconds = latest.getTimeAtDistance(distance) - timeSeconds;
+      }
+      m_sampler = latest;
+    }
+    return true;
+  }
+}
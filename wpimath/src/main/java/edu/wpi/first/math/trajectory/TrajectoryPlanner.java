@@ -0,0 +1,235 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.spline.SplineHelper;
+import edu.wpi.first.math.spline.SplineParameterizer.MalformedSplineException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Generates trajectories on a background thread, so a robot program can plan a new trajectory from
+ * the robot's current pose during a match (for example, to drive to a scoring location) without
+ * stalling its main loop.
+ *
+ * <pre><code>
+ * TrajectoryPlan plan = planner.plan(drive.getPose(), List.of(), scoringPose, config);
+ * </code></pre>
+ *
+ * <p>Each call returns a {@link TrajectoryPlan} right away. By default, the planner first generates
+ * a coarse trajectory, sampling the splines with looser tolerances so there are far fewer states to
+ * time parameterize, and then a refined trajectory along the same splines, which the plan switches
+ * to when it's ready. The coarse trajectory is usable, but follows the path less closely and
+ * respects the constraints at fewer points.
+ *
+ * <p>Unlike {@link TrajectoryGenerator}, which returns a trajectory that stays still at the origin
+ * when a path is malformed, the planner fails the plan (see {@link TrajectoryPlan#isFailed()}). If
+ * the coarse trajectory was generated but the refined one can't be, the coarse one is final.
+ *
+ * <p>Plans are generated one at a time, in the order they're made. Configs and waypoint lists are
+ * read on the planning thread, so they mustn't be modified until the plan's trajectory is ready.
+ * Cancel a plan that's no longer needed so it doesn't delay the next one.
+ */
+public class TrajectoryPlanner implements AutoCloseable {
+  // The factor the spline parameterization tolerances are multiplied by for coarse trajectories
+  static final double kCoarseToleranceScale = 4.0;
+
+  private final Executor m_executor;
+  private final ExecutorService m_ownedExecutor;
+  private boolean m_coarseFirst = true;
+
+  /** Constructs a planner with its own background thread. */
+  public TrajectoryPlanner() {
+    m_ownedExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "TrajectoryPlanner");
+              thread.setDaemon(true);
+              return thread;
+            });
+    m_executor = m_ownedExecutor;
+  }
+
+  /**
+   * Constructs a planner that generates trajectories on the given executor.
+   *
+   * @param executor The executor to generate trajectories on.
+   */
+  public TrajectoryPlanner(Executor executor) {
+    m_executor = executor;
+    m_ownedExecutor = null;
+  }
+
+  /**
+   * Sets whether to generate a coarse trajectory before the refined one. Defaults to true.
+   *
+   * @param coarseFirst Whether to generate a coarse trajectory first.
+   * @return Instance of the current planner.
+   */
+  public TrajectoryPlanner setCoarseFirst(boolean coarseFirst) {
+    m_coarseFirst = coarseFirst;
+    return this;
+  }
+
+  /**
+   * Returns whether a coarse trajectory is generated before the refined one.
+   *
+   * @return Whether a coarse trajectory is generated first.
+   */
+  public boolean isCoarseFirst() {
+    return m_coarseFirst;
+  }
+
+  /**
+   * Plans a trajectory from the given control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Spline.ControlVector, List, Spline.ControlVector,
+   * TrajectoryConfig)} does.
+   *
+   * @param initial The initial control vector.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending control vector.
+   * @param config The configuration for the trajectory.
+   * @return The plan.
+   */
+  public TrajectoryPlan plan(
+      Spline.ControlVector initial,
+      List<Translation2d> interiorWaypoints,
+      Spline.ControlVector end,
+      TrajectoryConfig config) {
+    return plan(
+        () -> TrajectoryGenerator.getCubicSplines(initial, interiorWaypoints, end, config), config);
+  }
+
+  /**
+   * Plans a trajectory from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, TrajectoryConfig)} does. This is
+   * the quickest way to plan from the robot's current pose.
+   *
+   * @param start The starting pose.
+   * @param interiorWaypoints The interior waypoints.
+   * @param end The ending pose.
+   * @param config The configuration for the trajectory.
+   * @return The plan.
+   */
+  public TrajectoryPlan plan(
+      Pose2d start, List<Translation2d> interiorWaypoints, Pose2d end, TrajectoryConfig config) {
+    return plan(
+        () -> {
+          var controlVectors =
+              SplineHelper.getCubicControlVectorsFromWaypoints(
+                  start, interiorWaypoints.toArray(new Translation2d[0]), end);
+          return TrajectoryGenerator.getCubicSplines(
+              controlVectors[0], interiorWaypoints, controlVectors[1], config);
+        },
+        config);
+  }
+
+  /**
+   * Plans a trajectory from the given quintic control vectors and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(TrajectoryGenerator.ControlVectorList,
+   * TrajectoryConfig)} does.
+   *
+   * @param controlVectors List of quintic control vectors.
+   * @param config The configuration for the trajectory.
+   * @return The plan.
+   */
+  public TrajectoryPlan plan(
+      TrajectoryGenerator.ControlVectorList controlVectors, TrajectoryConfig config) {
+    return plan(() -> TrajectoryGenerator.getQuinticSplines(controlVectors, config), config);
+  }
+
+  /**
+   * Plans a trajectory from the given waypoints and config, as {@link
+   * TrajectoryGenerator#generateTrajectory(List, TrajectoryConfig)} does.
+   *
+   * @param waypoints List of waypoints.
+   * @param config The configuration for the trajectory.
+   * @return The plan.
+   */
+  public TrajectoryPlan plan(List<Pose2d> waypoints, TrajectoryConfig config) {
+    return plan(() -> TrajectoryGenerator.getQuinticSplines(waypoints, config), config);
+  }
+
+  /**
+   * Plans a trajectory along splines built on the planning thread.
+   *
+   * @param splines Supplies the splines, facing backwards if the trajectory is reversed.
+   * @param config The configuration for the trajectory.
+   * @return The plan.
+   */
+  private TrajectoryPlan plan(Supplier<Spline[]> splines, TrajectoryConfig config) {
+    var plan = new TrajectoryPlan();
+    boolean coarseFirst = m_coarseFirst;
+    try {
+      m_executor.execute(
+          () -> {
+            try {
+              if (plan.isCancelled()) {
+                return;
+              }
+              var splineArray = splines.get();
+              if (coarseFirst) {
+                plan.complete(generate(splineArray, config, kCoarseToleranceScale), false);
+                if (plan.isCancelled()) {
+                  return;
+                }
+                try {
+                  plan.complete(generate(splineArray, config, 1.0), true);
+                } catch (RuntimeException ex) {
+                  // The refined pass can fail where the coarse one didn't (e.g. by hitting the
+                  // spline parameterization's iteration limit), so keep following the coarse one.
+                  plan.keepFirst();
+                }
+              } else {
+                plan.complete(generate(splineArray, config, 1.0), true);
+              }
+            } catch (RuntimeException ex) {
+              plan.fail(ex);
+            }
+          });
+    } catch (RejectedExecutionException ex) {
+      plan.fail(ex);
+    }
+    return plan;
+  }
+
+  /**
+   * Generates a trajectory along the given splines.
+   *
+   * @param splines The splines, facing backwards if the trajectory is reversed.
+   * @param config The configuration for the trajectory.
+   * @param toleranceScale The factor to multiply the spline parameterization tolerances by.
+   * @return The generated trajectory.
+   * @throws MalformedSplineException if the splines are malformed.
+   * @throws IllegalStateException if the trajectory has only one state.
+   */
+  private static Trajectory generate(
+      Spline[] splines, TrajectoryConfig config, double toleranceScale) {
+    var trajectory = TrajectoryGenerator.parameterizeTrajectory(splines, config, toleranceScale);
+    // A trajectory that stays still isn't worth following
+    if (trajectory.getStates().size() <= 1) {
+      throw new IllegalStateException("Generated trajectory has only one state");
+    }
+    return trajectory;
+  }
+
+  /**
+   * Stops the planner's background thread, if it has its own, once the plans already made are
+   * finished. Plans made after closing fail.
+   */
+  @Override
+  public void close() {
+    if (m_ownedExecutor != null) {
+      m_ownedExecutor.shutdown();
+    }
+  }
+}
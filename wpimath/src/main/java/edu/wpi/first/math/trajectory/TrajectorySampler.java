@@ -0,0 +1,387 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import java.nio.DoubleBuffer;
+import java.util.List;
+
+/**
+ * Samples a trajectory repeatedly, as a path-following controller does each loop. Produces the same
+ * states as {@link Trajectory#sample(double)}, but is faster:
+ *
+ * <ul>
+ *   <li>The trajectory's states are copied into primitive arrays, so sampling doesn't chase
+ *       pointers through State, Pose2d, Translation2d, and Rotation2d objects.
+ *   <li>The sampler remembers the segment of the last sample. When sample times increase (the usual
+ *       case), the next segment is found by stepping forward from there instead of a binary search,
+ *       which is amortized O(1). Earlier times fall back to a binary search.
+ *   <li>{@link #sampleInto(double, Trajectory.State)} fills in an existing State. The only
+ *       allocation is the interpolated Pose2d (which is immutable), and there's none before the
+ *       start or after the end of the trajectory.
+ * </ul>
+ *
+ * <p>The sampler takes a copy of the trajectory's states when it's constructed; later changes to
+ * the trajectory's state list aren't seen. A sampler can also be loaded straight from a binary
+ * trajectory file with {@link TrajectoryUtil#samplerFromBinary(java.nio.file.Path)}, without
+ * creating a Trajectory. A sampler isn't thread-safe.
+ */
+public class TrajectorySampler {
+  // States that are returned as-is; created when first needed if the sampler was loaded from a file
+  private final Trajectory.State[] m_states;
+  private final double[] m_times;
+  private final double[] m_velocities;
+  private final double[] m_accelerations;
+  private final double[] m_x;
+  private final double[] m_y;
+  private final double[] m_cos;
+  private final double[] m_sin;
+  private final double[] m_curvatures;
+  // Distance along the path from the first state to each state
+  private final double[] m_distances;
+
+  // Index of the end of the last sampled segment
+  private int m_index = 1;
+
+  /**
+   * Constructs a sampler for a trajectory.
+   *
+   * @param trajectory The trajectory to sample.
+   * @throws IllegalArgumentException if the trajectory has no states.
+   */
+  public TrajectorySampler(Trajectory trajectory) {
+    List<Trajectory.State> states = trajectory.getStates();
+    if (states.isEmpty()) {
+      throw new IllegalArgumentException("Trajectory cannot be sampled if it has no states.");
+    }
+    int count = states.size();
+    m_states = states.toArray(new Trajectory.State[count]);
+    m_times = new double[count];
+    m_velocities = new double[count];
+    m_accelerations = new double[count];
+    m_x = new double[count];
+    m_y = new double[count];
+    m_cos = new double[count];
+    m_sin = new double[count];
+    m_curvatures = new double[count];
+    m_distances = new double[count];
+    for (int i = 0; i < count; i++) {
+      var state = m_states[i];
+      m_times[i] = state.timeSeconds;
+      m_velocities[i] = state.velocityMetersPerSecond;
+      m_accelerations[i] = state.accelerationMetersPerSecondSq;
+      m_x[i] = state.poseMeters.getX();
+      m_y[i] = state.poseMeters.getY();
+      m_cos[i] = state.poseMeters.getRotation().getCos();
+      m_sin[i] = state.poseMeters.getRotation().getSin();
+      m_curvatures[i] = state.curvatureRadPerMeter;
+    }
+    computeDistances();
+  }
+
+  /**
+   * Constructs a sampler from the elements of a binary trajectory file, as described in {@link
+   * TrajectoryUtil#toBinary(Trajectory, java.nio.file.Path)}.
+   *
+   * @param elements The time, velocity, acceleration, x, y, heading, and curvature of each state,
+   *     from the buffer's position.
+   * @param count The number of states.
+   */
+  TrajectorySampler(DoubleBuffer elements, int count) {
+    m_states = new Trajectory.State[count];
+    m_times = new double[count];
+    m_velocities = new double[count];
+    m_accelerations = new double[count];
+    m_x = new double[count];
+    m_y = new double[count];
+    m_cos = new double[count];
+    m_sin = new double[count];
+    m_curvatures = new double[count];
+    m_distances = new double[count];
+    for (int i = 0; i < count; i++) {
+      m_times[i] = elements.get();
+      m_velocities[i] = elements.get();
+      m_accelerations[i] = elements.get();
+      m_x[i] = elements.get();
+      m_y[i] = elements.get();
+      double heading = elements.get();
+      m_cos[i] = Math.cos(heading);
+      m_sin[i] = Math.sin(heading);
+      m_curvatures[i] = elements.get();
+    }
+    computeDistances();
+  }
+
+  /** Sums the straight-line distances between states, which is what interpolation travels. */
+  private void computeDistances() {
+    for (int i = 1; i < m_distances.length; i++) {
+      m_distances[i] = m_distances[i - 1] + Math.hypot(m_x[i] - m_x[i - 1], m_y[i] - m_y[i - 1]);
+    }
+  }
+
+  /**
+   * Returns the overall duration of the trajectory.
+   *
+   * @return The duration of the trajectory.
+   */
+  public double getTotalTimeSeconds() {
+    return m_times[m_times.length - 1];
+  }
+
+  /**
+   * Returns the distance along the path from the first state to the last.
+   *
+   * @return The length of the path.
+   */
+  double getTotalDistanceMeters() {
+    return m_distances[m_distances.length - 1];
+  }
+
+  /**
+   * Returns the distance traveled along the path at a point in time.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory.
+   * @return The distance from the start of the path.
+   */
+  double getDistanceAt(double timeSeconds) {
+    int index = findSegment(timeSeconds);
+    if (index < 0) {
+      return m_distances[-index - 1];
+    }
+    final int prev = index - 1;
+    double traveled = Math.abs(segmentDistance(prev, timeSeconds - m_times[prev]));
+    return Math.min(m_distances[prev] + traveled, m_distances[index]);
+  }
+
+  /**
+   * Returns the first point in time at which a distance along the path has been traveled.
+   *
+   * @param distanceMeters The distance from the start of the path.
+   * @return The point in time since the beginning of the trajectory.
+   */
+  double getTimeAtDistance(double distanceMeters) {
+    int last = m_distances.length - 1;
+    if (distanceMeters <= 0.0) {
+      return m_times[0];
+    }
+    if (distanceMeters >= m_distances[last]) {
+      return m_times[last];
+    }
+
+    // Find the first state at least the distance along the path
+    int low = 1;
+    int high = last;
+    while (low != high) {
+      int mid = (low + high) / 2;
+      if (m_distances[mid] < distanceMeters) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    final int prev = low - 1;
+
+    // Solve s = u t + 0.5 b t² for t, where u and b are the speed and acceleration in the
+    // direction of travel
+    final double s = distanceMeters - m_distances[prev];
+    final boolean reversing = isReversing(prev);
+    final double u = reversing ? -m_velocities[prev] : m_velocities[prev];
+    final double b = reversing ? -m_accelerations[prev] : m_accelerations[prev];
+    double dt;
+    if (Math.abs(b) < 1E-9) {
+      dt = Math.abs(u) < 1E-9 ? 0.0 : s / u;
+    } else {
+      dt = (-u + Math.sqrt(Math.max(u * u + 2.0 * b * s, 0.0))) / b;
+    }
+    return Math.min(m_times[prev] + Math.max(dt, 0.0), m_times[low]);
+  }
+
+  /** Forgets the last sampled segment, as if the sampler was just constructed. */
+  public void reset() {
+    m_index = 1;
+  }
+
+  /**
+   * Sample the trajectory at a point in time.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @return The state at that point in time.
+   */
+  public Trajectory.State sample(double timeSeconds) {
+    int index = findSegment(timeSeconds);
+    if (index < 0) {
+      return getState(-index - 1);
+    }
+    var state = new Trajectory.State();
+    interpolate(index, timeSeconds, state);
+    return state;
+  }
+
+  /**
+   * Sample the trajectory at a point in time, storing the result in an existing state.
+   *
+   * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+   * @param out The state to store the sample in.
+   */
+  public void sampleInto(double timeSeconds, Trajectory.State out) {
+    int index = findSegment(timeSeconds);
+    if (index < 0) {
+      var state = getState(-index - 1);
+      out.timeSeconds = state.timeSeconds;
+      out.velocityMetersPerSecond = state.velocityMetersPerSecond;
+      out.accelerationMetersPerSecondSq = state.accelerationMetersPerSecondSq;
+      out.poseMeters = state.poseMeters;
+      out.curvatureRadPerMeter = state.curvatureRadPerMeter;
+      return;
+    }
+    interpolate(index, timeSeconds, out);
+  }
+
+  /**
+   * Returns a state of the trajectory, creating it if the sampler was loaded from a file.
+   *
+   * @param index The index of the state.
+   * @return The state.
+   */
+  private Trajectory.State getState(int index) {
+    var state = m_states[index];
+    if (state == null) {
+      state =
+          new Trajectory.State(
+              m_times[index],
+              m_velocities[index],
+              m_accelerations[index],
+              new Pose2d(m_x[index], m_y[index], new Rotation2d(m_cos[index], m_sin[index])),
+              m_curvatures[index]);
+      m_states[index] = state;
+    }
+    return state;
+  }
+
+  /**
+   * Finds the segment containing a time.
+   *
+   * @param timeSeconds The time.
+   * @return The index of the first state at or after the time, if the sample must be interpolated
+   *     between it and the previous state; otherwise -(index + 1) of the state to return as-is.
+   */
+  private int findSegment(double timeSeconds) {
+    int last = m_times.length - 1;
+    if (timeSeconds <= m_times[0]) {
+      return -1;
+    }
+    if (timeSeconds >= m_times[last]) {
+      return -(last + 1);
+    }
+
+    // Find the first index at or after 1 whose time is at least the requested time. If the time
+    // is after the start of the last sampled segment, every earlier state is before it, so step
+    // forward from there; otherwise binary search.
+    int index;
+    if (m_times[m_index - 1] < timeSeconds) {
+      index = m_index;
+      while (m_times[index] < timeSeconds) {
+        index++;
+      }
+    } else {
+      int low = 1;
+      int high = last;
+      while (low != high) {
+        int mid = (low + high) / 2;
+        if (m_times[mid] < timeSeconds) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      index = low;
+    }
+    m_index = index;
+
+    // If the difference in states is negligible, then we are spot on!
+    if (Math.abs(m_times[index] - m_times[index - 1]) < 1E-9) {
+      return -(index + 1);
+    }
+    return index;
+  }
+
+  /**
+   * Returns whether the robot is reversing after a state.
+   *
+   * @param index The index of the state.
+   * @return Whether the robot is reversing.
+   */
+  private boolean isReversing(int index) {
+    final double v0 = m_velocities[index];
+    return v0 < 0 || Math.abs(v0) < 1E-9 && m_accelerations[index] < 0;
+  }
+
+  /**
+   * Returns the distance traveled in the direction of travel since a state, the same way as
+   * Trajectory.State interpolation computes it.
+   *
+   * @param index The index of the state.
+   * @param deltaT The time since the state.
+   * @return The distance.
+   */
+  private double segmentDistance(int index, double deltaT) {
+    final double v0 = m_velocities[index];
+    final double a0 = m_accelerations[index];
+    return (v0 * deltaT + 0.5 * a0 * deltaT * deltaT) * (isReversing(index) ? -1.0 : 1.0);
+  }
+
+  /**
+   * Interpolates between a state and the previous one, the same way as Trajectory.State does.
+   *
+   * @param index The index of the end state.
+   * @param timeSeconds The time to interpolate at.
+   * @param out The state to store the result in.
+   */
+  private void interpolate(int index, double timeSeconds, Trajectory.State out) {
+    final int prev = index - 1;
+    final double t0 = m_times[prev];
+    final double v0 = m_velocities[prev];
+    final double a0 = m_accelerations[prev];
+    final double fraction = (timeSeconds - t0) / (m_times[index] - t0);
+
+    // Find the new t value, and the delta time between the start state and the interpolated state.
+    final double newT = t0 + (m_times[index] - t0) * fraction;
+    final double deltaT = newT - t0;
+
+    // v_f = v_0 + at, delta_s = v_0 t + 0.5at²
+    final double newV = v0 + a0 * deltaT;
+    final double newS = segmentDistance(prev, deltaT);
+
+    // The fraction for interpolating the pose is the change in position divided by the distance
+    // between the endpoints.
+    final double dx = m_x[index] - m_x[prev];
+    final double dy = m_y[index] - m_y[prev];
+    final double poseFraction = newS / Math.hypot(dx, dy);
+
+    // Interpolate the heading along the shortest arc between the endpoint headings, like
+    // Pose2d.plus(Pose2d.minus(...).times(...)) does.
+    final double c0 = m_cos[prev];
+    final double s0 = m_sin[prev];
+    final double c1 = m_cos[index];
+    final double s1 = m_sin[index];
+    final double deltaHeading = Math.atan2(s1 * c0 - c1 * s0, c1 * c0 + s1 * s0) * poseFraction;
+
+    // Rotate the start heading's cosine and sine rather than adding angles, so the result stays in
+    // (-π, π] across the ±π seam like Rotation2d.plus() does.
+    final double cosDelta = Math.cos(deltaHeading);
+    final double sinDelta = Math.sin(deltaHeading);
+    final var heading =
+        new Rotation2d(c0 * cosDelta - s0 * sinDelta, s0 * cosDelta + c0 * sinDelta);
+
+    out.timeSeconds = newT;
+    out.velocityMetersPerSecond = newV;
+    out.accelerationMetersPerSecondSq = a0;
+    out.poseMeters =
+        new Pose2d(m_x[prev] + dx * poseFraction, m_y[prev] + dy * poseFraction, heading);
+    out.curvatureRadPerMeter =
+        m_curvatures[prev] + (m_curvatures[index] - m_curvatures[prev]) * poseFraction;
+  }
+}
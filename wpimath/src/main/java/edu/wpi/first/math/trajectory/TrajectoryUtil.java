@@ -10,12 +10,24 @@ import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.jni.TrajectoryUtilJNI;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 /** Trajectory utilities. */
 public final class TrajectoryUtil {
+  // "WPTJ" as a little-endian 32-bit integer
+  private static final int kBinaryMagic = 0x4A545057;
+
+  /** The version of the binary trajectory format. */
+  static final int kBinaryVersion = 1;
+
+  private static final int kBinaryHeaderSize = 16;
+  private static final int kBinaryStateSize = 7 * Double.BYTES;
+
   private TrajectoryUtil() {
     throw new UnsupportedOperationException("This is a utility class!");
   }
@@ -118,6 +130,163 @@ public final class TrajectoryUtil {
     return TrajectoryUtilJNI.serializeTrajectory(getElementsFromTrajectory(trajectory));
   }
 
+  /**
+   * Imports a Trajectory from a binary trajectory file, as written by {@link #toBinary(Trajectory,
+   * Path)}. No JSON parsing or native code is involved, so this is much faster than {@link
+   * #fromPathweaverJson(Path)} for long paths.
+   *
+   * @param path The path of the binary file to import from.
+   * @return The trajectory represented by the file.
+   * @throws IOException if reading from the file fails.
+   * @throws TrajectorySerializationException if the file isn't a valid binary trajectory file.
+   */
+  public static Trajectory fromBinary(Path path) throws IOException {
+    return deserializeBinary(readBinary(path));
+  }
+
+  /**
+   * Loads a binary trajectory file, as written by {@link #toBinary(Trajectory, Path)}, straight
+   * into a sampler. Unlike {@link #fromBinary(Path)}, no State or Pose2d objects are created for
+   * the trajectory's states, so this is the fastest way to load a trajectory that's only going to
+   * be followed.
+   *
+   * @param path The path of the binary file to import from.
+   * @return A sampler for the trajectory represented by the file.
+   * @throws IOException if reading from the file fails.
+   * @throws TrajectorySerializationException if the file isn't a valid binary trajectory file.
+   */
+  public static TrajectorySampler samplerFromBinary(Path path) throws IOException {
+    var buffer = readBinary(path);
+    int count = readBinaryHeader(buffer);
+    return new TrajectorySampler(buffer.asDoubleBuffer(), count);
+  }
+
+  /**
+   * Exports a Trajectory to a binary trajectory file.
+   *
+   * <p>The file is a 16 byte header followed by one fixed-size record per state, all little-endian:
+   *
+   * <ul>
+   *   <li>Header: the magic number "WPTJ", the format version (1), the number of states, and the
+   *       size of a state record in bytes (56), each a 32-bit integer.
+   *   <li>State record: the time, velocity, acceleration, x, y, heading in radians, and curvature,
+   *       each a 64-bit double.
+   * </ul>
+   *
+   * <p>This is the same format {@link TrajectoryCache} stores trajectories in.
+   *
+   * @param trajectory The trajectory to export.
+   * @param path The path of the file to export to.
+   * @throws IOException if writing to the file fails.
+   */
+  public static void toBinary(Trajectory trajectory, Path path) throws IOException {
+    Files.write(path, serializeBinary(trajectory).array());
+  }
+
+  /**
+   * Converts a JSON file exported from PathWeaver to a binary trajectory file, which loads faster
+   * on the robot. This can be run on a development computer, or in simulation, before deploying.
+   *
+   * @param jsonPath The path of the json file to convert.
+   * @param binaryPath The path of the binary file to write.
+   * @throws IOException if reading or writing a file fails.
+   */
+  public static void convertPathweaverJson(Path jsonPath, Path binaryPath) throws IOException {
+    toBinary(fromPathweaverJson(jsonPath), binaryPath);
+  }
+
+  /**
+   * Serializes a Trajectory to the binary trajectory format.
+   *
+   * @param trajectory The trajectory to serialize.
+   * @return A buffer holding the serialized trajectory, backed by an array.
+   */
+  static ByteBuffer serializeBinary(Trajectory trajectory) {
+    var states = trajectory.getStates();
+    var buffer =
+        ByteBuffer.allocate(kBinaryHeaderSize + states.size() * kBinaryStateSize)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    buffer
+        .putInt(kBinaryMagic)
+        .putInt(kBinaryVersion)
+        .putInt(states.size())
+        .putInt(kBinaryStateSize);
+    for (var state : states) {
+      buffer
+          .putDouble(state.timeSeconds)
+          .putDouble(state.velocityMetersPerSecond)
+          .putDouble(state.accelerationMetersPerSecondSq)
+          .putDouble(state.poseMeters.getX())
+          .putDouble(state.poseMeters.getY())
+          .putDouble(state.poseMeters.getRotation().getRadians())
+          .putDouble(state.curvatureRadPerMeter);
+    }
+    return buffer;
+  }
+
+  /**
+   * Deserializes a Trajectory from the binary trajectory format.
+   *
+   * @param buffer The buffer holding the serialized trajectory, from its position to its limit.
+   * @return The trajectory.
+   * @throws TrajectorySerializationException if the buffer doesn't hold a valid trajectory.
+   */
+  static Trajectory deserializeBinary(ByteBuffer buffer) {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    int count = readBinaryHeader(buffer);
+    var states = new ArrayList<Trajectory.State>(count);
+    for (int i = 0; i < count; i++) {
+      double time = buffer.getDouble();
+      double velocity = buffer.getDouble();
+      double acceleration = buffer.getDouble();
+      double x = buffer.getDouble();
+      double y = buffer.getDouble();
+      double heading = buffer.getDouble();
+      double curvature = buffer.getDouble();
+      states.add(
+          new Trajectory.State(
+              time, velocity, acceleration, new Pose2d(x, y, new Rotation2d(heading)), curvature));
+    }
+    return new Trajectory(states);
+  }
+
+  /**
+   * Reads a binary trajectory file. The file is read rather than mapped: it's small enough that
+   * mapping doesn't save anything, and on Windows a mapped file can't be replaced or deleted until
+   * the mapping is garbage collected.
+   *
+   * @param path The path of the file.
+   * @return A little-endian buffer holding the file.
+   * @throws IOException if reading the file fails.
+   */
+  private static ByteBuffer readBinary(Path path) throws IOException {
+    return ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Reads and checks the header of a binary trajectory, leaving the buffer positioned at the first
+   * state record.
+   *
+   * @param buffer The little-endian buffer holding the trajectory.
+   * @return The number of states.
+   * @throws TrajectorySerializationException if the header isn't valid, or doesn't match the size
+   *     of the buffer.
+   */
+  private static int readBinaryHeader(ByteBuffer buffer) {
+    if (buffer.remaining() < kBinaryHeaderSize
+        || buffer.getInt() != kBinaryMagic
+        || buffer.getInt() != kBinaryVersion) {
+      throw new TrajectorySerializationException("Not a binary trajectory.");
+    }
+    int count = buffer.getInt();
+    if (buffer.getInt() != kBinaryStateSize
+        || count < 1
+        || (long) count * kBinaryStateSize != buffer.remaining()) {
+      throw new TrajectorySerializationException("Binary trajectory has a malformed header.");
+    }
+    return count;
+  }
+
   /** Exception for trajectory serialization failure. */
   public static class TrajectorySerializationException extends RuntimeException {
     /**
@@ -5,6 +5,7 @@
 package edu.wpi.first.math.trajectory.constraint;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.spline.SplinePoints;
 
 /**
  * A constraint on the maximum absolute centripetal acceleration allowed when traversing a
@@ -49,6 +50,24 @@ public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
         m_maxCentripetalAccelerationMetersPerSecondSq / Math.abs(curvatureRadPerMeter));
   }
 
+  /**
+   * Returns the max velocity at each of several points.
+   *
+   * @param points The points in the trajectory.
+   * @param poses The pose at each point.
+   * @param velocitiesMetersPerSecond The velocity at each point before constraints are applied,
+   *     which is replaced with the absolute maximum velocity there.
+   */
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(
+      SplinePoints points, Pose2d[] poses, double[] velocitiesMetersPerSecond) {
+    final double[] curvatures = points.getCurvature();
+    for (int i = 0; i < points.size(); i++) {
+      velocitiesMetersPerSecond[i] =
+          Math.sqrt(m_maxCentripetalAccelerationMetersPerSecondSq / Math.abs(curvatures[i]));
+    }
+  }
+
   /**
    * Returns the minimum and maximum allowable acceleration for the trajectory given pose,
    * curvature, and speed.
@@ -65,4 +84,9 @@ public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
     // of the robot.
     return new MinMax();
   }
+
+  @Override
+  public String getCacheKey() {
+    return Double.toString(m_maxCentripetalAccelerationMetersPerSecondSq);
+  }
 }
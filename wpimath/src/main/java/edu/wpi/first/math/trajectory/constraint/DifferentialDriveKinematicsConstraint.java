@@ -68,4 +68,9 @@ public class DifferentialDriveKinematicsConstraint implements TrajectoryConstrai
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public String getCacheKey() {
+    return m_kinematics.trackWidthMeters + " " + m_maxSpeedMetersPerSecond;
+  }
 }
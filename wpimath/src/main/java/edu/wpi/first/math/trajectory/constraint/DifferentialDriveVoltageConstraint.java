@@ -10,6 +10,8 @@ import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.spline.SplinePoints;
+import java.util.Arrays;
 
 /**
  * A class that enforces constraints on differential drive voltage expenditure based on the motor
@@ -48,6 +50,12 @@ public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint
     return Double.POSITIVE_INFINITY;
   }
 
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(
+      SplinePoints points, Pose2d[] poses, double[] velocitiesMetersPerSecond) {
+    Arrays.fill(velocitiesMetersPerSecond, 0, points.size(), Double.POSITIVE_INFINITY);
+  }
+
   @Override
   public MinMax getMinMaxAccelerationMetersPerSecondSq(
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
@@ -126,4 +134,17 @@ public class DifferentialDriveVoltageConstraint implements TrajectoryConstraint
 
     return new MinMax(minChassisAcceleration, maxChassisAcceleration);
   }
+
+  @Override
+  public String getCacheKey() {
+    return m_feedforward.getKs()
+        + " "
+        + m_feedforward.getKv()
+        + " "
+        + m_feedforward.getKa()
+        + " "
+        + m_kinematics.trackWidthMeters
+        + " "
+        + m_maxVoltage;
+  }
 }
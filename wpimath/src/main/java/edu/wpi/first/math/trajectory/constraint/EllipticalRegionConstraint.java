@@ -66,4 +66,26 @@ public class EllipticalRegionConstraint implements TrajectoryConstraint {
       return new MinMax();
     }
   }
+
+  @Override
+  public String getCacheKey() {
+    String constraintKey = m_constraint.getCacheKey();
+    if (constraintKey == null) {
+      return null;
+    }
+    var center = m_ellipse.getCenter();
+    return center.getX()
+        + " "
+        + center.getY()
+        + " "
+        + center.getRotation().getRadians()
+        + " "
+        + m_ellipse.getXSemiAxis()
+        + " "
+        + m_ellipse.getYSemiAxis()
+        + " "
+        + m_constraint.getClass().getName()
+        + " "
+        + constraintKey;
+  }
 }
@@ -5,6 +5,8 @@
 package edu.wpi.first.math.trajectory.constraint;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.spline.SplinePoints;
+import java.util.Arrays;
 
 /**
  * Represents a constraint that enforces a max velocity. This can be composed with the {@link
@@ -29,9 +31,20 @@ public class MaxVelocityConstraint implements TrajectoryConstraint {
     return m_maxVelocity;
   }
 
+  @Override
+  public void getMaxVelocitiesMetersPerSecond(
+      SplinePoints points, Pose2d[] poses, double[] velocitiesMetersPerSecond) {
+    Arrays.fill(velocitiesMetersPerSecond, 0, points.size(), m_maxVelocity);
+  }
+
   @Override
   public TrajectoryConstraint.MinMax getMinMaxAccelerationMetersPerSecondSq(
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public String getCacheKey() {
+    return Double.toString(m_maxVelocity);
+  }
 }
@@ -5,6 +5,7 @@
 package edu.wpi.first.math.trajectory.constraint;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.MecanumDriveKinematics;
 
@@ -76,4 +77,19 @@ public class MecanumDriveKinematicsConstraint implements TrajectoryConstraint {
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public String getCacheKey() {
+    var key = new StringBuilder();
+    for (var wheel :
+        new Translation2d[] {
+          m_kinematics.getFrontLeft(),
+          m_kinematics.getFrontRight(),
+          m_kinematics.getRearLeft(),
+          m_kinematics.getRearRight()
+        }) {
+      key.append(wheel.getX()).append(' ').append(wheel.getY()).append(' ');
+    }
+    return key.append(m_maxSpeedMetersPerSecond).toString();
+  }
 }
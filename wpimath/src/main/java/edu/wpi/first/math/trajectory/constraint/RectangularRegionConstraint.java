@@ -61,4 +61,26 @@ public class RectangularRegionConstraint implements TrajectoryConstraint {
       return new MinMax();
     }
   }
+
+  @Override
+  public String getCacheKey() {
+    String constraintKey = m_constraint.getCacheKey();
+    if (constraintKey == null) {
+      return null;
+    }
+    var center = m_rectangle.getCenter();
+    return center.getX()
+        + " "
+        + center.getY()
+        + " "
+        + center.getRotation().getRadians()
+        + " "
+        + m_rectangle.getXWidth()
+        + " "
+        + m_rectangle.getYWidth()
+        + " "
+        + m_constraint.getClass().getName()
+        + " "
+        + constraintKey;
+  }
 }
@@ -76,4 +76,13 @@ public class SwerveDriveKinematicsConstraint implements TrajectoryConstraint {
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  @Override
+  public String getCacheKey() {
+    var key = new StringBuilder();
+    for (var module : m_kinematics.getModules()) {
+      key.append(module.getX()).append(' ').append(module.getY()).append(' ');
+    }
+    return key.append(m_maxSpeedMetersPerSecond).toString();
+  }
 }
@@ -5,6 +5,7 @@
 package edu.wpi.first.math.trajectory.constraint;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.spline.SplinePoints;
 
 /**
  * An interface for defining user-defined velocity and acceleration constraints while generating
@@ -23,6 +24,30 @@ public interface TrajectoryConstraint {
   double getMaxVelocityMetersPerSecond(
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond);
 
+  /**
+   * Returns the max velocity at each of several points, as {@link
+   * #getMaxVelocityMetersPerSecond(Pose2d, double, double)} would for each point. Trajectory
+   * generation calls this once for a whole path where it can, instead of once per point.
+   *
+   * <p>The default implementation calls getMaxVelocityMetersPerSecond() for each point. Constraints
+   * that can use the primitive arrays of the points directly should override this to avoid the
+   * per-point call overhead.
+   *
+   * @param points The points in the trajectory.
+   * @param poses The pose at each point, which must not be modified.
+   * @param velocitiesMetersPerSecond The velocity at each point before constraints are applied,
+   *     which is replaced with the absolute maximum velocity there. Only the first points.size()
+   *     elements are used.
+   */
+  default void getMaxVelocitiesMetersPerSecond(
+      SplinePoints points, Pose2d[] poses, double[] velocitiesMetersPerSecond) {
+    final double[] curvatures = points.getCurvature();
+    for (int i = 0; i < points.size(); i++) {
+      velocitiesMetersPerSecond[i] =
+          getMaxVelocityMetersPerSecond(poses[i], curvatures[i], velocitiesMetersPerSecond[i]);
+    }
+  }
+
   /**
    * Returns the minimum and maximum allowable acceleration for the trajectory given pose,
    * curvature, and speed.
@@ -35,6 +60,21 @@ public interface TrajectoryConstraint {
   MinMax getMinMaxAccelerationMetersPerSecondSq(
       Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond);
 
+  /**
+   * Returns a key describing everything that determines this constraint's limits, for {@link
+   * edu.wpi.first.math.trajectory.TrajectoryCache}. Two constraints of the same class with equal
+   * keys must return the same limits for the same inputs, so a cached trajectory generated with one
+   * can be used in place of generating it with the other.
+   *
+   * <p>The default implementation returns null, which means the constraint can't be cached;
+   * trajectories generated with it bypass the cache.
+   *
+   * @return The cache key, or null if trajectories using this constraint can't be cached.
+   */
+  default String getCacheKey() {
+    return null;
+  }
+
   /** Represents a minimum and maximum acceleration. */
   class MinMax {
     /** The minimum acceleration. */
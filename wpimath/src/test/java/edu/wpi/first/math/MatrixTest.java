@@ -5,6 +5,7 @@
 package edu.wpi.first.math;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -12,7 +13,10 @@ import edu.wpi.first.math.numbers.N1;
 import edu.wpi.first.math.numbers.N2;
 import edu.wpi.first.math.numbers.N3;
 import edu.wpi.first.math.numbers.N4;
+import java.util.Random;
+import org.ejml.MatrixDimensionException;
 import org.ejml.data.SingularMatrixException;
+import org.ejml.simple.SimpleMatrix;
 import org.junit.jupiter.api.Test;
 
 class MatrixTest {
@@ -37,6 +41,48 @@ class MatrixTest {
             .isEqual(result2, 1E-9));
   }
 
+  @Test
+  void testMatrixMultiplicationMatchesEjml() {
+    var rand = new Random(3512);
+    int[][] shapes = {{2, 2, 1}, {2, 2, 2}, {3, 3, 1}, {3, 3, 3}, {4, 5, 6}, {6, 6, 6}, {7, 3, 8}};
+    for (int[] shape : shapes) {
+      var a = new Matrix<>(SimpleMatrix.random_DDRM(shape[0], shape[1], -1.0, 1.0, rand));
+      var b = new Matrix<>(SimpleMatrix.random_DDRM(shape[1], shape[2], -1.0, 1.0, rand));
+      var expected = new Matrix<>(a.getStorage().mult(b.getStorage()));
+
+      assertTrue(expected.isEqual(a.times(b), 1E-12));
+
+      var out = new Matrix<>(new SimpleMatrix(shape[0], shape[2]));
+      assertSame(out, a.timesInto(b, out));
+      assertTrue(expected.isEqual(out, 1E-12));
+    }
+  }
+
+  @Test
+  void testMatrixMultiplicationInto() {
+    var mat1 = MatBuilder.fill(Nat.N2(), Nat.N2(), 2.0, 1.0, 0.0, 1.0);
+    var mat2 = MatBuilder.fill(Nat.N2(), Nat.N2(), 3.0, 0.0, 0.0, 2.5);
+    var out = new Matrix<>(Nat.N2(), Nat.N2());
+
+    mat1.timesInto(mat2, out);
+    assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), 6.0, 2.5, 0.0, 2.5), out);
+
+    assertThrows(IllegalArgumentException.class, () -> mat1.timesInto(mat2, mat1));
+    assertThrows(IllegalArgumentException.class, () -> mat1.timesInto(mat2, mat2));
+  }
+
+  @Test
+  void testMatrixMultiplicationIntoWrongSize() {
+    // Small and large matrices take different paths, which both reject a wrongly sized output
+    for (int size : new int[] {2, 8}) {
+      var a = new Matrix<>(new SimpleMatrix(size, size));
+      var b = new Matrix<>(new SimpleMatrix(size, size));
+      var out = new Matrix<>(new SimpleMatrix(size, size + 1));
+      assertThrows(MatrixDimensionException.class, () -> a.timesInto(b, out));
+      assertEquals(size + 1, out.getNumCols());
+    }
+  }
+
   @Test
   void testMatrixVectorMultiplication() {
     var mat = MatBuilder.fill(Nat.N2(), Nat.N2(), 1.0, 1.0, 0.0, 1.0);
@@ -115,6 +161,35 @@ class MatrixTest {
     assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), 6.0, 8.0, 10.0, 12.0), mat1.plus(mat2));
   }
 
+  @Test
+  void testMatrixMatrixArithmeticInto() {
+    var mat1 = MatBuilder.fill(Nat.N2(), Nat.N2(), 1.0, 2.0, 3.0, 4.0);
+    var mat2 = MatBuilder.fill(Nat.N2(), Nat.N2(), 5.0, 6.0, 7.0, 8.0);
+    var out = new Matrix<>(Nat.N2(), Nat.N2());
+
+    assertSame(out, mat1.minusInto(mat2, out));
+    assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), -4.0, -4.0, -4.0, -4.0), out);
+
+    assertSame(out, mat1.plusInto(mat2, out));
+    assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), 6.0, 8.0, 10.0, 12.0), out);
+
+    // The output may alias an operand
+    mat1.plusInto(mat2, mat1);
+    assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), 6.0, 8.0, 10.0, 12.0), mat1);
+    mat1.minusInto(mat2, mat1);
+    assertEquals(MatBuilder.fill(Nat.N2(), Nat.N2(), 1.0, 2.0, 3.0, 4.0), mat1);
+
+    // Matrices too large for the small matrix fast path
+    var big1 = Matrix.eye(Nat.N8());
+    var big2 = new Matrix<>(Nat.N8(), Nat.N8());
+    big2.fill(2.0);
+    var bigOut = new Matrix<>(Nat.N8(), Nat.N8());
+    big1.plusInto(big2, bigOut);
+    assertEquals(big1.plus(big2), bigOut);
+    big1.minusInto(big2, bigOut);
+    assertEquals(big1.minus(big2), bigOut);
+  }
+
   @Test
   void testMatrixExponential() {
     var matrix = Matrix.eye(Nat.N2());
@@ -6,6 +6,7 @@ package edu.wpi.first.math.estimator;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.wpi.first.math.MathSharedStore;
@@ -451,6 +452,79 @@ class SwerveDrivePoseEstimator3dTest {
     assertEquals(Optional.of(new Pose3d(2, 0.1, 0, Rotation3d.kZero)), estimator.sampleAt(2.5));
   }
 
+  @Test
+  void testAddVisionMeasurements() {
+    var kinematics =
+        new SwerveDriveKinematics(
+            new Translation2d(1, 1),
+            new Translation2d(-1, 1),
+            new Translation2d(1, -1),
+            new Translation2d(-1, -1));
+    var batchEstimator =
+        new SwerveDrivePoseEstimator3d(
+            kinematics,
+            Rotation3d.kZero,
+            new SwerveModulePosition[] {
+              new SwerveModulePosition(),
+              new SwerveModulePosition(),
+              new SwerveModulePosition(),
+              new SwerveModulePosition()
+            },
+            Pose3d.kZero,
+            VecBuilder.fill(1, 1, 1, 1),
+            VecBuilder.fill(1, 1, 1, 1));
+    var sequentialEstimator =
+        new SwerveDrivePoseEstimator3d(
+            kinematics,
+            Rotation3d.kZero,
+            new SwerveModulePosition[] {
+              new SwerveModulePosition(),
+              new SwerveModulePosition(),
+              new SwerveModulePosition(),
+              new SwerveModulePosition()
+            },
+            Pose3d.kZero,
+            VecBuilder.fill(1, 1, 1, 1),
+            VecBuilder.fill(1, 1, 1, 1));
+
+    // Add a tiny tolerance for the upper bound because of floating point rounding error
+    for (double time = 1; time <= 2 + 1e-9; time += 0.02) {
+      var wheelPositions =
+          new SwerveModulePosition[] {
+            new SwerveModulePosition(time, Rotation2d.kZero),
+            new SwerveModulePosition(time, Rotation2d.kZero),
+            new SwerveModulePosition(time, Rotation2d.kZero),
+            new SwerveModulePosition(time, Rotation2d.kZero)
+          };
+      batchEstimator.updateWithTime(time, Rotation3d.kZero, wheelPositions);
+      sequentialEstimator.updateWithTime(time, Rotation3d.kZero, wheelPositions);
+    }
+
+    // The batch is out of order, and contains one measurement that's too old to be used
+    var poses =
+        new Pose3d[] {
+          new Pose3d(1.5, 0.2, 0, Rotation3d.kZero),
+          new Pose3d(1.2, 0.1, 0, Rotation3d.kZero),
+          new Pose3d(5.0, 5.0, 0, Rotation3d.kZero),
+          new Pose3d(1.8, 0.3, 0, Rotation3d.kZero)
+        };
+    var timestamps = new double[] {1.5, 1.2, -1.0, 1.8};
+    batchEstimator.addVisionMeasurements(poses, timestamps);
+
+    sequentialEstimator.addVisionMeasurement(poses[1], 1.2);
+    sequentialEstimator.addVisionMeasurement(poses[0], 1.5);
+    sequentialEstimator.addVisionMeasurement(poses[3], 1.8);
+
+    assertEquals(sequentialEstimator.getEstimatedPosition(), batchEstimator.getEstimatedPosition());
+    for (double time : new double[] {1.1, 1.3, 1.6, 1.9}) {
+      assertEquals(sequentialEstimator.sampleAt(time), batchEstimator.sampleAt(time));
+    }
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> batchEstimator.addVisionMeasurements(poses, new double[] {1.5}));
+  }
+
   @Test
   void testReset() {
     var kinematics =
@@ -5,8 +5,13 @@
 package edu.wpi.first.math.filter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class MedianFilterTest {
   @Test
@@ -58,4 +63,46 @@ class MedianFilterTest {
 
     assertEquals(5, filter.calculate(99));
   }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 8, 51, 100})
+  void medianFilterMatchesSortedWindow(int size) {
+    MedianFilter filter = new MedianFilter(size);
+    double[] window = new double[size];
+    var rand = new Random(size);
+
+    for (int i = 0; i < 5 * size + 20; i++) {
+      // Small integers produce lots of duplicates
+      double next = (i % 3 == 0) ? rand.nextInt(10) : rand.nextGaussian() * 100.0;
+      window[i % size] = next;
+
+      int count = Math.min(i + 1, size);
+      double[] sorted = Arrays.copyOf(window, count);
+      Arrays.sort(sorted);
+      double expected =
+          (count % 2 != 0) ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2.0;
+
+      assertEquals(expected, filter.calculate(next));
+      assertEquals(next, filter.lastValue());
+    }
+  }
+
+  @Test
+  void medianFilterReset() {
+    MedianFilter filter = new MedianFilter(3);
+
+    filter.calculate(10);
+    filter.calculate(20);
+    filter.calculate(30);
+    filter.reset();
+
+    assertEquals(0.0, filter.lastValue());
+    assertEquals(1.0, filter.calculate(1));
+    assertEquals(1.5, filter.calculate(2));
+  }
+
+  @Test
+  void medianFilterInvalidSize() {
+    assertThrows(IllegalArgumentException.class, () -> new MedianFilter(0));
+  }
 }
@@ -0,0 +1,120 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class MutPose2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  private static void assertPoseEquals(Pose2d expected, MutPose2d actual) {
+    assertAll(
+        () -> assertEquals(expected.getX(), actual.getX(), kEpsilon),
+        () -> assertEquals(expected.getY(), actual.getY(), kEpsilon),
+        () ->
+            assertEquals(
+                expected.getRotation().getRadians(), actual.getRotation().getRadians(), kEpsilon));
+  }
+
+  @Test
+  void testConversion() {
+    var pose = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(30.0));
+    var mutPose = new MutPose2d(pose);
+
+    assertPoseEquals(pose, mutPose);
+    assertEquals(pose, mutPose.toPose2d());
+  }
+
+  @Test
+  void testTransformBy() {
+    var initial = new Pose2d(new Translation2d(1.0, 2.0), Rotation2d.fromDegrees(45.0));
+    var transformation = new Transform2d(new Translation2d(5.0, 0.0), Rotation2d.fromDegrees(5.0));
+
+    var out = new MutPose2d();
+    var result = new MutPose2d(initial).plusInto(new MutTransform2d(transformation), out);
+
+    assertSame(out, result);
+    assertPoseEquals(initial.plus(transformation), out);
+  }
+
+  @Test
+  void testTransformByAliased() {
+    var initial = new Pose2d(new Translation2d(1.0, 2.0), Rotation2d.fromDegrees(45.0));
+    var transformation = new Transform2d(new Translation2d(5.0, 0.0), Rotation2d.fromDegrees(5.0));
+
+    var pose = new MutPose2d(initial);
+    pose.transformByInto(new MutTransform2d(transformation), pose);
+
+    assertPoseEquals(initial.transformBy(transformation), pose);
+  }
+
+  @Test
+  void testRelativeTo() {
+    var initial = new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(45.0));
+    var last = new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(45.0));
+
+    var other = new MutPose2d(initial);
+    new MutPose2d(last).relativeToInto(other, other);
+
+    assertPoseEquals(last.relativeTo(initial), other);
+  }
+
+  @Test
+  void testMinus() {
+    var initial = new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(45.0));
+    var last = new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(45.0));
+
+    var transform = new MutPose2d(last).minusInto(new MutPose2d(initial), new MutTransform2d());
+
+    assertEquals(last.minus(initial), transform.toTransform2d());
+  }
+
+  @Test
+  void testExp() {
+    var initial = new Pose2d(1.0, -2.0, Rotation2d.fromDegrees(20.0));
+    var twist = new Twist2d(0.5, 0.1, Math.PI / 3);
+
+    var pose = new MutPose2d(initial);
+    pose.expInto(twist, pose);
+
+    assertPoseEquals(initial.exp(twist), pose);
+  }
+
+  @Test
+  void testExpStraight() {
+    var initial = new Pose2d(1.0, -2.0, Rotation2d.fromDegrees(20.0));
+    var twist = new Twist2d(0.5, 0.1, 0.0);
+
+    var pose = new MutPose2d(initial);
+    pose.expInto(twist, pose);
+
+    assertPoseEquals(initial.exp(twist), pose);
+  }
+
+  @Test
+  void testLog() {
+    var start = new Pose2d(1.0, -2.0, Rotation2d.fromDegrees(20.0));
+    var end = new Pose2d(3.0, 1.0, Rotation2d.fromDegrees(-70.0));
+
+    var twist = new MutPose2d(start).logInto(new MutPose2d(end), new Twist2d());
+
+    assertEquals(start.log(end), twist);
+  }
+
+  @Test
+  void testExpLogRoundTrip() {
+    var start = new MutPose2d(1.0, -2.0, 0.3);
+    var end = new MutPose2d(-4.0, 2.5, 2.9);
+
+    var twist = start.logInto(end, new Twist2d());
+    var result = start.expInto(twist, new MutPose2d());
+
+    assertPoseEquals(end.toPose2d(), result);
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MutRotation2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testContinuousValue() {
+    var rot = new MutRotation2d(Math.toRadians(361.0));
+
+    assertEquals(361.0, rot.getDegrees(), kEpsilon);
+    assertEquals(Rotation2d.fromDegrees(361.0), rot.toRotation2d());
+  }
+
+  @Test
+  void testSetFromComponents() {
+    var rot = new MutRotation2d().set(1.0, Math.sqrt(3.0));
+
+    assertAll(
+        () -> assertEquals(60.0, rot.getDegrees(), kEpsilon),
+        () -> assertEquals(0.5, rot.getCos(), kEpsilon),
+        () -> assertEquals(Math.sqrt(3.0) / 2.0, rot.getSin(), kEpsilon));
+  }
+
+  @Test
+  void testRotateBy() {
+    var rot = new MutRotation2d(Rotation2d.fromDegrees(90.0));
+    rot.rotateByInto(new MutRotation2d(Rotation2d.fromDegrees(30.0)), rot);
+
+    assertEquals(120.0, rot.getDegrees(), kEpsilon);
+  }
+
+  @Test
+  void testMinus() {
+    var rot1 = new MutRotation2d(Rotation2d.fromDegrees(70.0));
+    var rot2 = new MutRotation2d(Rotation2d.fromDegrees(30.0));
+
+    assertEquals(40.0, rot1.minusInto(rot2, rot2).getDegrees(), kEpsilon);
+  }
+
+  @Test
+  void testUnaryMinus() {
+    var rot = new MutRotation2d(Rotation2d.fromDegrees(20.0));
+    rot.unaryMinusInto(rot);
+
+    assertAll(
+        () -> assertEquals(-20.0, rot.getDegrees(), kEpsilon),
+        () -> assertEquals(Math.cos(Math.toRadians(-20.0)), rot.getCos(), kEpsilon),
+        () -> assertEquals(Math.sin(Math.toRadians(-20.0)), rot.getSin(), kEpsilon));
+  }
+}
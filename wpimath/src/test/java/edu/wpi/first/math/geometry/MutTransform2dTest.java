@@ -0,0 +1,28 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MutTransform2dTest {
+  @Test
+  void testConversion() {
+    var transform = new Transform2d(1.0, 2.0, Rotation2d.fromDegrees(30.0));
+
+    assertEquals(transform, new MutTransform2d(transform).toTransform2d());
+  }
+
+  @Test
+  void testInverse() {
+    var transform = new Transform2d(new Translation2d(1.0, 2.0), Rotation2d.fromDegrees(30.0));
+
+    var inverse = new MutTransform2d(transform);
+    inverse.inverseInto(inverse);
+
+    assertEquals(transform.inverse(), inverse.toTransform2d());
+  }
+}
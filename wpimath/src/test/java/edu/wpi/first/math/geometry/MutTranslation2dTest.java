@@ -0,0 +1,60 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MutTranslation2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testSum() {
+    var one = new MutTranslation2d(1.0, 3.0);
+    var two = new MutTranslation2d(2.0, 5.0);
+
+    one.plusInto(two, one);
+
+    assertAll(
+        () -> assertEquals(3.0, one.getX(), kEpsilon),
+        () -> assertEquals(8.0, one.getY(), kEpsilon));
+  }
+
+  @Test
+  void testDifference() {
+    var one = new MutTranslation2d(1.0, 3.0);
+    var two = new MutTranslation2d(2.0, 5.0);
+
+    one.minusInto(two, two);
+
+    assertAll(
+        () -> assertEquals(-1.0, two.getX(), kEpsilon),
+        () -> assertEquals(-2.0, two.getY(), kEpsilon));
+  }
+
+  @Test
+  void testRotateBy() {
+    var translation = new Translation2d(3.0, 0.0);
+    var rotation = Rotation2d.fromDegrees(90.0);
+
+    var rotated = new MutTranslation2d(translation);
+    rotated.rotateByInto(new MutRotation2d(rotation), rotated);
+
+    assertEquals(translation.rotateBy(rotation), rotated.toTranslation2d());
+  }
+
+  @Test
+  void testTimesAndNorm() {
+    var translation = new MutTranslation2d(3.0, 4.0).timesInto(2.0, new MutTranslation2d());
+
+    assertAll(
+        () -> assertEquals(6.0, translation.getX(), kEpsilon),
+        () -> assertEquals(8.0, translation.getY(), kEpsilon),
+        () -> assertEquals(10.0, translation.getNorm(), kEpsilon),
+        () -> assertEquals(10.0, translation.getDistance(new MutTranslation2d()), kEpsilon));
+  }
+}
@@ -0,0 +1,89 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.interpolation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class TimeInterpolatablePose2dBufferTest {
+  // Exactly representable so eviction happens at a predictable sample
+  private static final double kDt = 1.0 / 256.0;
+
+  @Test
+  void testAddSample() {
+    var buffer = new TimeInterpolatablePose2dBuffer(10);
+
+    // No entries
+    buffer.addSample(1.0, new Pose2d(1.0, 0.0, Rotation2d.kZero));
+    assertEquals(1.0, buffer.getSample(1.0).get().getX(), 0.001);
+
+    // New entry at start of container
+    buffer.addSample(0.0, new Pose2d(0.0, 0.0, Rotation2d.kZero));
+    assertEquals(0.0, buffer.getSample(0.0).get().getX(), 0.001);
+
+    // New entry in middle of container
+    buffer.addSample(0.5, new Pose2d(0.5, 0.0, Rotation2d.kZero));
+    assertEquals(0.5, buffer.getSample(0.5).get().getX(), 0.001);
+
+    // Override sample
+    buffer.addSample(0.5, new Pose2d(2.0, 0.0, Rotation2d.kZero));
+    assertEquals(2.0, buffer.getSample(0.5).get().getX(), 0.001);
+    assertEquals(3, buffer.size());
+    assertEquals(0.0, buffer.getOldestTimestamp());
+    assertEquals(1.0, buffer.getNewestTimestamp());
+  }
+
+  @Test
+  void testPose2d() {
+    var buffer = new TimeInterpolatablePose2dBuffer(10);
+
+    // We expect to be at (1 - 1/Math.sqrt(2), 1/Math.sqrt(2), 45deg) at t=0.5
+    buffer.addSample(0.0, new Pose2d(0.0, 0.0, Rotation2d.kCCW_Pi_2));
+    buffer.addSample(1.0, new Pose2d(1.0, 1.0, Rotation2d.kZero));
+    Pose2d sample = buffer.getSample(0.5).get();
+
+    assertEquals(1.0 - 1.0 / Math.sqrt(2.0), sample.getTranslation().getX(), 0.01);
+    assertEquals(1.0 / Math.sqrt(2.0), sample.getTranslation().getY(), 0.01);
+    assertEquals(45.0, sample.getRotation().getDegrees(), 0.01);
+  }
+
+  @Test
+  void testSampleOutsideRange() {
+    var buffer = new TimeInterpolatablePose2dBuffer(10);
+    assertTrue(buffer.getSample(0.0).isEmpty());
+
+    buffer.addSample(1.0, new Pose2d(1.0, 0.0, Rotation2d.kZero));
+    buffer.addSample(2.0, new Pose2d(2.0, 0.0, Rotation2d.kZero));
+
+    assertEquals(1.0, buffer.getSample(0.0).get().getX(), 0.001);
+    assertEquals(2.0, buffer.getSample(3.0).get().getX(), 0.001);
+  }
+
+  @Test
+  void testCleanUp() {
+    var buffer = new TimeInterpolatablePose2dBuffer(1.0);
+
+    // Enough samples to grow the buffer and wrap around it several times
+    for (int i = 0; i <= 1000; i++) {
+      buffer.addSample(i * kDt, new Pose2d(i, 0.0, Rotation2d.kZero));
+    }
+
+    assertEquals(256, buffer.size());
+    assertEquals(745 * kDt, buffer.getOldestTimestamp(), 1e-9);
+    assertEquals(1000 * kDt, buffer.getNewestTimestamp(), 1e-9);
+    assertEquals(800.0, buffer.getSample(800 * kDt).get().getX(), 1e-9);
+    assertEquals(800.5, buffer.getSample(800.5 * kDt).get().getX(), 1e-6);
+
+    buffer.clear();
+    assertTrue(buffer.isEmpty());
+    assertThrows(NoSuchElementException.class, buffer::getNewestTimestamp);
+  }
+}
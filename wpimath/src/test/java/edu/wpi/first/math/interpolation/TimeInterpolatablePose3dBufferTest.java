@@ -0,0 +1,64 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.interpolation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import org.junit.jupiter.api.Test;
+
+class TimeInterpolatablePose3dBufferTest {
+  // Exactly representable so eviction happens at a predictable sample
+  private static final double kDt = 1.0 / 256.0;
+
+  @Test
+  void testAddSample() {
+    var buffer = new TimeInterpolatablePose3dBuffer(10);
+
+    var pose = new Pose3d(1.0, 2.0, 3.0, new Rotation3d(0.1, 0.2, 0.3));
+    buffer.addSample(1.0, pose);
+    assertEquals(pose, buffer.getSample(1.0).get());
+
+    // New entry at start of container
+    buffer.addSample(0.0, Pose3d.kZero);
+    assertEquals(Pose3d.kZero, buffer.getSample(0.0).get());
+
+    // Override sample
+    buffer.addSample(0.0, pose);
+    assertEquals(pose, buffer.getSample(0.0).get());
+  }
+
+  @Test
+  void testPose3d() {
+    var buffer = new TimeInterpolatablePose3dBuffer(10);
+
+    // We expect to be at (1 - 1/Math.sqrt(2), 1/Math.sqrt(2), 0, 45deg) at t=0.5
+    buffer.addSample(0.0, new Pose3d(0.0, 0.0, 0.0, new Rotation3d(0.0, 0.0, Math.PI / 2)));
+    buffer.addSample(1.0, new Pose3d(1.0, 1.0, 0.0, Rotation3d.kZero));
+    Pose3d sample = buffer.getSample(0.5).get();
+
+    assertEquals(1.0 - 1.0 / Math.sqrt(2.0), sample.getX(), 0.01);
+    assertEquals(1.0 / Math.sqrt(2.0), sample.getY(), 0.01);
+    assertEquals(0.0, sample.getZ(), 0.01);
+    assertEquals(Math.PI / 4, sample.getRotation().getZ(), 0.01);
+  }
+
+  @Test
+  void testCleanUp() {
+    var buffer = new TimeInterpolatablePose3dBuffer(1.0);
+
+    for (int i = 0; i <= 1000; i++) {
+      buffer.addSample(i * kDt, new Pose3d(i, 0.0, 0.0, Rotation3d.kZero));
+    }
+
+    assertEquals(256, buffer.size());
+    assertEquals(800.0, buffer.getSample(800 * kDt).get().getX(), 1e-9);
+
+    buffer.clear();
+    assertTrue(buffer.isEmpty());
+  }
+}
@@ -7,6 +7,7 @@ package edu.wpi.first.math.kinematics;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import edu.wpi.first.math.geometry.Twist2d;
 import org.junit.jupiter.api.Test;
 
 class DifferentialDriveKinematicsTest {
@@ -76,4 +77,40 @@ class DifferentialDriveKinematicsTest {
         () -> assertEquals(0.0, chassisSpeeds.vyMetersPerSecond, kEpsilon),
         () -> assertEquals(-Math.PI, chassisSpeeds.omegaRadiansPerSecond, kEpsilon));
   }
+
+  @Test
+  void testInverseKinematicsIntoOutput() {
+    var chassisSpeeds = new ChassisSpeeds(3, 0, Math.PI);
+    var wheelSpeeds = new DifferentialDriveWheelSpeeds();
+    m_kinematics.toWheelSpeeds(chassisSpeeds, wheelSpeeds);
+
+    assertAll(
+        () -> assertEquals(3.0 - 0.381 * Math.PI, wheelSpeeds.leftMetersPerSecond, kEpsilon),
+        () -> assertEquals(3.0 + 0.381 * Math.PI, wheelSpeeds.rightMetersPerSecond, kEpsilon));
+  }
+
+  @Test
+  void testForwardKinematicsIntoOutput() {
+    var wheelSpeeds = new DifferentialDriveWheelSpeeds(+0.381 * Math.PI, -0.381 * Math.PI);
+    var chassisSpeeds = new ChassisSpeeds(1, 2, 3);
+    m_kinematics.toChassisSpeeds(wheelSpeeds, chassisSpeeds);
+
+    assertAll(
+        () -> assertEquals(0.0, chassisSpeeds.vxMetersPerSecond, kEpsilon),
+        () -> assertEquals(0.0, chassisSpeeds.vyMetersPerSecond, kEpsilon),
+        () -> assertEquals(-Math.PI, chassisSpeeds.omegaRadiansPerSecond, kEpsilon));
+  }
+
+  @Test
+  void testForwardKinematicsWithDeltasIntoOutput() {
+    var start = new DifferentialDriveWheelPositions(1, 2);
+    var end = new DifferentialDriveWheelPositions(1 + 0.381 * Math.PI, 2 - 0.381 * Math.PI);
+    var twist = new Twist2d(1, 2, 3);
+    m_kinematics.toTwist2d(start, end, twist);
+
+    assertAll(
+        () -> assertEquals(0.0, twist.dx, kEpsilon),
+        () -> assertEquals(0.0, twist.dy, kEpsilon),
+        () -> assertEquals(-Math.PI, twist.dtheta, kEpsilon));
+  }
 }
@@ -0,0 +1,62 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.kinematics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.wpi.first.math.geometry.Twist2d;
+import org.junit.jupiter.api.Test;
+
+class KinematicsTest {
+  // A drivetrain with one wheel per axis, implementing only the allocating methods
+  private static class AxisKinematics implements Kinematics<double[], double[]> {
+    @Override
+    public ChassisSpeeds toChassisSpeeds(double[] wheelSpeeds) {
+      return new ChassisSpeeds(wheelSpeeds[0], wheelSpeeds[1], wheelSpeeds[2]);
+    }
+
+    @Override
+    public double[] toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
+      return new double[] {
+        chassisSpeeds.vxMetersPerSecond,
+        chassisSpeeds.vyMetersPerSecond,
+        chassisSpeeds.omegaRadiansPerSecond
+      };
+    }
+
+    @Override
+    public Twist2d toTwist2d(double[] start, double[] end) {
+      return new Twist2d(end[0] - start[0], end[1] - start[1], end[2] - start[2]);
+    }
+
+    @Override
+    public double[] copy(double[] positions) {
+      return positions.clone();
+    }
+
+    @Override
+    public void copyInto(double[] positions, double[] output) {
+      System.arraycopy(positions, 0, output, 0, positions.length);
+    }
+
+    @Override
+    public double[] interpolate(double[] startValue, double[] endValue, double t) {
+      return startValue.clone();
+    }
+  }
+
+  @Test
+  void testDefaultOutputOverloads() {
+    var kinematics = new AxisKinematics();
+
+    var speeds = new ChassisSpeeds();
+    kinematics.toChassisSpeeds(new double[] {1, 2, 3}, speeds);
+    assertEquals(new ChassisSpeeds(1, 2, 3), speeds);
+
+    var twist = new Twist2d();
+    kinematics.toTwist2d(new double[] {1, 1, 1}, new double[] {2, 3, 4}, twist);
+    assertEquals(new Twist2d(1, 2, 3), twist);
+  }
+}
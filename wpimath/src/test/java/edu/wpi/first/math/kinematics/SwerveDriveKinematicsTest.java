@@ -6,9 +6,11 @@ package edu.wpi.first.math.kinematics;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
 import org.junit.jupiter.api.Test;
 
 class SwerveDriveKinematicsTest {
@@ -267,6 +269,31 @@ class SwerveDriveKinematicsTest {
         () -> assertEquals(2 * Math.PI, twist.dtheta, 0.1));
   }
 
+  @Test
+  void testOffCenterCORRotationForwardKinematicsWithDeltasIntoOutput() {
+    SwerveModulePosition[] start = {
+      new SwerveModulePosition(1.0, Rotation2d.kZero),
+      new SwerveModulePosition(2.0, Rotation2d.kZero),
+      new SwerveModulePosition(3.0, Rotation2d.kZero),
+      new SwerveModulePosition(4.0, Rotation2d.kZero)
+    };
+    SwerveModulePosition[] end = {
+      new SwerveModulePosition(1.0, Rotation2d.kZero),
+      new SwerveModulePosition(152.796, Rotation2d.kZero),
+      new SwerveModulePosition(153.796, Rotation2d.fromDegrees(-90)),
+      new SwerveModulePosition(217.258, Rotation2d.fromDegrees(-45))
+    };
+
+    var expected = m_kinematics.toTwist2d(start, end);
+    var twist = new Twist2d();
+    m_kinematics.toTwist2d(start, end, twist);
+
+    assertAll(
+        () -> assertEquals(expected.dx, twist.dx, kEpsilon),
+        () -> assertEquals(expected.dy, twist.dy, kEpsilon),
+        () -> assertEquals(expected.dtheta, twist.dtheta, kEpsilon));
+  }
+
   private void assertModuleState(
       SwerveModuleState expected, SwerveModuleState actual, SwerveModuleState tolerance) {
     assertAll(
@@ -410,4 +437,57 @@ class SwerveDriveKinematicsTest {
         () -> assertEquals(-1.0, arr[2].speedMetersPerSecond, kEpsilon),
         () -> assertEquals(-1.0, arr[3].speedMetersPerSecond, kEpsilon));
   }
+
+  @Test
+  void testOffCenterCORRotationAndTranslationInverseKinematicsIntoOutput() {
+    ChassisSpeeds speeds = new ChassisSpeeds(0.0, 3.0, 1.5);
+    var moduleStates = new SwerveModuleState[4];
+    for (int i = 0; i < moduleStates.length; i++) {
+      moduleStates[i] = new SwerveModuleState();
+    }
+    m_kinematics.toSwerveModuleStates(speeds, new Translation2d(24, 0), moduleStates);
+
+    assertAll(
+        () -> assertEquals(23.43, moduleStates[0].speedMetersPerSecond, 0.1),
+        () -> assertEquals(23.43, moduleStates[1].speedMetersPerSecond, 0.1),
+        () -> assertEquals(54.08, moduleStates[2].speedMetersPerSecond, 0.1),
+        () -> assertEquals(54.08, moduleStates[3].speedMetersPerSecond, 0.1),
+        () -> assertEquals(-140.19, moduleStates[0].angle.getDegrees(), 0.1),
+        () -> assertEquals(-39.81, moduleStates[1].angle.getDegrees(), 0.1),
+        () -> assertEquals(-109.44, moduleStates[2].angle.getDegrees(), 0.1),
+        () -> assertEquals(-70.56, moduleStates[3].angle.getDegrees(), 0.1));
+  }
+
+  @Test
+  void testInverseKinematicsIntoOutputKeepsUnchangedAngles() {
+    var moduleStates = new SwerveModuleState[4];
+    for (int i = 0; i < moduleStates.length; i++) {
+      moduleStates[i] = new SwerveModuleState();
+    }
+    m_kinematics.toSwerveModuleStates(new ChassisSpeeds(5, 0, 0), moduleStates);
+    var angle = moduleStates[0].angle;
+    m_kinematics.toSwerveModuleStates(new ChassisSpeeds(3, 0, 0), moduleStates);
+
+    assertAll(
+        () -> assertEquals(3.0, moduleStates[0].speedMetersPerSecond, kEpsilon),
+        () -> assertEquals(0.0, moduleStates[0].angle.getRadians(), kEpsilon),
+        () -> assertSame(angle, moduleStates[0].angle));
+  }
+
+  @Test
+  void testTurnInPlaceForwardKinematicsIntoOutput() {
+    SwerveModuleState flState = new SwerveModuleState(106.629, Rotation2d.fromDegrees(135));
+    SwerveModuleState frState = new SwerveModuleState(106.629, Rotation2d.fromDegrees(45));
+    SwerveModuleState blState = new SwerveModuleState(106.629, Rotation2d.fromDegrees(-135));
+    SwerveModuleState brState = new SwerveModuleState(106.629, Rotation2d.fromDegrees(-45));
+
+    var chassisSpeeds = new ChassisSpeeds(1, 2, 3);
+    m_kinematics.toChassisSpeeds(
+        new SwerveModuleState[] {flState, frState, blState, brState}, chassisSpeeds);
+
+    assertAll(
+        () -> assertEquals(0.0, chassisSpeeds.vxMetersPerSecond, kEpsilon),
+        () -> assertEquals(0.0, chassisSpeeds.vyMetersPerSecond, kEpsilon),
+        () -> assertEquals(2 * Math.PI, chassisSpeeds.omegaRadiansPerSecond, 0.1));
+  }
 }
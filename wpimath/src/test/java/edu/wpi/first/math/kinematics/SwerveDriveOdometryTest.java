@@ -7,6 +7,7 @@ package edu.wpi.first.math.kinematics;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import edu.wpi.first.math.geometry.MutPose2d;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
@@ -101,6 +102,27 @@ class SwerveDriveOdometryTest {
         () -> assertEquals(0.00, pose.getRotation().getRadians(), 0.1));
   }
 
+  @Test
+  void testUpdateInto() {
+    final SwerveModulePosition[] wheelDeltas = {
+      new SwerveModulePosition(18.85, Rotation2d.kCCW_Pi_2),
+      new SwerveModulePosition(42.15, Rotation2d.fromDegrees(26.565)),
+      new SwerveModulePosition(18.85, Rotation2d.kCW_Pi_2),
+      new SwerveModulePosition(42.15, Rotation2d.fromDegrees(-26.565))
+    };
+
+    var pose = new MutPose2d();
+    m_odometry.updateInto(
+        Rotation2d.kZero, new SwerveModulePosition[] {zero, zero, zero, zero}, pose);
+    m_odometry.updateInto(Rotation2d.kCCW_Pi_2, wheelDeltas, pose);
+
+    assertAll(
+        () -> assertEquals(12.0, pose.getX(), 0.01),
+        () -> assertEquals(12.0, pose.getY(), 0.01),
+        () -> assertEquals(90.0, pose.getRotation().getDegrees(), 0.01),
+        () -> assertEquals(pose.toPose2d(), m_odometry.getPoseMeters()));
+  }
+
   @Test
   void testAccuracyFacingTrajectory() {
     var kinematics =
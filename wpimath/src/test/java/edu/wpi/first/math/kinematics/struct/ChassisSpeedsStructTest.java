@@ -26,4 +26,18 @@ class ChassisSpeedsStructTest {
     assertEquals(DATA.vyMetersPerSecond, data.vyMetersPerSecond);
     assertEquals(DATA.omegaRadiansPerSecond, data.omegaRadiansPerSecond);
   }
+
+  @Test
+  void testUnpackInto() {
+    ByteBuffer buffer = ByteBuffer.allocate(ChassisSpeeds.struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    ChassisSpeeds.struct.pack(buffer, DATA);
+    buffer.rewind();
+
+    ChassisSpeeds data = new ChassisSpeeds();
+    ChassisSpeeds.struct.unpackInto(data, buffer);
+    assertEquals(DATA.vxMetersPerSecond, data.vxMetersPerSecond);
+    assertEquals(DATA.vyMetersPerSecond, data.vyMetersPerSecond);
+    assertEquals(DATA.omegaRadiansPerSecond, data.omegaRadiansPerSecond);
+  }
 }
@@ -27,4 +27,17 @@ class SwerveModulePositionStructTest {
     assertEquals(DATA.distanceMeters, data.distanceMeters);
     assertEquals(DATA.angle, data.angle);
   }
+
+  @Test
+  void testUnpackInto() {
+    ByteBuffer buffer = ByteBuffer.allocate(SwerveModulePosition.struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    SwerveModulePosition.struct.pack(buffer, DATA);
+    buffer.rewind();
+
+    SwerveModulePosition data = new SwerveModulePosition();
+    SwerveModulePosition.struct.unpackInto(data, buffer);
+    assertEquals(DATA.distanceMeters, data.distanceMeters);
+    assertEquals(DATA.angle, data.angle);
+  }
 }
@@ -26,4 +26,17 @@ class SwerveModuleStateStructTest {
     assertEquals(DATA.speedMetersPerSecond, data.speedMetersPerSecond);
     assertEquals(DATA.angle, data.angle);
   }
+
+  @Test
+  void testUnpackInto() {
+    ByteBuffer buffer = ByteBuffer.allocate(SwerveModuleState.struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    SwerveModuleState.struct.pack(buffer, DATA);
+    buffer.rewind();
+
+    SwerveModuleState data = new SwerveModuleState();
+    SwerveModuleState.struct.unpackInto(data, buffer);
+    assertEquals(DATA.speedMetersPerSecond, data.speedMetersPerSecond);
+    assertEquals(DATA.angle, data.angle);
+  }
 }
@@ -0,0 +1,69 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.spline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SplinePointsTest {
+  @Test
+  void testAddAndGrow() {
+    var points = new SplinePoints(1);
+    var expected = new ArrayList<PoseWithCurvature>();
+    for (int i = 0; i < 100; i++) {
+      var rotation = Rotation2d.fromDegrees(i * 7);
+      points.add(i, -i, rotation.getCos(), rotation.getSin(), i * 0.1);
+      expected.add(new PoseWithCurvature(new Pose2d(i, -i, rotation), i * 0.1));
+    }
+
+    assertEquals(100, points.size());
+    assertEquals(42.0, points.getX()[42]);
+    assertEquals(-42.0, points.getY()[42]);
+    assertEquals(new Pose2d(42, -42, Rotation2d.fromDegrees(294)), points.getPose(42));
+
+    var list = points.toList();
+    assertEquals(expected.size(), list.size());
+    for (int i = 0; i < list.size(); i++) {
+      assertEquals(expected.get(i).poseMeters, list.get(i).poseMeters);
+      assertEquals(expected.get(i).curvatureRadPerMeter, list.get(i).curvatureRadPerMeter);
+    }
+
+    var copy = new SplinePoints(list);
+    assertEquals(points.size(), copy.size());
+    assertEquals(points.getPose(99), copy.getPose(99));
+
+    points.clear();
+    assertEquals(0, points.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> points.getPose(0));
+  }
+
+  @Test
+  void testFlip() {
+    var flip = new Transform2d(Translation2d.kZero, Rotation2d.kPi);
+    var poses =
+        List.of(
+            new Pose2d(1, 2, Rotation2d.fromDegrees(30)), new Pose2d(-3, 4, Rotation2d.kCW_Pi_2));
+
+    var points = new SplinePoints();
+    for (var pose : poses) {
+      points.add(
+          pose.getX(), pose.getY(), pose.getRotation().getCos(), pose.getRotation().getSin(), 0.5);
+    }
+    points.flip();
+
+    for (int i = 0; i < poses.size(); i++) {
+      assertEquals(poses.get(i).plus(flip), points.getPose(i));
+      assertEquals(-0.5, points.getCurvature()[i]);
+    }
+  }
+}
@@ -4,10 +4,14 @@
 
 package edu.wpi.first.math.trajectory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.spline.SplinePoints;
 import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
 import edu.wpi.first.math.util.Units;
+import java.util.Arrays;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
@@ -33,4 +37,25 @@ class CentripetalAccelerationConstraintTest {
       assertTrue(centripetalAcceleration <= maxCentripetalAcceleration + 0.05);
     }
   }
+
+  @Test
+  void testMaxVelocitiesMatchMaxVelocity() {
+    var constraint = new CentripetalAccelerationConstraint(2.0);
+    var points = new SplinePoints();
+    for (int i = 0; i < 10; i++) {
+      points.add(i, 0, 1, 0, i * 0.25 - 1);
+    }
+    var poses = new Pose2d[points.size()];
+    for (int i = 0; i < poses.length; i++) {
+      poses[i] = points.getPose(i);
+    }
+    var velocities = new double[points.size()];
+    Arrays.fill(velocities, 3.0);
+    constraint.getMaxVelocitiesMetersPerSecond(points, poses, velocities);
+    for (int i = 0; i < points.size(); i++) {
+      assertEquals(
+          constraint.getMaxVelocityMetersPerSecond(poses[i], points.getCurvature()[i], 3.0),
+          velocities[i]);
+    }
+  }
 }
@@ -0,0 +1,101 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.spline.SplineHelper;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrajectoryBatchTest {
+  private static final TrajectoryConfig kConfig = new TrajectoryConfig(3, 2);
+
+  @TempDir Path m_directory;
+
+  private static TrajectoryBatch createBatch(List<Trajectory> expected) {
+    var batch = new TrajectoryBatch();
+    for (int i = 0; i < 8; i++) {
+      var waypoints =
+          List.of(
+              Pose2d.kZero,
+              new Pose2d(1 + i * 0.5, 1, Rotation2d.fromDegrees(30)),
+              new Pose2d(3 + i, 0, Rotation2d.kZero));
+      batch.add(waypoints, kConfig);
+      expected.add(TrajectoryGenerator.generateTrajectory(waypoints, kConfig));
+    }
+
+    var start = Pose2d.kZero;
+    var interior = List.of(new Translation2d(1, 1));
+    var end = new Pose2d(3, 0, Rotation2d.kZero);
+    batch.add(start, interior, end, kConfig);
+    expected.add(TrajectoryGenerator.generateTrajectory(start, interior, end, kConfig));
+
+    var controlVectors =
+        SplineHelper.getCubicControlVectorsFromWaypoints(
+            start, interior.toArray(new Translation2d[0]), end);
+    batch.add(controlVectors[0], interior, controlVectors[1], kConfig);
+    expected.add(
+        TrajectoryGenerator.generateTrajectory(
+            controlVectors[0], interior, controlVectors[1], kConfig));
+
+    var quintic = new TrajectoryGenerator.ControlVectorList();
+    quintic.add(new Spline.ControlVector(new double[] {0, 1, 0}, new double[] {0, 0, 0}));
+    quintic.add(new Spline.ControlVector(new double[] {2, 0, 0}, new double[] {2, 1, 0}));
+    batch.add(quintic, kConfig);
+    expected.add(TrajectoryGenerator.generateTrajectory(quintic, kConfig));
+    return batch;
+  }
+
+  @Test
+  void testGenerateMatchesGenerator() {
+    var expected = new ArrayList<Trajectory>();
+    var batch = createBatch(expected);
+    assertEquals(expected.size(), batch.size());
+    assertEquals(expected, batch.generate());
+  }
+
+  @Test
+  void testGenerateOnPool() {
+    var expected = new ArrayList<Trajectory>();
+    var batch = createBatch(expected);
+    var pool = new ForkJoinPool(4);
+    try {
+      assertEquals(expected, batch.generate(pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testGenerateWithCache() {
+    var expected = new ArrayList<Trajectory>();
+    var cache = new TrajectoryCache(m_directory);
+    var batch = createBatch(expected).setCache(cache);
+
+    assertEquals(expected, batch.generate());
+
+    // The cubic trajectories from poses and from control vectors share a file, so one of them may
+    // have been loaded already.
+    int hits = cache.getHits();
+    assertTrue(hits <= 1);
+    assertEquals(expected, batch.generate());
+    assertEquals(hits + batch.size(), cache.getHits());
+  }
+
+  @Test
+  void testEmptyBatch() {
+    assertEquals(List.of(), new TrajectoryBatch().generate());
+  }
+}
@@ -0,0 +1,104 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.trajectory.constraint.DifferentialDriveKinematicsConstraint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrajectoryBinaryTest {
+  @TempDir Path m_directory;
+
+  private static Trajectory getTrajectory() {
+    return TrajectoryGeneratorTest.getTrajectory(
+        List.of(
+            new DifferentialDriveKinematicsConstraint(new DifferentialDriveKinematics(0.5), 3)));
+  }
+
+  @Test
+  void testRoundTrip() throws IOException {
+    var trajectory = getTrajectory();
+    var file = m_directory.resolve("trajectory.traj");
+    TrajectoryUtil.toBinary(trajectory, file);
+
+    assertEquals(16 + 56 * trajectory.getStates().size(), Files.size(file));
+    assertEquals(trajectory.getStates(), TrajectoryUtil.fromBinary(file).getStates());
+  }
+
+  @Test
+  void testSamplerMatchesTrajectory() throws IOException {
+    var trajectory = getTrajectory();
+    var file = m_directory.resolve("trajectory.traj");
+    TrajectoryUtil.toBinary(trajectory, file);
+
+    var loaded = TrajectoryUtil.fromBinary(file);
+    var expected = new TrajectorySampler(loaded);
+    var sampler = TrajectoryUtil.samplerFromBinary(file);
+    assertEquals(trajectory.getTotalTimeSeconds(), sampler.getTotalTimeSeconds());
+
+    var out = new Trajectory.State();
+    for (double t = -0.1; t < trajectory.getTotalTimeSeconds() + 0.1; t += 0.02) {
+      assertEquals(expected.sample(t), sampler.sample(t));
+      sampler.sampleInto(t, out);
+      assertEquals(expected.sample(t), out);
+    }
+
+    // The first and last states are created from the file when they're first sampled
+    var states = loaded.getStates();
+    assertEquals(states.get(0), sampler.sample(0.0));
+    assertEquals(states.get(states.size() - 1), sampler.sample(loaded.getTotalTimeSeconds()));
+  }
+
+  @Test
+  void testMalformedFiles() throws IOException {
+    var file = m_directory.resolve("trajectory.traj");
+    TrajectoryUtil.toBinary(getTrajectory(), file);
+    byte[] bytes = Files.readAllBytes(file);
+
+    // Truncated
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+    assertThrows(
+        TrajectoryUtil.TrajectorySerializationException.class,
+        () -> TrajectoryUtil.fromBinary(file));
+    assertThrows(
+        TrajectoryUtil.TrajectorySerializationException.class,
+        () -> TrajectoryUtil.samplerFromBinary(file));
+
+    // Wrong magic number
+    bytes[0] = 0;
+    Files.write(file, bytes);
+    assertThrows(
+        TrajectoryUtil.TrajectorySerializationException.class,
+        () -> TrajectoryUtil.fromBinary(file));
+
+    // Empty
+    Files.write(file, new byte[0]);
+    assertThrows(
+        TrajectoryUtil.TrajectorySerializationException.class,
+        () -> TrajectoryUtil.samplerFromBinary(file));
+  }
+
+  @Test
+  void testConvertPathweaverJson() throws IOException {
+    var trajectory = getTrajectory();
+    var json = m_directory.resolve("trajectory.wpilib.json");
+    var binary = m_directory.resolve("trajectory.traj");
+    TrajectoryUtil.toPathweaverJson(trajectory, json);
+
+    TrajectoryUtil.convertPathweaverJson(json, binary);
+    assertEquals(
+        TrajectoryUtil.fromPathweaverJson(json).getStates(),
+        TrajectoryUtil.fromBinary(binary).getStates());
+  }
+}
@@ -0,0 +1,236 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.geometry.Ellipse2d;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rectangle2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.kinematics.MecanumDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.math.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import edu.wpi.first.math.trajectory.constraint.EllipticalRegionConstraint;
+import edu.wpi.first.math.trajectory.constraint.MaxVelocityConstraint;
+import edu.wpi.first.math.trajectory.constraint.RectangularRegionConstraint;
+import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrajectoryCacheTest {
+  private static final List<Pose2d> kWaypoints =
+      List.of(
+          Pose2d.kZero,
+          new Pose2d(2, 1, Rotation2d.fromDegrees(45)),
+          new Pose2d(4, 0, Rotation2d.kZero));
+
+  @TempDir Path m_directory;
+
+  private long countFiles() throws IOException {
+    if (!Files.exists(m_directory)) {
+      return 0;
+    }
+    try (Stream<Path> files = Files.list(m_directory)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  void testStoresAndLoads() throws IOException {
+    var cache = new TrajectoryCache(m_directory.resolve("trajectories"));
+    var config = new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(1));
+
+    var generated = cache.generateTrajectory(kWaypoints, config);
+    assertEquals(0, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(TrajectoryGenerator.generateTrajectory(kWaypoints, config), generated);
+
+    var loaded = cache.generateTrajectory(kWaypoints, config);
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(generated, loaded);
+
+    // A new cache in the same directory, as after a restart, loads the file too
+    var restarted = new TrajectoryCache(m_directory.resolve("trajectories"));
+    assertEquals(generated, restarted.generateTrajectory(kWaypoints, config));
+    assertEquals(1, restarted.getHits());
+
+    // The cubic overloads share a file
+    var interior = List.of(new Translation2d(2, 1));
+    var start = kWaypoints.get(0);
+    var end = kWaypoints.get(2);
+    var cubic = cache.generateTrajectory(start, interior, end, config);
+    assertEquals(TrajectoryGenerator.generateTrajectory(start, interior, end, config), cubic);
+    assertEquals(2, cache.getMisses());
+    cache.generateTrajectory(start, interior, end, config);
+    assertEquals(2, cache.getHits());
+  }
+
+  @Test
+  void testKeyCoversConfigAndConstraints() {
+    var kinematics =
+        new SwerveDriveKinematics(
+            new Translation2d(0.3, 0.3),
+            new Translation2d(0.3, -0.3),
+            new Translation2d(-0.3, 0.3),
+            new Translation2d(-0.3, -0.3));
+    var config = new TrajectoryConfig(3, 2).setKinematics(kinematics);
+    var key = TrajectoryCache.hash(kWaypoints, config);
+    assertNotNull(key);
+
+    // Equal inputs in different objects have the same key
+    assertEquals(
+        key,
+        TrajectoryCache.hash(
+            List.copyOf(kWaypoints), new TrajectoryConfig(3, 2).setKinematics(kinematics)));
+
+    // Changing anything changes the key
+    assertNotEquals(key, TrajectoryCache.hash(kWaypoints.subList(0, 2), config));
+    assertNotEquals(key, TrajectoryCache.hash(kWaypoints, new TrajectoryConfig(3, 2)));
+    assertNotEquals(
+        key,
+        TrajectoryCache.hash(
+            kWaypoints, new TrajectoryConfig(3, 2).setKinematics(kinematics).setReversed(true)));
+    assertNotEquals(
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(1))),
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(2))));
+
+    // So does changing the drive geometry
+    assertNotEquals(
+        key,
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .setKinematics(
+                    new MecanumDriveKinematics(
+                        new Translation2d(0.3, 0.3),
+                        new Translation2d(0.3, -0.3),
+                        new Translation2d(-0.3, 0.3),
+                        new Translation2d(-0.3, -0.3)))));
+    assertNotEquals(
+        key,
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .setKinematics(
+                    new SwerveDriveKinematics(
+                        new Translation2d(0.3, 0.3),
+                        new Translation2d(0.3, -0.3),
+                        new Translation2d(-0.3, 0.3),
+                        new Translation2d(-0.3, -0.4)))));
+
+    // Region constraints cover both the region and the constraint in it
+    var region = new Rectangle2d(new Translation2d(1, 0), new Translation2d(3, 2));
+    var regionKey =
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .addConstraint(
+                    new RectangularRegionConstraint(region, new MaxVelocityConstraint(1))));
+    assertNotNull(regionKey);
+    assertNotEquals(
+        regionKey,
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .addConstraint(
+                    new RectangularRegionConstraint(region, new MaxVelocityConstraint(2)))));
+    assertNotEquals(
+        regionKey,
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .addConstraint(
+                    new RectangularRegionConstraint(
+                        new Rectangle2d(new Translation2d(1, 0), new Translation2d(3, 3)),
+                        new MaxVelocityConstraint(1)))));
+
+    var feedforward = new SimpleMotorFeedforward(0.2, 2.5, 0.3);
+    var voltageConfig =
+        new TrajectoryConfig(3, 2)
+            .addConstraint(
+                new DifferentialDriveVoltageConstraint(
+                    feedforward, new DifferentialDriveKinematics(0.6), 10));
+    var voltageKey = TrajectoryCache.hash(kWaypoints, voltageConfig);
+    assertNotNull(voltageKey);
+    feedforward.setKv(2.6);
+    assertNotEquals(voltageKey, TrajectoryCache.hash(kWaypoints, voltageConfig));
+  }
+
+  @Test
+  void testUnhashableConstraintBypassesCache() throws IOException {
+    // A constraint without a cache key can't be cached, even inside a region constraint
+    var constraint =
+        new TrajectoryConstraint() {
+          @Override
+          public double getMaxVelocityMetersPerSecond(
+              Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            return 1.0;
+          }
+
+          @Override
+          public MinMax getMinMaxAccelerationMetersPerSecondSq(
+              Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            return new MinMax();
+          }
+        };
+    var config = new TrajectoryConfig(3, 2).addConstraint(constraint);
+    assertNull(TrajectoryCache.hash(kWaypoints, config));
+    assertNull(
+        TrajectoryCache.hash(
+            kWaypoints,
+            new TrajectoryConfig(3, 2)
+                .addConstraint(
+                    new EllipticalRegionConstraint(
+                        new Ellipse2d(Pose2d.kZero, 1, 1), constraint))));
+
+    var cache = new TrajectoryCache(m_directory);
+    assertEquals(
+        TrajectoryGenerator.generateTrajectory(kWaypoints, config),
+        cache.generateTrajectory(kWaypoints, config));
+    cache.generateTrajectory(kWaypoints, config);
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(0, countFiles());
+  }
+
+  @Test
+  void testBadFilesAreMisses() throws IOException {
+    var cache = new TrajectoryCache(m_directory);
+    var config = new TrajectoryConfig(3, 2);
+    var file = m_directory.resolve(TrajectoryCache.hash("poses", kWaypoints, config) + ".traj");
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+
+    var trajectory = cache.generateTrajectory(kWaypoints, config);
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, countFiles());
+
+    // The bad file was replaced
+    assertEquals(trajectory, cache.generateTrajectory(kWaypoints, config));
+    assertEquals(1, cache.getHits());
+
+    // A failed generation isn't stored
+    var malformed = List.of(Pose2d.kZero, new Pose2d(1, 0, Rotation2d.kPi));
+    assertEquals(1, cache.generateTrajectory(malformed, config).getStates().size());
+    assertEquals(1, countFiles());
+  }
+}
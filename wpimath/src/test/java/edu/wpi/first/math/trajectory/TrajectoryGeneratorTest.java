@@ -11,9 +11,16 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rectangle2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.SplineHelper;
+import edu.wpi.first.math.spline.SplineParameterizer;
+import edu.wpi.first.math.spline.SplinePoints;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.math.trajectory.constraint.MaxVelocityConstraint;
+import edu.wpi.first.math.trajectory.constraint.RectangularRegionConstraint;
 import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
 import java.util.ArrayList;
 import java.util.List;
@@ -93,4 +100,31 @@ class TrajectoryGeneratorTest {
       assertNotEquals(0, t.getStates().get(i).curvatureRadPerMeter);
     }
   }
+
+  @Test
+  void testPrimitiveParameterizationMatchesList() {
+    var splines =
+        SplineHelper.getQuinticSplinesFromWaypoints(
+            List.of(
+                Pose2d.kZero,
+                new Pose2d(2, 1, Rotation2d.fromDegrees(45)),
+                new Pose2d(4, 0, Rotation2d.kZero)));
+    List<TrajectoryConstraint> constraints =
+        List.of(
+            new CentripetalAccelerationConstraint(1.0),
+            new RectangularRegionConstraint(
+                new Rectangle2d(new Translation2d(1, 0), new Translation2d(3, 2)),
+                new MaxVelocityConstraint(0.5)));
+
+    var list = TrajectoryGenerator.splinePointsFromSplines(splines);
+    var points = new SplinePoints();
+    SplineParameterizer.parameterize(splines, points);
+    assertEquals(list.size(), points.size());
+
+    var expected =
+        TrajectoryParameterizer.timeParameterizeTrajectory(list, constraints, 0, 0, 3, 2, false);
+    var actual =
+        TrajectoryParameterizer.timeParameterizeTrajectory(points, constraints, 0, 0, 3, 2, false);
+    assertEquals(expected, actual);
+  }
 }
@@ -0,0 +1,179 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TrajectoryPlanTest {
+  private static final TrajectoryConfig kConfig = new TrajectoryConfig(3, 2);
+  private static final List<Pose2d> kWaypoints =
+      List.of(
+          Pose2d.kZero,
+          new Pose2d(2, 1, Rotation2d.fromDegrees(45)),
+          new Pose2d(4, 0, Rotation2d.kZero));
+
+  @Test
+  void testCompletedPlan() {
+    var trajectory = TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig);
+    var plan = new TrajectoryPlan(trajectory);
+    assertTrue(plan.isReady());
+    assertFalse(plan.isFailed());
+    assertSame(trajectory, plan.getFirstTrajectory().join());
+    assertSame(trajectory, plan.getTrajectory().join());
+    assertEquals(trajectory.getTotalTimeSeconds(), plan.getTotalTimeSeconds());
+
+    var state = new Trajectory.State();
+    for (double t = 0.0; t < trajectory.getTotalTimeSeconds() + 0.5; t += 0.02) {
+      assertTrue(plan.sampleInto(t, state));
+      assertEquals(trajectory.sample(t), state);
+    }
+
+    // Cancelling a finished plan has no effect
+    plan.cancel();
+    assertFalse(plan.isCancelled());
+    assertTrue(plan.isReady());
+  }
+
+  @Test
+  void testNotReady() {
+    var plan = new TrajectoryPlan();
+    var state = new Trajectory.State();
+    assertFalse(plan.isReady());
+    assertFalse(plan.sampleInto(0.0, state));
+    assertEquals(new Trajectory.State(), state);
+    assertEquals(Double.POSITIVE_INFINITY, plan.getTotalTimeSeconds());
+
+    plan.fail(new IllegalStateException());
+    assertTrue(plan.isFailed());
+    assertTrue(plan.getTrajectory().isCompletedExceptionally());
+    assertFalse(plan.isReady());
+  }
+
+  @Test
+  void testSwitchesToRefinedTrajectory() {
+    var splines = TrajectoryGenerator.getQuinticSplines(kWaypoints, kConfig);
+    var coarse = TrajectoryGenerator.generateTrajectory(splines, kConfig, 4.0);
+    final var refined = TrajectoryGenerator.generateTrajectory(splines, kConfig, 1.0);
+
+    var plan = new TrajectoryPlan();
+    plan.complete(coarse, false);
+    assertTrue(plan.isReady());
+    assertSame(coarse, plan.getFirstTrajectory().join());
+    assertFalse(plan.getTrajectory().isDone());
+
+    final double switchTime = coarse.getTotalTimeSeconds() / 3.0;
+    var beforeSwitch = new Trajectory.State();
+    plan.sampleInto(switchTime, beforeSwitch);
+    assertEquals(coarse.sample(switchTime), beforeSwitch);
+
+    plan.complete(refined, true);
+    assertSame(refined, plan.getTrajectory().join());
+    var afterSwitch = new Trajectory.State();
+    plan.sampleInto(switchTime, afterSwitch);
+
+    // The refined trajectory is picked up where the coarse one left off, and followed in real time
+    // from there.
+    double refinedTime = afterSwitch.timeSeconds;
+    assertEquals(refined.sample(refinedTime), afterSwitch);
+    assertAll(
+        () ->
+            assertEquals(
+                0.0,
+                beforeSwitch
+                    .poseMeters
+                    .getTranslation()
+                    .getDistance(afterSwitch.poseMeters.getTranslation()),
+                0.05),
+        () ->
+            assertEquals(
+                beforeSwitch.velocityMetersPerSecond, afterSwitch.velocityMetersPerSecond, 0.05));
+
+    var state = new Trajectory.State();
+    plan.sampleInto(switchTime + 0.5, state);
+    assertEquals(refined.sample(refinedTime + 0.5), state);
+    assertEquals(
+        refined.getTotalTimeSeconds() - (refinedTime - switchTime),
+        plan.getTotalTimeSeconds(),
+        1e-9);
+
+    // After a reset, the refined trajectory is followed from the start
+    plan.reset();
+    plan.sampleInto(0.5, state);
+    assertEquals(refined.sample(0.5), state);
+    assertEquals(refined.getTotalTimeSeconds(), plan.getTotalTimeSeconds());
+  }
+
+  @Test
+  void testPoseContinuousAcrossSwitch() {
+    // A curvature-dependent constraint gives the coarse and refined trajectories different velocity
+    // profiles, so the same time lands at different places on the path
+    var config = new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(1));
+    var splines =
+        TrajectoryGenerator.getQuinticSplines(
+            List.of(
+                Pose2d.kZero,
+                new Pose2d(2, 2, Rotation2d.kCCW_Pi_2),
+                new Pose2d(0, 4, Rotation2d.kPi)),
+            config);
+    var coarse = TrajectoryGenerator.generateTrajectory(splines, config, 4.0);
+    var refined = TrajectoryGenerator.generateTrajectory(splines, config, 1.0);
+
+    var before = new Trajectory.State();
+    var after = new Trajectory.State();
+    for (double switchTime = 0.1; switchTime < coarse.getTotalTimeSeconds(); switchTime += 0.1) {
+      var plan = new TrajectoryPlan();
+      plan.complete(coarse, false);
+      plan.sampleInto(switchTime, before);
+      plan.complete(refined, true);
+      plan.sampleInto(switchTime, after);
+
+      // The coarse trajectory cuts corners, so its pose can be off the refined path. The pose after
+      // the switch should be the closest point on the refined path to the pose before it.
+      var position = before.poseMeters.getTranslation();
+      double closest = Double.POSITIVE_INFINITY;
+      for (double t = 0.0; t <= refined.getTotalTimeSeconds(); t += 0.001) {
+        closest =
+            Math.min(closest, refined.sample(t).poseMeters.getTranslation().getDistance(position));
+      }
+      assertEquals(
+          closest,
+          position.getDistance(after.poseMeters.getTranslation()),
+          2e-3,
+          "Pose jumped when switching at " + switchTime + " s");
+      assertEquals(
+          0.0,
+          before.poseMeters.getRotation().minus(after.poseMeters.getRotation()).getRadians(),
+          0.02);
+    }
+  }
+
+  @Test
+  void testCancelKeepsCoarseTrajectory() {
+    var coarse = TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig);
+
+    var plan = new TrajectoryPlan();
+    plan.complete(coarse, false);
+    plan.cancel();
+    assertTrue(plan.isCancelled());
+    assertTrue(plan.isReady());
+    assertFalse(plan.isFailed());
+    assertSame(coarse, plan.getFirstTrajectory().join());
+
+    // A refined trajectory that finishes after cancelling is dropped
+    plan.complete(TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig), true);
+    assertTrue(plan.getTrajectory().isCancelled());
+    assertEquals(coarse.getTotalTimeSeconds(), plan.getTotalTimeSeconds());
+  }
+}
@@ -0,0 +1,158 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.SplineParameterizer.MalformedSplineException;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.math.trajectory.constraint.TrajectoryConstraint;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TrajectoryPlannerTest {
+  private static final TrajectoryConfig kConfig =
+      new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(1));
+  private static final List<Pose2d> kWaypoints =
+      List.of(
+          Pose2d.kZero,
+          new Pose2d(2, 1, Rotation2d.fromDegrees(45)),
+          new Pose2d(4, 0, Rotation2d.kZero));
+
+  @Test
+  void testPlanMatchesGenerator() {
+    var planner = new TrajectoryPlanner(Runnable::run);
+    assertTrue(planner.isCoarseFirst());
+
+    var expected = TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig);
+    var plan = planner.plan(kWaypoints, kConfig);
+    assertEquals(expected, plan.getTrajectory().join());
+
+    // The coarse trajectory has fewer states, but follows the same path for about as long
+    var coarse = plan.getFirstTrajectory().join();
+    assertTrue(coarse.getStates().size() < expected.getStates().size());
+    assertEquals(expected.getTotalTimeSeconds(), coarse.getTotalTimeSeconds(), 0.05);
+    assertEquals(
+        expected.getStates().get(expected.getStates().size() - 1).poseMeters,
+        coarse.getStates().get(coarse.getStates().size() - 1).poseMeters);
+
+    var start = kWaypoints.get(0);
+    var interior = List.of(new Translation2d(2, 1));
+    var end = kWaypoints.get(2);
+    assertEquals(
+        TrajectoryGenerator.generateTrajectory(start, interior, end, kConfig),
+        planner.plan(start, interior, end, kConfig).getTrajectory().join());
+
+    var reversed = new TrajectoryConfig(3, 2).setReversed(true);
+    assertEquals(
+        TrajectoryGenerator.generateTrajectory(kWaypoints, reversed),
+        planner.plan(kWaypoints, reversed).getTrajectory().join());
+  }
+
+  @Test
+  void testWithoutCoarseTrajectory() {
+    var planner = new TrajectoryPlanner(Runnable::run).setCoarseFirst(false);
+    var plan = planner.plan(kWaypoints, kConfig);
+    assertSame(plan.getTrajectory().join(), plan.getFirstTrajectory().join());
+    assertEquals(
+        TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig), plan.getTrajectory().join());
+  }
+
+  @Test
+  void testCancelledPlanIsSkipped() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    var planner = new TrajectoryPlanner(tasks::add);
+
+    var cancelled = planner.plan(kWaypoints, kConfig);
+    var plan = planner.plan(kWaypoints, kConfig);
+    assertFalse(plan.isReady());
+    cancelled.cancel();
+
+    while (!tasks.isEmpty()) {
+      tasks.remove().run();
+    }
+    assertTrue(cancelled.isFailed());
+    assertFalse(cancelled.isReady());
+    assertTrue(plan.isReady());
+    assertNotSame(plan.getFirstTrajectory().join(), plan.getTrajectory().join());
+  }
+
+  @Test
+  void testFailedGeneration() {
+    var planner = new TrajectoryPlanner(Runnable::run);
+    var malformed = List.of(Pose2d.kZero, new Pose2d(1, 0, Rotation2d.kPi));
+    var plan = planner.plan(malformed, kConfig);
+
+    // Rather than a trajectory that stays still, a malformed path fails the plan
+    assertTrue(plan.isFailed());
+    assertFalse(plan.isReady());
+    var ex = assertThrows(CompletionException.class, () -> plan.getTrajectory().join());
+    assertInstanceOf(MalformedSplineException.class, ex.getCause());
+  }
+
+  @Test
+  void testFailedRefinementKeepsCoarseTrajectory() {
+    // A constraint that fails once it's been called more times than the coarse pass calls it
+    int[] calls = {0};
+    int[] limit = {Integer.MAX_VALUE};
+    var constraint =
+        new TrajectoryConstraint() {
+          @Override
+          public double getMaxVelocityMetersPerSecond(
+              Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            if (++calls[0] > limit[0]) {
+              throw new IllegalStateException("Too many points");
+            }
+            return Double.POSITIVE_INFINITY;
+          }
+
+          @Override
+          public MinMax getMinMaxAccelerationMetersPerSecondSq(
+              Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            return new MinMax();
+          }
+        };
+    var config = new TrajectoryConfig(3, 2).addConstraint(constraint);
+    TrajectoryGenerator.parameterizeTrajectory(
+        TrajectoryGenerator.getQuinticSplines(kWaypoints, config),
+        config,
+        TrajectoryPlanner.kCoarseToleranceScale);
+    limit[0] = calls[0];
+    calls[0] = 0;
+
+    var plan = new TrajectoryPlanner(Runnable::run).plan(kWaypoints, config);
+    assertFalse(plan.isFailed());
+    assertSame(plan.getFirstTrajectory().join(), plan.getTrajectory().join());
+    assertTrue(plan.getTrajectory().join().getStates().size() > 1);
+  }
+
+  @Test
+  void testBackgroundThread() throws Exception {
+    TrajectoryPlan plan;
+    try (var planner = new TrajectoryPlanner()) {
+      plan = planner.plan(kWaypoints, kConfig);
+      assertEquals(
+          TrajectoryGenerator.generateTrajectory(kWaypoints, kConfig),
+          plan.getTrajectory().get(10, TimeUnit.SECONDS));
+
+      planner.close();
+      assertTrue(planner.plan(kWaypoints, kConfig).isFailed());
+    }
+    assertTrue(plan.isReady());
+  }
+}
@@ -0,0 +1,148 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.math.trajectory;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TrajectorySamplerTest {
+  private static final double kEpsilon = 1E-9;
+
+  private static void assertStateEquals(Trajectory.State expected, Trajectory.State actual) {
+    assertAll(
+        () -> assertEquals(expected.timeSeconds, actual.timeSeconds, kEpsilon),
+        () -> assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond, 1E-9),
+        () ->
+            assertEquals(
+                expected.accelerationMetersPerSecondSq,
+                actual.accelerationMetersPerSecondSq,
+                kEpsilon),
+        () -> assertEquals(expected.poseMeters.getX(), actual.poseMeters.getX(), kEpsilon),
+        () -> assertEquals(expected.poseMeters.getY(), actual.poseMeters.getY(), kEpsilon),
+        () ->
+            assertEquals(
+                0.0,
+                expected
+                    .poseMeters
+                    .getRotation()
+                    .minus(actual.poseMeters.getRotation())
+                    .getRadians(),
+                kEpsilon),
+        () -> assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter, kEpsilon));
+  }
+
+  @Test
+  void testMonotonicSamplesMatchTrajectory() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var sampler = new TrajectorySampler(trajectory);
+    var out = new Trajectory.State();
+    for (double t = -0.1; t < trajectory.getTotalTimeSeconds() + 0.1; t += 0.02) {
+      var expected = trajectory.sample(t);
+      assertStateEquals(expected, sampler.sample(t));
+      sampler.sampleInto(t, out);
+      assertStateEquals(expected, out);
+    }
+  }
+
+  @Test
+  void testRandomSamplesMatchTrajectory() {
+    var trajectory =
+        TrajectoryGenerator.generateTrajectory(
+            Pose2d.kZero,
+            List.of(),
+            new Pose2d(3, 2, Rotation2d.fromDegrees(170)),
+            new TrajectoryConfig(2, 2));
+    var sampler = new TrajectorySampler(trajectory);
+    var rand = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      double t = rand.nextDouble() * (trajectory.getTotalTimeSeconds() + 1.0) - 0.5;
+      assertStateEquals(trajectory.sample(t), sampler.sample(t));
+    }
+  }
+
+  @Test
+  void testEndpointsReturnStates() {
+    var trajectory =
+        TrajectoryGenerator.generateTrajectory(
+            Pose2d.kZero,
+            List.of(),
+            new Pose2d(1, 0, Rotation2d.kZero),
+            new TrajectoryConfig(1, 1));
+    var sampler = new TrajectorySampler(trajectory);
+    var states = trajectory.getStates();
+    assertSame(states.get(0), sampler.sample(-1));
+    assertSame(states.get(states.size() - 1), sampler.sample(100));
+    assertStateEquals(states.get(3), sampler.sample(states.get(3).timeSeconds));
+    assertEquals(trajectory.getTotalTimeSeconds(), sampler.getTotalTimeSeconds());
+
+    var out = new Trajectory.State();
+    sampler.sampleInto(states.get(5).timeSeconds, out);
+    assertStateEquals(states.get(5), out);
+    sampler.sampleInto(100, out);
+    assertEquals(states.get(states.size() - 1), out);
+
+    // Sampling backwards after a reset still works
+    sampler.reset();
+    assertStateEquals(trajectory.sample(0.5), sampler.sample(0.5));
+    assertStateEquals(trajectory.sample(0.1), sampler.sample(0.1));
+  }
+
+  @Test
+  void testHeadingWrapsAcrossSeam() {
+    // Turning from 179° to -179° passes through 180°, where an unwrapped sum would leave (-π, π].
+    var trajectory =
+        new Trajectory(
+            List.of(
+                new Trajectory.State(0, 1, 0, new Pose2d(0, 0, Rotation2d.fromDegrees(179)), 0),
+                new Trajectory.State(1, 1, 0, new Pose2d(1, 0, Rotation2d.fromDegrees(-179)), 0)));
+    var sampler = new TrajectorySampler(trajectory);
+
+    assertEquals(
+        Math.toRadians(-179.5), sampler.sample(0.75).poseMeters.getRotation().getRadians(), 1E-9);
+    assertEquals(
+        Math.toRadians(179.5), sampler.sample(0.25).poseMeters.getRotation().getRadians(), 1E-9);
+    assertStateEquals(trajectory.sample(0.75), sampler.sample(0.75));
+  }
+
+  @Test
+  void testDistanceAndTimeAreInverses() {
+    for (boolean reversed : new boolean[] {false, true}) {
+      var trajectory =
+          TrajectoryGenerator.generateTrajectory(
+              List.of(Pose2d.kZero, new Pose2d(3, 2, Rotation2d.kCCW_Pi_2)),
+              new TrajectoryConfig(3, 2).setReversed(reversed));
+      var sampler = new TrajectorySampler(trajectory);
+      double lastDistance = 0.0;
+      for (double t = 0.0; t < trajectory.getTotalTimeSeconds(); t += 0.02) {
+        double distance = sampler.getDistanceAt(t);
+        assertTrue(distance >= lastDistance);
+        lastDistance = distance;
+        assertEquals(t, sampler.getTimeAtDistance(distance), 1E-6);
+      }
+      assertEquals(
+          sampler.getTotalDistanceMeters(),
+          sampler.getDistanceAt(trajectory.getTotalTimeSeconds()),
+          kEpsilon);
+      assertEquals(
+          trajectory.getTotalTimeSeconds(),
+          sampler.getTimeAtDistance(sampler.getTotalDistanceMeters() + 1.0));
+    }
+  }
+
+  @Test
+  void testEmptyTrajectory() {
+    assertThrows(IllegalArgumentException.class, () -> new TrajectorySampler(new Trajectory()));
+  }
+}
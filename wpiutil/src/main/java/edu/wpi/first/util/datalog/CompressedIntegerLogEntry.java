@@ -0,0 +1,119 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import edu.wpi.first.util.WPIUtilJNI;
+
+/**
+ * Log integer values with compression. Values and timestamps are delta-of-delta compressed, so
+ * values that change at a steady rate (e.g. encoder counts) take a few bits per sample.
+ *
+ * <p>Values are buffered and written to the log in blocks of up to 1024 values or 1 second, so
+ * recently appended values aren't in the log until the block is full, {@link #flush()} is called,
+ * the log is flushed or closed, or the entry is finished. Each block is one record with the
+ * timestamp of its first value, written when the block ends, so the records are out of timestamp
+ * order relative to other entries' records. Use {@link DataLogReader#decompressed()} to read the
+ * values back as regular integer records.
+ */
+public class CompressedIntegerLogEntry extends DataLogEntry {
+  /** The data type for compressed integer values. */
+  public static final String kDataType = DataLogCompression.kTypePrefix + IntegerLogEntry.kDataType;
+
+  private final DataLogCompression.Encoder m_encoder =
+      new DataLogCompression.Encoder(IntegerLogEntry.kDataType);
+
+  /**
+   * Constructs a compressed integer log entry.
+   *
+   * @param log datalog
+   * @param name name of the entry
+   * @param metadata metadata
+   * @param timestamp entry creation timestamp (0=now)
+   */
+  public CompressedIntegerLogEntry(DataLog log, String name, String metadata, long timestamp) {
+    super(log, name, kDataType, metadata, timestamp);
+    log.addBufferedEntry(this);
+  }
+
+  /**
+   * Constructs a compressed integer log entry.
+   *
+   * @param log datalog
+   * @param name name of the entry
+   * @param metadata metadata
+   */
+  public CompressedIntegerLogEntry(DataLog log, String name, String metadata) {
+    this(log, name, metadata, 0);
+  }
+
+  /**
+   * Constructs a compressed integer log entry.
+   *
+   * @param log datalog
+   * @param name name of the entry
+   * @param timestamp entry creation timestamp (0=now)
+   */
+  public CompressedIntegerLogEntry(DataLog log, String name, long timestamp) {
+    this(log, name, "", timestamp);
+  }
+
+  /**
+   * Constructs a compressed integer log entry.
+   *
+   * @param log datalog
+   * @param name name of the entry
+   */
+  public CompressedIntegerLogEntry(DataLog log, String name) {
+    this(log, name, 0);
+  }
+
+  /**
+   * Appends a record to the log.
+   *
+   * @param value Value to record
+   * @param timestamp Time stamp (0 to indicate now)
+   */
+  public synchronized void append(long value, long timestamp) {
+    m_encoder.addInteger(value, timestamp != 0 ? timestamp : WPIUtilJNI.now());
+    if (m_encoder.isFull()) {
+      flush();
+    }
+  }
+
+  /**
+   * Appends a record to the log.
+   *
+   * @param value Value to record
+   */
+  public void append(long value) {
+    append(value, 0);
+  }
+
+  /** Writes any buffered values to the log. */
+  public synchronized void flush() {
+    long timestamp = m_encoder.getFirstTimestamp();
+    byte[] block = m_encoder.finishBlock();
+    if (block != null) {
+      m_log.appendRaw(m_entry, block, timestamp);
+    }
+  }
+
+  /**
+   * Finishes the entry, after writing any buffered values to the log.
+   *
+   * @param timestamp Time stamp (0 to indicate now)
+   */
+  @Override
+  public void finish(long timestamp) {
+    m_log.removeBufferedEntry(this);
+    flush();
+    super.finish(timestamp);
+  }
+
+  @Override
+  void flushBuffered() {
+    flush();
+  }
+}
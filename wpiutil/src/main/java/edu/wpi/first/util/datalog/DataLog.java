@@ -8,8 +8,10 @@ import edu.wpi.first.util.WPIUtilJNI;
 import edu.wpi.first.util.protobuf.Protobuf;
 import edu.wpi.first.util.struct.Struct;
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -39,6 +41,7 @@ public class DataLog implements AutoCloseable {
 
   /** Explicitly flushes the log data to disk. */
   public void flush() {
+    flushBufferedEntries();
     DataLogJNI.flush(m_impl);
   }
 
@@ -57,6 +60,7 @@ public class DataLog implements AutoCloseable {
 
   /** Stops appending all records to the log, and closes the log file. */
   public void stop() {
+    flushBufferedEntries();
     DataLogJNI.stop(m_impl);
   }
 
@@ -271,6 +275,7 @@ public class DataLog implements AutoCloseable {
 
   @Override
   public void close() {
+    flushBufferedEntries();
     DataLogJNI.close(m_impl);
     m_impl = 0;
   }
@@ -443,6 +448,23 @@ public class DataLog implements AutoCloseable {
     return m_impl;
   }
 
+  // Entries that buffer values (e.g. compressed entries) are flushed when the log is flushed,
+  // stopped, or closed
+  void addBufferedEntry(DataLogEntry entry) {
+    m_bufferedEntries.add(entry);
+  }
+
+  void removeBufferedEntry(DataLogEntry entry) {
+    m_bufferedEntries.remove(entry);
+  }
+
+  void flushBufferedEntries() {
+    // Copy so entries are flushed without holding the set's lock
+    for (DataLogEntry entry : m_bufferedEntries.toArray(new DataLogEntry[0])) {
+      entry.flushBuffered();
+    }
+  }
+
   private void addSchemaImpl(Struct<?> struct, long timestamp, Set<String> seen) {
     String typeString = struct.getTypeString();
     if (hasSchema(typeString)) {
@@ -462,4 +484,8 @@ public class DataLog implements AutoCloseable {
   protected long m_impl;
 
   private final ConcurrentMap<String, Integer> m_schemaMap = new ConcurrentHashMap<>();
+
+  // Weak so entries that are never finished can still be garbage collected
+  private final Set<DataLogEntry> m_bufferedEntries =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 }
@@ -0,0 +1,296 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A batch of records that are appended to a data log together, with a single timestamp.
+ *
+ * <p>Each append to a {@link DataLog} crosses into native code. When many entries are logged at
+ * once (for example, once per robot loop), accumulating the records in a batch and committing it
+ * appends all of them with a single native call. Records are encoded exactly as the corresponding
+ * {@link DataLog} append functions would encode them, so the resulting log is the same as if each
+ * record had been appended individually with the commit timestamp.
+ *
+ * <p>Records are buffered in Java memory until {@link #commit(long)} is called; nothing is written
+ * to the log before then. The buffer grows as needed and is reused after each commit.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class DataLogBatch {
+  private static final int kDefaultCapacity = 4096;
+
+  // Size of the record header: entry index and payload length
+  private static final int kHeaderSize = 8;
+
+  private final DataLog m_log;
+  private ByteBuffer m_buf;
+  private int m_count;
+
+  /**
+   * Constructs an empty batch.
+   *
+   * @param log datalog the batch is committed to
+   */
+  public DataLogBatch(DataLog log) {
+    this(log, kDefaultCapacity);
+  }
+
+  /**
+   * Constructs an empty batch.
+   *
+   * @param log datalog the batch is committed to
+   * @param initialCapacity initial buffer capacity, in bytes
+   * @throws IllegalArgumentException if initialCapacity is negative
+   */
+  public DataLogBatch(DataLog log, int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException(
+          "initialCapacity must be nonnegative, got " + initialCapacity);
+    }
+    m_log = log;
+    m_buf = ByteBuffer.allocateDirect(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Gets the datalog the batch is committed to.
+   *
+   * @return datalog
+   */
+  public DataLog getLog() {
+    return m_log;
+  }
+
+  /**
+   * Gets the number of records waiting to be committed.
+   *
+   * @return number of records
+   */
+  public int getCount() {
+    return m_count;
+  }
+
+  /**
+   * Gets the total size of the records waiting to be committed, including per-record overhead.
+   *
+   * @return size in bytes
+   */
+  public int getSize() {
+    return m_buf.position();
+  }
+
+  /**
+   * Appends all records in the batch to the log with the same timestamp, then clears the batch.
+   * Does nothing if the batch is empty.
+   *
+   * @param timestamp Time stamp (0 to indicate now)
+   */
+  public void commit(long timestamp) {
+    if (m_count == 0) {
+      return;
+    }
+    DataLogJNI.appendBatch(m_log.getImpl(), m_buf, m_buf.position(), timestamp);
+    clear();
+  }
+
+  /** Appends all records in the batch to the log with the current time, then clears the batch. */
+  public void commit() {
+    commit(0);
+  }
+
+  /** Discards all records in the batch without appending them to the log. */
+  public void clear() {
+    m_buf.clear();
+    m_count = 0;
+  }
+
+  /**
+   * Adds a raw record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param data Byte array to record
+   */
+  public void appendRaw(int entry, byte[] data) {
+    appendRaw(entry, data, 0, data.length);
+  }
+
+  /**
+   * Adds a raw record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param data Byte array to record
+   * @param start Start position of data (in byte array)
+   * @param len Length of data (must be less than or equal to data.length - start)
+   */
+  public void appendRaw(int entry, byte[] data, int start, int len) {
+    Objects.checkFromIndexSize(start, len, data.length);
+    startRecord(entry, len);
+    m_buf.put(data, start, len);
+  }
+
+  /**
+   * Adds a raw record to the batch. The data from the buffer's current position to its limit is
+   * recorded; the buffer's position is not changed.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param data ByteBuffer to record
+   */
+  public void appendRaw(int entry, ByteBuffer data) {
+    startRecord(entry, data.remaining());
+    m_buf.put(data.duplicate());
+  }
+
+  /**
+   * Adds a boolean record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param value Boolean value to record
+   */
+  public void appendBoolean(int entry, boolean value) {
+    startRecord(entry, 1);
+    m_buf.put((byte) (value ? 1 : 0));
+  }
+
+  /**
+   * Adds an integer record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param value Integer value to record
+   */
+  public void appendInteger(int entry, long value) {
+    startRecord(entry, 8);
+    m_buf.putLong(value);
+  }
+
+  /**
+   * Adds a float record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param value Float value to record
+   */
+  public void appendFloat(int entry, float value) {
+    startRecord(entry, 4);
+    m_buf.putFloat(value);
+  }
+
+  /**
+   * Adds a double record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param value Double value to record
+   */
+  public void appendDouble(int entry, double value) {
+    startRecord(entry, 8);
+    m_buf.putDouble(value);
+  }
+
+  /**
+   * Adds a string record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param value String value to record
+   */
+  public void appendString(int entry, String value) {
+    appendRaw(entry, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Adds a boolean array record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param arr Boolean array to record
+   */
+  public void appendBooleanArray(int entry, boolean[] arr) {
+    startRecord(entry, arr.length);
+    for (boolean value : arr) {
+      m_buf.put((byte) (value ? 1 : 0));
+    }
+  }
+
+  /**
+   * Adds an integer array record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param arr Integer array to record
+   */
+  public void appendIntegerArray(int entry, long[] arr) {
+    startRecord(entry, arr.length * 8);
+    for (long value : arr) {
+      m_buf.putLong(value);
+    }
+  }
+
+  /**
+   * Adds a float array record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param arr Float array to record
+   */
+  public void appendFloatArray(int entry, float[] arr) {
+    startRecord(entry, arr.length * 4);
+    for (float value : arr) {
+      m_buf.putFloat(value);
+    }
+  }
+
+  /**
+   * Adds a double array record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param arr Double array to record
+   */
+  public void appendDoubleArray(int entry, double[] arr) {
+    startRecord(entry, arr.length * 8);
+    for (double value : arr) {
+      m_buf.putDouble(value);
+    }
+  }
+
+  /**
+   * Adds a string array record to the batch.
+   *
+   * @param entry Entry index, as returned by {@link DataLog#start}
+   * @param arr String array to record
+   */
+  public void appendStringArray(int entry, String[] arr) {
+    byte[][] encoded = new byte[arr.length][];
+    int size = 4;
+    for (int i = 0; i < arr.length; i++) {
+      encoded[i] = arr[i].getBytes(StandardCharsets.UTF_8);
+      size += 4 + encoded[i].length;
+    }
+    startRecord(entry, size);
+    m_buf.putInt(arr.length);
+    for (byte[] str : encoded) {
+      m_buf.putInt(str.length);
+      m_buf.put(str);
+    }
+  }
+
+  /**
+   * Writes a record header and makes room for its payload.
+   *
+   * @param entry Entry index
+   * @param len Payload length
+   */
+  private void startRecord(int entry, int len) {
+    int required = m_buf.position() + kHeaderSize + len;
+    if (required > m_buf.capacity()) {
+      ByteBuffer buf =
+          ByteBuffer.allocateDirect(Math.max(required, m_buf.capacity() * 2))
+              .order(ByteOrder.LITTLE_ENDIAN);
+      m_buf.flip();
+      buf.put(m_buf);
+      m_buf = buf;
+    }
+    m_buf.putInt(entry);
+    m_buf.putInt(len);
+    m_count++;
+  }
+}
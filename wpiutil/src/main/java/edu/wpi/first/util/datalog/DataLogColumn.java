@@ -0,0 +1,333 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A memory mapped column of values written by {@link DataLogColumnExporter}.
+ *
+ * <p>A column file holds a single array of fixed-size values, split into chunks. Each chunk is
+ * either stored as-is, in which case values are read straight from the mapped file, or deflate
+ * compressed, in which case the chunk is decompressed the first time one of its values is read. The
+ * most recently decompressed chunk is cached, so scanning a column in order decompresses each chunk
+ * once.
+ *
+ * <p>The file format is little endian:
+ *
+ * <ul>
+ *   <li>Header: "WPICOL" magic, version (2 bytes, 0x0100), value type (1 byte), compression (1
+ *       byte, 0 for none or 1 for deflate), 2 reserved bytes, values per chunk (4 bytes), value
+ *       count (8 bytes), chunk count (4 bytes), chunk table offset (8 bytes)
+ *   <li>Chunk data
+ *   <li>Chunk table: for each chunk, its file offset (8 bytes), stored length (4 bytes), and value
+ *       count (4 bytes). A chunk whose stored length equals its uncompressed length is stored
+ *       as-is.
+ * </ul>
+ *
+ * <p>A column should be closed when it's no longer needed, to release the decompressor's native
+ * memory. The file stays mapped until the column is garbage collected.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class DataLogColumn implements AutoCloseable {
+  /** Column value type. */
+  public enum Type {
+    /** 64-bit signed integer. */
+    kInt64(8),
+    /** 32-bit floating point. */
+    kFloat(4),
+    /** 64-bit floating point. */
+    kDouble(8),
+    /** Boolean, stored as one byte. */
+    kBoolean(1);
+
+    /** Size of one value, in bytes. */
+    @SuppressWarnings("MemberName")
+    public final int size;
+
+    Type(int size) {
+      this.size = size;
+    }
+  }
+
+  static final int kHeaderSize = 36;
+  static final int kChunkTableEntrySize = 16;
+  static final short kVersion = 0x0100;
+  static final byte kCompressionNone = 0;
+  static final byte kCompressionDeflate = 1;
+
+  private final Type m_type;
+  private final boolean m_compressed;
+  private final int m_chunkSize;
+  private final int m_count;
+  private ByteBuffer m_map;
+  private final long[] m_chunkOffsets;
+  private final int[] m_chunkLengths;
+
+  private int m_cachedChunk = -1;
+  private ByteBuffer m_cachedData;
+  private Inflater m_inflater;
+
+  /**
+   * Opens a column file.
+   *
+   * @param file column file
+   * @throws IOException if the file can't be read or isn't a valid column file
+   */
+  public DataLogColumn(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < kHeaderSize || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(file + " is not a valid column file");
+      }
+      m_map =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+              .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    if (m_map.get(0) != 'W'
+        || m_map.get(1) != 'P'
+        || m_map.get(2) != 'I'
+        || m_map.get(3) != 'C'
+        || m_map.get(4) != 'O'
+        || m_map.get(5) != 'L'
+        || m_map.getShort(6) != kVersion) {
+      throw new IOException(file + " is not a valid column file");
+    }
+    int type = m_map.get(8);
+    if (type < 0 || type >= Type.values().length) {
+      throw new IOException(file + " has unknown value type " + type);
+    }
+    m_type = Type.values()[type];
+    m_compressed = m_map.get(9) == kCompressionDeflate;
+    m_chunkSize = m_map.getInt(12);
+    long count = m_map.getLong(16);
+    int chunkCount = m_map.getInt(24);
+    long tableOffset = m_map.getLong(28);
+    if (count < 0
+        || count > Integer.MAX_VALUE
+        || chunkCount < 0
+        || tableOffset + (long) chunkCount * kChunkTableEntrySize > m_map.limit()) {
+      throw new IOException(file + " has an invalid chunk table");
+    }
+    m_count = (int) count;
+
+    m_chunkOffsets = new long[chunkCount];
+    m_chunkLengths = new int[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      int entry = (int) tableOffset + i * kChunkTableEntrySize;
+      m_chunkOffsets[i] = m_map.getLong(entry);
+      m_chunkLengths[i] = m_map.getInt(entry + 8);
+    }
+  }
+
+  /** Closes the column. Reading values after closing it throws IllegalStateException. */
+  @Override
+  public void close() {
+    if (m_inflater != null) {
+      m_inflater.end();
+      m_inflater = null;
+    }
+    // Drop the references to the mapping so it can be unmapped once the column is unreachable
+    m_map = null;
+    m_cachedChunk = -1;
+    m_cachedData = null;
+  }
+
+  /**
+   * Gets the value type.
+   *
+   * @return value type
+   */
+  public Type getType() {
+    return m_type;
+  }
+
+  /**
+   * Gets the number of values in the column.
+   *
+   * @return number of values
+   */
+  public int size() {
+    return m_count;
+  }
+
+  /**
+   * Returns true if the column was written with compressed chunks.
+   *
+   * @return True if compressed
+   */
+  public boolean isCompressed() {
+    return m_compressed;
+  }
+
+  /**
+   * Gets a value of an integer or boolean column.
+   *
+   * @param index value index
+   * @return value (booleans are 0 or 1)
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @throws UnsupportedOperationException if the column is a floating point column
+   */
+  public long getLong(int index) {
+    ByteBuffer chunk = getChunk(index);
+    int offset = (index % m_chunkSize) * m_type.size;
+    return switch (m_type) {
+      case kInt64 -> chunk.getLong(offset);
+      case kBoolean -> chunk.get(offset);
+      default -> throw new UnsupportedOperationException("column is not an integer column");
+    };
+  }
+
+  /**
+   * Gets a value of the column as a double. Integers are converted to double, and booleans are 0 or
+   * 1.
+   *
+   * @param index value index
+   * @return value
+   * @throws IndexOutOfBoundsException if index is out of range
+   */
+  public double getDouble(int index) {
+    ByteBuffer chunk = getChunk(index);
+    int offset = (index % m_chunkSize) * m_type.size;
+    return switch (m_type) {
+      case kInt64 -> chunk.getLong(offset);
+      case kFloat -> chunk.getFloat(offset);
+      case kDouble -> chunk.getDouble(offset);
+      case kBoolean -> chunk.get(offset);
+    };
+  }
+
+  /**
+   * Gets a value of a boolean column.
+   *
+   * @param index value index
+   * @return value
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @throws UnsupportedOperationException if the column is not a boolean column
+   */
+  public boolean getBoolean(int index) {
+    if (m_type != Type.kBoolean) {
+      throw new UnsupportedOperationException("column is not a boolean column");
+    }
+    ByteBuffer chunk = getChunk(index);
+    return chunk.get(index % m_chunkSize) != 0;
+  }
+
+  /**
+   * Reads all values of an integer or boolean column.
+   *
+   * @return values (booleans are 0 or 1)
+   * @throws UnsupportedOperationException if the column is a floating point column
+   */
+  public long[] toLongArray() {
+    if (m_type != Type.kInt64 && m_type != Type.kBoolean) {
+      throw new UnsupportedOperationException("column is not an integer column");
+    }
+    long[] values = new long[m_count];
+    int pos = 0;
+    for (int c = 0; c < m_chunkOffsets.length; c++) {
+      ByteBuffer chunk = getChunk(pos);
+      int n = Math.min(m_chunkSize, m_count - pos);
+      if (m_type == Type.kInt64) {
+        chunk.asLongBuffer().get(values, pos, n);
+      } else {
+        for (int i = 0; i < n; i++) {
+          values[pos + i] = chunk.get(i);
+        }
+      }
+      pos += n;
+    }
+    return values;
+  }
+
+  /**
+   * Reads all values of the column as doubles. Integers are converted to double, and booleans are 0
+   * or 1.
+   *
+   * @return values
+   */
+  public double[] toDoubleArray() {
+    double[] values = new double[m_count];
+    int pos = 0;
+    for (int c = 0; c < m_chunkOffsets.length; c++) {
+      ByteBuffer chunk = getChunk(pos);
+      int n = Math.min(m_chunkSize, m_count - pos);
+      if (m_type == Type.kDouble) {
+        chunk.asDoubleBuffer().get(values, pos, n);
+      } else {
+        for (int i = 0; i < n; i++) {
+          values[pos + i] = getDouble(pos + i);
+        }
+      }
+      pos += n;
+    }
+    return values;
+  }
+
+  /**
+   * Gets the data of the chunk containing a value, decompressing it if needed.
+   *
+   * @param index value index
+   * @return chunk data, little endian, starting at position 0
+   */
+  private ByteBuffer getChunk(int index) {
+    if (index < 0 || index >= m_count) {
+      throw new IndexOutOfBoundsException(
+          "index " + index + " out of range for " + m_count + " values");
+    }
+    if (m_map == null) {
+      throw new IllegalStateException("column is closed");
+    }
+    int chunk = index / m_chunkSize;
+    if (chunk == m_cachedChunk) {
+      return m_cachedData;
+    }
+
+    int offset = (int) m_chunkOffsets[chunk];
+    int storedLength = m_chunkLengths[chunk];
+    int length = Math.min(m_chunkSize, m_count - chunk * m_chunkSize) * m_type.size;
+    ByteBuffer data;
+    if (storedLength == length) {
+      data = m_map.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    } else {
+      // Reuse the previous decompressed chunk's buffer if it's a heap buffer of the right size
+      if (m_cachedData != null && m_cachedData.hasArray() && m_cachedData.capacity() >= length) {
+        data = m_cachedData.clear().limit(length);
+      } else {
+        data = ByteBuffer.allocate(m_chunkSize * m_type.size).order(ByteOrder.LITTLE_ENDIAN);
+        data.limit(length);
+      }
+      if (m_inflater == null) {
+        m_inflater = new Inflater();
+      }
+      m_inflater.reset();
+      m_inflater.setInput(m_map.slice(offset, storedLength));
+      try {
+        while (data.hasRemaining() && !m_inflater.finished()) {
+          if (m_inflater.inflate(data) == 0 && m_inflater.needsInput()) {
+            break;
+          }
+        }
+      } catch (DataFormatException ex) {
+        throw new IllegalStateException("corrupt column chunk " + chunk, ex);
+      }
+      if (data.hasRemaining()) {
+        throw new IllegalStateException("truncated column chunk " + chunk);
+      }
+      data.flip();
+    }
+    m_cachedChunk = chunk;
+    m_cachedData = data;
+    return data;
+  }
+}
@@ -0,0 +1,405 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import edu.wpi.first.util.struct.BadSchemaException;
+import edu.wpi.first.util.struct.DynamicStruct;
+import edu.wpi.first.util.struct.StructDescriptor;
+import edu.wpi.first.util.struct.StructDescriptorDatabase;
+import edu.wpi.first.util.struct.StructFieldDescriptor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Converts a data log into per-entry column files that can be read with {@link DataLogColumn}.
+ *
+ * <p>The log is read in a single pass. Each supported entry gets a directory (named after the
+ * entry, with characters that aren't safe in file names replaced by underscores) containing one
+ * column file per value, all with one row per value:
+ *
+ * <ul>
+ *   <li>"timestamp": record timestamp, in integer microseconds
+ *   <li>"value": the value, for boolean, int64, float, and double entries
+ *   <li>"index": index of the value in its record, for array and struct array entries. Arrays are
+ *       exploded into one row per element.
+ *   <li>one column per struct field, for struct and struct array entries. Nested struct fields are
+ *       named by their path (e.g. "translation.x"), and array fields by their element (e.g.
+ *       "values[0]"). Integer fields are stored as int64 columns; char fields are skipped.
+ * </ul>
+ *
+ * <p>Struct schemas are taken from the log's "/.schema/struct:" entries. Entries of other types
+ * (strings, raw data, protobuf, etc.) are skipped. If an entry is started more than once with the
+ * same name and type, its records are appended to the same columns.
+ */
+public final class DataLogColumnExporter {
+  /** The default number of values per column chunk. */
+  public static final int kDefaultChunkSize = 8192;
+
+  private static final String kStructSchemaPrefix = "/.schema/struct:";
+
+  private DataLogColumnExporter() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Exports a data log to uncompressed columns, which are read directly from the mapped files.
+   *
+   * @param reader data log reader
+   * @param directory output directory; created if it doesn't exist
+   * @return map from entry name to the directory its columns were written to, in the order the
+   *     entries were started
+   * @throws IOException if the columns can't be written
+   */
+  public static Map<String, Path> export(DataLogReader reader, Path directory) throws IOException {
+    return export(reader, directory, false, kDefaultChunkSize);
+  }
+
+  /**
+   * Exports a data log to columns.
+   *
+   * @param reader data log reader
+   * @param directory output directory; created if it doesn't exist
+   * @param compress true to deflate compress column chunks. Compressed columns are smaller, but
+   *     reading them is slower, since each chunk has to be decompressed.
+   * @param chunkSize number of values per column chunk
+   * @return map from entry name to the directory its columns were written to, in the order the
+   *     entries were started
+   * @throws IOException if the columns can't be written
+   * @throws IllegalArgumentException if chunkSize is not positive
+   */
+  public static Map<String, Path> export(
+      DataLogReader reader, Path directory, boolean compress, int chunkSize) throws IOException {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive, got " + chunkSize);
+    }
+    Files.createDirectories(directory);
+    var export =
+        new Export(directory, compress ? new Deflater(Deflater.BEST_SPEED) : null, chunkSize);
+    try {
+      DataLogCursor cursor = reader.cursor();
+      while (cursor.next()) {
+        export.add(cursor);
+      }
+      export.close();
+    } finally {
+      if (export.m_deflater != null) {
+        export.m_deflater.end();
+      }
+    }
+    return export.m_directories;
+  }
+
+  /** State of one export. */
+  private static final class Export {
+    final Path m_directory;
+    final Deflater m_deflater;
+    final int m_chunkSize;
+    final StructDescriptorDatabase m_structs = new StructDescriptorDatabase();
+
+    // Columns by entry name and type, and active entries by entry ID
+    final Map<String, EntryColumns> m_columns = new HashMap<>();
+    final Map<Integer, EntryColumns> m_active = new HashMap<>();
+    // Struct names of active schema entries, by entry ID
+    final Map<Integer, String> m_schemaNames = new HashMap<>();
+    final Map<String, Path> m_directories = new LinkedHashMap<>();
+    final Set<Path> m_usedDirectories = new HashSet<>();
+
+    Export(Path directory, Deflater deflater, int chunkSize) {
+      m_directory = directory;
+      m_deflater = deflater;
+      m_chunkSize = chunkSize;
+    }
+
+    void add(DataLogCursor cursor) throws IOException {
+      if (cursor.isControl()) {
+        DataLogRecord record = cursor.getRecord();
+        if (record.isStart()) {
+          start(record.getStartData());
+        } else if (record.isFinish()) {
+          m_active.remove(record.getFinishEntry());
+          m_schemaNames.remove(record.getFinishEntry());
+        }
+        return;
+      }
+      EntryColumns columns = m_active.get(cursor.getEntry());
+      if (columns != null) {
+        columns.add(cursor.getTimestamp(), cursor.getRawBuffer());
+        return;
+      }
+      String structName = m_schemaNames.get(cursor.getEntry());
+      if (structName != null) {
+        try {
+          m_structs.add(structName, cursor.getString());
+        } catch (BadSchemaException ex) {
+          // Entries of this struct type are skipped
+        }
+      }
+    }
+
+    private void start(DataLogRecord.StartRecordData data) throws IOException {
+      // Schemas logged from NetworkTables have a prefix (e.g. "NT:") before the schema name
+      int schemaPrefix = data.name.indexOf(kStructSchemaPrefix);
+      if ("structschema".equals(data.type) && schemaPrefix >= 0) {
+        m_schemaNames.put(
+            data.entry, data.name.substring(schemaPrefix + kStructSchemaPrefix.length()));
+        return;
+      }
+      m_schemaNames.remove(data.entry);
+      m_active.remove(data.entry);
+
+      String key = data.type + ':' + data.name;
+      EntryColumns columns = m_columns.get(key);
+      if (columns == null) {
+        columns = create(data.type);
+        if (columns == null) {
+          return;
+        }
+        Path dir = entryDirectory(data.name);
+        columns.m_directory = dir;
+        columns.m_export = this;
+        m_columns.put(key, columns);
+        m_directories.putIfAbsent(data.name, dir);
+      }
+      m_active.put(data.entry, columns);
+    }
+
+    private EntryColumns create(String type) {
+      return switch (type) {
+        case "boolean", "int64", "float", "double" -> new ScalarColumns(type, false);
+        case "boolean[]", "int64[]", "float[]", "double[]" ->
+            new ScalarColumns(type.substring(0, type.length() - 2), true);
+        default -> {
+          if (type.startsWith("struct:")) {
+            boolean array = type.endsWith("[]");
+            String name = type.substring(7, array ? type.length() - 2 : type.length());
+            yield new StructColumns(name, array);
+          }
+          yield null;
+        }
+      };
+    }
+
+    private Path entryDirectory(String name) throws IOException {
+      Path dir = m_directory;
+      for (String segment : name.split("/")) {
+        if (segment.isEmpty()) {
+          continue;
+        }
+        String safe = segment.replaceAll("[^A-Za-z0-9_.\\-]", "_");
+        if (safe.equals(".") || safe.equals("..")) {
+          safe = safe.replace('.', '_');
+        }
+        dir = dir.resolve(safe);
+      }
+      if (dir.equals(m_directory)) {
+        dir = dir.resolve("_");
+      }
+      // Entries that map to the same directory (e.g. the same name with different types) get a
+      // numeric suffix
+      Path unique = dir;
+      for (int i = 2; !m_usedDirectories.add(unique); i++) {
+        unique = dir.resolveSibling(dir.getFileName() + "~" + i);
+      }
+      Files.createDirectories(unique);
+      return unique;
+    }
+
+    DataLogColumnWriter column(Path dir, String name, DataLogColumn.Type type) throws IOException {
+      return new DataLogColumnWriter(dir.resolve(name + ".col"), type, m_chunkSize, m_deflater);
+    }
+
+    void close() throws IOException {
+      for (EntryColumns columns : m_columns.values()) {
+        columns.close();
+      }
+    }
+  }
+
+  /** Columns of one entry. */
+  private abstract static class EntryColumns {
+    Export m_export;
+    Path m_directory;
+    final List<DataLogColumnWriter> m_writers = new ArrayList<>();
+    DataLogColumnWriter m_timestamps;
+    DataLogColumnWriter m_indices;
+
+    abstract void add(long timestamp, ByteBuffer data) throws IOException;
+
+    DataLogColumnWriter column(String name, DataLogColumn.Type type) throws IOException {
+      DataLogColumnWriter writer = m_export.column(m_directory, name, type);
+      m_writers.add(writer);
+      return writer;
+    }
+
+    void createRowColumns(boolean array) throws IOException {
+      m_timestamps = column("timestamp", DataLogColumn.Type.kInt64);
+      if (array) {
+        m_indices = column("index", DataLogColumn.Type.kInt64);
+      }
+    }
+
+    void addRow(long timestamp, int index) throws IOException {
+      m_timestamps.addLong(timestamp);
+      if (m_indices != null) {
+        m_indices.addLong(index);
+      }
+    }
+
+    void close() throws IOException {
+      for (DataLogColumnWriter writer : m_writers) {
+        writer.close();
+      }
+    }
+  }
+
+  /** Columns of a boolean, int64, float, or double entry, or an array of one of those. */
+  private static final class ScalarColumns extends EntryColumns {
+    private final DataLogColumn.Type m_type;
+    private final boolean m_array;
+    private DataLogColumnWriter m_values;
+
+    ScalarColumns(String type, boolean array) {
+      m_type =
+          switch (type) {
+            case "boolean" -> DataLogColumn.Type.kBoolean;
+            case "int64" -> DataLogColumn.Type.kInt64;
+            case "float" -> DataLogColumn.Type.kFloat;
+            default -> DataLogColumn.Type.kDouble;
+          };
+      m_array = array;
+    }
+
+    @Override
+    void add(long timestamp, ByteBuffer data) throws IOException {
+      if (m_values == null) {
+        createRowColumns(m_array);
+        m_values = column("value", m_type);
+      }
+      int count = data.remaining() / m_type.size;
+      if (!m_array) {
+        count = Math.min(count, 1);
+      }
+      int pos = data.position();
+      for (int i = 0; i < count; i++) {
+        addRow(timestamp, i);
+        int offset = pos + i * m_type.size;
+        switch (m_type) {
+          case kBoolean -> m_values.addBoolean(data.get(offset) != 0);
+          case kInt64 -> m_values.addLong(data.getLong(offset));
+          case kFloat -> m_values.addFloat(data.getFloat(offset));
+          case kDouble -> m_values.addDouble(data.getDouble(offset));
+          default -> throw new IllegalStateException();
+        }
+      }
+    }
+  }
+
+  /** A struct field exploded into a column. */
+  private static final class Leaf {
+    // View of the (possibly nested) struct containing the field
+    final DynamicStruct m_struct;
+    final StructFieldDescriptor m_field;
+    final int m_arrayIndex;
+    final DataLogColumnWriter m_column;
+
+    Leaf(
+        DynamicStruct struct,
+        StructFieldDescriptor field,
+        int arrayIndex,
+        DataLogColumnWriter column) {
+      m_struct = struct;
+      m_field = field;
+      m_arrayIndex = arrayIndex;
+      m_column = column;
+    }
+
+    void add() throws IOException {
+      switch (m_field.getType()) {
+        case kBool -> m_column.addBoolean(m_struct.getBoolField(m_field, m_arrayIndex));
+        case kFloat -> m_column.addFloat(m_struct.getFloatField(m_field, m_arrayIndex));
+        case kDouble -> m_column.addDouble(m_struct.getDoubleField(m_field, m_arrayIndex));
+        default -> m_column.addLong(m_struct.getIntField(m_field, m_arrayIndex));
+      }
+    }
+  }
+
+  /** Columns of a struct or struct array entry, one per struct field. */
+  private static final class StructColumns extends EntryColumns {
+    private final String m_structName;
+    private final boolean m_array;
+    private DynamicStruct m_struct;
+    private List<Leaf> m_leaves;
+
+    StructColumns(String structName, boolean array) {
+      m_structName = structName;
+      m_array = array;
+    }
+
+    @Override
+    void add(long timestamp, ByteBuffer data) throws IOException {
+      if (m_struct == null) {
+        // Schemas are normally logged before the entry's first record, so columns are created
+        // from the schema then
+        StructDescriptor desc = m_export.m_structs.find(m_structName);
+        if (desc == null || !desc.isValid() || desc.getSize() == 0) {
+          return;
+        }
+        m_struct = DynamicStruct.allocate(desc);
+        m_leaves = new ArrayList<>();
+        createRowColumns(m_array);
+        addLeaves(m_struct, "");
+      }
+
+      int size = m_struct.getDescriptor().getSize();
+      int count = data.remaining() / size;
+      if (!m_array) {
+        count = Math.min(count, 1);
+      }
+      int pos = data.position();
+      for (int i = 0; i < count; i++) {
+        m_struct.setData(data.slice(pos + i * size, size));
+        addRow(timestamp, i);
+        for (Leaf leaf : m_leaves) {
+          leaf.add();
+        }
+      }
+    }
+
+    private void addLeaves(DynamicStruct struct, String prefix) throws IOException {
+      for (StructFieldDescriptor field : struct.getDescriptor().getFields()) {
+        int arraySize = field.getArraySize();
+        for (int i = 0; i < arraySize; i++) {
+          String name = prefix + field.getName() + (field.isArray() ? "[" + i + "]" : "");
+          switch (field.getType()) {
+            case kChar -> {
+              // char arrays are strings
+            }
+            case kStruct ->
+                // The nested view shares the parent's buffer, so it sees each new record
+                addLeaves(struct.getStructField(field, i), name + ".");
+            case kBool ->
+                m_leaves.add(new Leaf(struct, field, i, column(name, DataLogColumn.Type.kBoolean)));
+            case kFloat ->
+                m_leaves.add(new Leaf(struct, field, i, column(name, DataLogColumn.Type.kFloat)));
+            case kDouble ->
+                m_leaves.add(new Leaf(struct, field, i, column(name, DataLogColumn.Type.kDouble)));
+            default ->
+                m_leaves.add(new Leaf(struct, field, i, column(name, DataLogColumn.Type.kInt64)));
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a column file read by {@link DataLogColumn}. Values are buffered one chunk at a time; each
+ * full chunk is appended to the file, so memory use doesn't depend on the column length. The file
+ * is only opened while writing a chunk, so many columns can be written at once without running out
+ * of file handles.
+ */
+final class DataLogColumnWriter {
+  private final Path m_file;
+  private final DataLogColumn.Type m_type;
+  private final int m_chunkSize;
+  private final Deflater m_deflater;
+  private final ByteBuffer m_chunk;
+  private ByteBuffer m_compressed;
+  private long m_count;
+  private long m_fileSize = DataLogColumn.kHeaderSize;
+
+  // Chunk table
+  private long[] m_chunkOffsets = new long[16];
+  private int[] m_chunkLengths = new int[16];
+  private int[] m_chunkCounts = new int[16];
+  private int m_chunkCount;
+
+  /**
+   * Creates a column file, replacing any existing file.
+   *
+   * @param file column file
+   * @param type value type
+   * @param chunkSize number of values per chunk
+   * @param deflater deflater used to compress chunks, or null to store chunks uncompressed
+   * @throws IOException if the file can't be created
+   */
+  DataLogColumnWriter(Path file, DataLogColumn.Type type, int chunkSize, Deflater deflater)
+      throws IOException {
+    m_file = file;
+    m_type = type;
+    m_chunkSize = chunkSize;
+    m_deflater = deflater;
+    m_chunk = ByteBuffer.allocate(chunkSize * type.size).order(ByteOrder.LITTLE_ENDIAN);
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      // The header is rewritten with the final counts when the column is closed
+      writeFully(channel, header(), 0);
+    }
+  }
+
+  DataLogColumn.Type getType() {
+    return m_type;
+  }
+
+  void addLong(long value) throws IOException {
+    m_chunk.putLong(value);
+    valueAdded();
+  }
+
+  void addFloat(float value) throws IOException {
+    m_chunk.putFloat(value);
+    valueAdded();
+  }
+
+  void addDouble(double value) throws IOException {
+    m_chunk.putDouble(value);
+    valueAdded();
+  }
+
+  void addBoolean(boolean value) throws IOException {
+    m_chunk.put((byte) (value ? 1 : 0));
+    valueAdded();
+  }
+
+  /**
+   * Writes any buffered values and the chunk table, and finalizes the header.
+   *
+   * @throws IOException if the file can't be written
+   */
+  void close() throws IOException {
+    writeChunk();
+    ByteBuffer table =
+        ByteBuffer.allocate(m_chunkCount * DataLogColumn.kChunkTableEntrySize)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < m_chunkCount; i++) {
+      table.putLong(m_chunkOffsets[i]);
+      table.putInt(m_chunkLengths[i]);
+      table.putInt(m_chunkCounts[i]);
+    }
+    table.flip();
+    try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.WRITE)) {
+      writeFully(channel, table, m_fileSize);
+      writeFully(channel, header(), 0);
+    }
+  }
+
+  private void valueAdded() throws IOException {
+    m_count++;
+    if (!m_chunk.hasRemaining()) {
+      writeChunk();
+    }
+  }
+
+  private ByteBuffer header() {
+    ByteBuffer header =
+        ByteBuffer.allocate(DataLogColumn.kHeaderSize).order(ByteOrder.LITTLE_ENDIAN);
+    header.put(new byte[] {'W', 'P', 'I', 'C', 'O', 'L'});
+    header.putShort(DataLogColumn.kVersion);
+    header.put((byte) m_type.ordinal());
+    header.put(
+        m_deflater != null ? DataLogColumn.kCompressionDeflate : DataLogColumn.kCompressionNone);
+    header.putShort((short) 0);
+    header.putInt(m_chunkSize);
+    header.putLong(m_count);
+    header.putInt(m_chunkCount);
+    header.putLong(m_fileSize);
+    return header.flip();
+  }
+
+  private void writeChunk() throws IOException {
+    if (m_chunk.position() == 0) {
+      return;
+    }
+    m_chunk.flip();
+    int length = m_chunk.remaining();
+    ByteBuffer data = m_chunk;
+    if (m_deflater != null) {
+      if (m_compressed == null) {
+        m_compressed = ByteBuffer.allocate(m_chunk.capacity());
+      }
+      m_compressed.clear();
+      m_deflater.reset();
+      m_deflater.setInput(m_chunk);
+      m_deflater.finish();
+      while (!m_deflater.finished() && m_compressed.hasRemaining()) {
+        m_deflater.deflate(m_compressed);
+      }
+      // Store the chunk as-is if compression didn't make it smaller
+      if (m_deflater.finished() && m_compressed.position() < length) {
+        data = m_compressed.flip();
+      } else {
+        m_chunk.rewind();
+      }
+    }
+
+    if (m_chunkCount == m_chunkOffsets.length) {
+      m_chunkOffsets = Arrays.copyOf(m_chunkOffsets, m_chunkCount * 2);
+      m_chunkLengths = Arrays.copyOf(m_chunkLengths, m_chunkCount * 2);
+      m_chunkCounts = Arrays.copyOf(m_chunkCounts, m_chunkCount * 2);
+    }
+    m_chunkOffsets[m_chunkCount] = m_fileSize;
+    m_chunkLengths[m_chunkCount] = data.remaining();
+    m_chunkCounts[m_chunkCount] = length / m_type.size;
+    m_chunkCount++;
+
+    int stored = data.remaining();
+    try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.WRITE)) {
+      writeFully(channel, data, m_fileSize);
+    }
+    m_fileSize += stored;
+    m_chunk.clear();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer data, long position)
+      throws IOException {
+    while (data.hasRemaining()) {
+      position += channel.write(data, position);
+    }
+  }
+}
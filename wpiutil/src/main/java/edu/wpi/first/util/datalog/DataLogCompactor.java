@@ -0,0 +1,420 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copies a data log into a smaller one by applying a per-entry policy to each entry's records.
+ *
+ * <p>Policies are selected by entry name prefix; the longest matching prefix wins, and entries that
+ * don't match any prefix use the default policy (which keeps every record unless changed). For
+ * example, to thin out joystick data and drop an unneeded table:
+ *
+ * <pre>{@code
+ * new DataLogCompactor()
+ *     .setPolicy("DS:joystick", DataLogCompactor.Policy.deduplicate())
+ *     .setPolicy("NT:/Odometry/", DataLogCompactor.Policy.decimate(0.02))
+ *     .setPolicy("NT:/Debug/", DataLogCompactor.Policy.drop())
+ *     .compact("match.wpilog", "match-small.wpilog");
+ * }</pre>
+ *
+ * <p>The input is read in a single pass with a {@link DataLogCursor} and records are written as
+ * they are read, so memory use depends on the number of entries (at most a few records are held per
+ * entry), not on the length of the log. Control records (entry starts, finishes, and metadata
+ * changes) of entries that aren't dropped are always copied.
+ *
+ * <p>Compressed entries (e.g. those written by {@link CompressedDoubleLogEntry}) hold a block of
+ * samples in each record, so per-record policies don't apply to them. They're copied as-is unless
+ * their policy is {@link Policy#drop()}.
+ */
+public final class DataLogCompactor {
+  // Bytes written between flushes of the output log. DataLogWriter can't flush from inside an
+  // append once its buffers fill (about 1 MB), so this must stay well below that.
+  private static final int kFlushBytes = 128 * 1024;
+
+  // Largest record header: length byte, 4-byte entry ID and size, and 8-byte timestamp
+  private static final int kMaxHeaderSize = 17;
+
+  /** Policy for which records of an entry are kept. */
+  public static final class Policy {
+    private enum Kind {
+      kKeep,
+      kDrop,
+      kDeduplicate,
+      kDecimate,
+      kMinMaxLast
+    }
+
+    private static final Policy kKeepPolicy = new Policy(Kind.kKeep, 0);
+    private static final Policy kDropPolicy = new Policy(Kind.kDrop, 0);
+    private static final Policy kDeduplicatePolicy = new Policy(Kind.kDeduplicate, 0);
+
+    private final Kind m_kind;
+    private final long m_period;
+
+    private Policy(Kind kind, long period) {
+      m_kind = kind;
+      m_period = period;
+    }
+
+    /**
+     * Keeps every record.
+     *
+     * @return policy
+     */
+    public static Policy keep() {
+      return kKeepPolicy;
+    }
+
+    /**
+     * Drops the entry entirely, including its control records.
+     *
+     * @return policy
+     */
+    public static Policy drop() {
+      return kDropPolicy;
+    }
+
+    /**
+     * Keeps only records whose contents differ from the entry's previous record.
+     *
+     * @return policy
+     */
+    public static Policy deduplicate() {
+      return kDeduplicatePolicy;
+    }
+
+    /**
+     * Keeps at most one record per period: a record is kept if at least one period has elapsed
+     * since the last kept record.
+     *
+     * @param period minimum time between kept records, in seconds
+     * @return policy
+     * @throws IllegalArgumentException if period is not positive
+     */
+    public static Policy decimate(double period) {
+      return new Policy(Kind.kDecimate, toMicros("period", period));
+    }
+
+    /**
+     * Splits time into fixed windows and keeps, for each window, the records holding the minimum
+     * and maximum value and the last record. Applies to boolean, int64, float, and double entries;
+     * entries of other types only keep the last record of each window.
+     *
+     * <p>Each window's records are written, in the order they were read, once the window ends; that
+     * is, when the entry's first record in a later window is read, when the entry is finished, or
+     * at the end of the log.
+     *
+     * @param window window length, in seconds
+     * @return policy
+     * @throws IllegalArgumentException if window is not positive
+     */
+    public static Policy minMaxLast(double window) {
+      return new Policy(Kind.kMinMaxLast, toMicros("window", window));
+    }
+
+    private static long toMicros(String name, double seconds) {
+      long micros = (long) (seconds * 1e6);
+      if (micros <= 0) {
+        throw new IllegalArgumentException(name + " must be positive, got " + seconds);
+      }
+      return micros;
+    }
+  }
+
+  private Policy m_defaultPolicy = Policy.keep();
+  private final Map<String, Policy> m_policies = new HashMap<>();
+
+  /** Constructs a compactor that keeps every record until policies are set. */
+  public DataLogCompactor() {}
+
+  /**
+   * Sets the policy of entries that don't match any prefix.
+   *
+   * @param policy policy
+   * @return this
+   */
+  public DataLogCompactor setDefaultPolicy(Policy policy) {
+    m_defaultPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Sets the policy of entries whose name starts with a prefix. Replaces any policy previously set
+   * for the same prefix.
+   *
+   * @param prefix entry name prefix
+   * @param policy policy
+   * @return this
+   */
+  public DataLogCompactor setPolicy(String prefix, Policy policy) {
+    m_policies.put(prefix, policy);
+    return this;
+  }
+
+  /**
+   * Compacts a data log file into a new file.
+   *
+   * @param input input filename
+   * @param output output filename; replaced if it exists
+   * @return number of data records written
+   * @throws IOException if the input can't be read or isn't a data log, or the output can't be
+   *     written
+   */
+  public long compact(String input, String output) throws IOException {
+    var reader = new DataLogReader(input);
+    if (!reader.isValid()) {
+      throw new IOException(input + " is not a data log");
+    }
+    try (var log = new DataLogWriter(output, reader.getExtraHeader())) {
+      return compact(reader, log);
+    }
+  }
+
+  /**
+   * Compacts a data log into another data log. Entries are started in the output log as they are
+   * started in the input log, with the same names, types, metadata, and timestamps.
+   *
+   * @param reader input log
+   * @param log output log
+   * @return number of data records written
+   */
+  public long compact(DataLogReader reader, DataLog log) {
+    return new Compaction(log).run(reader.cursor());
+  }
+
+  private Policy getPolicy(String name) {
+    Policy policy = m_defaultPolicy;
+    int longest = -1;
+    for (Map.Entry<String, Policy> e : m_policies.entrySet()) {
+      if (e.getKey().length() > longest && name.startsWith(e.getKey())) {
+        policy = e.getValue();
+        longest = e.getKey().length();
+      }
+    }
+    return policy;
+  }
+
+  /** State of one compaction run. */
+  private final class Compaction {
+    private final DataLog m_log;
+    private final Map<Integer, EntryState> m_entries = new HashMap<>();
+    private long m_written;
+    private long m_unflushedBytes;
+
+    Compaction(DataLog log) {
+      m_log = log;
+    }
+
+    long run(DataLogCursor cursor) {
+      while (cursor.next()) {
+        if (cursor.isControl()) {
+          control(cursor.getRecord());
+          continue;
+        }
+        EntryState state = m_entries.get(cursor.getEntry());
+        if (state != null) {
+          state.add(cursor);
+        }
+      }
+      for (EntryState state : m_entries.values()) {
+        state.flushWindow();
+      }
+      m_log.flush();
+      return m_written;
+    }
+
+    private void control(DataLogRecord record) {
+      if (record.isStart()) {
+        DataLogRecord.StartRecordData data = record.getStartData();
+        EntryState prev = m_entries.remove(data.entry);
+        if (prev != null) {
+          prev.flushWindow();
+        }
+        Policy policy = getPolicy(data.name);
+        if (policy.m_kind != Policy.Kind.kDrop) {
+          int entry = m_log.start(data.name, data.type, data.metadata, record.getTimestamp());
+          m_entries.put(data.entry, new EntryState(entry, data.type, policy));
+        }
+      } else if (record.isFinish()) {
+        EntryState state = m_entries.remove(record.getFinishEntry());
+        if (state != null) {
+          state.flushWindow();
+          m_log.finish(state.m_entry, record.getTimestamp());
+        }
+      } else if (record.isSetMetadata()) {
+        DataLogRecord.MetadataRecordData data = record.getSetMetadataData();
+        EntryState state = m_entries.get(data.entry);
+        if (state != null) {
+          m_log.setMetadata(state.m_entry, data.metadata, record.getTimestamp());
+        }
+      }
+    }
+
+    private void written(int size) {
+      m_written++;
+      m_unflushedBytes += kMaxHeaderSize + size;
+      if (m_unflushedBytes >= kFlushBytes) {
+        // Keep the output log's buffers from filling up
+        m_log.flush();
+        m_unflushedBytes = 0;
+      }
+    }
+
+    /** Per-entry state. */
+    private final class EntryState {
+      final int m_entry;
+      private final Policy m_policy;
+
+      // Numeric value type for min/max, or null if not a numeric type
+      private final String m_numericType;
+
+      // Last kept record, for deduplication
+      private ByteBuffer m_prev;
+
+      // Timestamp of the last kept record, for decimation
+      private long m_lastKept = Long.MIN_VALUE;
+
+      // Current window, for min/max/last
+      private long m_window = Long.MIN_VALUE;
+      private final WindowRecord m_min = new WindowRecord();
+      private final WindowRecord m_max = new WindowRecord();
+      private final WindowRecord m_last = new WindowRecord();
+      private int m_windowCount;
+
+      EntryState(int entry, String type, Policy policy) {
+        m_entry = entry;
+        // Each record of a compressed entry is a block of samples, so it's kept whole
+        m_policy = type.startsWith(DataLogCompression.kTypePrefix) ? Policy.keep() : policy;
+        m_numericType =
+            switch (type) {
+              case "boolean", "int64", "float", "double" -> type;
+              default -> null;
+            };
+      }
+
+      void add(DataLogCursor cursor) {
+        switch (m_policy.m_kind) {
+          case kKeep -> write(cursor);
+          case kDeduplicate -> {
+            ByteBuffer data = cursor.getRawBuffer();
+            if (m_prev != null && data.mismatch(m_prev.rewind()) < 0) {
+              return;
+            }
+            if (m_prev == null || m_prev.capacity() < data.remaining()) {
+              m_prev = ByteBuffer.allocate(Math.max(data.remaining(), 16));
+            }
+            m_prev.clear();
+            m_prev.put(data).flip();
+            write(cursor);
+          }
+          case kDecimate -> {
+            long timestamp = cursor.getTimestamp();
+            if (m_lastKept == Long.MIN_VALUE || timestamp - m_lastKept >= m_policy.m_period) {
+              m_lastKept = timestamp;
+              write(cursor);
+            }
+          }
+          case kMinMaxLast -> addToWindow(cursor);
+          default -> {
+            // dropped entries have no state
+          }
+        }
+      }
+
+      private void write(DataLogCursor cursor) {
+        ByteBuffer data = cursor.getRawBuffer();
+        int size = data.remaining();
+        m_log.appendRaw(m_entry, data, cursor.getTimestamp());
+        written(size);
+      }
+
+      private void addToWindow(DataLogCursor cursor) {
+        long timestamp = cursor.getTimestamp();
+        long window = Math.floorDiv(timestamp, m_policy.m_period);
+        if (window > m_window) {
+          flushWindow();
+          m_window = window;
+        }
+        // Records out of timestamp order are counted in the current window
+
+        int index = m_windowCount++;
+        m_last.set(cursor, index, 0);
+        if (m_numericType == null || !isValidSize(cursor.getSize())) {
+          return;
+        }
+        double value =
+            switch (m_numericType) {
+              case "boolean" -> cursor.getBoolean() ? 1 : 0;
+              case "int64" -> cursor.getInteger();
+              case "float" -> cursor.getFloat();
+              default -> cursor.getDouble();
+            };
+        if (m_min.m_index < 0 || value < m_min.m_value) {
+          m_min.set(cursor, index, value);
+        }
+        if (m_max.m_index < 0 || value > m_max.m_value) {
+          m_max.set(cursor, index, value);
+        }
+      }
+
+      private boolean isValidSize(int size) {
+        return switch (m_numericType) {
+          case "boolean" -> size == 1;
+          case "float" -> size == 4;
+          default -> size == 8;
+        };
+      }
+
+      void flushWindow() {
+        if (m_windowCount == 0) {
+          return;
+        }
+        // Write the distinct records in the order they were read
+        WindowRecord[] records = {m_min, m_max, m_last};
+        Arrays.sort(records, (a, b) -> Integer.compare(a.m_index, b.m_index));
+        int prevIndex = -1;
+        for (WindowRecord record : records) {
+          if (record.m_index >= 0 && record.m_index != prevIndex) {
+            m_log.appendRaw(m_entry, record.m_data, 0, record.m_len, record.m_timestamp);
+            written(record.m_len);
+            prevIndex = record.m_index;
+          }
+        }
+        m_min.m_index = -1;
+        m_max.m_index = -1;
+        m_last.m_index = -1;
+        m_windowCount = 0;
+      }
+    }
+  }
+
+  /** A record held until the end of a min/max/last window. */
+  private static final class WindowRecord {
+    int m_index = -1;
+    double m_value;
+    long m_timestamp;
+    byte[] m_data = new byte[8];
+    int m_len;
+
+    void set(DataLogCursor cursor, int index, double value) {
+      ByteBuffer data = cursor.getRawBuffer();
+      int len = data.remaining();
+      if (m_data.length < len) {
+        m_data = new byte[len];
+      }
+      data.get(data.position(), m_data, 0, len);
+      m_len = len;
+      m_index = index;
+      m_value = value;
+      m_timestamp = cursor.getTimestamp();
+    }
+  }
+}
@@ -0,0 +1,420 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+
+/**
+ * Block encoding used by compressed log entries.
+ *
+ * <p>A compressed entry has the data type {@link #kTypePrefix} followed by its base type (e.g.
+ * "compressed:double"). Each record holds a block of samples; the record timestamp is the timestamp
+ * of the first sample. The record contents are a 2-byte little endian sample count followed by a
+ * bit stream (most significant bit first). For each sample, the stream holds:
+ *
+ * <ul>
+ *   <li>Timestamp (except for the first sample): delta of the delta from the previous timestamp
+ *   <li>For double[]: '0' if the length is the same as the previous sample's, or '1' and a 32-bit
+ *       length. The first sample's previous length is 0.
+ *   <li>For double and double[] elements: the value XORed with the previous value of the same
+ *       element, Gorilla style: '0' if equal; '10' and the meaningful bits if they fit within the
+ *       previous leading and trailing zero counts; otherwise '11', a 6-bit leading zero count, a
+ *       6-bit meaningful bit count minus one, and the meaningful bits. Previous values start as 0.
+ *   <li>For int64: delta of the delta from the previous value, where previous values start as 0
+ * </ul>
+ *
+ * <p>Deltas of deltas are signed and stored as '0' for zero, or '10', '110', '1110', '11110', or
+ * '11111' followed by 7, 9, 12, 32, or 64 bits. Every block is independent, so a block can be
+ * decoded without reading earlier records.
+ */
+final class DataLogCompression {
+  static final String kTypePrefix = "compressed:";
+
+  // Encoders end a block when it reaches any of these limits
+  static final int kMaxBlockSamples = 1024;
+  static final int kMaxBlockBytes = 4096;
+  // Time from the first to the last sample of a block, in microseconds
+  static final long kMaxBlockAge = 1_000_000;
+
+  private DataLogCompression() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Returns true if a base type can be compressed.
+   *
+   * @param type base data type
+   * @return True if supported
+   */
+  static boolean isSupported(String type) {
+    return switch (type) {
+      case "double", "int64", "double[]" -> true;
+      default -> false;
+    };
+  }
+
+  /** Encodes samples into blocks. */
+  static final class Encoder {
+    private final String m_type;
+    private final BitWriter m_bits = new BitWriter();
+    private int m_count;
+
+    private long m_firstTimestamp;
+    private long m_prevTimestamp;
+    private long m_prevTimestampDelta;
+
+    // int64 state
+    private long m_prevValue;
+    private long m_prevValueDelta;
+
+    // double and double[] state, per element
+    private int m_prevLength;
+    private long[] m_prevBits = new long[1];
+    private int[] m_prevLeading = new int[1];
+    private int[] m_prevTrailing = new int[1];
+
+    Encoder(String type) {
+      if (!isSupported(type)) {
+        throw new IllegalArgumentException("type " + type + " can't be compressed");
+      }
+      m_type = type;
+      reset();
+    }
+
+    int getCount() {
+      return m_count;
+    }
+
+    boolean isFull() {
+      return m_count >= kMaxBlockSamples
+          || m_bits.size() >= kMaxBlockBytes
+          || (m_count > 0 && m_prevTimestamp - m_firstTimestamp >= kMaxBlockAge);
+    }
+
+    long getFirstTimestamp() {
+      return m_firstTimestamp;
+    }
+
+    void addInteger(long value, long timestamp) {
+      addTimestamp(timestamp);
+      long delta = value - m_prevValue;
+      m_bits.writeDeltaOfDelta(delta - m_prevValueDelta);
+      m_prevValue = value;
+      m_prevValueDelta = delta;
+    }
+
+    void addDouble(double value, long timestamp) {
+      addTimestamp(timestamp);
+      writeXor(0, Double.doubleToRawLongBits(value));
+    }
+
+    void addDoubleArray(double[] value, long timestamp) {
+      addTimestamp(timestamp);
+      if (value.length == m_prevLength) {
+        m_bits.write(0, 1);
+      } else {
+        m_bits.write(1, 1);
+        m_bits.write(value.length, 32);
+        if (value.length > m_prevBits.length) {
+          int oldCapacity = m_prevBits.length;
+          int capacity = Math.max(value.length, oldCapacity * 2);
+          m_prevBits = Arrays.copyOf(m_prevBits, capacity);
+          m_prevLeading = Arrays.copyOf(m_prevLeading, capacity);
+          m_prevTrailing = Arrays.copyOf(m_prevTrailing, capacity);
+          Arrays.fill(m_prevLeading, oldCapacity, capacity, -1);
+        }
+        m_prevLength = value.length;
+      }
+      for (int i = 0; i < value.length; i++) {
+        writeXor(i, Double.doubleToRawLongBits(value[i]));
+      }
+    }
+
+    /**
+     * Ends the current block and starts a new one.
+     *
+     * @return block contents, or null if there are no samples
+     */
+    byte[] finishBlock() {
+      if (m_count == 0) {
+        return null;
+      }
+      byte[] data = new byte[2 + m_bits.size()];
+      data[0] = (byte) m_count;
+      data[1] = (byte) (m_count >> 8);
+      m_bits.copyTo(data, 2);
+      reset();
+      return data;
+    }
+
+    private void reset() {
+      m_bits.clear();
+      m_count = 0;
+      m_prevTimestampDelta = 0;
+      m_prevValue = 0;
+      m_prevValueDelta = 0;
+      m_prevLength = m_type.equals("double[]") ? 0 : 1;
+      Arrays.fill(m_prevBits, 0);
+      Arrays.fill(m_prevLeading, -1);
+      Arrays.fill(m_prevTrailing, 0);
+    }
+
+    private void addTimestamp(long timestamp) {
+      if (m_count == 0) {
+        m_firstTimestamp = timestamp;
+      } else {
+        long delta = timestamp - m_prevTimestamp;
+        m_bits.writeDeltaOfDelta(delta - m_prevTimestampDelta);
+        m_prevTimestampDelta = delta;
+      }
+      m_prevTimestamp = timestamp;
+      m_count++;
+    }
+
+    private void writeXor(int index, long bits) {
+      long xor = bits ^ m_prevBits[index];
+      m_prevBits[index] = bits;
+      if (xor == 0) {
+        m_bits.write(0, 1);
+        return;
+      }
+      int leading = Long.numberOfLeadingZeros(xor);
+      int trailing = Long.numberOfTrailingZeros(xor);
+      int prevLeading = m_prevLeading[index];
+      int prevTrailing = m_prevTrailing[index];
+      if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+        m_bits.write(2, 2); // '10'
+        m_bits.write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+      } else {
+        int length = 64 - leading - trailing;
+        m_bits.write(3, 2); // '11'
+        m_bits.write(leading, 6);
+        m_bits.write(length - 1, 6);
+        m_bits.write(xor >>> trailing, length);
+        m_prevLeading[index] = leading;
+        m_prevTrailing[index] = trailing;
+      }
+    }
+  }
+
+  /**
+   * Decodes a block into the uncompressed record contents of each sample.
+   *
+   * @param type base data type
+   * @param entry entry ID of the decoded records
+   * @param timestamp record timestamp (the timestamp of the first sample)
+   * @param data record contents
+   * @return decoded records
+   * @throws InputMismatchException if the block is invalid
+   */
+  static DataLogRecord[] decodeBlock(String type, int entry, long timestamp, ByteBuffer data) {
+    if (data.remaining() < 2) {
+      throw new InputMismatchException("compressed block too short");
+    }
+    data = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int count = Short.toUnsignedInt(data.getShort(data.position()));
+    var bits = new BitReader(data, data.position() + 2);
+    var records = new DataLogRecord[count];
+
+    long prevTimestampDelta = 0;
+    long prevValue = 0;
+    long prevValueDelta = 0;
+    int length = type.equals("double[]") ? 0 : 1;
+    long[] prevBits = new long[length];
+    int[] prevLeading = new int[length];
+    int[] prevTrailing = new int[length];
+    Arrays.fill(prevLeading, -1);
+
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        long delta = prevTimestampDelta + bits.readDeltaOfDelta();
+        timestamp += delta;
+        prevTimestampDelta = delta;
+      }
+      ByteBuffer value;
+      switch (type) {
+        case "int64" -> {
+          long delta = prevValueDelta + bits.readDeltaOfDelta();
+          prevValue += delta;
+          prevValueDelta = delta;
+          value = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, prevValue);
+        }
+        case "double", "double[]" -> {
+          if (type.equals("double[]") && bits.read(1) != 0) {
+            int newLength = (int) bits.read(32);
+            if (newLength < 0 || newLength > data.remaining() * 8L) {
+              throw new InputMismatchException("invalid array length " + newLength);
+            }
+            if (newLength > prevBits.length) {
+              final int oldLength = prevBits.length;
+              prevBits = Arrays.copyOf(prevBits, newLength);
+              prevLeading = Arrays.copyOf(prevLeading, newLength);
+              prevTrailing = Arrays.copyOf(prevTrailing, newLength);
+              Arrays.fill(prevLeading, oldLength, newLength, -1);
+            }
+            length = newLength;
+          }
+          value = ByteBuffer.allocate(length * 8).order(ByteOrder.LITTLE_ENDIAN);
+          for (int j = 0; j < length; j++) {
+            if (bits.read(1) != 0) {
+              long xor;
+              if (bits.read(1) == 0) {
+                if (prevLeading[j] < 0) {
+                  throw new InputMismatchException("invalid compressed value");
+                }
+                xor = bits.read(64 - prevLeading[j] - prevTrailing[j]) << prevTrailing[j];
+              } else {
+                int leading = (int) bits.read(6);
+                int meaningful = (int) bits.read(6) + 1;
+                if (leading + meaningful > 64) {
+                  throw new InputMismatchException("invalid compressed value");
+                }
+                prevLeading[j] = leading;
+                prevTrailing[j] = 64 - leading - meaningful;
+                xor = bits.read(meaningful) << prevTrailing[j];
+              }
+              prevBits[j] ^= xor;
+            }
+            value.putLong(j * 8, prevBits[j]);
+          }
+        }
+        default -> throw new InputMismatchException("type " + type + " can't be compressed");
+      }
+      records[i] = new DataLogRecord(entry, timestamp, value);
+    }
+    return records;
+  }
+
+  /** Writes a bit stream, most significant bit first. */
+  static final class BitWriter {
+    private byte[] m_buf = new byte[256];
+    private long m_bitPos;
+
+    void clear() {
+      Arrays.fill(m_buf, 0, size(), (byte) 0);
+      m_bitPos = 0;
+    }
+
+    /**
+     * Gets the number of bytes written, including a final partial byte.
+     *
+     * @return number of bytes
+     */
+    int size() {
+      return (int) ((m_bitPos + 7) >>> 3);
+    }
+
+    void copyTo(byte[] dest, int offset) {
+      System.arraycopy(m_buf, 0, dest, offset, size());
+    }
+
+    /**
+     * Writes the low bits of a value.
+     *
+     * @param value value
+     * @param count number of bits, 0 to 64
+     */
+    void write(long value, int count) {
+      if ((m_bitPos + count + 7) >>> 3 > m_buf.length) {
+        m_buf = Arrays.copyOf(m_buf, m_buf.length * 2 + 8);
+      }
+      while (count > 0) {
+        int free = 8 - (int) (m_bitPos & 7);
+        int take = Math.min(free, count);
+        int chunk = (int) (value >>> (count - take)) & ((1 << take) - 1);
+        m_buf[(int) (m_bitPos >>> 3)] |= (byte) (chunk << (free - take));
+        m_bitPos += take;
+        count -= take;
+      }
+    }
+
+    void writeDeltaOfDelta(long value) {
+      if (value == 0) {
+        write(0, 1);
+      } else if (fits(value, 7)) {
+        write(2, 2); // '10'
+        write(value, 7);
+      } else if (fits(value, 9)) {
+        write(6, 3); // '110'
+        write(value, 9);
+      } else if (fits(value, 12)) {
+        write(14, 4); // '1110'
+        write(value, 12);
+      } else if (fits(value, 32)) {
+        write(30, 5); // '11110'
+        write(value, 32);
+      } else {
+        write(31, 5); // '11111'
+        write(value, 64);
+      }
+    }
+
+    private static boolean fits(long value, int bits) {
+      return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+    }
+  }
+
+  /** Reads a bit stream written by {@link BitWriter}. */
+  static final class BitReader {
+    private final ByteBuffer m_buf;
+    private final long m_endBit;
+    private long m_bitPos;
+
+    BitReader(ByteBuffer buf, int start) {
+      m_buf = buf;
+      m_bitPos = (long) start * 8;
+      m_endBit = (long) buf.limit() * 8;
+    }
+
+    /**
+     * Reads bits.
+     *
+     * @param count number of bits, 0 to 64
+     * @return bits, in the low bits of the value
+     * @throws InputMismatchException if the stream ends
+     */
+    long read(int count) {
+      if (m_bitPos + count > m_endBit) {
+        throw new InputMismatchException("compressed block truncated");
+      }
+      long value = 0;
+      while (count > 0) {
+        int avail = 8 - (int) (m_bitPos & 7);
+        int take = Math.min(avail, count);
+        int b = m_buf.get((int) (m_bitPos >>> 3)) & 0xff;
+        value = (value << take) | ((b >>> (avail - take)) & ((1 << take) - 1));
+        m_bitPos += take;
+        count -= take;
+      }
+      return value;
+    }
+
+    long readDeltaOfDelta() {
+      if (read(1) == 0) {
+        return 0;
+      }
+      if (read(1) == 0) {
+        return signExtend(read(7), 7);
+      }
+      if (read(1) == 0) {
+        return signExtend(read(9), 9);
+      }
+      if (read(1) == 0) {
+        return signExtend(read(12), 12);
+      }
+      if (read(1) == 0) {
+        return signExtend(read(32), 32);
+      }
+      return read(64);
+    }
+
+    private static long signExtend(long value, int bits) {
+      return (value << (64 - bits)) >> (64 - bits);
+    }
+  }
+}
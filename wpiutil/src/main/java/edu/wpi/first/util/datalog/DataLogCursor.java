@@ -0,0 +1,463 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import edu.wpi.first.util.struct.DynamicStruct;
+import edu.wpi.first.util.struct.StructDescriptor;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the records of a data log that doesn't allocate per record.
+ *
+ * <p>Iterating a {@link DataLogReader} creates a {@link DataLogRecord} and a buffer slice for every
+ * record, and its array getters copy into new arrays. A cursor instead holds one record at a time:
+ * {@link #next()} moves it to the following record, and its getters read directly from the log's
+ * mapped memory. Array records can be read element by element or into reused arrays, and struct
+ * records into a reused {@link DynamicStruct} or viewed in place with {@link
+ * #getStruct(StructDescriptor)}.
+ *
+ * <pre>{@code
+ * DataLogCursor cursor = reader.cursor();
+ * while (cursor.next()) {
+ *   if (cursor.getEntry() == entry) {
+ *     sum += cursor.getDouble();
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Values returned by the cursor (including the buffer returned by {@link #getRawBuffer()}) are
+ * only valid until the next call to {@link #next()}. Like records, a cursor doesn't know the data
+ * type of its entry; decoding a record as a different type than its entry's start record says
+ * returns invalid results. This class is not thread-safe, but multiple cursors can read the same
+ * log at once.
+ */
+public final class DataLogCursor {
+  private final DataLogReader m_reader;
+  private final ByteBuffer[] m_views;
+  private final int[] m_limits;
+  private final long m_logSize;
+  private long m_pos = -1;
+  private long m_next;
+
+  private int m_entry;
+  private long m_timestamp;
+  private int m_size;
+
+  // Buffer and offset holding the current record's contents. Usually a view of the log's mapped
+  // memory; records that cross the end of a segment mapping are copied into m_scratch.
+  private ByteBuffer m_data;
+  private int m_offset;
+  private ByteBuffer m_scratch;
+  private byte[] m_stringBytes;
+
+  DataLogCursor(DataLogReader reader) {
+    m_reader = reader;
+    m_views = reader.getSegmentViews();
+    m_limits = new int[m_views.length];
+    for (int i = 0; i < m_views.length; i++) {
+      m_limits[i] = m_views[i].limit();
+    }
+    m_logSize = reader.getSize();
+    m_next = reader.getFirstRecord();
+  }
+
+  /**
+   * Moves to the next record.
+   *
+   * @return False if there are no more complete records in the log
+   */
+  public boolean next() {
+    long pos = m_next;
+    if (pos >= m_logSize) {
+      return false;
+    }
+    int entry;
+    int size;
+    long timestamp;
+    long dataPos;
+    try {
+      int lenbyte = m_reader.getByte(pos) & 0xff;
+      int entryLen = (lenbyte & 0x3) + 1;
+      int sizeLen = ((lenbyte >> 2) & 0x3) + 1;
+      int timestampLen = ((lenbyte >> 4) & 0x7) + 1;
+      entry = (int) m_reader.readVarInt(pos + 1, entryLen);
+      size = (int) m_reader.readVarInt(pos + 1 + entryLen, sizeLen);
+      timestamp = m_reader.readVarInt(pos + 1 + entryLen + sizeLen, timestampLen);
+      dataPos = pos + 1 + entryLen + sizeLen + timestampLen;
+    } catch (IndexOutOfBoundsException ex) {
+      return false;
+    }
+    if (size < 0 || dataPos + size > m_logSize) {
+      // Truncated last record
+      return false;
+    }
+
+    int segment = m_reader.getSegmentIndex(dataPos);
+    int offset = m_reader.getSegmentOffset(dataPos);
+    if ((long) offset + size <= m_limits[segment]) {
+      ByteBuffer view = m_views[segment];
+      view.limit(m_limits[segment]).position(offset).limit(offset + size);
+      m_data = view;
+      m_offset = offset;
+    } else {
+      // The record crosses the end of its segment's mapping; copy it out
+      if (m_scratch == null || m_scratch.capacity() < size) {
+        m_scratch = ByteBuffer.allocate(Math.max(size, 256)).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      m_scratch.clear().limit(size);
+      for (int i = 0; i < size; i++) {
+        m_scratch.put(i, m_reader.getByte(dataPos + i));
+      }
+      m_data = m_scratch;
+      m_offset = 0;
+    }
+
+    m_pos = pos;
+    m_next = dataPos + size;
+    m_entry = entry;
+    m_timestamp = timestamp;
+    m_size = size;
+    return true;
+  }
+
+  /**
+   * Gets the offset of the current record in the log.
+   *
+   * @return offset in bytes
+   * @throws NoSuchElementException if next() hasn't returned true
+   */
+  public long getPosition() {
+    checkRecord();
+    return m_pos;
+  }
+
+  /**
+   * Gets the entry ID of the current record.
+   *
+   * @return entry ID
+   */
+  public int getEntry() {
+    return m_entry;
+  }
+
+  /**
+   * Gets the timestamp of the current record.
+   *
+   * @return Timestamp, in integer microseconds
+   */
+  public long getTimestamp() {
+    return m_timestamp;
+  }
+
+  /**
+   * Gets the size of the current record's contents.
+   *
+   * @return size in bytes
+   */
+  public int getSize() {
+    return m_size;
+  }
+
+  /**
+   * Returns true if the current record is a control record. Use {@link #getRecord()} to decode
+   * control records.
+   *
+   * @return True if control record, false if normal data record.
+   */
+  public boolean isControl() {
+    return m_entry == 0;
+  }
+
+  /**
+   * Creates a standalone record for the current record, e.g. to decode a control record or keep the
+   * record after moving the cursor.
+   *
+   * @return record
+   * @throws NoSuchElementException if next() hasn't returned true
+   */
+  public DataLogRecord getRecord() {
+    checkRecord();
+    return m_reader.getRecord(m_pos);
+  }
+
+  /**
+   * Gets the contents of the current record. The buffer is shared by the cursor; its contents and
+   * position are only valid until the next call to next().
+   *
+   * @return view of the record contents, from position to limit
+   * @throws NoSuchElementException if next() hasn't returned true
+   */
+  public ByteBuffer getRawBuffer() {
+    checkRecord();
+    return m_data.limit(m_offset + m_size).position(m_offset);
+  }
+
+  /**
+   * Decodes the current record as a boolean.
+   *
+   * @return boolean value
+   * @throws InputMismatchException if the record is empty
+   */
+  public boolean getBoolean() {
+    return getBoolean(0);
+  }
+
+  /**
+   * Decodes an element of the current record as a boolean array.
+   *
+   * @param index element index; the array length is {@link #getSize()}
+   * @return element value
+   * @throws InputMismatchException if index is out of range
+   */
+  public boolean getBoolean(int index) {
+    return m_data.get(elementOffset(index, 1)) != 0;
+  }
+
+  /**
+   * Decodes the current record as an integer.
+   *
+   * @return integer value
+   * @throws InputMismatchException if the record is too small
+   */
+  public long getInteger() {
+    return getInteger(0);
+  }
+
+  /**
+   * Decodes an element of the current record as an integer array.
+   *
+   * @param index element index; the array length is {@link #getSize()} / 8
+   * @return element value
+   * @throws InputMismatchException if index is out of range
+   */
+  public long getInteger(int index) {
+    return m_data.getLong(elementOffset(index, 8));
+  }
+
+  /**
+   * Decodes the current record as a float.
+   *
+   * @return float value
+   * @throws InputMismatchException if the record is too small
+   */
+  public float getFloat() {
+    return getFloat(0);
+  }
+
+  /**
+   * Decodes an element of the current record as a float array.
+   *
+   * @param index element index; the array length is {@link #getSize()} / 4
+   * @return element value
+   * @throws InputMismatchException if index is out of range
+   */
+  public float getFloat(int index) {
+    return m_data.getFloat(elementOffset(index, 4));
+  }
+
+  /**
+   * Decodes the current record as a double.
+   *
+   * @return double value
+   * @throws InputMismatchException if the record is too small
+   */
+  public double getDouble() {
+    return getDouble(0);
+  }
+
+  /**
+   * Decodes an element of the current record as a double array.
+   *
+   * @param index element index; the array length is {@link #getSize()} / 8
+   * @return element value
+   * @throws InputMismatchException if index is out of range
+   */
+  public double getDouble(int index) {
+    return m_data.getDouble(elementOffset(index, 8));
+  }
+
+  /**
+   * Decodes the current record as a string. Allocates the returned string, but nothing else.
+   *
+   * @return string value
+   */
+  public String getString() {
+    return decodeString(m_offset, m_size);
+  }
+
+  /**
+   * Decodes the current record as a string array. Allocates the returned array and its strings, but
+   * nothing else.
+   *
+   * @return string array value
+   * @throws InputMismatchException if the record isn't a valid string array
+   */
+  public String[] getStringArray() {
+    int end = m_offset + m_size;
+    int pos = m_offset;
+    if (m_size < 4) {
+      throw new InputMismatchException("record of size " + m_size + " is too small");
+    }
+    int count = m_data.getInt(pos);
+    pos += 4;
+    // Each string has at least a 4 byte length
+    if (count < 0 || count > (end - pos) / 4) {
+      throw new InputMismatchException("invalid size");
+    }
+    String[] arr = new String[count];
+    for (int i = 0; i < count; i++) {
+      if (end - pos < 4) {
+        throw new InputMismatchException("invalid string size");
+      }
+      int len = m_data.getInt(pos);
+      pos += 4;
+      if (len < 0 || len > end - pos) {
+        throw new InputMismatchException("invalid string size");
+      }
+      arr[i] = decodeString(pos, len);
+      pos += len;
+    }
+    return arr;
+  }
+
+  /**
+   * Decodes the current record as an integer array into an existing array.
+   *
+   * @param out array to fill; must be at least {@link #getSize()} / 8 long
+   * @return number of elements decoded
+   * @throws InputMismatchException if out is too small
+   */
+  public int readIntegerArray(long[] out) {
+    int count = arrayLength(out.length, 8);
+    for (int i = 0; i < count; i++) {
+      out[i] = m_data.getLong(m_offset + i * 8);
+    }
+    return count;
+  }
+
+  /**
+   * Decodes the current record as a float array into an existing array.
+   *
+   * @param out array to fill; must be at least {@link #getSize()} / 4 long
+   * @return number of elements decoded
+   * @throws InputMismatchException if out is too small
+   */
+  public int readFloatArray(float[] out) {
+    int count = arrayLength(out.length, 4);
+    for (int i = 0; i < count; i++) {
+      out[i] = m_data.getFloat(m_offset + i * 4);
+    }
+    return count;
+  }
+
+  /**
+   * Decodes the current record as a double array into an existing array.
+   *
+   * @param out array to fill; must be at least {@link #getSize()} / 8 long
+   * @return number of elements decoded
+   * @throws InputMismatchException if out is too small
+   */
+  public int readDoubleArray(double[] out) {
+    int count = arrayLength(out.length, 8);
+    for (int i = 0; i < count; i++) {
+      out[i] = m_data.getDouble(m_offset + i * 8);
+    }
+    return count;
+  }
+
+  /**
+   * Decodes the current record as a struct into an existing dynamic struct. The struct's contents
+   * are overwritten with a copy of the record's.
+   *
+   * @param out dynamic struct to fill
+   * @throws InputMismatchException if the record is smaller than the struct
+   */
+  public void readStruct(DynamicStruct out) {
+    readStruct(out, 0);
+  }
+
+  /**
+   * Decodes an element of the current record as a struct array into an existing dynamic struct. The
+   * struct's contents are overwritten with a copy of the element's.
+   *
+   * @param out dynamic struct to fill
+   * @param index element index; the array length is {@link #getSize()} divided by the struct size
+   * @throws InputMismatchException if index is out of range
+   */
+  public void readStruct(DynamicStruct out, int index) {
+    int size = out.getDescriptor().getSize();
+    int offset = elementOffset(index, size);
+    out.setData(m_data.limit(offset + size).position(offset));
+    m_data.limit(m_offset + m_size).position(m_offset);
+  }
+
+  /**
+   * Gets a view of the current record as a struct, without copying it. The struct shares the
+   * record's memory, so it's only valid until the next call to next(), and must not be modified.
+   * Allocates the returned struct object, but doesn't copy the record.
+   *
+   * @param desc struct descriptor
+   * @return dynamic struct over the record contents
+   * @throws InputMismatchException if the record is smaller than the struct
+   */
+  public DynamicStruct getStruct(StructDescriptor desc) {
+    return getStruct(desc, 0);
+  }
+
+  /**
+   * Gets a view of an element of the current record as a struct array, without copying it. See
+   * {@link #getStruct(StructDescriptor)}.
+   *
+   * @param desc struct descriptor
+   * @param index element index; the array length is {@link #getSize()} divided by the struct size
+   * @return dynamic struct over the element contents
+   * @throws InputMismatchException if index is out of range
+   */
+  public DynamicStruct getStruct(StructDescriptor desc, int index) {
+    int size = desc.getSize();
+    int offset = elementOffset(index, size);
+    DynamicStruct struct = DynamicStruct.wrap(desc, m_data.limit(offset + size).position(offset));
+    m_data.limit(m_offset + m_size).position(m_offset);
+    return struct;
+  }
+
+  private String decodeString(int offset, int len) {
+    if (m_data.hasArray()) {
+      return new String(m_data.array(), m_data.arrayOffset() + offset, len, StandardCharsets.UTF_8);
+    }
+    if (m_stringBytes == null || m_stringBytes.length < len) {
+      m_stringBytes = new byte[Math.max(len, 256)];
+    }
+    m_data.get(offset, m_stringBytes, 0, len);
+    return new String(m_stringBytes, 0, len, StandardCharsets.UTF_8);
+  }
+
+  private int elementOffset(int index, int size) {
+    if (index < 0 || (long) (index + 1) * size > m_size) {
+      throw new InputMismatchException(
+          "element " + index + " out of range for record of size " + m_size);
+    }
+    return m_offset + index * size;
+  }
+
+  private int arrayLength(int capacity, int size) {
+    int count = m_size / size;
+    if (capacity < count) {
+      throw new InputMismatchException(
+          "array of length " + capacity + " is too small for " + count + " elements");
+    }
+    return count;
+  }
+
+  private void checkRecord() {
+    if (m_pos < 0) {
+      throw new NoSuchElementException("cursor is not on a record");
+    }
+  }
+}
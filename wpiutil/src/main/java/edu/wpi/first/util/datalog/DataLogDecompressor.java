@@ -0,0 +1,87 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the records of a log that expands compressed entries. Start records of compressed
+ * entries are rewritten to their base type, and each compressed block is replaced by one record per
+ * sample. All other records are passed through unchanged.
+ */
+final class DataLogDecompressor implements Iterator<DataLogRecord> {
+  private final Iterator<DataLogRecord> m_records;
+
+  // Base type of each active compressed entry
+  private final Map<Integer, String> m_compressed = new HashMap<>();
+
+  private DataLogRecord[] m_pending;
+  private int m_pendingPos;
+
+  DataLogDecompressor(Iterator<DataLogRecord> records) {
+    m_records = records;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return m_pending != null && m_pendingPos < m_pending.length || m_records.hasNext();
+  }
+
+  @Override
+  public DataLogRecord next() {
+    for (; ; ) {
+      if (m_pending != null && m_pendingPos < m_pending.length) {
+        return m_pending[m_pendingPos++];
+      }
+      if (!m_records.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      DataLogRecord record = m_records.next();
+      if (record.isStart()) {
+        DataLogRecord.StartRecordData data = record.getStartData();
+        if (data.type.startsWith(DataLogCompression.kTypePrefix)) {
+          String type = data.type.substring(DataLogCompression.kTypePrefix.length());
+          m_compressed.put(data.entry, type);
+          return startRecord(data.entry, data.name, type, data.metadata, record.getTimestamp());
+        }
+        m_compressed.remove(data.entry);
+      } else if (record.isFinish()) {
+        m_compressed.remove(record.getFinishEntry());
+      } else if (!record.isControl()) {
+        String type = m_compressed.get(record.getEntry());
+        if (type != null) {
+          m_pending =
+              DataLogCompression.decodeBlock(
+                  type, record.getEntry(), record.getTimestamp(), record.getRawBuffer());
+          m_pendingPos = 0;
+          continue;
+        }
+      }
+      return record;
+    }
+  }
+
+  private static DataLogRecord startRecord(
+      int entry, String name, String type, String metadata, long timestamp) {
+    byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+    byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+    byte[] metadataBytes = metadata.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer data =
+        ByteBuffer.allocate(17 + nameBytes.length + typeBytes.length + metadataBytes.length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    data.put((byte) 0); // start
+    data.putInt(entry);
+    data.putInt(nameBytes.length).put(nameBytes);
+    data.putInt(typeBytes.length).put(typeBytes);
+    data.putInt(metadataBytes.length).put(metadataBytes);
+    return new DataLogRecord(0, timestamp, data.flip());
+  }
+}
@@ -76,6 +76,23 @@ public class DataLogEntry {
     finish(0);
   }
 
+  /**
+   * Gets the entry index to add records to a batch with.
+   *
+   * @param batch batch
+   * @return entry index
+   * @throws IllegalArgumentException if the batch is for a different log than this entry
+   */
+  int getEntry(DataLogBatch batch) {
+    if (batch.getLog() != m_log) {
+      throw new IllegalArgumentException("batch is for a different log than this entry");
+    }
+    return m_entry;
+  }
+
+  // Writes any values the entry buffers to the log; called when the log is flushed or closed
+  void flushBuffered() {}
+
   /** The data log instance associated with the entry. */
   protected final DataLog m_log;
 
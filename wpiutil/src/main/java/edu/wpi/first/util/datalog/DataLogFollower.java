@@ -0,0 +1,202 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Follows a data log file that is still being written (e.g. by a {@link DataLogBackgroundWriter}),
+ * reading records as they are appended.
+ *
+ * <p>Each call to {@link #poll(Consumer)} maps the part of the file that was appended since the
+ * previous call and passes every complete record in it to a callback. A record that is only
+ * partially written is left for a later poll, so records are never delivered twice or torn.
+ *
+ * <p>The follower also tracks start, finish, and set metadata control records, so the entry a
+ * record belongs to can be looked up with {@link #getStartData(int)}.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class DataLogFollower implements AutoCloseable {
+  // Maximum amount of the file mapped at once when catching up on a large log
+  private static final int kMaxWindow = 1 << 26;
+
+  private final FileChannel m_channel;
+  private long m_pos;
+  private String m_extraHeader;
+  private final Map<Integer, DataLogRecord.StartRecordData> m_entries = new HashMap<>();
+
+  /**
+   * Opens a data log file to follow. The file must exist, but its header doesn't have to be written
+   * yet.
+   *
+   * @param filename filename
+   * @throws IOException if unable to open the file
+   */
+  public DataLogFollower(String filename) throws IOException {
+    m_channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+  }
+
+  @Override
+  public void close() throws IOException {
+    m_channel.close();
+  }
+
+  /**
+   * Gets the extra header data.
+   *
+   * @return Extra header data, or null if the header hasn't been read yet
+   */
+  public String getExtraHeader() {
+    return m_extraHeader;
+  }
+
+  /**
+   * Gets the file offset of the next record to be read. Everything before this offset has been
+   * delivered.
+   *
+   * @return offset in bytes
+   */
+  public long getPosition() {
+    return m_pos;
+  }
+
+  /**
+   * Gets the start data of an active entry, as of the last poll.
+   *
+   * @param entry entry ID
+   * @return start data, or null if the entry hasn't been started or was finished
+   */
+  public DataLogRecord.StartRecordData getStartData(int entry) {
+    return m_entries.get(entry);
+  }
+
+  /**
+   * Reads the records appended since the last poll.
+   *
+   * @param action function to call for each new complete record, in log order
+   * @return number of records read
+   * @throws IOException if the file can't be read, isn't a data log, or was truncated
+   */
+  public int poll(Consumer<? super DataLogRecord> action) throws IOException {
+    long size = m_channel.size();
+    if (size < m_pos) {
+      throw new IOException("data log was truncated from " + m_pos + " to " + size + " bytes");
+    }
+    if (m_extraHeader == null && !readHeader(size)) {
+      return 0;
+    }
+
+    int count = 0;
+    int window = kMaxWindow;
+    while (m_pos < size) {
+      int len = (int) Math.min(size - m_pos, window);
+      boolean mappedAll = m_pos + len == size;
+      var reader = new DataLogReader(m_channel.map(FileChannel.MapMode.READ_ONLY, m_pos, len));
+      long pos = 0;
+      long next = 0;
+      while (pos < len) {
+        try {
+          next = reader.getNextRecord(pos);
+        } catch (IndexOutOfBoundsException ex) {
+          // Partial record header
+          break;
+        }
+        if (next > len) {
+          // Partial record contents
+          break;
+        }
+        DataLogRecord record = reader.getRecord(pos);
+        trackControl(record);
+        action.accept(record);
+        count++;
+        pos = next;
+      }
+      m_pos += pos;
+      if (mappedAll) {
+        // Anything left is a record that is still being written
+        break;
+      }
+      if (pos == 0) {
+        // The next record is bigger than the window; map enough to hold it
+        window = (int) Math.min(Math.min(next, size - m_pos), Integer.MAX_VALUE);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Reads the records appended since the last poll, waiting for at least one record to be appended
+   * if there are none.
+   *
+   * @param action function to call for each new complete record, in log order
+   * @param timeout maximum time to wait for a record, in seconds
+   * @param period time between checks for new records, in seconds
+   * @return number of records read; 0 if the timeout expired
+   * @throws IOException if the file can't be read, isn't a data log, or was truncated
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public int poll(Consumer<? super DataLogRecord> action, double timeout, double period)
+      throws IOException, InterruptedException {
+    long deadline = System.nanoTime() + (long) (timeout * 1e9);
+    long periodMs = Math.max(1, (long) (period * 1e3));
+    for (; ; ) {
+      int count = poll(action);
+      if (count > 0 || System.nanoTime() >= deadline) {
+        return count;
+      }
+      Thread.sleep(periodMs);
+    }
+  }
+
+  private boolean readHeader(long size) throws IOException {
+    if (size < 12) {
+      return false;
+    }
+    ByteBuffer header =
+        m_channel.map(FileChannel.MapMode.READ_ONLY, 0, 12).order(ByteOrder.LITTLE_ENDIAN);
+    if (!new DataLogReader(header).isValid()) {
+      throw new IOException("not a data log");
+    }
+    int extraLen = header.getInt(8);
+    if (size < 12L + extraLen) {
+      return false;
+    }
+    byte[] extra = new byte[extraLen];
+    m_channel.map(FileChannel.MapMode.READ_ONLY, 12, extraLen).get(extra);
+    m_extraHeader = new String(extra, StandardCharsets.UTF_8);
+    m_pos = 12L + extraLen;
+    return true;
+  }
+
+  private void trackControl(DataLogRecord record) {
+    if (!record.isControl()) {
+      return;
+    }
+    if (record.isStart()) {
+      DataLogRecord.StartRecordData data = record.getStartData();
+      m_entries.put(data.entry, data);
+    } else if (record.isFinish()) {
+      m_entries.remove(record.getFinishEntry());
+    } else if (record.isSetMetadata()) {
+      DataLogRecord.MetadataRecordData data = record.getSetMetadataData();
+      DataLogRecord.StartRecordData start = m_entries.get(data.entry);
+      if (start != null) {
+        m_entries.put(
+            data.entry,
+            new DataLogRecord.StartRecordData(start.entry, start.name, start.type, data.metadata));
+      }
+    }
+  }
+}
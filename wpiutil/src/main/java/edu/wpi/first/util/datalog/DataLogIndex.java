@@ -0,0 +1,363 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory index of the records in a data log, for looking up records by entry and time without
+ * scanning the whole log.
+ *
+ * <p>Building the index makes one pass over the log that reads only record headers (control records
+ * are fully decoded). For each entry, the index keeps the offset and timestamp of every data
+ * record, which takes 16 bytes per record. Records can then be read directly by position in the
+ * entry or by time window.
+ *
+ * <p>Entry IDs can be reused in a log after an entry is finished, so the index tracks each started
+ * entry separately; a name can have more than one entry if it was started more than once.
+ */
+public final class DataLogIndex {
+  /** An entry in the log, covering the records from its start record to its finish record. */
+  public static final class Entry {
+    private final int m_id;
+    private final String m_name;
+    private final String m_type;
+    private String m_metadata;
+    private final long m_startTimestamp;
+    private long m_finishTimestamp = Long.MAX_VALUE;
+    private long[] m_offsets = new long[16];
+    private long[] m_timestamps = new long[16];
+    private int m_count;
+    private boolean m_sorted = true;
+
+    private Entry(int id, String name, String type, String metadata, long startTimestamp) {
+      m_id = id;
+      m_name = name;
+      m_type = type;
+      m_metadata = metadata;
+      m_startTimestamp = startTimestamp;
+    }
+
+    private void add(long offset, long timestamp) {
+      if (m_count == m_offsets.length) {
+        m_offsets = Arrays.copyOf(m_offsets, m_count * 2);
+        m_timestamps = Arrays.copyOf(m_timestamps, m_count * 2);
+      }
+      if (m_count > 0 && timestamp < m_timestamps[m_count - 1]) {
+        m_sorted = false;
+      }
+      m_offsets[m_count] = offset;
+      m_timestamps[m_count] = timestamp;
+      m_count++;
+    }
+
+    /**
+     * Gets the entry ID used by the records of this entry.
+     *
+     * @return entry ID
+     */
+    public int getId() {
+      return m_id;
+    }
+
+    /**
+     * Gets the entry name.
+     *
+     * @return name
+     */
+    public String getName() {
+      return m_name;
+    }
+
+    /**
+     * Gets the entry data type.
+     *
+     * @return type
+     */
+    public String getType() {
+      return m_type;
+    }
+
+    /**
+     * Gets the entry metadata, including any updates from set metadata records.
+     *
+     * @return metadata
+     */
+    public String getMetadata() {
+      return m_metadata;
+    }
+
+    /**
+     * Gets the timestamp of the entry's start record.
+     *
+     * @return Timestamp, in integer microseconds
+     */
+    public long getStartTimestamp() {
+      return m_startTimestamp;
+    }
+
+    /**
+     * Gets the timestamp of the entry's finish record.
+     *
+     * @return Timestamp, in integer microseconds, or Long.MAX_VALUE if the entry was not finished
+     */
+    public long getFinishTimestamp() {
+      return m_finishTimestamp;
+    }
+
+    /**
+     * Gets the number of data records in the entry.
+     *
+     * @return number of records
+     */
+    public int getRecordCount() {
+      return m_count;
+    }
+
+    /**
+     * Gets the timestamp of a data record.
+     *
+     * @param index index of the record in the entry
+     * @return Timestamp, in integer microseconds
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public long getTimestamp(int index) {
+      return m_timestamps[checkIndex(index)];
+    }
+
+    /**
+     * Gets the offset of a data record in the log.
+     *
+     * @param index index of the record in the entry
+     * @return offset in bytes
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public long getOffset(int index) {
+      return m_offsets[checkIndex(index)];
+    }
+
+    /**
+     * Returns true if the entry's data records are in timestamp order. Records are almost always
+     * logged in order; if not, time window lookups have to check every record in the entry.
+     *
+     * @return True if records are in timestamp order
+     */
+    public boolean isSorted() {
+      return m_sorted;
+    }
+
+    /**
+     * Finds the first data record with a timestamp at or after the given time. Only valid if the
+     * records are in timestamp order.
+     *
+     * @param timestamp time, in integer microseconds
+     * @return index of the record, or the record count if there is no such record
+     */
+    public int lowerBound(long timestamp) {
+      int low = 0;
+      int high = m_count;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (m_timestamps[mid] < timestamp) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private int checkIndex(int index) {
+      if (index < 0 || index >= m_count) {
+        throw new IndexOutOfBoundsException(
+            "index " + index + " out of range for " + m_count + " records");
+      }
+      return index;
+    }
+  }
+
+  private final DataLogReader m_reader;
+  private final List<Entry> m_entries = new ArrayList<>();
+  private final Map<String, List<Entry>> m_entriesByName = new HashMap<>();
+
+  /**
+   * Builds an index of a data log.
+   *
+   * @param reader data log reader
+   */
+  public DataLogIndex(DataLogReader reader) {
+    m_reader = reader;
+
+    // Entries that have been started and not yet finished, by entry ID. The IDs come from the file,
+    // so they're kept in a map rather than used to size an array.
+    Map<Integer, Entry> active = new HashMap<>();
+    long size = reader.getSize();
+    long pos = reader.getFirstRecord();
+    while (pos < size) {
+      long next;
+      int id;
+      try {
+        next = reader.getNextRecord(pos);
+        id = reader.getRecordEntry(pos);
+      } catch (IndexOutOfBoundsException ex) {
+        break;
+      }
+      if (next > size) {
+        // Truncated last record
+        break;
+      }
+
+      if (id != 0) {
+        Entry entry = active.get(id);
+        if (entry != null) {
+          entry.add(pos, reader.getRecordTimestamp(pos));
+        }
+      } else {
+        DataLogRecord record = reader.getRecord(pos);
+        if (record.isStart()) {
+          DataLogRecord.StartRecordData data = record.getStartData();
+          if (data.entry <= 0) {
+            pos = next;
+            continue;
+          }
+          var entry =
+              new Entry(data.entry, data.name, data.type, data.metadata, record.getTimestamp());
+          active.put(data.entry, entry);
+          m_entries.add(entry);
+          m_entriesByName.computeIfAbsent(data.name, k -> new ArrayList<>()).add(entry);
+        } else if (record.isFinish()) {
+          Entry entry = active.remove(record.getFinishEntry());
+          if (entry != null) {
+            entry.m_finishTimestamp = record.getTimestamp();
+          }
+        } else if (record.isSetMetadata()) {
+          DataLogRecord.MetadataRecordData data = record.getSetMetadataData();
+          Entry entry = active.get(data.entry);
+          if (entry != null) {
+            entry.m_metadata = data.metadata;
+          }
+        }
+      }
+      pos = next;
+    }
+  }
+
+  /**
+   * Gets the data log reader the index was built from.
+   *
+   * @return data log reader
+   */
+  public DataLogReader getReader() {
+    return m_reader;
+  }
+
+  /**
+   * Gets all entries in the log, in the order they were started.
+   *
+   * @return entries
+   */
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(m_entries);
+  }
+
+  /**
+   * Gets all entries in the log with the given name, in the order they were started.
+   *
+   * @param name entry name
+   * @return entries, or an empty list if there are none
+   */
+  public List<Entry> getEntries(String name) {
+    return Collections.unmodifiableList(m_entriesByName.getOrDefault(name, List.of()));
+  }
+
+  /**
+   * Gets the most recently started entry with the given name.
+   *
+   * @param name entry name
+   * @return entry, or null if there is none
+   */
+  public Entry getEntry(String name) {
+    List<Entry> entries = m_entriesByName.get(name);
+    return entries != null ? entries.get(entries.size() - 1) : null;
+  }
+
+  /**
+   * Reads a data record of an entry.
+   *
+   * @param entry entry
+   * @param index index of the record in the entry
+   * @return record
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @throws NoSuchElementException if the record can't be read
+   */
+  public DataLogRecord getRecord(Entry entry, int index) {
+    return m_reader.getRecord(entry.getOffset(index));
+  }
+
+  /**
+   * Calls a function for each data record of an entry with a timestamp in a time window, in log
+   * order.
+   *
+   * @param entry entry
+   * @param startTime start of the window (inclusive), in integer microseconds
+   * @param endTime end of the window (exclusive), in integer microseconds
+   * @param action function to call for each record
+   */
+  public void forEach(
+      Entry entry, long startTime, long endTime, Consumer<? super DataLogRecord> action) {
+    if (entry.m_sorted) {
+      for (int i = entry.lowerBound(startTime);
+          i < entry.m_count && entry.m_timestamps[i] < endTime;
+          i++) {
+        action.accept(m_reader.getRecord(entry.m_offsets[i]));
+      }
+    } else {
+      for (int i = 0; i < entry.m_count; i++) {
+        long timestamp = entry.m_timestamps[i];
+        if (timestamp >= startTime && timestamp < endTime) {
+          action.accept(m_reader.getRecord(entry.m_offsets[i]));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the data records of an entry with a timestamp in a time window, in log order.
+   *
+   * @param entry entry
+   * @param startTime start of the window (inclusive), in integer microseconds
+   * @param endTime end of the window (exclusive), in integer microseconds
+   * @return records
+   */
+  public List<DataLogRecord> getRecords(Entry entry, long startTime, long endTime) {
+    List<DataLogRecord> records = new ArrayList<>();
+    forEach(entry, startTime, endTime, records::add);
+    return records;
+  }
+
+  /**
+   * Gets the data records of all entries with the given name with a timestamp in a time window, in
+   * log order for each entry.
+   *
+   * @param name entry name
+   * @param startTime start of the window (inclusive), in integer microseconds
+   * @param endTime end of the window (exclusive), in integer microseconds
+   * @return records
+   */
+  public List<DataLogRecord> getRecords(String name, long startTime, long endTime) {
+    List<DataLogRecord> records = new ArrayList<>();
+    for (Entry entry : getEntries(name)) {
+      forEach(entry, startTime, endTime, records::add);
+    }
+    return records;
+  }
+}
@@ -10,14 +10,14 @@ import java.util.function.Consumer;
 
 /** DataLogReader iterator. */
 public class DataLogIterator implements Iterator<DataLogRecord> {
-  DataLogIterator(DataLogReader reader, int pos) {
+  DataLogIterator(DataLogReader reader, long pos) {
     m_reader = reader;
     m_pos = pos;
   }
 
   @Override
   public void forEachRemaining(Consumer<? super DataLogRecord> action) {
-    int size = m_reader.size();
+    long size = m_reader.getSize();
     for (; m_pos < size; m_pos = m_reader.getNextRecord(m_pos)) {
       DataLogRecord record;
       try {
@@ -31,7 +31,15 @@ public class DataLogIterator implements Iterator<DataLogRecord> {
 
   @Override
   public boolean hasNext() {
-    return (m_pos + 16) <= m_reader.size();
+    long size = m_reader.getSize();
+    if (m_pos >= size) {
+      return false;
+    }
+    try {
+      return m_reader.getNextRecord(m_pos) <= size;
+    } catch (IndexOutOfBoundsException ex) {
+      return false;
+    }
   }
 
   @Override
@@ -42,5 +50,5 @@ public class DataLogIterator implements Iterator<DataLogRecord> {
   }
 
   private final DataLogReader m_reader;
-  private int m_pos;
+  private long m_pos;
 }
@@ -198,6 +198,18 @@ public class DataLogJNI extends WPIUtilJNI {
   private static native void appendRawBuffer(
       long impl, int entry, ByteBuffer data, int start, int len, long timestamp);
 
+  /**
+   * Appends a batch of raw records to the log, all with the same timestamp. Each record in the
+   * buffer is a little-endian 4-byte entry index and 4-byte payload length, followed by the
+   * payload.
+   *
+   * @param impl data log implementation handle
+   * @param data Direct ByteBuffer containing the records
+   * @param len Length of the records in the buffer
+   * @param timestamp Time stamp (may be 0 to indicate now)
+   */
+  static native void appendBatch(long impl, ByteBuffer data, int len, long timestamp);
+
   /**
    * Appends a boolean record to the log.
    *
@@ -12,18 +12,39 @@ import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-/** Data log reader (reads logs written by the DataLog class). */
+/**
+ * Data log reader (reads logs written by the DataLog class).
+ *
+ * <p>Files are memory mapped in segments, so logs larger than 2 GB can be read. Records are
+ * addressed by their long offset in the file. Use {@link DataLogIndex} to look up records by entry
+ * and time without scanning the whole log.
+ *
+ * <p>Reading records does not modify the reader, so records can be read from multiple threads at
+ * once. {@link #parallelStream()} uses this to decode records on all cores.
+ */
 public class DataLogReader implements Iterable<DataLogRecord> {
+  // Files are mapped in 1 GB segments. Each mapping extends past the end of its segment so that
+  // records starting near the end of a segment can usually be sliced without copying.
+  private static final int kSegmentShift = 30;
+  private static final int kMaxSegmentOverlap = 1 << 24;
+
   /**
    * Constructs from a byte buffer.
    *
    * @param buffer byte buffer
    */
   public DataLogReader(ByteBuffer buffer) {
-    m_buf = buffer;
-    m_buf.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    m_segments = new ByteBuffer[] {buffer};
+    // Every position is in the first (and only) segment
+    m_segmentShift = 62;
+    m_segmentMask = (1L << m_segmentShift) - 1;
+    m_size = buffer.remaining();
   }
 
   /**
@@ -33,12 +54,33 @@ public class DataLogReader implements Iterable<DataLogRecord> {
    * @throws IOException if unable to open/read file
    */
   public DataLogReader(String filename) throws IOException {
-    RandomAccessFile f = new RandomAccessFile(filename, "r");
-    FileChannel channel = f.getChannel();
-    m_buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
-    m_buf.order(ByteOrder.LITTLE_ENDIAN);
-    channel.close();
-    f.close();
+    this(filename, kSegmentShift);
+  }
+
+  /**
+   * Constructs from a file, mapping it in segments of the given size.
+   *
+   * @param filename filename
+   * @param segmentShift base 2 logarithm of the segment size
+   * @throws IOException if unable to open/read file
+   */
+  DataLogReader(String filename, int segmentShift) throws IOException {
+    try (RandomAccessFile f = new RandomAccessFile(filename, "r");
+        FileChannel channel = f.getChannel()) {
+      m_size = channel.size();
+      m_segmentShift = segmentShift;
+      m_segmentMask = (1L << segmentShift) - 1;
+      long segmentSize = 1L << segmentShift;
+      long overlap = Math.min(kMaxSegmentOverlap, segmentSize / 4);
+      int count = (int) Math.max(1, (m_size + segmentSize - 1) >>> segmentShift);
+      m_segments = new ByteBuffer[count];
+      for (int i = 0; i < count; i++) {
+        long start = (long) i << segmentShift;
+        long len = Math.min(m_size - start, segmentSize + overlap);
+        m_segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+        m_segments[i].order(ByteOrder.LITTLE_ENDIAN);
+      }
+    }
   }
 
   /**
@@ -47,14 +89,15 @@ public class DataLogReader implements Iterable<DataLogRecord> {
    * @return True if valid, false otherwise
    */
   public boolean isValid() {
-    return m_buf.remaining() >= 12
-        && m_buf.get(0) == 'W'
-        && m_buf.get(1) == 'P'
-        && m_buf.get(2) == 'I'
-        && m_buf.get(3) == 'L'
-        && m_buf.get(4) == 'O'
-        && m_buf.get(5) == 'G'
-        && m_buf.getShort(6) >= 0x0100;
+    ByteBuffer header = m_segments[0];
+    return m_size >= 12
+        && header.get(0) == 'W'
+        && header.get(1) == 'P'
+        && header.get(2) == 'I'
+        && header.get(3) == 'L'
+        && header.get(4) == 'O'
+        && header.get(5) == 'G'
+        && header.getShort(6) >= 0x0100;
   }
 
   /**
@@ -64,10 +107,10 @@ public class DataLogReader implements Iterable<DataLogRecord> {
    *     1.0 will be 0x0100)
    */
   public short getVersion() {
-    if (m_buf.remaining() < 12) {
+    if (m_size < 12) {
       return 0;
     }
-    return m_buf.getShort(6);
+    return m_segments[0].getShort(6);
   }
 
   /**
@@ -76,7 +119,7 @@ public class DataLogReader implements Iterable<DataLogRecord> {
    * @return Extra header data
    */
   public String getExtraHeader() {
-    ByteBuffer buf = m_buf.duplicate();
+    ByteBuffer buf = m_segments[0].duplicate();
     buf.order(ByteOrder.LITTLE_ENDIAN);
     buf.position(8);
     int size = buf.getInt();
@@ -85,10 +128,18 @@ public class DataLogReader implements Iterable<DataLogRecord> {
     return new String(arr, StandardCharsets.UTF_8);
   }
 
+  /**
+   * Gets the size of the data log.
+   *
+   * @return Size in bytes
+   */
+  public long getSize() {
+    return m_size;
+  }
+
   @Override
   public void forEach(Consumer<? super DataLogRecord> action) {
-    int size = m_buf.remaining();
-    for (int pos = 12 + m_buf.getInt(8); pos < size; pos = getNextRecord(pos)) {
+    for (long pos = getFirstRecord(); pos < m_size; pos = getNextRecord(pos)) {
       DataLogRecord record;
       try {
         record = getRecord(pos);
@@ -101,20 +152,127 @@ public class DataLogReader implements Iterable<DataLogRecord> {
 
   @Override
   public DataLogIterator iterator() {
-    return new DataLogIterator(this, 12 + m_buf.getInt(8));
+    return new DataLogIterator(this, getFirstRecord());
+  }
+
+  /**
+   * Gets the records in the log with compressed entries (e.g. {@link CompressedDoubleLogEntry})
+   * decoded. A compressed entry's start record is returned with the uncompressed data type (e.g.
+   * "double"), and each of its records is expanded into one record per value, in the same format as
+   * if the entry hadn't been compressed. Other records are returned as-is.
+   *
+   * @return records, with compressed entries decoded
+   */
+  public Iterable<DataLogRecord> decompressed() {
+    return () -> new DataLogDecompressor(iterator());
+  }
+
+  /**
+   * Creates a cursor over the records in the log. Unlike the iterator, a cursor doesn't allocate
+   * per record.
+   *
+   * @return cursor, positioned before the first record
+   */
+  public DataLogCursor cursor() {
+    return new DataLogCursor(this);
+  }
+
+  /**
+   * Creates a spliterator over the records in the log. The spliterator splits the log into byte
+   * ranges at record positions found by reading the record headers once, on the first split.
+   *
+   * @return spliterator
+   */
+  @Override
+  public Spliterator<DataLogRecord> spliterator() {
+    return new DataLogSpliterator(this, getFirstRecord(), m_size);
+  }
+
+  /**
+   * Returns a sequential stream of the records in the log.
+   *
+   * @return stream of records
+   */
+  public Stream<DataLogRecord> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the records in the log. Records are decoded in parallel, so
+   * operations like decoding arrays or structs and aggregating values use all cores. As with other
+   * parallel streams, the stream runs in the common fork-join pool, unless the terminal operation
+   * is called from a task in another pool.
+   *
+   * @return parallel stream of records
+   */
+  public Stream<DataLogRecord> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  long getFirstRecord() {
+    return 12 + m_segments[0].getInt(8);
+  }
+
+  /**
+   * Gets views of the segment mappings, with their own positions and limits.
+   *
+   * @return segment views
+   */
+  ByteBuffer[] getSegmentViews() {
+    ByteBuffer[] views = new ByteBuffer[m_segments.length];
+    for (int i = 0; i < views.length; i++) {
+      views[i] = m_segments[i].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return views;
+  }
+
+  int getSegmentIndex(long pos) {
+    return (int) (pos >>> m_segmentShift);
+  }
+
+  int getSegmentOffset(long pos) {
+    return (int) (pos & m_segmentMask);
+  }
+
+  byte getByte(long pos) {
+    return m_segments[(int) (pos >>> m_segmentShift)].get((int) (pos & m_segmentMask));
   }
 
-  private long readVarInt(int pos, int len) {
+  long readVarInt(long pos, int len) {
     long val = 0;
     for (int i = 0; i < len; i++) {
-      val |= ((long) (m_buf.get(pos + i) & 0xff)) << (i * 8);
+      val |= ((long) (getByte(pos + i) & 0xff)) << (i * 8);
     }
     return val;
   }
 
-  DataLogRecord getRecord(int pos) {
+  /**
+   * Gets the contents of a record, without copying if the record is within one segment mapping.
+   *
+   * @param pos Position of the record contents
+   * @param len Length of the record contents
+   * @return Record contents
+   */
+  private ByteBuffer getData(long pos, int len) {
+    ByteBuffer segment = m_segments[(int) (pos >>> m_segmentShift)];
+    int offset = (int) (pos & m_segmentMask);
+    if ((long) offset + len <= segment.limit()) {
+      return segment.slice(offset, len);
+    }
+    if (pos + len > m_size) {
+      throw new IndexOutOfBoundsException("record extends past end of log");
+    }
+    // The record crosses the end of its segment's mapping; copy it out
+    ByteBuffer data = ByteBuffer.allocate(len);
+    for (int i = 0; i < len; i++) {
+      data.put(i, getByte(pos + i));
+    }
+    return data;
+  }
+
+  DataLogRecord getRecord(long pos) {
     try {
-      int lenbyte = m_buf.get(pos) & 0xff;
+      int lenbyte = getByte(pos) & 0xff;
       int entryLen = (lenbyte & 0x3) + 1;
       int sizeLen = ((lenbyte >> 2) & 0x3) + 1;
       int timestampLen = ((lenbyte >> 4) & 0x7) + 1;
@@ -122,33 +280,50 @@ public class DataLogReader implements Iterable<DataLogRecord> {
       int entry = (int) readVarInt(pos + 1, entryLen);
       int size = (int) readVarInt(pos + 1 + entryLen, sizeLen);
       long timestamp = readVarInt(pos + 1 + entryLen + sizeLen, timestampLen);
-      // build a slice of the data contents
-      ByteBuffer data = m_buf.duplicate();
-      data.position(pos + headerLen);
-      data.limit(pos + headerLen + size);
-      return new DataLogRecord(entry, timestamp, data.slice());
+      return new DataLogRecord(entry, timestamp, getData(pos + headerLen, size));
     } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
       throw new NoSuchElementException();
     }
   }
 
-  int getNextRecord(int pos) {
-    int lenbyte = m_buf.get(pos) & 0xff;
+  /**
+   * Gets the entry ID of a record without decoding the rest of it.
+   *
+   * @param pos Position of the record
+   * @return Entry ID
+   */
+  int getRecordEntry(long pos) {
+    int lenbyte = getByte(pos) & 0xff;
+    return (int) readVarInt(pos + 1, (lenbyte & 0x3) + 1);
+  }
+
+  /**
+   * Gets the timestamp of a record without decoding the rest of it.
+   *
+   * @param pos Position of the record
+   * @return Timestamp, in integer microseconds
+   */
+  long getRecordTimestamp(long pos) {
+    int lenbyte = getByte(pos) & 0xff;
+    int entryLen = (lenbyte & 0x3) + 1;
+    int sizeLen = ((lenbyte >> 2) & 0x3) + 1;
+    int timestampLen = ((lenbyte >> 4) & 0x7) + 1;
+    return readVarInt(pos + 1 + entryLen + sizeLen, timestampLen);
+  }
+
+  long getNextRecord(long pos) {
+    int lenbyte = getByte(pos) & 0xff;
     int entryLen = (lenbyte & 0x3) + 1;
     int sizeLen = ((lenbyte >> 2) & 0x3) + 1;
     int timestampLen = ((lenbyte >> 4) & 0x7) + 1;
     int headerLen = 1 + entryLen + sizeLen + timestampLen;
 
-    int size = 0;
-    for (int i = 0; i < sizeLen; i++) {
-      size |= (m_buf.get(pos + 1 + entryLen + i) & 0xff) << (i * 8);
-    }
+    long size = readVarInt(pos + 1 + entryLen, sizeLen);
     return pos + headerLen + size;
   }
 
-  int size() {
-    return m_buf.remaining();
-  }
-
-  private final ByteBuffer m_buf;
+  private final ByteBuffer[] m_segments;
+  private final int m_segmentShift;
+  private final long m_segmentMask;
+  private final long m_size;
 }
@@ -0,0 +1,159 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * DataLogReader spliterator. Covers the records that start in a byte range of the log, so records
+ * can be decoded in parallel.
+ *
+ * <p>Records can't be found from an arbitrary byte offset, so the first split walks the record
+ * headers of the whole range once and keeps the positions of records about 64 KiB apart. That
+ * split and all later splits of the resulting spliterators pick the kept position closest to the
+ * middle of their range, so splitting a log reads each header only once.
+ */
+final class DataLogSpliterator implements Spliterator<DataLogRecord> {
+  // Don't split ranges smaller than this; decoding a few records isn't worth a fork
+  private static final long kMinSplitBytes = 1 << 16;
+
+  private final DataLogReader m_reader;
+  // The position of the next record
+  private long m_pos;
+  // Records starting at or past this position belong to another spliterator
+  private final long m_end;
+  // Sorted record positions to split at, shared with the spliterators split from this one; null
+  // until the first split
+  private long[] m_boundaries;
+
+  /**
+   * Constructs a spliterator over the records starting in a range of the log.
+   *
+   * @param reader data log reader
+   * @param pos position of the first record
+   * @param end position past which no records are returned
+   */
+  DataLogSpliterator(DataLogReader reader, long pos, long end) {
+    this(reader, pos, end, null);
+  }
+
+  private DataLogSpliterator(DataLogReader reader, long pos, long end, long[] boundaries) {
+    m_reader = reader;
+    m_pos = pos;
+    m_end = end;
+    m_boundaries = boundaries;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super DataLogRecord> action) {
+    long next = nextRecord(m_pos);
+    if (next < 0) {
+      m_pos = m_end;
+      return false;
+    }
+    action.accept(m_reader.getRecord(m_pos));
+    m_pos = next;
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super DataLogRecord> action) {
+    for (long next = nextRecord(m_pos); next >= 0; next = nextRecord(m_pos)) {
+      action.accept(m_reader.getRecord(m_pos));
+      m_pos = next;
+    }
+    m_pos = m_end;
+  }
+
+  @Override
+  public Spliterator<DataLogRecord> trySplit() {
+    long start = m_pos;
+    if (m_end - start < 2 * kMinSplitBytes) {
+      return null;
+    }
+    if (m_boundaries == null) {
+      m_boundaries = findBoundaries(start);
+    }
+
+    // Split at whichever boundary on either side of the middle is closer, if it's in the range
+    long mid = start + (m_end - start) / 2;
+    int index = Arrays.binarySearch(m_boundaries, mid);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    long pos = -1;
+    for (int i = Math.max(index - 1, 0); i <= index && i < m_boundaries.length; i++) {
+      long boundary = m_boundaries[i];
+      if (boundary > start
+          && boundary < m_end
+          && (pos < 0 || Math.abs(boundary - mid) < Math.abs(pos - mid))) {
+        pos = boundary;
+      }
+    }
+    if (pos < 0) {
+      return null;
+    }
+    m_pos = pos;
+    return new DataLogSpliterator(m_reader, start, pos, m_boundaries);
+  }
+
+  /**
+   * Walks the record headers from a position to the end of the range, and gets the positions of
+   * records at least the minimum split size apart.
+   *
+   * @param pos Position of the first record
+   * @return Sorted record positions
+   */
+  private long[] findBoundaries(long pos) {
+    long[] boundaries = new long[(int) ((m_end - pos) / kMinSplitBytes) + 1];
+    int count = 0;
+    long last = pos;
+    for (long next = nextRecord(pos); next >= 0; next = nextRecord(next)) {
+      if (next - last >= kMinSplitBytes) {
+        boundaries[count++] = next;
+        last = next;
+      }
+    }
+    return Arrays.copyOf(boundaries, count);
+  }
+
+  /**
+   * Returns the number of bytes left in the range, as an estimate of the number of records left.
+   *
+   * @return remaining bytes
+   */
+  @Override
+  public long estimateSize() {
+    return Math.max(m_end - m_pos, 0);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+
+  /**
+   * Gets the position of the record after a record, if that record is complete and belongs to this
+   * spliterator.
+   *
+   * @param pos Position of the record
+   * @return Position of the next record, or -1 if the record isn't in this range or is truncated
+   */
+  private long nextRecord(long pos) {
+    if (pos >= m_end) {
+      return -1;
+    }
+    long next;
+    try {
+      next = m_reader.getNextRecord(pos);
+    } catch (IndexOutOfBoundsException ex) {
+      return -1;
+    }
+    // Truncated last record
+    return next > m_reader.getSize() ? -1 : next;
+  }
+}
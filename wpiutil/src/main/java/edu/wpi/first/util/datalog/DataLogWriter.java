@@ -57,6 +57,7 @@ public class DataLogWriter extends DataLog {
   /** Explicitly flushes the log data to disk. */
   @Override
   public void flush() {
+    flushBufferedEntries();
     DataLogJNI.flush(m_impl);
     if (m_os == null) {
       return;
@@ -74,6 +74,18 @@ public class FloatArrayLogEntry extends DataLogEntry {
     m_log.appendFloatArray(m_entry, value, 0);
   }
 
+  /**
+   * Adds a record to a batch. The record is appended to the log when the batch is committed, with
+   * the batch's timestamp.
+   *
+   * @param batch Batch to add the record to; must be for the same log as this entry
+   * @param value Value to record
+   * @throws IllegalArgumentException if the batch is for a different log
+   */
+  public void append(DataLogBatch batch, float[] value) {
+    batch.appendFloatArray(getEntry(batch), value);
+  }
+
   /**
    * Updates the last value and appends a record to the log if it has changed.
    *
@@ -4,44 +4,44 @@
 
 package edu.wpi.first.util.sendable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * The SendableRegistry class is the public interface for registering sensors and actuators for use
  * on dashboards and LiveWindow.
+ *
+ * <p>All functions are thread-safe. There is no global lock: objects are looked up in a concurrent
+ * map and each object's state is guarded by its own lock, so threads working with different objects
+ * don't block each other. No registry lock is held while user code runs (initSendable(), builder
+ * updates, LiveWindow callbacks, and closing builders and data), so that code may call the registry
+ * freely.
+ *
+ * <p>Objects are weakly referenced by the registry, so registering an object doesn't prevent it
+ * from being garbage collected.
  */
 @SuppressWarnings("PMD.AvoidCatchingGenericException")
 public final class SendableRegistry {
-  private static class Component implements AutoCloseable {
+  private static class Component {
     Component() {}
 
-    Component(Sendable sendable) {
-      m_sendable = new WeakReference<>(sendable);
-    }
-
-    @Override
-    public void close() throws Exception {
-      m_builder.close();
-      for (AutoCloseable data : m_data) {
-        if (data != null) {
-          data.close();
-        }
-      }
-    }
-
+    // Guarded by the component's lock, except that the volatile fields may be read without it
+    // Once m_removed is set, the component has been detached from the registry and isn't modified.
+    boolean m_removed;
     WeakReference<Sendable> m_sendable;
     SendableBuilder m_builder;
-    String m_name;
-    String m_subsystem = "Ungrouped";
+    volatile String m_name;
+    volatile String m_subsystem = "Ungrouped";
     WeakReference<Sendable> m_parent;
-    boolean m_liveWindow;
+    volatile boolean m_liveWindow;
     AutoCloseable[] m_data;
 
     void setName(String moduleType, int channel) {
@@ -51,23 +51,159 @@ public final class SendableRegistry {
     void setName(String moduleType, int moduleNumber, int channel) {
       m_name = moduleType + "[" + moduleNumber + "," + channel + "]";
     }
+
+    void setSendable(Sendable sendable) {
+      if (m_sendable == null) {
+        m_sendable = new WeakReference<>(sendable);
+      }
+    }
+
+    /**
+     * Replaces the builder. The previous builder must be closed by the caller once the component's
+     * lock has been released.
+     *
+     * @param builder new builder
+     * @return previous builder (may be null)
+     */
+    SendableBuilder swapBuilder(SendableBuilder builder) {
+      SendableBuilder old = m_builder;
+      m_builder = builder;
+      return old;
+    }
   }
 
-  private static Supplier<SendableBuilder> liveWindowFactory;
-  private static final Map<Object, Component> components = new WeakHashMap<>();
-  private static int nextDataHandle;
+  /**
+   * Weak map key. Like WeakHashMap, keys are compared with equals() while the object is reachable;
+   * once the object is collected, the key is only equal to itself so it can be removed.
+   */
+  private static final class Key extends WeakReference<Object> {
+    private final int m_hash;
 
-  private static Component getOrAdd(Sendable sendable) {
-    Component comp = components.get(sendable);
-    if (comp == null) {
-      comp = new Component(sendable);
-      components.put(sendable, comp);
-    } else {
-      if (comp.m_sendable == null) {
-        comp.m_sendable = new WeakReference<>(sendable);
+    Key(Object obj, ReferenceQueue<Object> queue) {
+      super(obj, queue);
+      m_hash = obj.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return m_hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (other instanceof Lookup lookup) {
+        return lookup.equals(this);
+      }
+      if (!(other instanceof Key key) || m_hash != key.m_hash) {
+        return false;
+      }
+      Object obj = get();
+      return obj != null && obj.equals(key.get());
+    }
+  }
+
+  /**
+   * Strongly referencing key for looking up an object. Unlike Key, this isn't a Reference, so
+   * lookups don't add work for the garbage collector and the key usually isn't allocated at all.
+   */
+  private static final class Lookup {
+    private final Object m_obj;
+    private final int m_hash;
+
+    Lookup(Object obj) {
+      m_obj = obj;
+      m_hash = obj.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return m_hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key && m_hash == key.m_hash && m_obj.equals(key.get());
+    }
+  }
+
+  private static volatile Supplier<SendableBuilder> liveWindowFactory;
+  private static final Map<Object, Component> components = new ConcurrentHashMap<>();
+  private static final ReferenceQueue<Object> staleKeys = new ReferenceQueue<>();
+  private static final AtomicInteger nextDataHandle = new AtomicInteger();
+
+  private static Component get(Object obj) {
+    return components.get(new Lookup(obj));
+  }
+
+  private static Component getOrAdd(Object obj) {
+    Component comp = get(obj);
+    if (comp != null) {
+      return comp;
+    }
+    expungeStaleComponents();
+    return components.computeIfAbsent(new Key(obj, staleKeys), key -> new Component());
+  }
+
+  /**
+   * Runs an action on an object's component with the component's lock held, adding the object to
+   * the registry if it's not already present. The action must not call user code.
+   */
+  private static <R> R modify(Object obj, Function<Component, R> action) {
+    while (true) {
+      Component comp = getOrAdd(obj);
+      synchronized (comp) {
+        // remove() may have detached the component after it was looked up; if so, add a new one
+        if (!comp.m_removed) {
+          return action.apply(comp);
+        }
+      }
+    }
+  }
+
+  private static <R> R modify(Sendable sendable, Function<Component, R> action) {
+    return modify(
+        (Object) sendable,
+        comp -> {
+          comp.setSendable(sendable);
+          return action.apply(comp);
+        });
+  }
+
+  /**
+   * Runs an action on an object's component with the component's lock held if the object is in the
+   * registry. The action must not call user code.
+   */
+  private static void modifyIfPresent(Sendable sendable, Consumer<Component> action) {
+    Component comp = get(sendable);
+    if (comp != null) {
+      synchronized (comp) {
+        if (!comp.m_removed) {
+          action.accept(comp);
+        }
+      }
+    }
+  }
+
+  /** Removes the components of objects that have been garbage collected. */
+  private static void expungeStaleComponents() {
+    Reference<?> key = staleKeys.poll();
+    while (key != null) {
+      components.remove(key);
+      key = staleKeys.poll();
+    }
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        // ignore
       }
     }
-    return comp;
   }
 
   private SendableRegistry() {
@@ -79,7 +215,7 @@ public final class SendableRegistry {
    *
    * @param factory factory function
    */
-  public static synchronized void setLiveWindowBuilderFactory(Supplier<SendableBuilder> factory) {
+  public static void setLiveWindowBuilderFactory(Supplier<SendableBuilder> factory) {
     liveWindowFactory = factory;
   }
 
@@ -89,9 +225,13 @@ public final class SendableRegistry {
    * @param sendable object to add
    * @param name component name
    */
-  public static synchronized void add(Sendable sendable, String name) {
-    Component comp = getOrAdd(sendable);
-    comp.m_name = name;
+  public static void add(Sendable sendable, String name) {
+    modify(
+        sendable,
+        comp -> {
+          comp.m_name = name;
+          return null;
+        });
   }
 
   /**
@@ -101,9 +241,13 @@ public final class SendableRegistry {
    * @param moduleType A string that defines the module name in the label for the value
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void add(Sendable sendable, String moduleType, int channel) {
-    Component comp = getOrAdd(sendable);
-    comp.setName(moduleType, channel);
+  public static void add(Sendable sendable, String moduleType, int channel) {
+    modify(
+        sendable,
+        comp -> {
+          comp.setName(moduleType, channel);
+          return null;
+        });
   }
 
   /**
@@ -114,10 +258,13 @@ public final class SendableRegistry {
    * @param moduleNumber The number of the particular module type
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void add(
-      Sendable sendable, String moduleType, int moduleNumber, int channel) {
-    Component comp = getOrAdd(sendable);
-    comp.setName(moduleType, moduleNumber, channel);
+  public static void add(Sendable sendable, String moduleType, int moduleNumber, int channel) {
+    modify(
+        sendable,
+        comp -> {
+          comp.setName(moduleType, moduleNumber, channel);
+          return null;
+        });
   }
 
   /**
@@ -127,10 +274,19 @@ public final class SendableRegistry {
    * @param subsystem subsystem name
    * @param name component name
    */
-  public static synchronized void add(Sendable sendable, String subsystem, String name) {
-    Component comp = getOrAdd(sendable);
-    comp.m_name = name;
-    comp.m_subsystem = subsystem;
+  public static void add(Sendable sendable, String subsystem, String name) {
+    modify(
+        sendable,
+        comp -> {
+          comp.m_name = name;
+          comp.m_subsystem = subsystem;
+          return null;
+        });
+  }
+
+  private static SendableBuilder createLiveWindowBuilder() {
+    Supplier<SendableBuilder> factory = liveWindowFactory;
+    return factory != null ? factory.get() : null;
   }
 
   /**
@@ -139,20 +295,16 @@ public final class SendableRegistry {
    * @param sendable object to add
    * @param name component name
    */
-  public static synchronized void addLW(Sendable sendable, String name) {
-    Component comp = getOrAdd(sendable);
-    if (liveWindowFactory != null) {
-      if (comp.m_builder != null) {
-        try {
-          comp.m_builder.close();
-        } catch (Exception e) {
-          // ignore
-        }
-      }
-      comp.m_builder = liveWindowFactory.get();
-    }
-    comp.m_liveWindow = true;
-    comp.m_name = name;
+  public static void addLW(Sendable sendable, String name) {
+    SendableBuilder builder = createLiveWindowBuilder();
+    closeQuietly(
+        modify(
+            sendable,
+            comp -> {
+              comp.m_liveWindow = true;
+              comp.m_name = name;
+              return builder != null ? comp.swapBuilder(builder) : null;
+            }));
   }
 
   /**
@@ -162,20 +314,16 @@ public final class SendableRegistry {
    * @param moduleType A string that defines the module name in the label for the value
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void addLW(Sendable sendable, String moduleType, int channel) {
-    Component comp = getOrAdd(sendable);
-    if (liveWindowFactory != null) {
-      if (comp.m_builder != null) {
-        try {
-          comp.m_builder.close();
-        } catch (Exception e) {
-          // ignore
-        }
-      }
-      comp.m_builder = liveWindowFactory.get();
-    }
-    comp.m_liveWindow = true;
-    comp.setName(moduleType, channel);
+  public static void addLW(Sendable sendable, String moduleType, int channel) {
+    SendableBuilder builder = createLiveWindowBuilder();
+    closeQuietly(
+        modify(
+            sendable,
+            comp -> {
+              comp.m_liveWindow = true;
+              comp.setName(moduleType, channel);
+              return builder != null ? comp.swapBuilder(builder) : null;
+            }));
   }
 
   /**
@@ -186,21 +334,16 @@ public final class SendableRegistry {
    * @param moduleNumber The number of the particular module type
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void addLW(
-      Sendable sendable, String moduleType, int moduleNumber, int channel) {
-    Component comp = getOrAdd(sendable);
-    if (liveWindowFactory != null) {
-      if (comp.m_builder != null) {
-        try {
-          comp.m_builder.close();
-        } catch (Exception e) {
-          // ignore
-        }
-      }
-      comp.m_builder = liveWindowFactory.get();
-    }
-    comp.m_liveWindow = true;
-    comp.setName(moduleType, moduleNumber, channel);
+  public static void addLW(Sendable sendable, String moduleType, int moduleNumber, int channel) {
+    SendableBuilder builder = createLiveWindowBuilder();
+    closeQuietly(
+        modify(
+            sendable,
+            comp -> {
+              comp.m_liveWindow = true;
+              comp.setName(moduleType, moduleNumber, channel);
+              return builder != null ? comp.swapBuilder(builder) : null;
+            }));
   }
 
   /**
@@ -210,21 +353,17 @@ public final class SendableRegistry {
    * @param subsystem subsystem name
    * @param name component name
    */
-  public static synchronized void addLW(Sendable sendable, String subsystem, String name) {
-    Component comp = getOrAdd(sendable);
-    if (liveWindowFactory != null) {
-      if (comp.m_builder != null) {
-        try {
-          comp.m_builder.close();
-        } catch (Exception e) {
-          // ignore
-        }
-      }
-      comp.m_builder = liveWindowFactory.get();
-    }
-    comp.m_liveWindow = true;
-    comp.m_name = name;
-    comp.m_subsystem = subsystem;
+  public static void addLW(Sendable sendable, String subsystem, String name) {
+    SendableBuilder builder = createLiveWindowBuilder();
+    closeQuietly(
+        modify(
+            sendable,
+            comp -> {
+              comp.m_liveWindow = true;
+              comp.m_name = name;
+              comp.m_subsystem = subsystem;
+              return builder != null ? comp.swapBuilder(builder) : null;
+            }));
   }
 
   /**
@@ -234,13 +373,13 @@ public final class SendableRegistry {
    * @param parent parent object
    * @param child child object
    */
-  public static synchronized void addChild(Sendable parent, Object child) {
-    Component comp = components.get(child);
-    if (comp == null) {
-      comp = new Component();
-      components.put(child, comp);
-    }
-    comp.m_parent = new WeakReference<>(parent);
+  public static void addChild(Sendable parent, Object child) {
+    modify(
+        child,
+        comp -> {
+          comp.m_parent = new WeakReference<>(parent);
+          return null;
+        });
   }
 
   /**
@@ -249,16 +388,26 @@ public final class SendableRegistry {
    * @param sendable object to remove
    * @return true if the object was removed; false if it was not present
    */
-  public static synchronized boolean remove(Sendable sendable) {
-    Component comp = components.remove(sendable);
-    if (comp != null) {
-      try {
-        comp.close();
-      } catch (Exception e) {
-        // ignore
+  public static boolean remove(Sendable sendable) {
+    Component comp = components.remove(new Lookup(sendable));
+    if (comp == null) {
+      return false;
+    }
+    SendableBuilder builder;
+    AutoCloseable[] data;
+    synchronized (comp) {
+      comp.m_removed = true;
+      builder = comp.swapBuilder(null);
+      data = comp.m_data;
+      comp.m_data = null;
+    }
+    closeQuietly(builder);
+    if (data != null) {
+      for (AutoCloseable d : data) {
+        closeQuietly(d);
       }
     }
-    return comp != null;
+    return true;
   }
 
   /**
@@ -267,8 +416,8 @@ public final class SendableRegistry {
    * @param sendable object to check
    * @return True if in registry, false if not.
    */
-  public static synchronized boolean contains(Sendable sendable) {
-    return components.containsKey(sendable);
+  public static boolean contains(Sendable sendable) {
+    return get(sendable) != null;
   }
 
   /**
@@ -277,8 +426,8 @@ public final class SendableRegistry {
    * @param sendable object
    * @return Name (empty if object is not in registry)
    */
-  public static synchronized String getName(Sendable sendable) {
-    Component comp = components.get(sendable);
+  public static String getName(Sendable sendable) {
+    Component comp = get(sendable);
     if (comp == null) {
       return "";
     }
@@ -291,11 +440,8 @@ public final class SendableRegistry {
    * @param sendable object
    * @param name name
    */
-  public static synchronized void setName(Sendable sendable, String name) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.m_name = name;
-    }
+  public static void setName(Sendable sendable, String name) {
+    modifyIfPresent(sendable, comp -> comp.m_name = name);
   }
 
   /**
@@ -305,11 +451,8 @@ public final class SendableRegistry {
    * @param moduleType A string that defines the module name in the label for the value
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void setName(Sendable sendable, String moduleType, int channel) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.setName(moduleType, channel);
-    }
+  public static void setName(Sendable sendable, String moduleType, int channel) {
+    modifyIfPresent(sendable, comp -> comp.setName(moduleType, channel));
   }
 
   /**
@@ -320,12 +463,8 @@ public final class SendableRegistry {
    * @param moduleNumber The number of the particular module type
    * @param channel The channel number the device is plugged into
    */
-  public static synchronized void setName(
-      Sendable sendable, String moduleType, int moduleNumber, int channel) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.setName(moduleType, moduleNumber, channel);
-    }
+  public static void setName(Sendable sendable, String moduleType, int moduleNumber, int channel) {
+    modifyIfPresent(sendable, comp -> comp.setName(moduleType, moduleNumber, channel));
   }
 
   /**
@@ -335,12 +474,13 @@ public final class SendableRegistry {
    * @param subsystem subsystem name
    * @param name device name
    */
-  public static synchronized void setName(Sendable sendable, String subsystem, String name) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.m_name = name;
-      comp.m_subsystem = subsystem;
-    }
+  public static void setName(Sendable sendable, String subsystem, String name) {
+    modifyIfPresent(
+        sendable,
+        comp -> {
+          comp.m_name = name;
+          comp.m_subsystem = subsystem;
+        });
   }
 
   /**
@@ -349,8 +489,8 @@ public final class SendableRegistry {
    * @param sendable object
    * @return Subsystem name (empty if object is not in registry)
    */
-  public static synchronized String getSubsystem(Sendable sendable) {
-    Component comp = components.get(sendable);
+  public static String getSubsystem(Sendable sendable) {
+    Component comp = get(sendable);
     if (comp == null) {
       return "";
     }
@@ -363,11 +503,8 @@ public final class SendableRegistry {
    * @param sendable object
    * @param subsystem subsystem name
    */
-  public static synchronized void setSubsystem(Sendable sendable, String subsystem) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.m_subsystem = subsystem;
-    }
+  public static void setSubsystem(Sendable sendable, String subsystem) {
+    modifyIfPresent(sendable, comp -> comp.m_subsystem = subsystem);
   }
 
   /**
@@ -375,8 +512,8 @@ public final class SendableRegistry {
    *
    * @return Handle
    */
-  public static synchronized int getDataHandle() {
-    return nextDataHandle++;
+  public static int getDataHandle() {
+    return nextDataHandle.getAndIncrement();
   }
 
   /**
@@ -388,30 +525,38 @@ public final class SendableRegistry {
    * @return Previous data (may be null). If non-null, caller is responsible for calling close().
    */
   @SuppressWarnings("PMD.CompareObjectsWithEquals")
-  public static synchronized AutoCloseable setData(
-      Sendable sendable, int handle, AutoCloseable data) {
-    Component comp = components.get(sendable);
+  public static AutoCloseable setData(Sendable sendable, int handle, AutoCloseable data) {
+    Component comp = get(sendable);
     if (comp == null) {
       return null;
     }
-    AutoCloseable rv = null;
+    AutoCloseable rv;
+    synchronized (comp) {
+      if (comp.m_removed) {
+        return null;
+      }
+      rv = storeData(comp, handle, data);
+    }
+    if (rv != data) {
+      closeQuietly(rv);
+    }
+    return rv;
+  }
+
+  /**
+   * Stores data in a component. The caller must hold the component's lock, and must close the
+   * previous data once the lock has been released if it isn't the same object as the new data.
+   *
+   * @return previous data (may be null)
+   */
+  private static AutoCloseable storeData(Component comp, int handle, AutoCloseable data) {
     if (comp.m_data == null) {
       comp.m_data = new AutoCloseable[handle + 1];
-    } else if (handle < comp.m_data.length) {
-      rv = comp.m_data[handle];
-    } else {
+    } else if (handle >= comp.m_data.length) {
       comp.m_data = Arrays.copyOf(comp.m_data, handle + 1);
     }
-    if (comp.m_data[handle] != data) {
-      if (comp.m_data[handle] != null) {
-        try {
-          comp.m_data[handle].close();
-        } catch (Exception e) {
-          // ignore
-        }
-      }
-      comp.m_data[handle] = data;
-    }
+    AutoCloseable rv = comp.m_data[handle];
+    comp.m_data[handle] = data;
     return rv;
   }
 
@@ -422,12 +567,17 @@ public final class SendableRegistry {
    * @param handle data handle returned by getDataHandle()
    * @return data (may be null if none associated)
    */
-  public static synchronized Object getData(Sendable sendable, int handle) {
-    Component comp = components.get(sendable);
-    if (comp == null || comp.m_data == null || handle >= comp.m_data.length) {
+  public static Object getData(Sendable sendable, int handle) {
+    Component comp = get(sendable);
+    if (comp == null) {
       return null;
     }
-    return comp.m_data[handle];
+    synchronized (comp) {
+      if (comp.m_data == null || handle >= comp.m_data.length) {
+        return null;
+      }
+      return comp.m_data[handle];
+    }
   }
 
   /**
@@ -435,11 +585,8 @@ public final class SendableRegistry {
    *
    * @param sendable object
    */
-  public static synchronized void enableLiveWindow(Sendable sendable) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.m_liveWindow = true;
-    }
+  public static void enableLiveWindow(Sendable sendable) {
+    modifyIfPresent(sendable, comp -> comp.m_liveWindow = true);
   }
 
   /**
@@ -447,31 +594,24 @@ public final class SendableRegistry {
    *
    * @param sendable object
    */
-  public static synchronized void disableLiveWindow(Sendable sendable) {
-    Component comp = components.get(sendable);
-    if (comp != null) {
-      comp.m_liveWindow = false;
-    }
+  public static void disableLiveWindow(Sendable sendable) {
+    modifyIfPresent(sendable, comp -> comp.m_liveWindow = false);
   }
 
   /**
-   * Publishes an object in the registry to a builder.
+   * Publishes an object in the registry to a builder. No registry lock is held while the object's
+   * initSendable() is called, so initSendable() may use the registry freely.
    *
    * @param sendable object
    * @param builder sendable builder
    */
-  public static synchronized void publish(Sendable sendable, SendableBuilder builder) {
-    Component comp = getOrAdd(sendable);
-    if (comp.m_builder != null) {
-      try {
-        comp.m_builder.close();
-      } catch (Exception e) {
-        // ignore
-      }
-    }
-    comp.m_builder = builder; // clear any current builder
-    sendable.initSendable(comp.m_builder);
-    comp.m_builder.update();
+  public static void publish(Sendable sendable, SendableBuilder builder) {
+    // Clear any current builder, then initialize the new one before installing it so update() and
+    // LiveWindow never see a partially initialized builder
+    closeQuietly(modify(sendable, comp -> comp.swapBuilder(null)));
+    sendable.initSendable(builder);
+    builder.update();
+    closeQuietly(modify(sendable, comp -> comp.swapBuilder(builder)));
   }
 
   /**
@@ -479,10 +619,17 @@ public final class SendableRegistry {
    *
    * @param sendable object
    */
-  public static synchronized void update(Sendable sendable) {
-    Component comp = components.get(sendable);
-    if (comp != null && comp.m_builder != null) {
-      comp.m_builder.update();
+  public static void update(Sendable sendable) {
+    Component comp = get(sendable);
+    if (comp == null) {
+      return;
+    }
+    SendableBuilder builder;
+    synchronized (comp) {
+      builder = comp.m_builder;
+    }
+    if (builder != null) {
+      builder.update();
     }
   }
 
@@ -511,72 +658,79 @@ public final class SendableRegistry {
     public CallbackData() {}
   }
 
-  // As foreachLiveWindow is single threaded, cache the components it
-  // iterates over to avoid risk of ConcurrentModificationException
-  private static List<Component> foreachComponents = new ArrayList<>();
-
   /**
-   * Iterates over LiveWindow-enabled objects in the registry. It is *not* safe to call other
-   * SendableRegistry functions from the callback.
+   * Iterates over LiveWindow-enabled objects in the registry. Objects registered or removed during
+   * the iteration may or may not be visited. No registry lock is held while the callback is called,
+   * so the callback may use the registry freely.
    *
    * @param dataHandle data handle to get data object passed to callback
    * @param callback function to call for each object
    */
   @SuppressWarnings("PMD.CompareObjectsWithEquals")
-  public static synchronized void foreachLiveWindow(
-      int dataHandle, Consumer<CallbackData> callback) {
+  public static void foreachLiveWindow(int dataHandle, Consumer<CallbackData> callback) {
+    expungeStaleComponents();
     CallbackData cbdata = new CallbackData();
-    foreachComponents.clear();
-    foreachComponents.addAll(components.values());
-    for (Component comp : foreachComponents) {
-      if (comp.m_builder == null || comp.m_sendable == null) {
-        continue;
-      }
-      cbdata.sendable = comp.m_sendable.get();
-      if (cbdata.sendable != null && comp.m_liveWindow) {
-        cbdata.name = comp.m_name;
-        cbdata.subsystem = comp.m_subsystem;
-        if (comp.m_parent != null) {
-          cbdata.parent = comp.m_parent.get();
-        } else {
-          cbdata.parent = null;
+    // The concurrent map's iterator never throws ConcurrentModificationException, so objects can
+    // be registered by other threads (or by the callback) while iterating
+    for (Component comp : components.values()) {
+      synchronized (comp) {
+        if (!copyLiveWindowData(comp, dataHandle, cbdata)) {
+          continue;
         }
-        if (comp.m_data != null && dataHandle < comp.m_data.length) {
-          cbdata.data = comp.m_data[dataHandle];
-        } else {
-          cbdata.data = null;
+      }
+      AutoCloseable data = cbdata.data;
+      try {
+        callback.accept(cbdata);
+      } catch (Throwable throwable) {
+        Throwable cause = throwable.getCause();
+        if (cause != null) {
+          throwable = cause;
         }
-        cbdata.builder = comp.m_builder;
-        try {
-          callback.accept(cbdata);
-        } catch (Throwable throwable) {
-          Throwable cause = throwable.getCause();
-          if (cause != null) {
-            throwable = cause;
-          }
-          System.err.println("Unhandled exception calling LiveWindow for " + comp.m_name + ": ");
-          throwable.printStackTrace();
+        System.err.println("Unhandled exception calling LiveWindow for " + cbdata.name + ": ");
+        throwable.printStackTrace();
+        synchronized (comp) {
           comp.m_liveWindow = false;
         }
-        if (cbdata.data != null) {
-          if (comp.m_data == null) {
-            comp.m_data = new AutoCloseable[dataHandle + 1];
-          } else if (dataHandle >= comp.m_data.length) {
-            comp.m_data = Arrays.copyOf(comp.m_data, dataHandle + 1);
-          }
-          if (comp.m_data[dataHandle] != cbdata.data) {
-            if (comp.m_data[dataHandle] != null) {
-              try {
-                comp.m_data[dataHandle].close();
-              } catch (Exception e) {
-                // ignore
-              }
-            }
-            comp.m_data[dataHandle] = cbdata.data;
-          }
+      }
+      if (cbdata.data != null && cbdata.data != data) {
+        AutoCloseable old;
+        synchronized (comp) {
+          // If the object was removed during the callback, the new data is closed right away
+          old = comp.m_removed ? cbdata.data : storeData(comp, dataHandle, cbdata.data);
+        }
+        if (old != cbdata.data) {
+          closeQuietly(old);
         }
       }
     }
-    foreachComponents.clear();
+  }
+
+  /**
+   * Copies a component's LiveWindow data into cbdata. The caller must hold the component's lock.
+   *
+   * @return false if the component should not be visited
+   */
+  private static boolean copyLiveWindowData(Component comp, int dataHandle, CallbackData cbdata) {
+    if (comp.m_removed || comp.m_builder == null || comp.m_sendable == null) {
+      return false;
+    }
+    cbdata.sendable = comp.m_sendable.get();
+    if (cbdata.sendable == null || !comp.m_liveWindow) {
+      return false;
+    }
+    cbdata.name = comp.m_name;
+    cbdata.subsystem = comp.m_subsystem;
+    if (comp.m_parent != null) {
+      cbdata.parent = comp.m_parent.get();
+    } else {
+      cbdata.parent = null;
+    }
+    if (comp.m_data != null && dataHandle < comp.m_data.length) {
+      cbdata.data = comp.m_data[dataHandle];
+    } else {
+      cbdata.data = null;
+    }
+    cbdata.builder = comp.m_builder;
+    return true;
   }
 }
@@ -99,7 +99,7 @@ public final class DynamicStruct {
       throw new BufferUnderflowException();
     }
     int oldLimit = data.limit();
-    m_data.position(0).put(data.limit(m_desc.getSize()));
+    m_data.position(0).put(data.limit(data.position() + m_desc.getSize()));
     data.limit(oldLimit);
   }
 
@@ -12,6 +12,10 @@ import java.util.Collection;
 /**
  * Reusable buffer for serialization/deserialization to/from a raw struct.
  *
+ * <p>The write functions serialize into a single internal buffer, so they must not be called
+ * concurrently. The read functions only use the buffer passed to them and may be called from any
+ * thread.
+ *
  * @param <T> Object type.
  */
 public final class StructBuffer<T> {
@@ -139,6 +143,7 @@ public final class StructBuffer<T> {
    * @throws UnsupportedOperationException if T is immutable
    */
   public void readInto(T out, ByteBuffer buf) {
+    buf.order(ByteOrder.LITTLE_ENDIAN);
     m_struct.unpackInto(out, buf);
   }
 
@@ -170,14 +175,32 @@ public final class StructBuffer<T> {
    * @return byte buffer
    */
   public ByteBuffer writeArray(T[] values) {
+    return writeArray(values, values.length);
+  }
+
+  /**
+   * Serializes the first count elements of an array of values to a ByteBuffer. The returned
+   * ByteBuffer is a direct byte buffer with the position set to the end of the serialized data.
+   *
+   * <p>This allows an array of preallocated objects to be reused when the number of values changes
+   * from call to call.
+   *
+   * @param values values
+   * @param count number of values to serialize
+   * @return byte buffer
+   * @throws IndexOutOfBoundsException if count is negative or greater than the array length
+   */
+  public ByteBuffer writeArray(T[] values, int count) {
+    if (count < 0 || count > values.length) {
+      throw new IndexOutOfBoundsException(
+          "count " + count + " out of bounds for array length " + values.length);
+    }
     m_buf.position(0);
-    if ((values.length * m_structSize) > m_buf.capacity()) {
-      m_buf =
-          ByteBuffer.allocateDirect(values.length * m_structSize * 2)
-              .order(ByteOrder.LITTLE_ENDIAN);
+    if ((count * m_structSize) > m_buf.capacity()) {
+      m_buf = ByteBuffer.allocateDirect(count * m_structSize * 2).order(ByteOrder.LITTLE_ENDIAN);
     }
-    for (T v : values) {
-      m_struct.pack(m_buf, v);
+    for (int i = 0; i < count; i++) {
+      m_struct.pack(m_buf, values[i]);
     }
     return m_buf;
   }
@@ -212,11 +235,7 @@ public final class StructBuffer<T> {
    */
   public T[] readArray(ByteBuffer buf) {
     buf.order(ByteOrder.LITTLE_ENDIAN);
-    int len = buf.limit() - buf.position();
-    if ((len % m_structSize) != 0) {
-      throw new RuntimeException("buffer size not a multiple of struct size");
-    }
-    int nelem = len / m_structSize;
+    int nelem = getArrayLength(buf);
     @SuppressWarnings("unchecked")
     T[] arr = (T[]) Array.newInstance(m_struct.getTypeClass(), nelem);
     for (int i = 0; i < nelem; i++) {
@@ -225,6 +244,78 @@ public final class StructBuffer<T> {
     return arr;
   }
 
+  /**
+   * Deserializes an array of values from a byte array into an existing array. Elements are updated
+   * in place if they are non-null and T is mutable; otherwise they are replaced with new objects.
+   * Elements past the end of the serialized data are left unchanged.
+   *
+   * @param out array to fill (elements will be updated or replaced with deserialized contents)
+   * @param buf byte array
+   * @param start starting location within byte array
+   * @param len length of serialized data
+   * @return number of elements deserialized
+   * @throws IllegalArgumentException if out is too small to hold the deserialized elements
+   * @throws UnsupportedOperationException if T is mutable but its struct doesn't implement
+   *     unpackInto
+   */
+  public int readArrayInto(T[] out, byte[] buf, int start, int len) {
+    return readArrayInto(out, ByteBuffer.wrap(buf, start, len));
+  }
+
+  /**
+   * Deserializes an array of values from a byte array into an existing array. Elements are updated
+   * in place if they are non-null and T is mutable; otherwise they are replaced with new objects.
+   * Elements past the end of the serialized data are left unchanged.
+   *
+   * @param out array to fill (elements will be updated or replaced with deserialized contents)
+   * @param buf byte array
+   * @return number of elements deserialized
+   * @throws IllegalArgumentException if out is too small to hold the deserialized elements
+   * @throws UnsupportedOperationException if T is mutable but its struct doesn't implement
+   *     unpackInto
+   */
+  public int readArrayInto(T[] out, byte[] buf) {
+    return readArrayInto(out, buf, 0, buf.length);
+  }
+
+  /**
+   * Deserializes an array of values from a ByteBuffer into an existing array. Elements are updated
+   * in place if they are non-null and T is mutable; otherwise they are replaced with new objects.
+   * Elements past the end of the serialized data are left unchanged.
+   *
+   * @param out array to fill (elements will be updated or replaced with deserialized contents)
+   * @param buf byte buffer
+   * @return number of elements deserialized
+   * @throws IllegalArgumentException if out is too small to hold the deserialized elements
+   * @throws UnsupportedOperationException if T is mutable but its struct doesn't implement
+   *     unpackInto
+   */
+  public int readArrayInto(T[] out, ByteBuffer buf) {
+    buf.order(ByteOrder.LITTLE_ENDIAN);
+    int nelem = getArrayLength(buf);
+    if (nelem > out.length) {
+      throw new IllegalArgumentException(
+          "array of length " + out.length + " cannot hold " + nelem + " elements");
+    }
+    boolean immutable = m_struct.isImmutable();
+    for (int i = 0; i < nelem; i++) {
+      if (immutable || out[i] == null) {
+        out[i] = m_struct.unpack(buf);
+      } else {
+        m_struct.unpackInto(out[i], buf);
+      }
+    }
+    return nelem;
+  }
+
+  private int getArrayLength(ByteBuffer buf) {
+    int len = buf.limit() - buf.position();
+    if ((len % m_structSize) != 0) {
+      throw new RuntimeException("buffer size not a multiple of struct size");
+    }
+    return len / m_structSize;
+  }
+
   private ByteBuffer m_buf;
   private final Struct<T> m_struct;
   private final int m_structSize;
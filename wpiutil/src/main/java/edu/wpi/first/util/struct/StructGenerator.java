@@ -4,16 +4,34 @@
 
 package edu.wpi.first.util.struct;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.RecordComponent;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-
-/** A utility class for procedurally generating {@link Struct}s from records and enums. */
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A utility class for procedurally generating {@link Struct}s from records and enums.
+ *
+ * <p>Record accessors are bound to functional interfaces with {@link LambdaMetafactory}, and record
+ * constructors and enum fields are resolved to {@link MethodHandle}s, once when the struct is
+ * generated, so packing and unpacking don't go through reflective lookups or {@link
+ * java.lang.reflect.Method#invoke}.
+ */
 public final class StructGenerator {
   private StructGenerator() {
     throw new UnsupportedOperationException("This is a utility class!");
@@ -40,6 +58,19 @@ public final class StructGenerator {
     }
   }
 
+  /**
+   * The suffix the Epilogue annotation processor appends to a record's binary name to name the
+   * struct it generates for the record.
+   */
+  private static final String kGeneratedStructSuffix = "GeneratedStruct";
+
+  /** The type of a method handle that gets a value from an object. */
+  private static final MethodType kGetterType = MethodType.methodType(Object.class, Object.class);
+
+  /** The type of a method handle that constructs an object from an array of arguments. */
+  private static final MethodType kConstructorType =
+      MethodType.methodType(Object.class, Object[].class);
+
   private record PrimType<T>(String name, int size, Unpacker<T> unpacker, Packer<T> packer) {}
 
   /** A map of primitive types to their schema types. */
@@ -245,17 +276,226 @@ public final class StructGenerator {
   }
 
   /**
-   * Generates a {@link Struct} for the given {@link Record} class. If a {@link Struct} cannot be
-   * generated from the {@link Record}, the errors encountered will be printed and a no-op {@link
-   * Struct} will be returned.
+   * Creates a packer that reads a component from a record and packs it. The component's accessor is
+   * bound to a functional interface with {@link LambdaMetafactory} where possible, so the JIT can
+   * inline it and primitive components are packed without boxing.
+   *
+   * @param lookup The lookup to bind the accessor with.
+   * @param recordClass The class of the record.
+   * @param component The component to pack. Its accessor must already be accessible.
+   * @param valuePacker The packer for the component's value.
+   * @return The component packer.
+   * @throws IllegalAccessException if the accessor can't be accessed.
+   */
+  private static Packer<Object> componentPacker(
+      MethodHandles.Lookup lookup,
+      Class<?> recordClass,
+      RecordComponent component,
+      Packer<Object> valuePacker)
+      throws IllegalAccessException {
+    final MethodHandle accessor = lookup.unreflect(component.getAccessor());
+    try {
+      return boundComponentPacker(lookup, recordClass, component.getType(), accessor, valuePacker);
+    } catch (LambdaConversionException | IllegalArgumentException e) {
+      // The metafactory can only bind accessors the lookup can access directly, which rules out
+      // non-public records in other packages. The accessor handle itself still works.
+      final MethodHandle getter = accessor.asType(kGetterType);
+      return (buffer, value) -> {
+        Object componentValue = invokeGetter(getter, value);
+        if (componentValue == null) {
+          throw new IllegalArgumentException("Component is null");
+        }
+        return valuePacker.pack(buffer, componentValue);
+      };
+    }
+  }
+
+  /**
+   * Creates a packer that reads a component from a record through an accessor bound with {@link
+   * LambdaMetafactory}.
+   *
+   * @param lookup The lookup to bind the accessor with.
+   * @param recordClass The class of the record.
+   * @param type The type of the component.
+   * @param accessor The component's accessor.
+   * @param valuePacker The packer for the component's value.
+   * @return The component packer.
+   * @throws LambdaConversionException if the accessor can't be bound.
+   */
+  @SuppressWarnings("unchecked")
+  private static Packer<Object> boundComponentPacker(
+      MethodHandles.Lookup lookup,
+      Class<?> recordClass,
+      Class<?> type,
+      MethodHandle accessor,
+      Packer<Object> valuePacker)
+      throws LambdaConversionException {
+    if (type == double.class || type == float.class) {
+      var getter =
+          (ToDoubleFunction<Object>)
+              bindAccessor(
+                  lookup,
+                  recordClass,
+                  accessor,
+                  ToDoubleFunction.class,
+                  "applyAsDouble",
+                  double.class);
+      if (type == float.class) {
+        return (buffer, value) -> buffer.putFloat((float) getter.applyAsDouble(value));
+      }
+      return (buffer, value) -> buffer.putDouble(getter.applyAsDouble(value));
+    } else if (type == long.class) {
+      var getter =
+          (ToLongFunction<Object>)
+              bindAccessor(
+                  lookup, recordClass, accessor, ToLongFunction.class, "applyAsLong", long.class);
+      return (buffer, value) -> buffer.putLong(getter.applyAsLong(value));
+    } else if (type == boolean.class) {
+      var getter =
+          (Predicate<Object>)
+              bindAccessor(lookup, recordClass, accessor, Predicate.class, "test", boolean.class);
+      return (buffer, value) -> buffer.put((byte) (getter.test(value) ? 1 : 0));
+    } else if (type.isPrimitive()) {
+      // int, short, char, and byte are all widened to int
+      var getter =
+          (ToIntFunction<Object>)
+              bindAccessor(
+                  lookup, recordClass, accessor, ToIntFunction.class, "applyAsInt", int.class);
+      if (type == short.class) {
+        return (buffer, value) -> buffer.putShort((short) getter.applyAsInt(value));
+      } else if (type == char.class) {
+        return (buffer, value) -> buffer.putChar((char) getter.applyAsInt(value));
+      } else if (type == byte.class) {
+        return (buffer, value) -> buffer.put((byte) getter.applyAsInt(value));
+      }
+      return (buffer, value) -> buffer.putInt(getter.applyAsInt(value));
+    } else {
+      var getter =
+          (Function<Object, Object>)
+              bindAccessor(lookup, recordClass, accessor, Function.class, "apply", Object.class);
+      return (buffer, value) -> {
+        Object componentValue = getter.apply(value);
+        if (componentValue == null) {
+          throw new IllegalArgumentException("Component is null");
+        }
+        return valuePacker.pack(buffer, componentValue);
+      };
+    }
+  }
+
+  /**
+   * Binds a record accessor to an instance of a single-method functional interface that takes the
+   * record as an Object.
+   *
+   * @param lookup The lookup to bind the accessor with.
+   * @param recordClass The class of the record.
+   * @param accessor The accessor.
+   * @param functionalInterface The functional interface.
+   * @param methodName The name of the functional interface's method.
+   * @param returnType The return type of the functional interface's method, which the accessor's
+   *     return type is widened to.
+   * @return The functional interface instance.
+   * @throws LambdaConversionException if the accessor can't be bound.
+   */
+  private static Object bindAccessor(
+      MethodHandles.Lookup lookup,
+      Class<?> recordClass,
+      MethodHandle accessor,
+      Class<?> functionalInterface,
+      String methodName,
+      Class<?> returnType)
+      throws LambdaConversionException {
+    Class<?> instantiatedReturnType =
+        returnType == Object.class ? accessor.type().returnType() : returnType;
+    CallSite site =
+        LambdaMetafactory.metafactory(
+            lookup,
+            methodName,
+            MethodType.methodType(functionalInterface),
+            MethodType.methodType(returnType, Object.class),
+            accessor,
+            MethodType.methodType(instantiatedReturnType, recordClass));
+    try {
+      return site.getTarget().invoke();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      // The target of a metafactory call site is a factory that can't throw checked exceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Gets a value through a getter handle of type {@code (Object)Object}. Checked exceptions are
+   * wrapped in an {@link IllegalStateException}; errors are rethrown.
+   *
+   * @param getter The getter.
+   * @param value The object to get the value from.
+   * @return The value.
+   */
+  private static Object invokeGetter(MethodHandle getter, Object value) {
+    try {
+      return getter.invokeExact(value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Gets the {@link Struct} generated at compile time for a {@code @Logged} record by the Epilogue
+   * annotation processor, if there is one. The generated struct is named after the record's binary
+   * name with a {@value #kGeneratedStructSuffix} suffix.
+   *
+   * <p>Generated structs pack components with the components' own structs, so one isn't used if a
+   * custom struct has been added for any of the record's component types.
+   *
+   * @param <R> The type of the record.
+   * @param recordClass The class of the record.
+   * @param components The record's components.
+   * @return The generated struct, or null if there isn't one.
+   */
+  @SuppressWarnings("unchecked")
+  private static <R extends Record> Struct<R> findGeneratedStruct(
+      Class<R> recordClass, RecordComponent[] components) {
+    for (RecordComponent component : components) {
+      if (customStructTypeMap.containsKey(component.getType())) {
+        return null;
+      }
+    }
+    try {
+      Class<?> structClass =
+          Class.forName(
+              recordClass.getName() + kGeneratedStructSuffix, true, recordClass.getClassLoader());
+      if (!Struct.class.isAssignableFrom(structClass)) {
+        return null;
+      }
+      Struct<?> struct = (Struct<?>) structClass.getConstructor().newInstance();
+      return struct.getTypeClass() == recordClass ? (Struct<R>) struct : null;
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Generates a {@link Struct} for the given {@link Record} class. If the Epilogue annotation
+   * processor generated a struct for the record at compile time, that struct is returned. If a
+   * {@link Struct} cannot be generated from the {@link Record}, the errors encountered will be
+   * printed and a no-op {@link Struct} will be returned.
    *
    * @param <R> The type of the record.
    * @param recordClass The class of the record.
    * @return The generated struct.
    */
-  @SuppressWarnings({"unchecked", "PMD.AvoidAccessibilityAlteration"})
+  @SuppressWarnings({"unchecked", "rawtypes", "PMD.AvoidAccessibilityAlteration"})
   public static <R extends Record> Struct<R> genRecord(final Class<R> recordClass) {
     final RecordComponent[] components = recordClass.getRecordComponents();
+    final Struct<R> generated = findGeneratedStruct(recordClass, components);
+    if (generated != null) {
+      return generated;
+    }
+
     final SchemaBuilder schemaBuilder = new SchemaBuilder();
     final ArrayList<Struct<?>> nestedStructs = new ArrayList<>();
     final ArrayList<Unpacker<?>> unpackers = new ArrayList<>();
@@ -313,6 +553,29 @@ public final class StructGenerator {
       return noopStruct(recordClass);
     }
 
+    final Packer<Object>[] componentPackers = new Packer[components.length];
+    final MethodHandle constructor;
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      Class<?>[] argTypes = new Class<?>[components.length];
+      for (int i = 0; i < components.length; i++) {
+        componentPackers[i] =
+            componentPacker(lookup, recordClass, components[i], (Packer<Object>) packers.get(i));
+        argTypes[i] = components[i].getType();
+      }
+      Constructor<R> canonical = recordClass.getDeclaredConstructor(argTypes);
+      canonical.setAccessible(true);
+      constructor =
+          lookup
+              .unreflectConstructor(canonical)
+              .asSpreader(Object[].class, components.length)
+              .asType(kConstructorType);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      System.err.println(
+          "Could not structify record: " + recordClass.getSimpleName() + "\n    " + e.getMessage());
+      return noopStruct(recordClass);
+    }
+
     final int frozenSize = size;
     final String schema = schemaBuilder.build();
     return new Struct<>() {
@@ -341,16 +604,9 @@ public final class StructGenerator {
         boolean failed = false;
         int startingPosition = buffer.position();
         for (int i = 0; i < components.length; i++) {
-          Packer<Object> packer = (Packer<Object>) packers.get(i);
           try {
-            Object componentValue = components[i].getAccessor().invoke(value);
-            if (componentValue == null) {
-              throw new IllegalArgumentException("Component is null");
-            }
-            packer.pack(buffer, componentValue);
-          } catch (IllegalAccessException
-              | IllegalArgumentException
-              | InvocationTargetException e) {
+            componentPackers[i].pack(buffer, value);
+          } catch (RuntimeException e) {
             System.err.println(
                 "Could not pack record component: "
                     + recordClass.getSimpleName()
@@ -372,19 +628,16 @@ public final class StructGenerator {
 
       @Override
       public R unpack(ByteBuffer buffer) {
+        Object[] args = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+          args[i] = unpackers.get(i).unpack(buffer);
+        }
         try {
-          Object[] args = new Object[components.length];
-          Class<?>[] argTypes = new Class<?>[components.length];
-          for (int i = 0; i < components.length; i++) {
-            args[i] = unpackers.get(i).unpack(buffer);
-            argTypes[i] = components[i].getType();
-          }
-          return recordClass.getConstructor(argTypes).newInstance(args);
-        } catch (InstantiationException
-            | IllegalAccessException
-            | InvocationTargetException
-            | NoSuchMethodException
-            | SecurityException e) {
+          // invokeExact needs the call site type to match the erased handle type exactly
+          Object record = constructor.invokeExact(args);
+          return (R) record;
+        } catch (Throwable e) {
+          // Includes validation failures thrown by the record's constructor
           System.err.println(
               "Could not unpack record: "
                   + recordClass.getSimpleName()
@@ -422,7 +675,6 @@ public final class StructGenerator {
     final SchemaBuilder schemaBuilder = new SchemaBuilder();
     final SchemaBuilder.EnumFieldBuilder enumFieldBuilder =
         new SchemaBuilder.EnumFieldBuilder("variant");
-    final HashMap<Integer, E> enumMap = new HashMap<>();
     final ArrayList<Packer<?>> packers = new ArrayList<>();
 
     if (enumVariants == null || enumVariants.length == 0) {
@@ -441,7 +693,6 @@ public final class StructGenerator {
       final int ordinal = constant.ordinal();
 
       enumFieldBuilder.addVariant(name, ordinal);
-      enumMap.put(ordinal, constant);
     }
     schemaBuilder.addEnumField(enumFieldBuilder);
     size += 1;
@@ -451,12 +702,27 @@ public final class StructGenerator {
             .filter(f -> !f.isEnumConstant() && !Modifier.isStatic(f.getModifiers()))
             .toList();
 
+    final MethodHandle[] getters = new MethodHandle[enumFields.size()];
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
     boolean failed = false;
 
     for (final Field field : enumFields) {
       final Class<?> type = field.getType();
       final String name = field.getName();
       field.setAccessible(true);
+      try {
+        getters[packers.size()] = lookup.unreflectGetter(field).asType(kGetterType);
+      } catch (IllegalAccessException e) {
+        System.err.println(
+            "Could not structify enum field: "
+                + enumClass.getSimpleName()
+                + "#"
+                + name
+                + "\n    "
+                + e.getMessage());
+        failed = true;
+        continue;
+      }
 
       if (primitiveTypeMap.containsKey(type)) {
         PrimType<?> primType = primitiveTypeMap.get(type);
@@ -528,19 +794,18 @@ public final class StructGenerator {
         buffer.put((byte) value.ordinal());
         for (int i = 0; i < enumFields.size(); i++) {
           Packer<Object> packer = (Packer<Object>) packers.get(i);
-          Field field = enumFields.get(i);
           try {
-            Object fieldValue = field.get(value);
+            Object fieldValue = invokeGetter(getters[i], value);
             if (fieldValue == null) {
               throw new IllegalArgumentException("Field is null");
             }
             packer.pack(buffer, fieldValue);
-          } catch (IllegalArgumentException | IllegalAccessException e) {
+          } catch (RuntimeException e) {
             System.err.println(
                 "Could not pack enum field: "
                     + enumClass.getSimpleName()
                     + "#"
-                    + field.getName()
+                    + enumFields.get(i).getName()
                     + "\n    "
                     + e.getMessage());
             failed = true;
@@ -561,7 +826,7 @@ public final class StructGenerator {
       public E unpack(ByteBuffer buffer) {
         int ordinal = buffer.get();
         buffer.get(m_spongeBuffer);
-        return enumMap.getOrDefault(ordinal, null);
+        return ordinal >= 0 && ordinal < enumVariants.length ? enumVariants[ordinal] : null;
       }
 
       @Override
@@ -15,7 +15,9 @@
 #include "wpi/DataLog.h"
 #include "wpi/DataLogBackgroundWriter.h"
 #include "wpi/DataLogWriter.h"
+#include "wpi/Endian.h"
 #include "wpi/jni_util.h"
+#include "wpi/timestamp.h"
 
 using namespace wpi::java;
 using namespace wpi::log;
@@ -397,6 +399,57 @@ Java_edu_wpi_first_util_datalog_DataLogJNI_appendRawBuffer
       entry, cvalue.uarray().subspan(start, length), timestamp);
 }
 
+/*
+ * Class:     edu_wpi_first_util_datalog_DataLogJNI
+ * Method:    appendBatch
+ * Signature: (JLjava/lang/Object;IJ)V
+ */
+JNIEXPORT void JNICALL
+Java_edu_wpi_first_util_datalog_DataLogJNI_appendBatch
+  (JNIEnv* env, jclass, jlong impl, jobject value, jint length,
+   jlong timestamp)
+{
+  if (impl == 0) {
+    wpi::ThrowNullPointerException(env, "impl is null");
+    return;
+  }
+  if (!value) {
+    wpi::ThrowNullPointerException(env, "value is null");
+    return;
+  }
+  if (length < 0) {
+    wpi::ThrowIndexOobException(env, "length must be >= 0");
+    return;
+  }
+  JSpan<const jbyte> cvalue{env, value, static_cast<size_t>(length)};
+  if (!cvalue) {
+    wpi::ThrowIllegalArgumentException(env,
+                                       "value must be a native ByteBuffer");
+    return;
+  }
+  // all records in the batch share one timestamp
+  if (timestamp == 0) {
+    timestamp = wpi::Now();
+  }
+  auto log = reinterpret_cast<DataLog*>(impl);
+  std::span<const uint8_t> data = cvalue.uarray();
+  while (!data.empty()) {
+    if (data.size() < 8) {
+      wpi::ThrowIllegalArgumentException(env, "truncated batch record header");
+      return;
+    }
+    int entry = static_cast<int32_t>(wpi::support::endian::read32le(&data[0]));
+    uint32_t size = wpi::support::endian::read32le(&data[4]);
+    data = data.subspan(8);
+    if (size > data.size()) {
+      wpi::ThrowIllegalArgumentException(env, "truncated batch record data");
+      return;
+    }
+    log->AppendRaw(entry, data.subspan(0, size), timestamp);
+    data = data.subspan(size);
+  }
+}
+
 /*
  * Class:     edu_wpi_first_util_datalog_DataLogJNI
  * Method:    appendBoolean
@@ -0,0 +1,149 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Test;
+
+class DataLogBatchTest {
+  private static final String[] kTypes = {
+    "boolean",
+    "int64",
+    "float",
+    "double",
+    "string",
+    "raw",
+    "boolean[]",
+    "int64[]",
+    "float[]",
+    "double[]",
+    "string[]"
+  };
+
+  /**
+   * Writes a log with one entry per type, then appends records with the given function.
+   *
+   * @param appender Function that appends records, given the log and the entry indices
+   * @return The log contents
+   */
+  private static byte[] writeLog(BiConsumer<DataLog, int[]> appender) {
+    var data = new ByteArrayOutputStream();
+    try (var log = new DataLogWriter(data)) {
+      int[] entries = new int[kTypes.length];
+      for (int i = 0; i < kTypes.length; i++) {
+        entries[i] = log.start("e" + i, kTypes[i], "", 1);
+      }
+      appender.accept(log, entries);
+      log.flush();
+    }
+    return data.toByteArray();
+  }
+
+  @Test
+  void testMatchesIndividualAppends() {
+    byte[] individual =
+        writeLog(
+            (log, e) -> {
+              log.appendBoolean(e[0], true, 5);
+              log.appendInteger(e[1], -7, 5);
+              log.appendFloat(e[2], 1.5f, 5);
+              log.appendDouble(e[3], 2.5, 5);
+              log.appendString(e[4], "hello", 5);
+              log.appendRaw(e[5], new byte[] {1, 2, 3}, 5);
+              log.appendBooleanArray(e[6], new boolean[] {true, false}, 5);
+              log.appendIntegerArray(e[7], new long[] {1, 2, 3}, 5);
+              log.appendFloatArray(e[8], new float[] {0.5f, 1.5f}, 5);
+              log.appendDoubleArray(e[9], new double[] {0.25, 0.75}, 5);
+              log.appendStringArray(e[10], new String[] {"a", "bc"}, 5);
+            });
+    byte[] batched =
+        writeLog(
+            (log, e) -> {
+              var batch = new DataLogBatch(log);
+              batch.appendBoolean(e[0], true);
+              batch.appendInteger(e[1], -7);
+              batch.appendFloat(e[2], 1.5f);
+              batch.appendDouble(e[3], 2.5);
+              batch.appendString(e[4], "hello");
+              batch.appendRaw(e[5], ByteBuffer.wrap(new byte[] {1, 2, 3}));
+              batch.appendBooleanArray(e[6], new boolean[] {true, false});
+              batch.appendIntegerArray(e[7], new long[] {1, 2, 3});
+              batch.appendFloatArray(e[8], new float[] {0.5f, 1.5f});
+              batch.appendDoubleArray(e[9], new double[] {0.25, 0.75});
+              batch.appendStringArray(e[10], new String[] {"a", "bc"});
+              assertEquals(11, batch.getCount());
+              batch.commit(5);
+            });
+    assertArrayEquals(individual, batched);
+  }
+
+  @Test
+  void testGrowsAndClearsOnCommit() {
+    byte[] individual =
+        writeLog(
+            (log, e) -> {
+              for (int i = 0; i < 100; i++) {
+                log.appendDouble(e[3], i, 5);
+              }
+              new DoubleLogEntry(log, "entry", 1).append(-1, 6);
+            });
+    byte[] batched =
+        writeLog(
+            (log, e) -> {
+              var batch = new DataLogBatch(log, 1);
+              for (int i = 0; i < 100; i++) {
+                batch.appendDouble(e[3], i);
+              }
+              batch.commit(5);
+              assertEquals(0, batch.getCount());
+              assertEquals(0, batch.getSize());
+
+              // An empty commit doesn't append anything
+              batch.commit(5);
+
+              new DoubleLogEntry(log, "entry", 1).append(batch, -1);
+              batch.commit(6);
+            });
+    assertArrayEquals(individual, batched);
+  }
+
+  @Test
+  void testClear() {
+    byte[] empty = writeLog((log, e) -> {});
+    byte[] cleared =
+        writeLog(
+            (log, e) -> {
+              var batch = new DataLogBatch(log);
+              batch.appendDouble(e[3], 1.0);
+              batch.clear();
+              batch.commit(5);
+            });
+    assertArrayEquals(empty, cleared);
+  }
+
+  @Test
+  void testInvalidArguments() {
+    try (var log = new DataLogWriter(new ByteArrayOutputStream())) {
+      assertThrows(IllegalArgumentException.class, () -> new DataLogBatch(log, -1));
+
+      var batch = new DataLogBatch(log);
+      assertThrows(IndexOutOfBoundsException.class, () -> batch.appendRaw(1, new byte[2], 1, 2));
+      assertEquals(0, batch.getCount());
+
+      // Entries reject a batch for another log instead of writing to the wrong log
+      try (var other = new DataLogWriter(new ByteArrayOutputStream())) {
+        var entry = new DoubleLogEntry(other, "d");
+        assertThrows(IllegalArgumentException.class, () -> entry.append(batch, 1.0));
+        assertEquals(0, batch.getCount());
+      }
+    }
+  }
+}
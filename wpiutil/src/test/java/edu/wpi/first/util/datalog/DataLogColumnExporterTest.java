@@ -0,0 +1,162 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogColumnExporterTest {
+  @TempDir Path m_dir;
+
+  private static byte[] pair(double x1, double y1, double x2, double y2, int id, boolean flag) {
+    return ByteBuffer.allocate(37)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putDouble(x1)
+        .putDouble(y1)
+        .putDouble(x2)
+        .putDouble(y2)
+        .putInt(id)
+        .put((byte) (flag ? 1 : 0))
+        .array();
+  }
+
+  private DataLogReader writeLog() throws IOException {
+    String filename = m_dir.resolve("test.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      log.addSchema("struct:Point", "structschema", "double x;double y", 1);
+      log.addSchema("struct:Pair", "structschema", "Point a;Point b;int32 id;bool flag", 1);
+
+      int d = log.start("/drive/speed", "double");
+      int arr = log.start("/drive/currents", "double[]");
+      int str = log.start("/name", "string");
+      int pair = log.start("/pair", "struct:Pair");
+      final int pairs = log.start("NT:/pairs", "struct:Pair[]");
+      for (int i = 0; i < 10; i++) {
+        log.appendDouble(d, i, 100 + i);
+        log.appendDoubleArray(arr, new double[] {i, -i}, 100 + i);
+        log.appendString(str, "x", 100 + i);
+        log.appendRaw(pair, pair(i, 2, 3, 4, -i, i % 2 == 0), 100 + i);
+      }
+      byte[] two = new byte[74];
+      System.arraycopy(pair(1, 1, 1, 1, 1, true), 0, two, 0, 37);
+      System.arraycopy(pair(2, 2, 2, 2, 2, false), 0, two, 37, 37);
+      log.appendRaw(pairs, two, 200);
+
+      // Restarting an entry appends to the same columns
+      log.finish(d, 300);
+      d = log.start("/drive/speed", "double");
+      log.appendDouble(d, 10, 400);
+    }
+    return new DataLogReader(filename);
+  }
+
+  private static DataLogColumn column(Path dir, String name) throws IOException {
+    return new DataLogColumn(dir.resolve(name + ".col"));
+  }
+
+  private static long[] longs(Path dir, String name) throws IOException {
+    try (var column = column(dir, name)) {
+      return column.toLongArray();
+    }
+  }
+
+  private static double[] doubles(Path dir, String name) throws IOException {
+    try (var column = column(dir, name)) {
+      return column.toDoubleArray();
+    }
+  }
+
+  @Test
+  void testScalar() throws IOException {
+    Map<String, Path> dirs = DataLogColumnExporter.export(writeLog(), m_dir.resolve("out"));
+
+    Path dir = dirs.get("/drive/speed");
+    assertEquals(m_dir.resolve("out").resolve("drive").resolve("speed"), dir);
+    try (var timestamps = column(dir, "timestamp");
+        var values = column(dir, "value")) {
+      assertEquals(11, values.size());
+      assertEquals(11, timestamps.size());
+      assertEquals(104, timestamps.getLong(4));
+      assertEquals(4.0, values.getDouble(4));
+      assertEquals(400, timestamps.getLong(10));
+      assertEquals(10.0, values.getDouble(10));
+    }
+    assertFalse(Files.exists(dir.resolve("index.col")));
+  }
+
+  @Test
+  void testArray() throws IOException {
+    Path dir = DataLogColumnExporter.export(writeLog(), m_dir, true, 4).get("/drive/currents");
+
+    double[] values = doubles(dir, "value");
+    assertEquals(20, values.length);
+    assertArrayEquals(new long[] {0, 1, 0, 1}, slice(longs(dir, "index"), 4));
+    assertArrayEquals(new long[] {100, 100, 101, 101}, slice(longs(dir, "timestamp"), 4));
+    assertEquals(-3.0, values[7]);
+  }
+
+  private static long[] slice(long[] arr, int len) {
+    long[] out = new long[len];
+    System.arraycopy(arr, 0, out, 0, len);
+    return out;
+  }
+
+  @Test
+  void testStruct() throws IOException {
+    Map<String, Path> dirs = DataLogColumnExporter.export(writeLog(), m_dir, false, 4);
+    Path dir = dirs.get("/pair");
+
+    double[] ax = doubles(dir, "a.x");
+    assertEquals(10, ax.length);
+    assertEquals(7.0, ax[7]);
+    assertEquals(2.0, doubles(dir, "a.y")[7]);
+    assertEquals(4.0, doubles(dir, "b.y")[7]);
+    try (var id = column(dir, "id");
+        var flag = column(dir, "flag")) {
+      assertEquals(-7, id.getLong(7));
+      assertFalse(flag.getBoolean(7));
+      assertTrue(flag.getBoolean(8));
+      assertEquals(DataLogColumn.Type.kInt64, id.getType());
+    }
+  }
+
+  @Test
+  void testStructArray() throws IOException {
+    Path dir = DataLogColumnExporter.export(writeLog(), m_dir).get("NT:/pairs");
+
+    assertEquals(m_dir.resolve("NT_").resolve("pairs"), dir);
+    assertArrayEquals(new long[] {0, 1}, longs(dir, "index"));
+    assertArrayEquals(new long[] {200, 200}, longs(dir, "timestamp"));
+    assertArrayEquals(new double[] {1, 2}, doubles(dir, "b.x"));
+    assertArrayEquals(new long[] {1, 2}, longs(dir, "id"));
+  }
+
+  @Test
+  void testSkipsUnsupported() throws IOException {
+    Map<String, Path> dirs = DataLogColumnExporter.export(writeLog(), m_dir);
+
+    assertFalse(dirs.containsKey("/name"));
+    assertEquals(4, dirs.size());
+  }
+
+  @Test
+  void testBadChunkSize() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> DataLogColumnExporter.export(writeLog(), m_dir, true, 0));
+  }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogColumnTest {
+  @TempDir Path m_dir;
+
+  private DataLogColumn writeDoubles(boolean compress, int count) throws IOException {
+    Path file = m_dir.resolve("doubles.col");
+    var writer =
+        new DataLogColumnWriter(
+            file, DataLogColumn.Type.kDouble, 100, compress ? new Deflater() : null);
+    for (int i = 0; i < count; i++) {
+      writer.addDouble(i * 0.5);
+    }
+    writer.close();
+    return new DataLogColumn(file);
+  }
+
+  @Test
+  void testUncompressed() throws IOException {
+    try (var column = writeDoubles(false, 250)) {
+      assertEquals(DataLogColumn.Type.kDouble, column.getType());
+      assertFalse(column.isCompressed());
+      assertEquals(250, column.size());
+      assertEquals(0.0, column.getDouble(0));
+      assertEquals(74.5, column.getDouble(149));
+      assertEquals(124.5, column.getDouble(249));
+      assertThrows(IndexOutOfBoundsException.class, () -> column.getDouble(250));
+      assertThrows(UnsupportedOperationException.class, () -> column.getLong(0));
+    }
+  }
+
+  @Test
+  void testCompressed() throws IOException {
+    try (var column = writeDoubles(true, 250)) {
+      assertTrue(column.isCompressed());
+      assertTrue(Files.size(m_dir.resolve("doubles.col")) < 250 * 8);
+      // Read out of order to switch between chunks
+      assertEquals(124.5, column.getDouble(249));
+      assertEquals(0.5, column.getDouble(1));
+      assertEquals(50.0, column.getDouble(100));
+
+      double[] values = column.toDoubleArray();
+      assertEquals(250, values.length);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(i * 0.5, values[i]);
+      }
+    }
+  }
+
+  @Test
+  void testEmpty() throws IOException {
+    try (var column = writeDoubles(true, 0)) {
+      assertEquals(0, column.size());
+      assertEquals(0, column.toDoubleArray().length);
+    }
+  }
+
+  @Test
+  void testClosed() throws IOException {
+    var column = writeDoubles(true, 250);
+    assertEquals(0.0, column.getDouble(0));
+    column.close();
+
+    assertEquals(250, column.size());
+    assertThrows(IllegalStateException.class, () -> column.getDouble(0));
+    assertThrows(IllegalStateException.class, column::toDoubleArray);
+    // Closing again does nothing
+    column.close();
+  }
+
+  @Test
+  void testTypes() throws IOException {
+    var longs = new DataLogColumnWriter(m_dir.resolve("l.col"), DataLogColumn.Type.kInt64, 2, null);
+    var floats =
+        new DataLogColumnWriter(
+            m_dir.resolve("f.col"), DataLogColumn.Type.kFloat, 2, new Deflater());
+    var booleans =
+        new DataLogColumnWriter(m_dir.resolve("b.col"), DataLogColumn.Type.kBoolean, 2, null);
+    for (int i = 0; i < 5; i++) {
+      longs.addLong(-i);
+      floats.addFloat(i * 1.5f);
+      booleans.addBoolean(i % 2 == 0);
+    }
+    longs.close();
+    floats.close();
+    booleans.close();
+
+    try (var l = new DataLogColumn(m_dir.resolve("l.col"));
+        var f = new DataLogColumn(m_dir.resolve("f.col"));
+        var b = new DataLogColumn(m_dir.resolve("b.col"))) {
+      assertArrayEquals(new long[] {0, -1, -2, -3, -4}, l.toLongArray());
+      assertEquals(DataLogColumn.Type.kFloat, f.getType());
+      assertEquals(6.0, f.getDouble(4));
+      assertTrue(b.getBoolean(2));
+      assertFalse(b.getBoolean(3));
+      assertArrayEquals(new long[] {1, 0, 1, 0, 1}, b.toLongArray());
+      assertArrayEquals(new double[] {1, 0, 1, 0, 1}, b.toDoubleArray());
+    }
+  }
+
+  @Test
+  void testInvalidFile() throws IOException {
+    Path file = m_dir.resolve("bad.col");
+    Files.write(file, new byte[64]);
+    assertThrows(IOException.class, () -> new DataLogColumn(file));
+  }
+}
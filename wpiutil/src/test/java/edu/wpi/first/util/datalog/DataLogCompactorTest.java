@@ -0,0 +1,235 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogCompactorTest {
+  @TempDir Path m_dir;
+
+  private String m_input;
+
+  private DataLogIndex compact(DataLogCompactor compactor, long expectedWritten)
+      throws IOException {
+    String output = m_dir.resolve("out.wpilog").toString();
+    assertEquals(expectedWritten, compactor.compact(m_input, output));
+    return new DataLogIndex(new DataLogReader(output));
+  }
+
+  private void writeInput() throws IOException {
+    m_input = m_dir.resolve("in.wpilog").toString();
+    try (var log = new DataLogWriter(m_input, "extra")) {
+      // 1 ms samples for 1 s; value changes every 10 samples
+      int a = log.start("NT:/a", "double", "units=m", 1);
+      int b = log.start("NT:/b/x", "int64", "", 1);
+      int c = log.start("NT:/b/y", "string", "", 1);
+      for (int i = 0; i < 1000; i++) {
+        log.appendDouble(a, i / 10, 1_000_000 + 1000 * i);
+        log.appendInteger(b, i % 7 == 3 ? -i : i, 1_000_000 + 1000 * i);
+        if (i % 100 == 0) {
+          log.appendString(c, "s" + (i / 200), 1_000_000 + 1000 * i);
+        }
+        if (i % 256 == 255) {
+          log.flush();
+        }
+      }
+      log.setMetadata(a, "units=ft", 2_000_000);
+      log.finish(b, 2_000_000);
+    }
+  }
+
+  private static double[] doubles(DataLogIndex index, String name) {
+    var entry = index.getEntry(name);
+    double[] values = new double[entry.getRecordCount()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = index.getRecord(entry, i).getDouble();
+    }
+    return values;
+  }
+
+  @Test
+  void testKeep() throws IOException {
+    writeInput();
+    var index = compact(new DataLogCompactor(), 2010);
+
+    assertEquals("extra", index.getReader().getExtraHeader());
+    var a = index.getEntry("NT:/a");
+    assertEquals("double", a.getType());
+    assertEquals("units=ft", a.getMetadata());
+    assertEquals(1000, a.getRecordCount());
+    var b = index.getEntry("NT:/b/x");
+    assertEquals(1000, b.getRecordCount());
+    assertEquals(2_000_000, b.getFinishTimestamp());
+    assertEquals(10, index.getEntry("NT:/b/y").getRecordCount());
+  }
+
+  @Test
+  void testDrop() throws IOException {
+    writeInput();
+    var index =
+        compact(new DataLogCompactor().setPolicy("NT:/b/", DataLogCompactor.Policy.drop()), 1000);
+
+    assertEquals(1, index.getEntries().size());
+    assertNull(index.getEntry("NT:/b/x"));
+    assertNull(index.getEntry("NT:/b/y"));
+  }
+
+  @Test
+  void testLongestPrefix() throws IOException {
+    writeInput();
+    var index =
+        compact(
+            new DataLogCompactor()
+                .setDefaultPolicy(DataLogCompactor.Policy.drop())
+                .setPolicy("NT:/", DataLogCompactor.Policy.deduplicate())
+                .setPolicy("NT:/b/y", DataLogCompactor.Policy.keep()),
+            100 + 1000 + 10);
+
+    assertEquals(100, index.getEntry("NT:/a").getRecordCount());
+    assertEquals(10, index.getEntry("NT:/b/y").getRecordCount());
+  }
+
+  @Test
+  void testDeduplicate() throws IOException {
+    writeInput();
+    var index =
+        compact(
+            new DataLogCompactor().setDefaultPolicy(DataLogCompactor.Policy.deduplicate()),
+            100 + 1000 + 5);
+
+    double[] a = doubles(index, "NT:/a");
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, a[i]);
+      assertEquals(
+          1_000_000 + 10_000L * i, index.getRecord(index.getEntry("NT:/a"), i).getTimestamp());
+    }
+    var c = index.getEntry("NT:/b/y");
+    assertEquals("s4", index.getRecord(c, 4).getString());
+    assertEquals(1_800_000, c.getTimestamp(4));
+  }
+
+  @Test
+  void testDecimate() throws IOException {
+    writeInput();
+    var index =
+        compact(
+            new DataLogCompactor().setPolicy("NT:/a", DataLogCompactor.Policy.decimate(0.05)),
+            20 + 1000 + 10);
+
+    var a = index.getEntry("NT:/a");
+    assertEquals(20, a.getRecordCount());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(1_000_000 + 50_000L * i, a.getTimestamp(i));
+      assertEquals(5 * i, index.getRecord(a, i).getDouble());
+    }
+  }
+
+  @Test
+  void testMinMaxLast() throws IOException {
+    m_input = m_dir.resolve("in.wpilog").toString();
+    try (var log = new DataLogWriter(m_input)) {
+      int a = log.start("a", "double", "", 1);
+      int s = log.start("s", "string", "", 1);
+      double[] values = {3, 1, 5, 2, 4, 7, 7, 7, 2, 1, 9};
+      for (int i = 0; i < values.length; i++) {
+        log.appendDouble(a, values[i], 1_000_000 + 100_000L * i);
+        log.appendString(s, "v" + i, 1_000_000 + 100_000L * i);
+      }
+      log.finish(a, 3_000_000);
+    }
+
+    // Windows of 0.5 s: [3 1 5 2 4] [7 7 7 2 1] [9]
+    var index =
+        compact(
+            new DataLogCompactor().setDefaultPolicy(DataLogCompactor.Policy.minMaxLast(0.5)), 9);
+
+    assertArrayEquals(new double[] {1, 5, 4, 7, 1, 9}, doubles(index, "a"));
+    var a = index.getEntry("a");
+    List<Long> timestamps = new ArrayList<>();
+    for (int i = 0; i < a.getRecordCount(); i++) {
+      timestamps.add(a.getTimestamp(i));
+    }
+    assertEquals(
+        List.of(1_100_000L, 1_200_000L, 1_400_000L, 1_500_000L, 1_900_000L, 2_000_000L),
+        timestamps);
+    assertEquals(3_000_000, a.getFinishTimestamp());
+
+    var s = index.getEntry("s");
+    assertEquals(3, s.getRecordCount());
+    assertEquals("v4", index.getRecord(s, 0).getString());
+    assertEquals("v9", index.getRecord(s, 1).getString());
+    assertEquals("v10", index.getRecord(s, 2).getString());
+  }
+
+  @Test
+  void testLargeRecords() throws IOException {
+    // Several megabytes of records, more than the output log can buffer between flushes
+    m_input = m_dir.resolve("in.wpilog").toString();
+    byte[] data = new byte[2048];
+    try (var log = new DataLogWriter(m_input)) {
+      var entry = new RawLogEntry(log, "raw", 1);
+      for (int i = 0; i < 2000; i++) {
+        data[0] = (byte) i;
+        entry.append(data, 1_000_000 + 1000L * i);
+        if (i % 256 == 255) {
+          log.flush();
+        }
+      }
+    }
+
+    var index = compact(new DataLogCompactor(), 2000);
+    var raw = index.getEntry("raw");
+    assertEquals(2000, raw.getRecordCount());
+    assertEquals(2048, index.getRecord(raw, 1999).getRaw().length);
+    assertEquals((byte) 1999, index.getRecord(raw, 1999).getRaw()[0]);
+  }
+
+  @Test
+  void testCompressedEntriesKept() throws IOException {
+    m_input = m_dir.resolve("in.wpilog").toString();
+    try (var log = new DataLogWriter(m_input)) {
+      var entry = new CompressedDoubleLogEntry(log, "a", 1);
+      for (int i = 0; i < 3000; i++) {
+        entry.append(i, 1_000_000 + 1000L * i);
+      }
+      entry.finish(5_000_000);
+    }
+    int blocks = new DataLogIndex(new DataLogReader(m_input)).getEntry("a").getRecordCount();
+
+    // Each record is a block of samples, so none of them are decimated away
+    var index =
+        compact(
+            new DataLogCompactor().setDefaultPolicy(DataLogCompactor.Policy.decimate(1)), blocks);
+    assertEquals(CompressedDoubleLogEntry.kDataType, index.getEntry("a").getType());
+  }
+
+  @Test
+  void testInvalidPolicy() {
+    assertThrows(IllegalArgumentException.class, () -> DataLogCompactor.Policy.decimate(0));
+    assertThrows(IllegalArgumentException.class, () -> DataLogCompactor.Policy.minMaxLast(-1));
+  }
+
+  @Test
+  void testNotLog() throws IOException {
+    Path input = m_dir.resolve("in.wpilog");
+    Files.write(input, new byte[32]);
+    assertThrows(
+        IOException.class,
+        () ->
+            new DataLogCompactor()
+                .compact(input.toString(), m_dir.resolve("out.wpilog").toString()));
+  }
+}
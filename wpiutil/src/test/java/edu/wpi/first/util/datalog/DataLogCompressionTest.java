@@ -0,0 +1,227 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogCompressionTest {
+  @TempDir Path m_dir;
+
+  private static DataLogRecord[] roundTrip(DataLogCompression.Encoder encoder, String type) {
+    long timestamp = encoder.getFirstTimestamp();
+    byte[] block = encoder.finishBlock();
+    return DataLogCompression.decodeBlock(type, 1, timestamp, ByteBuffer.wrap(block));
+  }
+
+  @Test
+  void testDoubles() {
+    var encoder = new DataLogCompression.Encoder("double");
+    double[] values = {0, 1.5, 1.5, -2.25, Double.NaN, 1e300, Double.MIN_VALUE, -0.0, 12.0};
+    long[] timestamps = {1000, 2000, 3000, 4000, 5500, 5500, 4000, Long.MAX_VALUE, 0};
+    for (int i = 0; i < values.length; i++) {
+      encoder.addDouble(values[i], timestamps[i]);
+    }
+    assertEquals(values.length, encoder.getCount());
+
+    DataLogRecord[] records = roundTrip(encoder, "double");
+    assertEquals(values.length, records.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(1, records[i].getEntry());
+      assertEquals(timestamps[i], records[i].getTimestamp());
+      assertEquals(
+          Double.doubleToRawLongBits(values[i]),
+          Double.doubleToRawLongBits(records[i].getDouble()));
+    }
+    assertEquals(0, encoder.getCount());
+    assertEquals(null, encoder.finishBlock());
+  }
+
+  @Test
+  void testIntegers() {
+    var encoder = new DataLogCompression.Encoder("int64");
+    long[] values = {0, 5, 10, 15, 20, -7, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 40, 3};
+    for (int i = 0; i < values.length; i++) {
+      encoder.addInteger(values[i], 20_000L * i + 1);
+    }
+
+    DataLogRecord[] records = roundTrip(encoder, "int64");
+    assertEquals(values.length, records.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(20_000L * i + 1, records[i].getTimestamp());
+      assertEquals(values[i], records[i].getInteger());
+    }
+  }
+
+  @Test
+  void testDoubleArrays() {
+    var encoder = new DataLogCompression.Encoder("double[]");
+    double[][] values = {
+      {1, 2, 3}, {1, 2, 3.5}, {}, {1, 2, 3, 4, 5}, {-1}, {1, 2, 3, 4, 5, 6, 7, 8, 9}, {9, 8}
+    };
+    for (int i = 0; i < values.length; i++) {
+      encoder.addDoubleArray(values[i], 10 * i);
+    }
+
+    DataLogRecord[] records = roundTrip(encoder, "double[]");
+    assertEquals(values.length, records.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(10L * i, records[i].getTimestamp());
+      assertArrayEquals(values[i], records[i].getDoubleArray());
+    }
+  }
+
+  @Test
+  void testRandomDoubles() {
+    var rand = new Random(42);
+    var encoder = new DataLogCompression.Encoder("double");
+    double[] values = new double[500];
+    double value = 12.0;
+    for (int i = 0; i < values.length; i++) {
+      if (rand.nextInt(4) == 0) {
+        value += rand.nextGaussian() * (rand.nextBoolean() ? 1e-3 : 1e3);
+      }
+      values[i] = value;
+      encoder.addDouble(value, 1_000_000L + 20_000L * i + rand.nextInt(50));
+    }
+
+    DataLogRecord[] records = roundTrip(encoder, "double");
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(values[i], records[i].getDouble());
+    }
+  }
+
+  @Test
+  void testSteadySignalsCompress() {
+    var encoder = new DataLogCompression.Encoder("int64");
+    for (int i = 0; i < 1000; i++) {
+      encoder.addInteger(100 + 3 * i, 20_000L * i);
+    }
+    // About 2 bits per sample after the first few, versus 8+ bytes uncompressed
+    assertTrue(encoder.finishBlock().length < 300);
+  }
+
+  @Test
+  void testBlockLimits() {
+    var encoder = new DataLogCompression.Encoder("double");
+    for (int i = 0; i < DataLogCompression.kMaxBlockSamples - 1; i++) {
+      encoder.addDouble(1.0, i);
+      assertFalse(encoder.isFull());
+    }
+    encoder.addDouble(1.0, DataLogCompression.kMaxBlockSamples);
+    assertTrue(encoder.isFull());
+
+    // A block also ends once it spans the maximum age, however few samples it has
+    encoder.finishBlock();
+    encoder.addDouble(1.0, 5_000_000);
+    encoder.addDouble(1.0, 5_000_000 + DataLogCompression.kMaxBlockAge - 1);
+    assertFalse(encoder.isFull());
+    encoder.addDouble(1.0, 5_000_000 + DataLogCompression.kMaxBlockAge);
+    assertTrue(encoder.isFull());
+  }
+
+  @Test
+  void testTruncatedBlock() {
+    var encoder = new DataLogCompression.Encoder("double");
+    encoder.addDouble(1.5, 1);
+    encoder.addDouble(2.5, 2);
+    byte[] block = encoder.finishBlock();
+    assertThrows(
+        InputMismatchException.class,
+        () ->
+            DataLogCompression.decodeBlock(
+                "double", 1, 1, ByteBuffer.wrap(block, 0, block.length - 2)));
+    assertThrows(
+        InputMismatchException.class,
+        () -> DataLogCompression.decodeBlock("double", 1, 1, ByteBuffer.wrap(block, 0, 1)));
+  }
+
+  @Test
+  void testLogEntries() throws IOException {
+    Path file = m_dir.resolve("test.wpilog");
+    try (var log = new DataLogWriter(file.toString())) {
+      var d = new CompressedDoubleLogEntry(log, "d", "units=V", 1);
+      var i = new CompressedIntegerLogEntry(log, "i", 1);
+      var a = new CompressedDoubleArrayLogEntry(log, "a", 1);
+      var plain = new DoubleLogEntry(log, "plain", 1);
+      for (int n = 0; n < 3000; n++) {
+        d.append(12.0 - (n / 100) * 0.01, 1000 + 20_000L * n);
+        i.append(4 * n, 1000 + 20_000L * n);
+        a.append(new double[] {n, 0, -n}, 1000 + 20_000L * n);
+        if (n % 1000 == 0) {
+          plain.append(n, 1000 + 20_000L * n);
+        }
+        if (n % 256 == 255) {
+          log.flush();
+        }
+      }
+      d.finish(100_000_000);
+      // i and a are left with partial blocks, which are written when the log is closed
+    }
+
+    var reader = new DataLogReader(file.toString());
+    int rawRecords = 0;
+    for (DataLogRecord record : reader) {
+      rawRecords++;
+      if (record.isStart() && record.getStartData().name.equals("d")) {
+        assertEquals(CompressedDoubleLogEntry.kDataType, record.getStartData().type);
+      }
+    }
+
+    List<DataLogRecord> records = new ArrayList<>();
+    reader.decompressed().forEach(records::add);
+    // Blocks end at least every second (50 samples here)
+    assertTrue(rawRecords < records.size() / 20);
+
+    var names = new String[5];
+    var types = new String[5];
+    var counts = new int[5];
+    for (DataLogRecord record : records) {
+      if (record.isStart()) {
+        DataLogRecord.StartRecordData data = record.getStartData();
+        names[data.entry] = data.name;
+        types[data.entry] = data.type;
+        if (data.name.equals("d")) {
+          assertEquals("units=V", data.metadata);
+        }
+        continue;
+      }
+      if (record.isControl()) {
+        continue;
+      }
+      int n = counts[record.getEntry()]++;
+      switch (names[record.getEntry()]) {
+        case "d" -> {
+          assertEquals(12.0 - (n / 100) * 0.01, record.getDouble());
+          assertEquals(1000 + 20_000L * n, record.getTimestamp());
+        }
+        case "i" -> {
+          assertEquals(4 * n, record.getInteger());
+          assertEquals(1000 + 20_000L * n, record.getTimestamp());
+        }
+        case "a" -> assertArrayEquals(new double[] {n, 0, -n}, record.getDoubleArray());
+        default -> assertEquals(1000 * n, record.getDouble());
+      }
+    }
+    assertArrayEquals(new String[] {null, "d", "i", "a", "plain"}, names);
+    assertArrayEquals(new String[] {null, "double", "int64", "double[]", "double"}, types);
+    assertArrayEquals(new int[] {0, 3000, 3000, 3000, 3}, counts);
+    assertTrue(Files.size(file) < 3000 * 3 * 8);
+  }
+}
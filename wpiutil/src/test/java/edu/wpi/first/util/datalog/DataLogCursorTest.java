@@ -0,0 +1,143 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.util.struct.DynamicStruct;
+import edu.wpi.first.util.struct.StructDescriptorDatabase;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogCursorTest {
+  @TempDir Path m_dir;
+
+  private String writeLog() throws IOException {
+    String filename = m_dir.resolve("test.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int d = log.start("d", "double");
+      int arr = log.start("arr", "double[]");
+      int str = log.start("str", "string");
+      int points = log.start("points", "struct:Point[]");
+      int strs = log.start("strs", "string[]");
+      for (int i = 0; i < 50; i++) {
+        log.appendDouble(d, i, 100 + i);
+        log.appendDoubleArray(arr, new double[] {i, i + 1, i + 2}, 100 + i);
+        log.appendString(str, "s" + i, 100 + i);
+        log.appendRaw(
+            points,
+            ByteBuffer.allocate(32)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putDouble(i)
+                .putDouble(-i)
+                .putDouble(2 * i)
+                .putDouble(-2 * i)
+                .array(),
+            100 + i);
+        log.appendStringArray(strs, new String[] {"a" + i, "", "b"}, 100 + i);
+      }
+    }
+    return filename;
+  }
+
+  @Test
+  void testMatchesIterator() throws IOException {
+    // 64 byte segments, so many records are copied across segment mappings
+    var reader = new DataLogReader(writeLog(), 6);
+    var cursor = reader.cursor();
+    for (DataLogRecord record : reader) {
+      assertTrue(cursor.next());
+      assertEquals(record.getEntry(), cursor.getEntry());
+      assertEquals(record.getTimestamp(), cursor.getTimestamp());
+      assertEquals(record.getSize(), cursor.getSize());
+      assertEquals(record.getRawBuffer(), cursor.getRawBuffer());
+    }
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  void testTypedViews() throws IOException {
+    var reader = new DataLogReader(writeLog());
+    var cursor = reader.cursor();
+    assertThrows(NoSuchElementException.class, cursor::getRawBuffer);
+
+    // Control records
+    for (int i = 0; i < 5; i++) {
+      assertTrue(cursor.next());
+      assertTrue(cursor.isControl());
+      assertTrue(cursor.getRecord().isStart());
+    }
+
+    var db = new StructDescriptorDatabase();
+    var desc = assertDoesNotThrow(() -> db.add("Point", "double x;double y"));
+    var point = DynamicStruct.allocate(desc);
+    var x = desc.findFieldByName("x");
+    double[] values = new double[3];
+
+    for (int i = 0; i < 50; i++) {
+      assertTrue(cursor.next());
+      assertFalse(cursor.isControl());
+      assertEquals(i, cursor.getDouble());
+
+      assertTrue(cursor.next());
+      assertEquals(i + 1, cursor.getDouble(1));
+      assertEquals(3, cursor.readDoubleArray(values));
+      assertArrayEquals(new double[] {i, i + 1, i + 2}, values);
+      assertThrows(InputMismatchException.class, () -> cursor.getDouble(3));
+      assertThrows(InputMismatchException.class, () -> cursor.readDoubleArray(new double[2]));
+
+      assertTrue(cursor.next());
+      assertEquals("s" + i, cursor.getString());
+
+      assertTrue(cursor.next());
+      cursor.readStruct(point, 1);
+      assertEquals(2.0 * i, point.getDoubleField(x));
+      cursor.readStruct(point);
+      assertEquals(i, point.getDoubleField(x));
+      assertEquals(-i, cursor.getDouble(1));
+
+      // Views share the record's memory instead of copying it
+      assertEquals(2.0 * i, cursor.getStruct(desc, 1).getDoubleField(x));
+      assertEquals(i, cursor.getStruct(desc).getDoubleField(x));
+      assertThrows(InputMismatchException.class, () -> cursor.getStruct(desc, 2));
+      assertEquals(-i, cursor.getDouble(1));
+
+      assertTrue(cursor.next());
+      assertArrayEquals(new String[] {"a" + i, "", "b"}, cursor.getStringArray());
+    }
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  void testHeapBuffer() throws IOException {
+    byte[] data = Files.readAllBytes(Path.of(writeLog()));
+    var cursor = new DataLogReader(ByteBuffer.wrap(data)).cursor();
+    int strings = 0;
+    int stringArrays = 0;
+    while (cursor.next()) {
+      if (cursor.getEntry() == 3) {
+        assertEquals("s" + strings, cursor.getString());
+        strings++;
+      } else if (cursor.getEntry() == 5) {
+        assertArrayEquals(new String[] {"a" + stringArrays, "", "b"}, cursor.getStringArray());
+        stringArrays++;
+      }
+    }
+    assertEquals(50, strings);
+    assertEquals(50, stringArrays);
+  }
+}
@@ -0,0 +1,174 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogFollowerTest {
+  @TempDir Path m_dir;
+
+  private byte[] log() throws IOException {
+    Path file = m_dir.resolve("full.wpilog");
+    try (var log = new DataLogWriter(file.toString(), "extra")) {
+      int a = log.start("a", "double", "", 10);
+      for (int i = 0; i < 10; i++) {
+        log.appendDouble(a, i, 100 + 10 * i);
+      }
+      log.setMetadata(a, "units=m", 200);
+      int b = log.start("b", "string", "", 300);
+      log.appendString(b, "hello", 400);
+      log.finish(a, 500);
+    }
+    return Files.readAllBytes(file);
+  }
+
+  @Test
+  void testFollow() throws IOException {
+    byte[] data = log();
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, new byte[0]);
+
+    try (var follower = new DataLogFollower(file.toString())) {
+      List<DataLogRecord> records = new ArrayList<>();
+      assertEquals(0, follower.poll(records::add));
+      assertNull(follower.getExtraHeader());
+
+      // Partial header
+      Files.write(file, Arrays.copyOfRange(data, 0, 14));
+      assertEquals(0, follower.poll(records::add));
+      assertNull(follower.getExtraHeader());
+
+      // Header, start record, and part of the first data record
+      int header = 12 + 5;
+      Files.write(file, Arrays.copyOfRange(data, 14, header + 30), StandardOpenOption.APPEND);
+      assertEquals(1, follower.poll(records::add));
+      assertEquals("extra", follower.getExtraHeader());
+      assertEquals(1, records.size());
+      assertEquals("a", records.get(0).getStartData().name);
+      long pos = follower.getPosition();
+
+      // Nothing new
+      assertEquals(0, follower.poll(records::add));
+      assertEquals(pos, follower.getPosition());
+
+      // Everything else
+      Files.write(
+          file, Arrays.copyOfRange(data, header + 30, data.length), StandardOpenOption.APPEND);
+      assertEquals(14, follower.poll(records::add));
+      assertEquals(15, records.size());
+      assertEquals(data.length, follower.getPosition());
+      for (int i = 0; i < 10; i++) {
+        assertEquals(i, records.get(1 + i).getDouble());
+        assertEquals(100 + 10 * i, records.get(1 + i).getTimestamp());
+      }
+      assertEquals("hello", records.get(13).getString());
+    }
+  }
+
+  @Test
+  void testMatchesReader() throws IOException {
+    byte[] data = log();
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, new byte[0]);
+
+    List<DataLogRecord> records = new ArrayList<>();
+    try (var follower = new DataLogFollower(file.toString())) {
+      // Append one byte at a time
+      for (int i = 0; i < data.length; i++) {
+        Files.write(file, new byte[] {data[i]}, StandardOpenOption.APPEND);
+        follower.poll(records::add);
+      }
+    }
+
+    List<DataLogRecord> expected = new ArrayList<>();
+    new DataLogReader(m_dir.resolve("full.wpilog").toString()).forEach(expected::add);
+    assertEquals(expected.size(), records.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getEntry(), records.get(i).getEntry());
+      assertEquals(expected.get(i).getTimestamp(), records.get(i).getTimestamp());
+      assertEquals(expected.get(i).getRaw().length, records.get(i).getRaw().length);
+    }
+  }
+
+  @Test
+  void testStartData() throws IOException {
+    byte[] data = log();
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, data);
+
+    try (var follower = new DataLogFollower(file.toString())) {
+      List<DataLogRecord> records = new ArrayList<>();
+      follower.poll(records::add);
+      int a = records.get(0).getStartData().entry;
+      int b = records.get(12).getStartData().entry;
+
+      // a was finished
+      assertNull(follower.getStartData(a));
+      var start = follower.getStartData(b);
+      assertEquals("b", start.name);
+      assertEquals("string", start.type);
+    }
+
+    // Stop before a is finished
+    Files.write(file, Arrays.copyOfRange(data, 0, data.length - 1));
+    try (var follower = new DataLogFollower(file.toString())) {
+      List<DataLogRecord> records = new ArrayList<>();
+      follower.poll(records::add);
+      var start = follower.getStartData(records.get(0).getStartData().entry);
+      assertEquals("a", start.name);
+      assertEquals("units=m", start.metadata);
+    }
+  }
+
+  @Test
+  void testTruncated() throws IOException {
+    byte[] data = log();
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, data);
+
+    try (var follower = new DataLogFollower(file.toString())) {
+      follower.poll(r -> {});
+      Files.write(file, Arrays.copyOfRange(data, 0, data.length / 2));
+      assertThrows(IOException.class, () -> follower.poll(r -> {}));
+    }
+  }
+
+  @Test
+  void testNotLog() throws IOException {
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, new byte[32]);
+
+    try (var follower = new DataLogFollower(file.toString())) {
+      assertThrows(IOException.class, () -> follower.poll(r -> {}));
+    }
+  }
+
+  @Test
+  void testPollTimeout() throws IOException, InterruptedException {
+    byte[] data = log();
+    Path file = m_dir.resolve("follow.wpilog");
+    Files.write(file, data);
+
+    try (var follower = new DataLogFollower(file.toString())) {
+      assertEquals(15, follower.poll(r -> {}, 1.0, 0.01));
+      long start = System.nanoTime();
+      assertEquals(0, follower.poll(r -> {}, 0.05, 0.01));
+      assertTrue(System.nanoTime() - start >= 50_000_000L);
+    }
+  }
+}
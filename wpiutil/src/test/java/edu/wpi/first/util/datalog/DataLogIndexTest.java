@@ -0,0 +1,157 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogIndexTest {
+  @TempDir Path m_dir;
+
+  private DataLogIndex index(int segmentShift) throws IOException {
+    String filename = m_dir.resolve("test.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int a = log.start("a", "double", "", 10);
+      int b = log.start("b", "int64", "units=m", 10);
+      for (int i = 0; i < 100; i++) {
+        log.appendDouble(a, i, 100 + 10 * i);
+        if (i % 2 == 0) {
+          log.appendInteger(b, i, 100 + 10 * i);
+        }
+      }
+      log.setMetadata(b, "units=ft", 1100);
+      log.finish(a, 1100);
+
+      int c = log.start("c", "string", "", 1200);
+      log.appendString(c, "hello", 1300);
+      int a2 = log.start("a", "double", "", 1400);
+      log.appendDouble(a2, -1, 1500);
+      log.appendDouble(a2, -2, 1450);
+    }
+    return new DataLogIndex(new DataLogReader(filename, segmentShift));
+  }
+
+  @Test
+  void testEntries() throws IOException {
+    var index = index(30);
+
+    List<DataLogIndex.Entry> entries = index.getEntries();
+    assertEquals(4, entries.size());
+    assertEquals("a", entries.get(0).getName());
+    assertEquals("b", entries.get(1).getName());
+    assertEquals("c", entries.get(2).getName());
+
+    var a = entries.get(0);
+    assertEquals("double", a.getType());
+    assertEquals(10, a.getStartTimestamp());
+    assertEquals(1100, a.getFinishTimestamp());
+    assertEquals(100, a.getRecordCount());
+
+    var b = index.getEntry("b");
+    assertEquals("units=ft", b.getMetadata());
+    assertEquals(50, b.getRecordCount());
+    assertEquals(Long.MAX_VALUE, b.getFinishTimestamp());
+
+    var c = index.getEntry("c");
+    assertEquals(1, c.getRecordCount());
+    assertEquals("hello", index.getRecord(c, 0).getString());
+
+    assertEquals(2, index.getEntries("a").size());
+    assertTrue(index.getEntries("d").isEmpty());
+    assertNull(index.getEntry("d"));
+  }
+
+  @Test
+  void testGetRecord() throws IOException {
+    var index = index(30);
+    var a = index.getEntries("a").get(0);
+
+    assertEquals(42.0, index.getRecord(a, 42).getDouble());
+    assertEquals(520, a.getTimestamp(42));
+    assertThrows(IndexOutOfBoundsException.class, () -> index.getRecord(a, 100));
+    assertThrows(IndexOutOfBoundsException.class, () -> a.getTimestamp(-1));
+  }
+
+  @Test
+  void testTimeRange() throws IOException {
+    var index = index(30);
+    var a = index.getEntries("a").get(0);
+
+    var records = index.getRecords(a, 200, 250);
+    assertEquals(5, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertEquals(10.0 + i, records.get(i).getDouble());
+      assertEquals(200 + 10 * i, records.get(i).getTimestamp());
+    }
+    assertTrue(index.getRecords(a, 0, 100).isEmpty());
+    assertEquals(100, index.getRecords(a, 0, Long.MAX_VALUE).size());
+
+    // Records of both entries named "a"
+    assertEquals(101, index.getRecords("a", 0, 1500).size());
+    assertEquals(102, index.getRecords("a", 0, 1501).size());
+  }
+
+  @Test
+  void testUnsorted() throws IOException {
+    var index = index(30);
+    var a2 = index.getEntry("a");
+
+    assertFalse(a2.isSorted());
+    var records = index.getRecords(a2, 1450, 1460);
+    assertEquals(1, records.size());
+    assertEquals(-2.0, records.get(0).getDouble());
+  }
+
+  @Test
+  void testSegmented() throws IOException {
+    var index = index(6);
+    var a = index.getEntries("a").get(0);
+
+    assertEquals(100, a.getRecordCount());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, index.getRecord(a, i).getDouble());
+    }
+    assertEquals(50, index.getRecords("b", 0, Long.MAX_VALUE).size());
+  }
+
+  @Test
+  void testLargeEntryId() throws IOException {
+    String filename = m_dir.resolve("large.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int a = log.start("a", "double", "", 10);
+      log.appendDouble(a, 1.0, 20);
+    }
+
+    // Rewrite the start record's entry ID (type 0, entry 1, name "a") to a huge one
+    byte[] data = Files.readAllBytes(Path.of(filename));
+    byte[] start = {0, 1, 0, 0, 0, 1, 0, 0, 0, 'a'};
+    int offset = -1;
+    for (int i = 0; i + start.length <= data.length && offset < 0; i++) {
+      if (Arrays.equals(data, i, i + start.length, start, 0, start.length)) {
+        offset = i;
+      }
+    }
+    assertTrue(offset >= 0);
+    ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putInt(offset + 1, Integer.MAX_VALUE - 1);
+
+    var index = new DataLogIndex(new DataLogReader(ByteBuffer.wrap(data)));
+    var a = index.getEntry("a");
+    assertEquals(Integer.MAX_VALUE - 1, a.getId());
+    assertEquals(0, a.getRecordCount());
+  }
+}
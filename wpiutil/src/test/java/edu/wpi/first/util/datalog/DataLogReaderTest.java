@@ -0,0 +1,147 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataLogReaderTest {
+  @TempDir Path m_dir;
+
+  private String writeLog() throws IOException {
+    String filename = m_dir.resolve("test.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int entry = log.start("a", "double[]");
+      for (int i = 0; i < 100; i++) {
+        // Vary the record size so records straddle segment boundaries at different offsets
+        double[] value = new double[i % 7];
+        for (int j = 0; j < value.length; j++) {
+          value[j] = i + j;
+        }
+        log.appendDoubleArray(entry, value, 1000 + i);
+      }
+    }
+    return filename;
+  }
+
+  private static List<DataLogRecord> readAll(DataLogReader reader) {
+    List<DataLogRecord> records = new ArrayList<>();
+    for (DataLogRecord record : reader) {
+      records.add(record);
+    }
+    return records;
+  }
+
+  @Test
+  void testSegmentedMatchesBuffer() throws IOException {
+    String filename = writeLog();
+    var expected =
+        readAll(new DataLogReader(ByteBuffer.wrap(Files.readAllBytes(Path.of(filename)))));
+    // 64 byte segments, so many records are split across segment mappings
+    var reader = new DataLogReader(filename, 6);
+    var actual = readAll(reader);
+
+    assertTrue(reader.isValid());
+    assertEquals(Files.size(Path.of(filename)), reader.getSize());
+    assertEquals(expected.size(), actual.size());
+    assertEquals(101, actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getEntry(), actual.get(i).getEntry());
+      assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+      assertArrayEquals(expected.get(i).getRaw(), actual.get(i).getRaw());
+    }
+    assertArrayEquals(new double[] {99}, actual.get(100).getDoubleArray());
+  }
+
+  @Test
+  void testForEachMatchesIterator() throws IOException {
+    var reader = new DataLogReader(writeLog(), 6);
+    List<Long> timestamps = new ArrayList<>();
+    reader.forEach(record -> timestamps.add(record.getTimestamp()));
+
+    var records = readAll(reader);
+    assertEquals(records.size(), timestamps.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertEquals(records.get(i).getTimestamp(), timestamps.get(i));
+    }
+  }
+
+  @Test
+  void testTruncated() throws IOException {
+    byte[] data = Files.readAllBytes(Path.of(writeLog()));
+    var reader = new DataLogReader(ByteBuffer.wrap(data, 0, data.length - 3).slice());
+
+    // The partial last record is skipped
+    assertEquals(100, readAll(reader).size());
+  }
+
+  @Test
+  void testParallelStream() throws IOException {
+    String filename = m_dir.resolve("large.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int entry = log.start("x", "double");
+      for (int i = 0; i < 10000; i++) {
+        log.appendDouble(entry, i, i);
+      }
+    }
+    var reader = new DataLogReader(filename, 12);
+
+    double sum =
+        reader.parallelStream()
+            .filter(record -> !record.isControl())
+            .mapToDouble(DataLogRecord::getDouble)
+            .sum();
+    assertEquals(10000.0 * 9999 / 2, sum);
+
+    List<Long> sequential =
+        reader.stream().map(DataLogRecord::getTimestamp).collect(Collectors.toList());
+    List<Long> parallel =
+        reader.parallelStream().map(DataLogRecord::getTimestamp).collect(Collectors.toList());
+    assertEquals(10001, sequential.size());
+    assertEquals(sequential, parallel);
+  }
+
+  @Test
+  void testSpliteratorSplit() throws IOException {
+    String filename = m_dir.resolve("large.wpilog").toString();
+    try (var log = new DataLogWriter(filename)) {
+      int entry = log.start("x", "int64");
+      for (int i = 0; i < 20000; i++) {
+        log.appendInteger(entry, i, i);
+      }
+    }
+    var reader = new DataLogReader(filename);
+    Spliterator<DataLogRecord> second = reader.spliterator();
+    assertTrue(second.hasCharacteristics(Spliterator.ORDERED));
+    long size = second.estimateSize();
+
+    Spliterator<DataLogRecord> first = second.trySplit();
+    assertNotNull(first);
+    assertEquals(size, first.estimateSize() + second.estimateSize());
+
+    // The first half is the prefix of the log, and the second half picks up where it ends
+    List<Long> values = new ArrayList<>();
+    first.tryAdvance(record -> assertTrue(record.isStart()));
+    first.forEachRemaining(record -> values.add(record.getInteger()));
+    second.forEachRemaining(record -> values.add(record.getInteger()));
+    assertEquals(20000, values.size());
+    for (int i = 0; i < values.size(); i++) {
+      assertEquals(i, values.get(i));
+    }
+  }
+}
@@ -0,0 +1,226 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.sendable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SendableRegistryTest {
+  private static final class TestSendable implements Sendable {
+    final AtomicInteger m_initCount = new AtomicInteger();
+
+    @Override
+    public void initSendable(SendableBuilder builder) {
+      m_initCount.incrementAndGet();
+    }
+  }
+
+  /** Creates a builder that counts calls to update() and close(). */
+  private static SendableBuilder countingBuilder(AtomicInteger updates, AtomicInteger closes) {
+    return (SendableBuilder)
+        Proxy.newProxyInstance(
+            SendableBuilder.class.getClassLoader(),
+            new Class<?>[] {SendableBuilder.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "update" -> updates.incrementAndGet();
+                case "close" -> closes.incrementAndGet();
+                case "isPublished" -> {
+                  return true;
+                }
+                default -> {
+                  // ignore
+                }
+              }
+              return null;
+            });
+  }
+
+  @Test
+  void testAddAndNames() {
+    var sendable = new TestSendable();
+    assertFalse(SendableRegistry.contains(sendable));
+    assertEquals("", SendableRegistry.getName(sendable));
+
+    SendableRegistry.add(sendable, "Motor", 3);
+    assertTrue(SendableRegistry.contains(sendable));
+    assertEquals("Motor[3]", SendableRegistry.getName(sendable));
+    assertEquals("Ungrouped", SendableRegistry.getSubsystem(sendable));
+
+    SendableRegistry.setName(sendable, "Drive", "Left");
+    assertEquals("Left", SendableRegistry.getName(sendable));
+    assertEquals("Drive", SendableRegistry.getSubsystem(sendable));
+
+    SendableRegistry.setName(sendable, "Encoder", 1, 2);
+    assertEquals("Encoder[1,2]", SendableRegistry.getName(sendable));
+
+    assertTrue(SendableRegistry.remove(sendable));
+    assertFalse(SendableRegistry.remove(sendable));
+    assertFalse(SendableRegistry.contains(sendable));
+  }
+
+  @Test
+  void testSetNameNotRegistered() {
+    var sendable = new TestSendable();
+    SendableRegistry.setName(sendable, "name");
+    SendableRegistry.setSubsystem(sendable, "subsystem");
+    assertFalse(SendableRegistry.contains(sendable));
+  }
+
+  @Test
+  void testData() {
+    var sendable = new TestSendable();
+    int handle = SendableRegistry.getDataHandle();
+    assertTrue(SendableRegistry.getDataHandle() > handle);
+    assertNull(SendableRegistry.setData(sendable, handle, () -> {}));
+
+    SendableRegistry.add(sendable, "data");
+    assertNull(SendableRegistry.getData(sendable, handle));
+    AtomicInteger closes = new AtomicInteger();
+    AutoCloseable first = closes::incrementAndGet;
+    assertNull(SendableRegistry.setData(sendable, handle, first));
+    assertSame(first, SendableRegistry.getData(sendable, handle));
+
+    // Replacing data closes the previous data and returns it
+    assertSame(first, SendableRegistry.setData(sendable, handle, () -> {}));
+    assertEquals(1, closes.get());
+    SendableRegistry.remove(sendable);
+  }
+
+  @Test
+  void testPublishAndUpdate() {
+    var sendable = new TestSendable();
+    var updates = new AtomicInteger();
+    var closes = new AtomicInteger();
+    SendableRegistry.publish(sendable, countingBuilder(updates, closes));
+    assertTrue(SendableRegistry.contains(sendable));
+    assertEquals(1, sendable.m_initCount.get());
+    assertEquals(1, updates.get());
+
+    SendableRegistry.update(sendable);
+    assertEquals(2, updates.get());
+
+    // Publishing again closes the previous builder
+    SendableRegistry.publish(sendable, countingBuilder(new AtomicInteger(), new AtomicInteger()));
+    assertEquals(1, closes.get());
+    assertEquals(2, sendable.m_initCount.get());
+    SendableRegistry.remove(sendable);
+  }
+
+  @Test
+  void testInitSendableMayWaitOnRegistry() {
+    var child = new TestSendable();
+    var parent =
+        new Sendable() {
+          @Override
+          public void initSendable(SendableBuilder builder) {
+            SendableRegistry.addChild(this, child);
+            // Renaming from another thread would deadlock if a registry lock were held here
+            assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> {
+                  var thread = new Thread(() -> SendableRegistry.setName(this, "Drive", "renamed"));
+                  thread.start();
+                  thread.join();
+                });
+          }
+        };
+    SendableRegistry.publish(parent, countingBuilder(new AtomicInteger(), new AtomicInteger()));
+    assertEquals("renamed", SendableRegistry.getName(parent));
+    assertTrue(SendableRegistry.contains(child));
+    SendableRegistry.remove(parent);
+    SendableRegistry.remove(child);
+  }
+
+  @Test
+  void testForeachLiveWindow() {
+    var updates = new AtomicInteger();
+    var closes = new AtomicInteger();
+    SendableRegistry.setLiveWindowBuilderFactory(() -> countingBuilder(updates, closes));
+    var parent = new TestSendable();
+    var child = new TestSendable();
+    var hidden = new TestSendable();
+    SendableRegistry.addLW(parent, "Drive", "parent");
+    SendableRegistry.addLW(child, "child");
+    SendableRegistry.addChild(parent, child);
+    SendableRegistry.addLW(hidden, "hidden");
+    SendableRegistry.disableLiveWindow(hidden);
+
+    int handle = SendableRegistry.getDataHandle();
+    List<String> names = new ArrayList<>();
+    SendableRegistry.foreachLiveWindow(
+        handle,
+        cbdata -> {
+          if (cbdata.sendable == parent || cbdata.sendable == child) {
+            names.add(cbdata.subsystem + "/" + cbdata.name);
+            assertSame(cbdata.sendable == child ? parent : null, cbdata.parent);
+            // The callback may use the registry
+            assertEquals(cbdata.name, SendableRegistry.getName(cbdata.sendable));
+            cbdata.data = () -> {};
+          }
+          if (cbdata.sendable == hidden) {
+            names.add("hidden");
+          }
+        });
+    names.sort(null);
+    assertEquals(List.of("Drive/parent", "Ungrouped/child"), names);
+    assertTrue(SendableRegistry.getData(parent, handle) != null);
+
+    SendableRegistry.remove(parent);
+    SendableRegistry.remove(child);
+    SendableRegistry.remove(hidden);
+    assertEquals(3, closes.get());
+    SendableRegistry.setLiveWindowBuilderFactory(null);
+  }
+
+  @Test
+  void testConcurrentAccess() throws InterruptedException {
+    final int kThreads = 4;
+    final int kPerThread = 200;
+    var shared = new TestSendable();
+    SendableRegistry.publish(shared, countingBuilder(new AtomicInteger(), new AtomicInteger()));
+    var failures = new AtomicInteger();
+    var threads = new Thread[kThreads];
+    for (int t = 0; t < kThreads; t++) {
+      int id = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                var mine = new TestSendable[kPerThread];
+                for (int i = 0; i < kPerThread; i++) {
+                  mine[i] = new TestSendable();
+                  SendableRegistry.add(mine[i], "Thread" + id, i);
+                  SendableRegistry.update(shared);
+                  SendableRegistry.getName(shared);
+                }
+                for (int i = 0; i < kPerThread; i++) {
+                  if (!SendableRegistry.getName(mine[i]).equals("Thread" + id + "[" + i + "]")) {
+                    failures.incrementAndGet();
+                  }
+                  if (!SendableRegistry.remove(mine[i])) {
+                    failures.incrementAndGet();
+                  }
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(0, failures.get());
+    assertTrue(SendableRegistry.remove(shared));
+  }
+}
@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -577,4 +579,19 @@ class DynamicStructTest {
     assertTrue(dynamic.setStringField(field, "a\uD83D\uDC00"));
     assertEquals("a\uD83D\uDC00", dynamic.getStringField(field));
   }
+
+  @Test
+  void testSetDataFromPosition() {
+    var desc = assertDoesNotThrow(() -> db.add("test", "int32 a; int32 b"));
+    var dynamic = DynamicStruct.allocate(desc);
+    var buf = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putInt(1).putInt(2).putInt(3).putInt(4).putInt(5).putInt(6);
+    buf.position(8);
+
+    dynamic.setData(buf);
+    assertEquals(3, dynamic.getIntField(desc.findFieldByName("a")));
+    assertEquals(4, dynamic.getIntField(desc.findFieldByName("b")));
+    assertEquals(16, buf.position());
+    assertEquals(24, buf.limit());
+  }
 }
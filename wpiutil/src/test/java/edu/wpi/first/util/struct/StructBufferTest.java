@@ -0,0 +1,151 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.struct;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class StructBufferTest {
+  static class Point {
+    double m_x;
+    double m_y;
+
+    Point(double x, double y) {
+      m_x = x;
+      m_y = y;
+    }
+  }
+
+  static class PointStruct implements Struct<Point> {
+    private final boolean m_immutable;
+
+    PointStruct(boolean immutable) {
+      m_immutable = immutable;
+    }
+
+    @Override
+    public Class<Point> getTypeClass() {
+      return Point.class;
+    }
+
+    @Override
+    public String getTypeName() {
+      return "Point";
+    }
+
+    @Override
+    public int getSize() {
+      return kSizeDouble * 2;
+    }
+
+    @Override
+    public String getSchema() {
+      return "double x;double y";
+    }
+
+    @Override
+    public Point unpack(ByteBuffer bb) {
+      return new Point(bb.getDouble(), bb.getDouble());
+    }
+
+    @Override
+    public void unpackInto(Point out, ByteBuffer bb) {
+      out.m_x = bb.getDouble();
+      out.m_y = bb.getDouble();
+    }
+
+    @Override
+    public void pack(ByteBuffer bb, Point value) {
+      bb.putDouble(value.m_x);
+      bb.putDouble(value.m_y);
+    }
+
+    @Override
+    public boolean isImmutable() {
+      return m_immutable;
+    }
+  }
+
+  private static byte[] toBytes(ByteBuffer bb) {
+    byte[] bytes = new byte[bb.position()];
+    bb.flip();
+    bb.get(bytes);
+    return bytes;
+  }
+
+  @Test
+  void testWriteArrayCount() {
+    var buf = StructBuffer.create(new PointStruct(false));
+    Point[] points = {new Point(1, 2), new Point(3, 4), new Point(5, 6)};
+
+    Point[] result = buf.readArray(toBytes(buf.writeArray(points, 2)));
+
+    assertEquals(2, result.length);
+    assertEquals(1.0, result[0].m_x);
+    assertEquals(4.0, result[1].m_y);
+
+    assertEquals(0, buf.writeArray(points, 0).position());
+    assertThrows(IndexOutOfBoundsException.class, () -> buf.writeArray(points, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> buf.writeArray(points, -1));
+  }
+
+  @Test
+  void testReadArrayIntoMutable() {
+    var buf = StructBuffer.create(new PointStruct(false));
+    byte[] bytes = toBytes(buf.writeArray(new Point[] {new Point(1, 2), new Point(3, 4)}));
+
+    var first = new Point(0, 0);
+    Point[] out = {first, null, null};
+    assertEquals(2, buf.readArrayInto(out, bytes));
+
+    // Existing elements are updated in place, null elements are created
+    assertSame(first, out[0]);
+    assertEquals(1.0, first.m_x);
+    assertEquals(2.0, first.m_y);
+    assertEquals(3.0, out[1].m_x);
+    assertEquals(4.0, out[1].m_y);
+    assertNull(out[2]);
+  }
+
+  @Test
+  void testReadArrayIntoImmutable() {
+    var buf = StructBuffer.create(new PointStruct(true));
+    byte[] bytes = toBytes(buf.writeArray(new Point[] {new Point(1, 2)}));
+
+    var first = new Point(0, 0);
+    Point[] out = {first};
+    assertEquals(1, buf.readArrayInto(out, bytes));
+
+    // Immutable elements are replaced instead of updated
+    assertEquals(0.0, first.m_x);
+    assertEquals(1.0, out[0].m_x);
+    assertEquals(2.0, out[0].m_y);
+  }
+
+  @Test
+  void testReadArrayIntoTooSmall() {
+    var buf = StructBuffer.create(new PointStruct(false));
+    byte[] bytes = toBytes(buf.writeArray(new Point[] {new Point(1, 2), new Point(3, 4)}));
+
+    assertThrows(IllegalArgumentException.class, () -> buf.readArrayInto(new Point[1], bytes));
+  }
+
+  @Test
+  void testReadInto() {
+    var buf = StructBuffer.create(new PointStruct(false));
+    byte[] bytes = toBytes(buf.write(new Point(1, 2)));
+
+    var out = new Point(0, 0);
+    buf.readInto(out, bytes);
+
+    assertEquals(1.0, out.m_x);
+    assertEquals(2.0, out.m_y);
+  }
+}
@@ -7,7 +7,12 @@ package edu.wpi.first.util.struct;
 import static edu.wpi.first.util.struct.StructGenerator.genEnum;
 import static edu.wpi.first.util.struct.StructGenerator.genRecord;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import edu.wpi.first.util.struct.records.CompiledRecord;
+import edu.wpi.first.util.struct.records.CompiledRecordGeneratedStruct;
+import edu.wpi.first.util.struct.records.NonPublicRecords;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import org.junit.jupiter.api.Test;
@@ -179,4 +184,55 @@ class StructGeneratorTest {
   void testHigherOrderRecordDoubleUnpack() {
     testStructDoubleUnpack(HigherOrderRecord.create());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testNonPublicRecordRoundTrip() {
+    // A package-private record in another package can't be accessed through StructGenerator's
+    // lookup, so its accessors can't be bound with LambdaMetafactory.
+    var struct = genRecord((Class<Record>) NonPublicRecords.getPointClass());
+    assertEquals(21, struct.getSize());
+    assertEquals("float64 x;float64 y;int32 id;bool valid;", struct.getSchema());
+
+    var point = NonPublicRecords.createPoint(1.5, -2.5, 7, true);
+    ByteBuffer buffer = ByteBuffer.allocate(struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    struct.pack(buffer, point);
+    buffer.rewind();
+
+    assertEquals(point, struct.unpack(buffer));
+  }
+
+  @Test
+  void testCompiledRecordUsesGeneratedStruct() {
+    var struct = genRecord(CompiledRecord.class);
+    assertInstanceOf(CompiledRecordGeneratedStruct.class, struct);
+
+    var record = new CompiledRecord(2.5, 3);
+    ByteBuffer buffer = ByteBuffer.allocate(struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    struct.pack(buffer, record);
+    buffer.rewind();
+
+    assertEquals(record, struct.unpack(buffer));
+  }
+
+  public record PositiveRecord(int value) {
+    public PositiveRecord {
+      if (value <= 0) {
+        throw new IllegalArgumentException("value must be positive");
+      }
+    }
+  }
+
+  @Test
+  void testUnpackReturnsNullOnConstructorException() {
+    var struct = genRecord(PositiveRecord.class);
+    ByteBuffer buffer = ByteBuffer.allocate(struct.getSize());
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(-1);
+    buffer.rewind();
+
+    assertNull(struct.unpack(buffer));
+  }
 }
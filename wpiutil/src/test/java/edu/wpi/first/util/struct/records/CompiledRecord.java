@@ -0,0 +1,14 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.struct.records;
+
+/**
+ * A record with a struct class named the way the Epilogue annotation processor names the structs it
+ * generates, as if it had been compiled with the processor.
+ *
+ * @param x The x component.
+ * @param id The id component.
+ */
+public record CompiledRecord(double x, int id) {}
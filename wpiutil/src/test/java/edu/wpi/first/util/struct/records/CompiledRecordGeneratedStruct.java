@@ -0,0 +1,49 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.struct.records;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/**
+ * Stands in for the struct the Epilogue annotation processor generates for {@link CompiledRecord}.
+ */
+public final class CompiledRecordGeneratedStruct implements Struct<CompiledRecord> {
+  @Override
+  public Class<CompiledRecord> getTypeClass() {
+    return CompiledRecord.class;
+  }
+
+  @Override
+  public String getTypeName() {
+    return "CompiledRecord";
+  }
+
+  @Override
+  public String getSchema() {
+    return "float64 x;int32 id;";
+  }
+
+  @Override
+  public int getSize() {
+    return 12;
+  }
+
+  @Override
+  public CompiledRecord unpack(ByteBuffer bb) {
+    return new CompiledRecord(bb.getDouble(), bb.getInt());
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, CompiledRecord value) {
+    bb.putDouble(value.x());
+    bb.putInt(value.id());
+  }
+
+  @Override
+  public boolean isImmutable() {
+    return true;
+  }
+}
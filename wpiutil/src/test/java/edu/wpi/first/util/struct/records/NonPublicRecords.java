@@ -0,0 +1,34 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.util.struct.records;
+
+/** Creates records that aren't accessible from outside this package. */
+public final class NonPublicRecords {
+  record Point(double x, double y, int id, boolean valid) {}
+
+  private NonPublicRecords() {}
+
+  /**
+   * Returns the class of a package-private record.
+   *
+   * @return The record class.
+   */
+  public static Class<? extends Record> getPointClass() {
+    return Point.class;
+  }
+
+  /**
+   * Creates an instance of a package-private record.
+   *
+   * @param x The x component.
+   * @param y The y component.
+   * @param id The id component.
+   * @param valid The valid component.
+   * @return The record.
+   */
+  public static Record createPoint(double x, double y, int id, boolean valid) {
+    return new Point(x, y, id, valid);
+  }
+}